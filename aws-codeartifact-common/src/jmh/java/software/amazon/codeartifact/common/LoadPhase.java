@@ -0,0 +1,107 @@
+package software.amazon.codeartifact.common;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Handler invocations of one lifecycle step of a load driver, possibly run in several waves, with the throughput,
+ * p50/p99 latency and CodeArtifact calls per invocation of all its waves.
+ *
+ * @param <M> the resource model of the handlers
+ */
+public class LoadPhase<M> {
+    private final String name;
+    private final ExecutorService executor;
+    private final FakeCodeartifactClient client;
+    private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger failures = new AtomicInteger();
+    private final Map<String, Long> calls = new TreeMap<>();
+    private long wallNanos;
+
+    public LoadPhase(final String name, final ExecutorService executor, final FakeCodeartifactClient client) {
+        this.name = name;
+        this.executor = executor;
+        this.client = client;
+    }
+
+    /**
+     * Runs the invocations of a wave concurrently.
+     * @return the models of the ones that succeeded, in order
+     */
+    public List<M> run(final List<M> models, final Function<M, M> invocation) throws InterruptedException {
+        final Map<String, Long> before = client.callCounts();
+        final List<Callable<M>> tasks = new ArrayList<>();
+        for (M model : models) {
+            tasks.add(() -> {
+                final long start = System.nanoTime();
+                try {
+                    return invocation.apply(model);
+                } catch (final RuntimeException e) {
+                    failures.incrementAndGet();
+                    System.err.printf("%s failed: %s%n", name, e.getMessage());
+                    return null;
+                } finally {
+                    latencies.add(System.nanoTime() - start);
+                }
+            });
+        }
+
+        final long start = System.nanoTime();
+        final List<Future<M>> futures = executor.invokeAll(tasks);
+        wallNanos += System.nanoTime() - start;
+
+        client.callCounts().forEach((operation, count) ->
+            calls.merge(operation, count - before.getOrDefault(operation, 0L), Long::sum));
+
+        final List<M> results = new ArrayList<>();
+        for (Future<M> future : futures) {
+            try {
+                final M result = future.get();
+                if (result != null) {
+                    results.add(result);
+                }
+            } catch (final ExecutionException e) {
+                failures.incrementAndGet();
+            }
+        }
+        return results;
+    }
+
+    public String report() {
+        final List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        final int invocations = sorted.size();
+        final double seconds = wallNanos / 1e9;
+
+        final StringBuilder report = new StringBuilder(String.format(
+            "%-7s %5d invocations (%d failed) in %6.2fs  %8.1f/s  p50 %6.1fms  p99 %6.1fms%n",
+            name, invocations, failures.get(), seconds, invocations / Math.max(seconds, 1e-9),
+            percentile(sorted, 50) / 1e6, percentile(sorted, 99) / 1e6));
+        calls.forEach((operation, count) -> {
+            if (count > 0) {
+                report.append(String.format("        %-34s %7d calls  %6.2f per invocation%n",
+                    operation, count, (double) count / Math.max(invocations, 1)));
+            }
+        });
+        return report.toString();
+    }
+
+    // Nearest-rank percentile of sorted values
+    static long percentile(final List<Long> sorted, final int percentile) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        final int rank = (int) Math.ceil(percentile / 100.0 * sorted.size());
+        return sorted.get(Math.max(0, rank - 1));
+    }
+}
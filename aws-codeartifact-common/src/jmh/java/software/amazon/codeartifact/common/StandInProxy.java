@@ -0,0 +1,57 @@
+package software.amazon.codeartifact.common;
+
+import java.time.Duration;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.services.codeartifact.model.ListDomainsRequest;
+import software.amazon.awssdk.services.codeartifact.model.ListPackageGroupsRequest;
+import software.amazon.awssdk.services.codeartifact.model.ListRepositoriesInDomainRequest;
+import software.amazon.awssdk.services.codeartifact.model.ListRepositoriesRequest;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+/**
+ * The list handlers call the proxy directly with a client from their ClientBuilder; route those list calls to the
+ * stand-in and everything else through the proxy as usual. The proxy clients they build for the reads of the
+ * hydrated list use the stand-in as well.
+ */
+public class StandInProxy extends AmazonWebServicesClientProxy {
+    private final FakeCodeartifactClient client;
+
+    public StandInProxy(final LoggerProxy logger, final FakeCodeartifactClient client) {
+        super(logger, new Credentials("accessKey", "secretKey", "token"), () -> Duration.ofMinutes(15).toMillis());
+        this.client = client;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT injectCredentialsAndInvokeV2(
+        final RequestT request,
+        final Function<RequestT, ResponseT> requestFunction
+    ) {
+        if (request instanceof ListDomainsRequest) {
+            return (ResponseT) client.listDomains((ListDomainsRequest) request);
+        }
+        if (request instanceof ListPackageGroupsRequest) {
+            return (ResponseT) client.listPackageGroups((ListPackageGroupsRequest) request);
+        }
+        if (request instanceof ListRepositoriesInDomainRequest) {
+            return (ResponseT) client.listRepositoriesInDomain((ListRepositoriesInDomainRequest) request);
+        }
+        if (request instanceof ListRepositoriesRequest) {
+            return (ResponseT) client.listRepositories((ListRepositoriesRequest) request);
+        }
+        return super.injectCredentialsAndInvokeV2(request, requestFunction);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <ClientT> ProxyClient<ClientT> newProxy(final Supplier<ClientT> client) {
+        return super.newProxy(() -> (ClientT) this.client);
+    }
+}
@@ -0,0 +1,224 @@
+package software.amazon.codeartifact.common;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.services.codeartifact.model.ThrottlingException;
+
+/**
+ * Client-side rate limit on the CodeArtifact calls made for one account in one region, shared by every handler
+ * invocation the process serves. CloudFormation runs the resources of a stack in parallel, and CodeArtifact
+ * throttles per account and region, so without it every handler keeps calling at full speed and they all retry
+ * together.
+ *
+ * It follows the SDK's adaptive retry mode, which only paces the attempts of a single client: calls pass freely
+ * until the first throttling error, then go through a token bucket whose rate drops multiplicatively on each
+ * throttling error and grows back along a CUBIC curve while calls succeed.
+ *
+ * A call never waits past the deadline of its invocation (see {@link #deadline()}). When the rate would only let it start after that, it
+ * fails right away with a ThrottlingException, the way a call throttled by the service does, and CloudFormation
+ * retries the handler later.
+ */
+public final class AdaptiveRateLimiter {
+    static final double MIN_RATE = 0.5;
+    // Handlers can't see the time an invocation has left, so calls are bounded by the timeout of the handler
+    // function instead. It can be set in seconds through this variable for functions deployed with a longer one.
+    static final String INVOCATION_TIMEOUT_VARIABLE = "INVOCATION_TIMEOUT_SECONDS";
+    static final Duration DEFAULT_INVOCATION_TIMEOUT = Duration.ofSeconds(60);
+    static final Duration INVOCATION_TIMEOUT = invocationTimeout(System.getenv(INVOCATION_TIMEOUT_VARIABLE));
+
+    // CUBIC parameters, as in the SDK's adaptive retry mode
+    private static final double BETA = 0.7;
+    private static final double SCALE = 0.4;
+    // Smoothing and bucket length of the measured call rate
+    private static final double SMOOTHING = 0.8;
+    private static final double MEASUREMENT_BUCKET_SECONDS = 0.5;
+
+    private static final ConcurrentMap<Key, AdaptiveRateLimiter> LIMITERS = new ConcurrentHashMap<>();
+
+    private final LongSupplier nanoTime;
+    private final LongConsumer sleeper;
+
+    private boolean enabled;
+    private double rate;
+    private double tokens;
+    private long lastRefillNanos;
+    // Rate at the last throttling error and when it happened, the CUBIC curve grows back towards that rate
+    private double lastMaxRate;
+    private long lastThrottleNanos;
+    private double measuredRate;
+    private long measurementBucket;
+    private int callsInBucket;
+
+    AdaptiveRateLimiter(final LongSupplier nanoTime, final LongConsumer sleeper) {
+        this.nanoTime = nanoTime;
+        this.sleeper = sleeper;
+        this.lastRefillNanos = nanoTime.getAsLong();
+        this.measurementBucket = bucket(lastRefillNanos);
+    }
+
+    /**
+     * @return the limiter shared by every call made for the account in the region
+     */
+    public static AdaptiveRateLimiter forAccount(final String accountId, final String region) {
+        return LIMITERS.computeIfAbsent(new Key(accountId, region),
+            key -> new AdaptiveRateLimiter(System::nanoTime, AdaptiveRateLimiter::sleep));
+    }
+
+    /**
+     * @return the deadline of an invocation starting now. It is computed once per invocation and passed to each of
+     * its calls, so a call made late in the invocation doesn't get a full timeout of its own.
+     */
+    public long deadline() {
+        return nanoTime.getAsLong() + INVOCATION_TIMEOUT.toNanos();
+    }
+
+    /**
+     * @return the timeout set in seconds by the value, or the default one when it is unset or isn't a positive number
+     */
+    static Duration invocationTimeout(final String seconds) {
+        if (seconds == null) {
+            return DEFAULT_INVOCATION_TIMEOUT;
+        }
+        try {
+            final long parsed = Long.parseLong(seconds.trim());
+            return parsed > 0 ? Duration.ofSeconds(parsed) : DEFAULT_INVOCATION_TIMEOUT;
+        } catch (final NumberFormatException e) {
+            return DEFAULT_INVOCATION_TIMEOUT;
+        }
+    }
+
+    /**
+     * Makes a sync call once the rate allows it, and adapts the rate to its outcome.
+     */
+    public <T> T call(final Supplier<T> call, final long deadlineNanos) {
+        acquire(deadlineNanos);
+        try {
+            final T result = call.get();
+            record(false);
+            return result;
+        } catch (final RuntimeException e) {
+            record(isThrottling(e));
+            throw e;
+        }
+    }
+
+    /**
+     * Waits until a token is available. Callers that find the bucket empty reserve a token ahead and sleep until it
+     * is refilled, so concurrent callers are spaced out instead of waking up together. A token that would only be
+     * refilled after the deadline isn't reserved, so the tokens owed stay within what can be used before it.
+     * @throws ThrottlingException when the wait would end after the deadline
+     */
+    void acquire(final long deadlineNanos) {
+        final long waitNanos;
+        synchronized (this) {
+            if (!enabled) {
+                return;
+            }
+            refill();
+            if (tokens >= 1) {
+                tokens -= 1;
+                return;
+            }
+            waitNanos = (long) ((1 - tokens) / rate * TimeUnit.SECONDS.toNanos(1));
+            if (waitNanos > deadlineNanos - lastRefillNanos) {
+                throw ThrottlingException.builder()
+                    .message(String.format("Calls are paced at %.2f per second after throttling; the next one "
+                        + "can't start before the handler times out.", rate))
+                    .build();
+            }
+            tokens -= 1;
+        }
+        sleeper.accept(waitNanos);
+    }
+
+    /**
+     * Adapts the rate to the outcome of a call.
+     */
+    synchronized void record(final boolean throttled) {
+        final long now = nanoTime.getAsLong();
+        measure(now);
+        final double newRate;
+        if (throttled) {
+            final double rateToUse = enabled ? Math.min(measuredRate, rate) : measuredRate;
+            lastMaxRate = Math.max(rateToUse, MIN_RATE);
+            lastThrottleNanos = now;
+            newRate = lastMaxRate * BETA;
+            enabled = true;
+        } else if (enabled) {
+            newRate = Math.min(cubic(now), 2 * Math.max(measuredRate, MIN_RATE));
+        } else {
+            return;
+        }
+        refill();
+        rate = Math.max(newRate, MIN_RATE);
+        tokens = Math.min(tokens, capacity());
+    }
+
+    synchronized boolean isEnabled() {
+        return enabled;
+    }
+
+    synchronized double getRate() {
+        return rate;
+    }
+
+    private double cubic(final long now) {
+        final double secondsSinceThrottle = (now - lastThrottleNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+        final double k = Math.cbrt(lastMaxRate * (1 - BETA) / SCALE);
+        return SCALE * Math.pow(secondsSinceThrottle - k, 3) + lastMaxRate;
+    }
+
+    private void refill() {
+        final long now = nanoTime.getAsLong();
+        if (enabled) {
+            final double elapsedSeconds = (now - lastRefillNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+            tokens = Math.min(tokens + elapsedSeconds * rate, capacity());
+        }
+        lastRefillNanos = now;
+    }
+
+    private double capacity() {
+        return Math.max(rate, 1);
+    }
+
+    private void measure(final long now) {
+        final long bucket = bucket(now);
+        callsInBucket++;
+        if (bucket > measurementBucket) {
+            final double currentRate = callsInBucket / ((bucket - measurementBucket) * MEASUREMENT_BUCKET_SECONDS);
+            measuredRate = currentRate * SMOOTHING + measuredRate * (1 - SMOOTHING);
+            callsInBucket = 0;
+            measurementBucket = bucket;
+        }
+    }
+
+    private static long bucket(final long nanos) {
+        return (long) Math.floor(nanos / (MEASUREMENT_BUCKET_SECONDS * TimeUnit.SECONDS.toNanos(1)));
+    }
+
+    static boolean isThrottling(final Throwable error) {
+        return error instanceof ThrottlingException
+            || error instanceof AwsServiceException && ((AwsServiceException) error).isThrottlingException();
+    }
+
+    private static void sleep(final long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @lombok.Value
+    private static class Key {
+        String accountId;
+        String region;
+    }
+}
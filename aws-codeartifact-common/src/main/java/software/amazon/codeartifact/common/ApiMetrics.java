@@ -0,0 +1,246 @@
+package software.amazon.codeartifact.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.cloudformation.proxy.Logger;
+
+/**
+ * Latency, error and retry counts of the CodeArtifact calls made by one handler invocation, written to the handler
+ * log as CloudWatch Embedded Metric Format so CloudWatch extracts them as metrics without any extra call.
+ *
+ * One EMF record is written per operation, with every latency of that operation as a value array (CloudWatch builds
+ * the percentiles from it), plus one record per operation and error code.
+ */
+public final class ApiMetrics {
+    // Custom metrics can't use the AWS/ prefix, it is reserved for the namespaces of AWS services
+    static final String NAMESPACE = "CloudFormation/CodeArtifact";
+    // EMF accepts at most 100 values per metric in one record
+    static final int MAX_VALUES_PER_RECORD = 100;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final String resourceType;
+    private final String handler;
+    private final Map<String, Operation> operations = new TreeMap<>();
+
+    public ApiMetrics(final String resourceType, final String handler) {
+        this.resourceType = resourceType;
+        this.handler = handler;
+    }
+
+    /**
+     * Records one call of the operation.
+     *
+     * @param error what the call failed with, or null if it succeeded
+     * @param retries attempts the SDK made beyond the first one
+     */
+    synchronized void record(final String operation, final long latencyMillis, final Throwable error, final int retries) {
+        final Operation metrics = operations.computeIfAbsent(operation, key -> new Operation());
+        metrics.latencies.add(latencyMillis);
+        metrics.retries += retries;
+        if (error != null) {
+            metrics.errors.merge(errorCode(error), 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Makes a sync call and records it, including the retries the SDK made for it.
+     */
+    public <T> T time(final AwsRequest request, final Supplier<T> call) {
+        final AtomicInteger attempts = new AtomicInteger();
+        final AtomicInteger previous = AttemptCounter.open(attempts);
+        final long start = System.nanoTime();
+        Throwable error = null;
+        try {
+            return call.get();
+        } catch (final RuntimeException | Error e) {
+            error = e;
+            throw e;
+        } finally {
+            AttemptCounter.close(previous);
+            record(operation(request), elapsedMillis(start), error, retries(attempts));
+        }
+    }
+
+    /**
+     * @return attempts beyond the first one
+     */
+    static int retries(final AtomicInteger attempts) {
+        return Math.max(0, attempts.get() - 1);
+    }
+
+    synchronized boolean isEmpty() {
+        return operations.isEmpty();
+    }
+
+    /**
+     * Writes what was recorded so far as EMF records and starts over.
+     */
+    public void flush(final Logger logger) {
+        for (String record : drain()) {
+            logger.log(record);
+        }
+    }
+
+    public synchronized List<String> drain() {
+        final long timestamp = System.currentTimeMillis();
+        final List<String> records = new ArrayList<>();
+        operations.forEach((operation, metrics) -> {
+            final List<Long> latencies = metrics.latencies;
+            for (int from = 0; from < latencies.size(); from += MAX_VALUES_PER_RECORD) {
+                final List<Long> values = latencies.subList(from, Math.min(latencies.size(), from + MAX_VALUES_PER_RECORD));
+                final ObjectNode record = record(timestamp, operation);
+                final ArrayNode metricDefinitions = metricDefinitions(record);
+                metricDefinitions.addObject().put("Name", "Latency").put("Unit", "Milliseconds");
+                metricDefinitions.addObject().put("Name", "Calls").put("Unit", "Count");
+                metricDefinitions.addObject().put("Name", "Retries").put("Unit", "Count");
+
+                final ArrayNode latencyValues = record.putArray("Latency");
+                values.forEach(latencyValues::add);
+                record.put("Calls", values.size());
+                // Retries go to the first record of the operation so they are counted once
+                record.put("Retries", from == 0 ? metrics.retries : 0);
+                records.add(write(record));
+            }
+            metrics.errors.forEach((errorCode, count) -> {
+                final ObjectNode record = record(timestamp, operation);
+                dimensionSets(record).forEach(dimensions -> ((ArrayNode) dimensions).add("ErrorCode"));
+                metricDefinitions(record).addObject().put("Name", "Errors").put("Unit", "Count");
+
+                record.put("ErrorCode", errorCode);
+                record.put("Errors", count);
+                records.add(write(record));
+            });
+        });
+        operations.clear();
+        return records;
+    }
+
+    // A record with its dimensions, by operation and by handler and operation, and no metrics yet.
+    private ObjectNode record(final long timestamp, final String operation) {
+        final ObjectNode record = MAPPER.createObjectNode();
+        final ObjectNode metadata = record.putObject("_aws");
+        metadata.put("Timestamp", timestamp);
+        final ObjectNode directive = metadata.putArray("CloudWatchMetrics").addObject();
+        directive.put("Namespace", NAMESPACE);
+        final ArrayNode dimensionSets = directive.putArray("Dimensions");
+        dimensionSets.addArray().add("ResourceType").add("Operation");
+        dimensionSets.addArray().add("ResourceType").add("Handler").add("Operation");
+        directive.putArray("Metrics");
+
+        record.put("ResourceType", resourceType);
+        record.put("Handler", handler);
+        record.put("Operation", operation);
+        return record;
+    }
+
+    private static ArrayNode dimensionSets(final ObjectNode record) {
+        return (ArrayNode) record.get("_aws").get("CloudWatchMetrics").get(0).get("Dimensions");
+    }
+
+    private static ArrayNode metricDefinitions(final ObjectNode record) {
+        return (ArrayNode) record.get("_aws").get("CloudWatchMetrics").get(0).get("Metrics");
+    }
+
+    private static String write(final ObjectNode record) {
+        try {
+            return MAPPER.writeValueAsString(record);
+        } catch (final JsonProcessingException e) {
+            // An ObjectNode of strings and numbers always serializes
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Name of the call, after its request class, e.g. ListPackages for a ListPackagesRequest.
+     */
+    static String operation(final AwsRequest request) {
+        final String name = request.getClass().getSimpleName();
+        return name.endsWith("Request") ? name.substring(0, name.length() - "Request".length()) : name;
+    }
+
+    static long elapsedMillis(final long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    static String errorCode(final Throwable error) {
+        if (error instanceof AwsServiceException) {
+            final AwsServiceException serviceException = (AwsServiceException) error;
+            if (serviceException.awsErrorDetails() != null && serviceException.awsErrorDetails().errorCode() != null) {
+                return serviceException.awsErrorDetails().errorCode();
+            }
+        }
+        return error.getClass().getSimpleName();
+    }
+
+    private static final class Operation {
+        private final List<Long> latencies = new ArrayList<>();
+        private final Map<String, Integer> errors = new TreeMap<>();
+        private int retries;
+    }
+
+    /**
+     * Counts the HTTP attempts the SDK makes for a call. The SDK starts the execution of a call on the calling thread,
+     * for the async client too, so the counter opened around it by {@link #time} or MeteredProxyClient is attached to
+     * the execution there. Retries then count against that execution on whichever thread they run.
+     */
+    public static final class AttemptCounter implements ExecutionInterceptor {
+        private static final ThreadLocal<AtomicInteger> OPEN = new ThreadLocal<>();
+        private static final ExecutionAttribute<AtomicInteger> ATTEMPTS =
+            new ExecutionAttribute<>("ApiMetricsAttempts");
+
+        @Override
+        public void beforeExecution(
+            final Context.BeforeExecution context,
+            final ExecutionAttributes executionAttributes
+        ) {
+            final AtomicInteger attempts = OPEN.get();
+            if (attempts != null) {
+                executionAttributes.putAttribute(ATTEMPTS, attempts);
+            }
+        }
+
+        @Override
+        public void beforeTransmission(final Context.BeforeTransmission context, final ExecutionAttributes executionAttributes) {
+            final AtomicInteger attempts = executionAttributes.getAttribute(ATTEMPTS);
+            if (attempts != null) {
+                attempts.incrementAndGet();
+            }
+        }
+
+        /**
+         * Starts counting the attempts of calls started on this thread.
+         *
+         * @return the counter that was open before, to be restored with {@link #close(AtomicInteger)}
+         */
+        static AtomicInteger open(final AtomicInteger attempts) {
+            final AtomicInteger previous = OPEN.get();
+            OPEN.set(attempts);
+            return previous;
+        }
+
+        static void close(final AtomicInteger previous) {
+            if (previous == null) {
+                OPEN.remove();
+            } else {
+                OPEN.set(previous);
+            }
+        }
+    }
+}
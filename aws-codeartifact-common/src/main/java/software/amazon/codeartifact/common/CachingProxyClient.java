@@ -0,0 +1,162 @@
+package software.amazon.codeartifact.common;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.pagination.sync.SdkIterable;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+/**
+ * A ProxyClient that serves repeated reads of a single handler invocation from memory. Responses of Describe, Get
+ * and List calls are kept per request, i.e. per operation and identifiers of the resource read, and any other call
+ * is a mutation that drops everything kept so far. The clients of an invocation share its {@link Responses}, so a
+ * read on one is served to the others.
+ *
+ * Only successful responses are kept. Polling for a state change must not be served from memory, so stabilization
+ * reads go through {@link #refreshing(ProxyClient)}, which always calls the service and keeps what it returns.
+ *
+ * Paginated, streaming and binary calls pass through; the ones that mutate still drop the kept responses. Async calls
+ * pass through untouched, the handlers only make sync calls.
+ */
+public final class CachingProxyClient<ClientT> implements ProxyClient<ClientT> {
+    private final ProxyClient<ClientT> delegate;
+    private final Responses responses;
+    private final boolean refresh;
+
+    public CachingProxyClient(final ProxyClient<ClientT> delegate, final Responses responses) {
+        this(delegate, responses, false);
+    }
+
+    private CachingProxyClient(final ProxyClient<ClientT> delegate, final Responses responses, final boolean refresh) {
+        this.delegate = delegate;
+        this.responses = responses;
+        this.refresh = refresh;
+    }
+
+    /**
+     * @return a client that reads the current state from the service, for polling until it changes
+     */
+    public static <ClientT> ProxyClient<ClientT> refreshing(final ProxyClient<ClientT> proxyClient) {
+        if (proxyClient instanceof CachingProxyClient) {
+            final CachingProxyClient<ClientT> cachingProxyClient = (CachingProxyClient<ClientT>) proxyClient;
+            return new CachingProxyClient<>(cachingProxyClient.delegate, cachingProxyClient.responses, true);
+        }
+        return proxyClient;
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT
+    injectCredentialsAndInvokeV2(final RequestT request, final Function<RequestT, ResponseT> requestFunction) {
+        if (!isRead(request)) {
+            responses.invalidate();
+            try {
+                return delegate.injectCredentialsAndInvokeV2(request, requestFunction);
+            } finally {
+                // Reads that overlapped the mutation may have seen the state before it
+                responses.invalidate();
+            }
+        }
+        if (!refresh) {
+            final ResponseT kept = responses.get(request);
+            if (kept != null) {
+                return kept;
+            }
+        }
+        final long generation = responses.generation();
+        final ResponseT response = delegate.injectCredentialsAndInvokeV2(request, requestFunction);
+        responses.put(request, response, generation);
+        return response;
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> CompletableFuture<ResponseT>
+    injectCredentialsAndInvokeV2Async(
+        final RequestT request,
+        final Function<RequestT, CompletableFuture<ResponseT>> requestFunction
+    ) {
+        return delegate.injectCredentialsAndInvokeV2Async(request, requestFunction);
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse, IterableT extends SdkIterable<ResponseT>>
+    IterableT injectCredentialsAndInvokeIterableV2(
+        final RequestT request,
+        final Function<RequestT, IterableT> requestFunction
+    ) {
+        invalidateUnlessRead(request);
+        return delegate.injectCredentialsAndInvokeIterableV2(request, requestFunction);
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseInputStream<ResponseT>
+    injectCredentialsAndInvokeV2InputStream(
+        final RequestT request,
+        final Function<RequestT, ResponseInputStream<ResponseT>> requestFunction
+    ) {
+        invalidateUnlessRead(request);
+        return delegate.injectCredentialsAndInvokeV2InputStream(request, requestFunction);
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseBytes<ResponseT>
+    injectCredentialsAndInvokeV2Bytes(
+        final RequestT request,
+        final Function<RequestT, ResponseBytes<ResponseT>> requestFunction
+    ) {
+        invalidateUnlessRead(request);
+        return delegate.injectCredentialsAndInvokeV2Bytes(request, requestFunction);
+    }
+
+    @Override
+    public ClientT client() {
+        return delegate.client();
+    }
+
+    private void invalidateUnlessRead(final AwsRequest request) {
+        if (!isRead(request)) {
+            responses.invalidate();
+        }
+    }
+
+    static boolean isRead(final AwsRequest request) {
+        final String operation = ApiMetrics.operation(request);
+        return operation.startsWith("Describe") || operation.startsWith("Get") || operation.startsWith("List");
+    }
+
+    /**
+     * Responses kept for one handler invocation. SDK requests and responses are immutable values, so requests are
+     * the keys and responses are handed out as they are.
+     */
+    public static final class Responses {
+        private final Map<AwsRequest, AwsResponse> responses = new ConcurrentHashMap<>();
+        // Bumped by every mutation, so a read that overlapped one doesn't keep what it read
+        private final AtomicLong generation = new AtomicLong();
+
+        @SuppressWarnings("unchecked")
+        <ResponseT extends AwsResponse> ResponseT get(final AwsRequest request) {
+            return (ResponseT) responses.get(request);
+        }
+
+        long generation() {
+            return generation.get();
+        }
+
+        synchronized void put(final AwsRequest request, final AwsResponse response, final long readAt) {
+            if (response != null && generation.get() == readAt) {
+                responses.put(request, response);
+            }
+        }
+
+        synchronized void invalidate() {
+            generation.incrementAndGet();
+            responses.clear();
+        }
+    }
+}
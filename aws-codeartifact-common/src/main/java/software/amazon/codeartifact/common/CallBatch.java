@@ -0,0 +1,70 @@
+package software.amazon.codeartifact.common;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import com.google.common.collect.Lists;
+
+import software.amazon.cloudformation.proxy.Logger;
+
+/**
+ * Runs a batch of calls of the same operation that don't depend on each other concurrently, in windows of at most
+ * a given number of calls. Callers keep batches of different operations apart when their order matters.
+ *
+ * Every call of a batch runs even when another one fails. The failures are reported together: all of them are logged
+ * and the first one is rethrown with the others attached as suppressed exceptions.
+ */
+public final class CallBatch {
+
+    private CallBatch() {
+    }
+
+    /**
+     * @param maxConcurrentCalls the most calls running at the same time
+     * @param operation API name of the calls, for the log
+     * @return the result of the call for each item, in the order of the items
+     */
+    public static <K, T> List<T> run(
+        final Collection<K> items,
+        final Function<K, T> call,
+        final int maxConcurrentCalls,
+        final String operation,
+        final Logger logger
+    ) {
+        final List<T> results = new ArrayList<>(items.size());
+        final Map<K, RuntimeException> failures = new LinkedHashMap<>();
+
+        for (final List<K> window : Lists.partition(new ArrayList<>(items), maxConcurrentCalls)) {
+            final List<CompletableFuture<T>> calls = new ArrayList<>(window.size());
+            for (final K item : window) {
+                // A single call is made on the handler thread, there is nothing to overlap it with
+                calls.add(window.size() == 1
+                    ? ConcurrentCalls.callInline(() -> call.apply(item))
+                    : ConcurrentCalls.submit(() -> call.apply(item)));
+            }
+            for (int i = 0; i < window.size(); i++) {
+                try {
+                    results.add(ConcurrentCalls.join(calls.get(i)));
+                } catch (final RuntimeException e) {
+                    failures.put(window.get(i), e);
+                    results.add(null);
+                }
+            }
+        }
+
+        if (!failures.isEmpty()) {
+            failures.forEach((item, e) -> logger.log(String.format("%s failed for %s: %s", operation, item, e)));
+            final RuntimeException first = failures.values().iterator().next();
+            failures.values().stream()
+                .filter(e -> e != first)
+                .forEach(first::addSuppressed);
+            throw first;
+        }
+        return results;
+    }
+}
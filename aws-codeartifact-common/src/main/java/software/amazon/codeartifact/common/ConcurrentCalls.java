@@ -0,0 +1,76 @@
+package software.amazon.codeartifact.common;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Supplier;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Runs independent CodeArtifact calls of a single handler invocation concurrently on a small
+ * process-wide pool, so a handler pays one round trip for calls that don't depend on each other.
+ *
+ * A call submitted from a thread of the pool runs inline on that thread. Calls that fan out again (e.g. the item
+ * reads of a hydrated list, each submitting the reads of its item) would otherwise wait for pool threads held by
+ * the calls waiting for them, and the pool could deadlock.
+ */
+public final class ConcurrentCalls {
+    private static final int MAX_CONCURRENT_CALLS = 8;
+
+    private static final ThreadLocal<Boolean> ON_POOL = ThreadLocal.withInitial(() -> false);
+
+    private static final ThreadFactory POOL_THREADS = runnable -> Executors.defaultThreadFactory().newThread(() -> {
+        ON_POOL.set(true);
+        runnable.run();
+    });
+
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(
+        MAX_CONCURRENT_CALLS,
+        new ThreadFactoryBuilder()
+            .setThreadFactory(POOL_THREADS)
+            .setDaemon(true)
+            .setNameFormat("codeartifact-call-%d")
+            .build());
+
+    private ConcurrentCalls() {
+    }
+
+    public static <T> CompletableFuture<T> submit(final Supplier<T> call) {
+        if (ON_POOL.get()) {
+            return callInline(call);
+        }
+        return CompletableFuture.supplyAsync(call, EXECUTOR);
+    }
+
+    /**
+     * Makes the call on the calling thread.
+     * @return a future completed with its result, or failed with what it threw
+     */
+    public static <T> CompletableFuture<T> callInline(final Supplier<T> call) {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            result.complete(call.get());
+        } catch (final RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    /**
+     * Waits for the call and rethrows whatever it failed with (usually an exception already mapped by
+     * Translator.throwCfnException) instead of the CompletionException wrapper.
+     */
+    public static <T> T join(final CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
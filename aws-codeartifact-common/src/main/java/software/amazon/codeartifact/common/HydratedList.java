@@ -0,0 +1,152 @@
+package software.amazon.codeartifact.common;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+/**
+ * List mode that returns full models instead of models carrying only the arn, so inventory tooling doesn't have to
+ * read every listed resource on its own.
+ *
+ * The listed models of a page are read {@link #MAX_CONCURRENT_READS} at a time. Before each batch of reads the time
+ * left until the deadline of the invocation is checked against the slowest batch so far; when it doesn't fit, the
+ * page is cut short and the next token points at the first model not read yet, which the next list request resumes
+ * from.
+ *
+ * @param <M> resource model of the handler module
+ * @param <C> callback context of the handler module
+ */
+public final class HydratedList<M, C> {
+    public static final int MAX_CONCURRENT_READS = 4;
+    // Leaves room before the invocation deadline for returning the page
+    static final Duration RESERVE = Duration.ofSeconds(5);
+
+    // Marks tokens that resume inside a page, as opposed to the service's tokens for the next page
+    private static final String TOKEN_PREFIX = "hydrated/";
+
+    private final String typeName;
+    private final long stopNanos;
+    private final LongSupplier nanoTime;
+
+    HydratedList(final String typeName, final long stopNanos, final LongSupplier nanoTime) {
+        this.typeName = typeName;
+        this.stopNanos = stopNanos;
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * @param typeName resource type the models are of, for the log
+     * @param deadlineNanos deadline of the list invocation, see {@link AdaptiveRateLimiter#deadline()}
+     */
+    public static <M, C> HydratedList<M, C> until(final String typeName, final long deadlineNanos) {
+        return new HydratedList<>(typeName, deadlineNanos - RESERVE.toNanos(), System::nanoTime);
+    }
+
+    /**
+     * @return the service token of the page to list for the next token of a list request
+     */
+    public static String pageToken(final String nextToken) {
+        if (nextToken == null || !nextToken.startsWith(TOKEN_PREFIX)) {
+            return nextToken;
+        }
+        final String pageToken = parse(nextToken)[2];
+        return pageToken.isEmpty() ? null : pageToken;
+    }
+
+    /**
+     * @return the number of models of the page already returned for the next token of a list request
+     */
+    public static int offset(final String nextToken) {
+        if (nextToken == null || !nextToken.startsWith(TOKEN_PREFIX)) {
+            return 0;
+        }
+        return Integer.parseInt(parse(nextToken)[1]);
+    }
+
+    // The prefix, offset and page token of a token returned by token(), rejecting tokens it didn't return
+    private static String[] parse(final String nextToken) {
+        final String[] parts = nextToken.split("/", 3);
+        if (parts.length != 3 || !parts[1].matches("\\d{1,9}")) {
+            throw new CfnInvalidRequestException(String.format("Invalid next token: %s", nextToken));
+        }
+        return parts;
+    }
+
+    static String token(final String pageToken, final int offset) {
+        return TOKEN_PREFIX + offset + "/" + (pageToken == null ? "" : pageToken);
+    }
+
+    /**
+     * Request to read one listed model, in the account and region of the list request.
+     */
+    public static <M> ResourceHandlerRequest<M> readRequest(
+        final ResourceHandlerRequest<M> listRequest,
+        final M listed
+    ) {
+        return ResourceHandlerRequest.<M>builder()
+            .desiredResourceState(listed)
+            .awsAccountId(listRequest.getAwsAccountId())
+            .awsPartition(listRequest.getAwsPartition())
+            .region(listRequest.getRegion())
+            .build();
+    }
+
+    /**
+     * Reads the models of a page from the offset on, for as long as the deadline allows.
+     * @param listed models of the page, as listed with pageToken
+     * @param read reads the full model of a listed one, or returns null when it no longer exists
+     * @return the read models, with a next token that resumes at the first model not read or at the next page
+     */
+    public ProgressEvent<M, C> hydrate(
+        final List<M> listed,
+        final int offset,
+        final String pageToken,
+        final String nextPageToken,
+        final Function<M, M> read,
+        final Logger logger
+    ) {
+        final List<M> models = new ArrayList<>();
+        long slowestBatchNanos = 0;
+        int next = offset;
+        while (next < listed.size()) {
+            final long batchStartedAt = nanoTime.getAsLong();
+            if (batchStartedAt + slowestBatchNanos - stopNanos > 0) {
+                logger.log(String.format("Hydrated list of %s cut short after %d of %d models of the page.",
+                    typeName, next, listed.size()));
+                return page(models, token(pageToken, next));
+            }
+
+            final List<CompletableFuture<M>> reads =
+                listed.subList(next, Math.min(next + MAX_CONCURRENT_READS, listed.size())).stream()
+                    .map(model -> ConcurrentCalls.submit(() -> read.apply(model)))
+                    .collect(Collectors.toList());
+            reads.stream()
+                .map(ConcurrentCalls::join)
+                .filter(Objects::nonNull)
+                .forEach(models::add);
+
+            slowestBatchNanos = Math.max(slowestBatchNanos, nanoTime.getAsLong() - batchStartedAt);
+            next += reads.size();
+        }
+        return page(models, nextPageToken);
+    }
+
+    private ProgressEvent<M, C> page(final List<M> models, final String nextToken) {
+        return ProgressEvent.<M, C>builder()
+            .resourceModels(models)
+            .nextToken(nextToken)
+            .status(OperationStatus.SUCCESS)
+            .build();
+    }
+}
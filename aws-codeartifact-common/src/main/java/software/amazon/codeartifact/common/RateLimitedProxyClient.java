@@ -0,0 +1,87 @@
+package software.amazon.codeartifact.common;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.pagination.sync.SdkIterable;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+/**
+ * A ProxyClient that holds every call made through it to the {@link AdaptiveRateLimiter} of its account and region.
+ *
+ * Calls don't wait for the rate past the deadline of the invocation the client was created for, which every client
+ * of that invocation shares.
+ *
+ * For paginated calls only building the iterable goes through the limiter, the pages are fetched lazily as it is
+ * consumed. Async calls pass through, the handlers only make sync calls.
+ */
+public final class RateLimitedProxyClient<ClientT> implements ProxyClient<ClientT> {
+    private final ProxyClient<ClientT> delegate;
+    private final AdaptiveRateLimiter rateLimiter;
+    private final long deadlineNanos;
+
+    public RateLimitedProxyClient(
+        final ProxyClient<ClientT> delegate,
+        final AdaptiveRateLimiter rateLimiter,
+        final long deadlineNanos
+    ) {
+        this.delegate = delegate;
+        this.rateLimiter = rateLimiter;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT
+    injectCredentialsAndInvokeV2(final RequestT request, final Function<RequestT, ResponseT> requestFunction) {
+        return rateLimiter.call(
+            () -> delegate.injectCredentialsAndInvokeV2(request, requestFunction), deadlineNanos);
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> CompletableFuture<ResponseT>
+    injectCredentialsAndInvokeV2Async(
+        final RequestT request,
+        final Function<RequestT, CompletableFuture<ResponseT>> requestFunction
+    ) {
+        return delegate.injectCredentialsAndInvokeV2Async(request, requestFunction);
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse, IterableT extends SdkIterable<ResponseT>>
+    IterableT injectCredentialsAndInvokeIterableV2(
+        final RequestT request,
+        final Function<RequestT, IterableT> requestFunction
+    ) {
+        return rateLimiter.call(
+            () -> delegate.injectCredentialsAndInvokeIterableV2(request, requestFunction), deadlineNanos);
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseInputStream<ResponseT>
+    injectCredentialsAndInvokeV2InputStream(
+        final RequestT request,
+        final Function<RequestT, ResponseInputStream<ResponseT>> requestFunction
+    ) {
+        return rateLimiter.call(
+            () -> delegate.injectCredentialsAndInvokeV2InputStream(request, requestFunction), deadlineNanos);
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseBytes<ResponseT>
+    injectCredentialsAndInvokeV2Bytes(
+        final RequestT request,
+        final Function<RequestT, ResponseBytes<ResponseT>> requestFunction
+    ) {
+        return rateLimiter.call(
+            () -> delegate.injectCredentialsAndInvokeV2Bytes(request, requestFunction), deadlineNanos);
+    }
+
+    @Override
+    public ClientT client() {
+        return delegate.client();
+    }
+}
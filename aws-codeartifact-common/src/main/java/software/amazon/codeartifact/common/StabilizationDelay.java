@@ -0,0 +1,119 @@
+package software.amazon.codeartifact.common;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import software.amazon.cloudformation.proxy.delay.Delay;
+
+/**
+ * Backoff between in-process stabilization polls. The first poll is scheduled at a fraction of the stabilization
+ * latency observed so far in this process, later polls back off exponentially with jitter up to MAX_DELAY.
+ *
+ * The proxy sleeps in-process while the remaining invocation time covers the next delay and only hands control
+ * back to CloudFormation with a callback once it does not, so a resource that stabilizes in about a second costs
+ * about a second instead of a full callback round trip. The proxy sleeps for the whole seconds of a delay only, so
+ * each delay is rounded up to whole seconds and is at least {@link #MIN_DELAY}; a shorter one would have it poll again
+ * right away.
+ *
+ * Like the proxy's own delays, the schedule has an overall budget: once the rounded backoffs up to an attempt add up to
+ * more than the timeout, the delay is zero and the proxy fails the wait as not stabilized. The attempt count is kept in
+ * the callback context, so the budget spans callbacks.
+ */
+public final class StabilizationDelay implements Delay {
+    static final Duration MIN_INITIAL_DELAY = Duration.ofMillis(100);
+    static final Duration MAX_INITIAL_DELAY = Duration.ofSeconds(2);
+    public static final Duration MIN_DELAY = Duration.ofSeconds(1);
+    static final Duration MAX_DELAY = Duration.ofSeconds(5);
+    // The timeout of the proxy's default delay
+    static final Duration TIMEOUT = Duration.ofMinutes(20);
+
+    // Exponentially weighted moving average of observed stabilization latencies, seeded with a typical value.
+    private static final Duration DEFAULT_LATENCY = Duration.ofSeconds(1);
+    private static final double SMOOTHING = 0.2;
+    private static final AtomicLong OBSERVED_LATENCY_MILLIS = new AtomicLong(DEFAULT_LATENCY.toMillis());
+
+    private final Duration initialDelay;
+    private final Duration timeout;
+
+    StabilizationDelay(final Duration typicalLatency) {
+        this(typicalLatency, TIMEOUT);
+    }
+
+    StabilizationDelay(final Duration typicalLatency, final Duration timeout) {
+        this.initialDelay = clamp(typicalLatency.dividedBy(4), MIN_INITIAL_DELAY, MAX_INITIAL_DELAY);
+        this.timeout = timeout;
+    }
+
+    /**
+     * A schedule based on the stabilization latencies recorded so far.
+     */
+    public static StabilizationDelay adaptive() {
+        return new StabilizationDelay(observedLatency());
+    }
+
+    /**
+     * A schedule based on a typical latency, for waits whose latencies aren't recorded.
+     */
+    public static StabilizationDelay standard() {
+        return new StabilizationDelay(DEFAULT_LATENCY);
+    }
+
+    /**
+     * Records how long a resource took from its create call until it was first seen stabilized.
+     */
+    public static void record(final Duration latency) {
+        final long millis = Math.max(0, latency.toMillis());
+        OBSERVED_LATENCY_MILLIS.updateAndGet(previous -> Math.round(previous + SMOOTHING * (millis - previous)));
+    }
+
+    static Duration observedLatency() {
+        return Duration.ofMillis(OBSERVED_LATENCY_MILLIS.get());
+    }
+
+    Duration getInitialDelay() {
+        return initialDelay;
+    }
+
+    @Override
+    public Duration nextDelay(final int attempt) {
+        if (accrued(attempt).compareTo(timeout) > 0) {
+            return Duration.ZERO;
+        }
+        // Equal jitter: half of the backoff is fixed, the other half random, so concurrent creates spread out
+        // without ever polling sooner than half the schedule.
+        final Duration backoff = backoff(attempt);
+        final long half = backoff.toMillis() / 2;
+        return wholeSeconds(Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(half + 1)));
+    }
+
+    /**
+     * The delay before the given attempt without jitter or rounding.
+     */
+    Duration backoff(final int attempt) {
+        final int exponent = Math.min(Math.max(attempt, 1) - 1, 16);
+        final long millis = Math.min(initialDelay.toMillis() << exponent, MAX_DELAY.toMillis());
+        return Duration.ofMillis(millis);
+    }
+
+    /**
+     * The longest the delays of all attempts up to and including the given one can add up to, that is their backoffs
+     * rounded up to whole seconds. Stops counting once past the timeout.
+     */
+    Duration accrued(final int attempt) {
+        long millis = 0;
+        for (int i = 1; i <= attempt && millis <= timeout.toMillis(); i++) {
+            millis += wholeSeconds(backoff(i)).toMillis();
+        }
+        return Duration.ofMillis(millis);
+    }
+
+    static Duration wholeSeconds(final Duration delay) {
+        final long seconds = (delay.toMillis() + 999) / 1000;
+        return Duration.ofSeconds(Math.max(seconds, MIN_DELAY.getSeconds()));
+    }
+
+    private static Duration clamp(final Duration value, final Duration min, final Duration max) {
+        return value.compareTo(min) < 0 ? min : value.compareTo(max) > 0 ? max : value;
+    }
+}
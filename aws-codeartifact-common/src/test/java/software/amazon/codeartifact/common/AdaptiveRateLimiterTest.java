@@ -0,0 +1,171 @@
+package software.amazon.codeartifact.common;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.services.codeartifact.model.ThrottlingException;
+import software.amazon.awssdk.services.codeartifact.model.ValidationException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AdaptiveRateLimiterTest {
+    private static final long CALL_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    private final AtomicLong now = new AtomicLong();
+    private final List<Long> sleeps = new ArrayList<>();
+    private AdaptiveRateLimiter rateLimiter;
+
+    @BeforeEach
+    public void setup() {
+        now.set(TimeUnit.SECONDS.toNanos(1000));
+        sleeps.clear();
+        rateLimiter = new AdaptiveRateLimiter(now::get, nanos -> {
+            sleeps.add(nanos);
+            now.addAndGet(nanos);
+        });
+    }
+
+    @Test
+    public void call_isNotLimitedBeforeThrottling() {
+        for (int i = 0; i < 100; i++) {
+            assertThat(rateLimiter.call(() -> "response", NO_DEADLINE)).isEqualTo("response");
+        }
+
+        assertThat(rateLimiter.isEnabled()).isFalse();
+        assertThat(sleeps).isEmpty();
+    }
+
+    @Test
+    public void call_throttledLowersRateAndPacesCalls() {
+        callAtTenPerSecond(20);
+
+        assertThatThrownBy(() -> rateLimiter.call(() -> {
+            throw ThrottlingException.builder().build();
+        }, NO_DEADLINE)).isInstanceOf(ThrottlingException.class);
+
+        assertThat(rateLimiter.isEnabled()).isTrue();
+        assertThat(rateLimiter.getRate()).isBetween(AdaptiveRateLimiter.MIN_RATE, 10.0);
+        rateLimiter.call(() -> "response", NO_DEADLINE);
+        rateLimiter.call(() -> "response", NO_DEADLINE);
+        assertThat(sleeps).isNotEmpty();
+    }
+
+    @Test
+    public void call_otherErrorsDoNotEnableLimiting() {
+        assertThatThrownBy(() -> rateLimiter.call(() -> {
+            throw ValidationException.builder().build();
+        }, NO_DEADLINE)).isInstanceOf(ValidationException.class);
+
+        assertThat(rateLimiter.isEnabled()).isFalse();
+    }
+
+    @Test
+    public void acquire_waitsUntilTokenIsRefilled() {
+        rateLimiter.record(true);
+
+        rateLimiter.acquire(now.get() + TimeUnit.SECONDS.toNanos(3));
+
+        // Throttling without a measured rate drops it to the minimum, so the first token takes two seconds
+        assertThat(sleeps).containsExactly(TimeUnit.SECONDS.toNanos(2));
+    }
+
+    @Test
+    public void acquire_failsRightAwayWhenWaitPassesDeadline() {
+        rateLimiter.record(true);
+
+        assertThatThrownBy(() -> rateLimiter.acquire(now.get() + TimeUnit.SECONDS.toNanos(1)))
+            .isInstanceOf(ThrottlingException.class);
+        assertThat(sleeps).isEmpty();
+
+        // The failed call didn't reserve a token, so the next one still waits for a single token
+        rateLimiter.acquire(now.get() + TimeUnit.SECONDS.toNanos(3));
+        assertThat(sleeps).containsExactly(TimeUnit.SECONDS.toNanos(2));
+    }
+
+    @Test
+    public void call_waitPastDeadlineNeitherCallsNorLowersRate() {
+        rateLimiter.record(true);
+        final double rate = rateLimiter.getRate();
+        final AtomicLong calls = new AtomicLong();
+
+        assertThatThrownBy(() -> rateLimiter.call(calls::incrementAndGet, now.get()))
+            .isInstanceOf(ThrottlingException.class);
+
+        assertThat(calls.get()).isZero();
+        assertThat(rateLimiter.getRate()).isEqualTo(rate);
+    }
+
+    @Test
+    public void deadline_isInvocationTimeoutFromNow() {
+        assertThat(rateLimiter.deadline()).isEqualTo(now.get() + AdaptiveRateLimiter.INVOCATION_TIMEOUT.toNanos());
+    }
+
+    @Test
+    public void invocationTimeout_setInSeconds() {
+        assertThat(AdaptiveRateLimiter.invocationTimeout(" 180 ")).isEqualTo(Duration.ofSeconds(180));
+    }
+
+    @Test
+    public void invocationTimeout_defaultsWhenUnsetOrInvalid() {
+        assertThat(AdaptiveRateLimiter.invocationTimeout(null))
+            .isEqualTo(AdaptiveRateLimiter.DEFAULT_INVOCATION_TIMEOUT);
+        assertThat(AdaptiveRateLimiter.invocationTimeout("0"))
+            .isEqualTo(AdaptiveRateLimiter.DEFAULT_INVOCATION_TIMEOUT);
+        assertThat(AdaptiveRateLimiter.invocationTimeout("a minute"))
+            .isEqualTo(AdaptiveRateLimiter.DEFAULT_INVOCATION_TIMEOUT);
+    }
+
+    @Test
+    public void record_successesGrowRateBack() {
+        callAtTenPerSecond(20);
+        rateLimiter.record(true);
+        final double throttledRate = rateLimiter.getRate();
+
+        callAtTenPerSecond(50);
+
+        assertThat(rateLimiter.getRate()).isGreaterThan(throttledRate);
+    }
+
+    @Test
+    public void record_rateNeverDropsBelowMinimum() {
+        for (int i = 0; i < 20; i++) {
+            rateLimiter.record(true);
+        }
+
+        assertThat(rateLimiter.getRate()).isEqualTo(AdaptiveRateLimiter.MIN_RATE);
+    }
+
+    @Test
+    public void isThrottling_checksThrottlingErrors() {
+        final AwsServiceException tooManyRequests = AwsServiceException.builder().statusCode(429).build();
+
+        assertThat(AdaptiveRateLimiter.isThrottling(ThrottlingException.builder().build())).isTrue();
+        assertThat(AdaptiveRateLimiter.isThrottling(tooManyRequests)).isTrue();
+        assertThat(AdaptiveRateLimiter.isThrottling(ValidationException.builder().build())).isFalse();
+        assertThat(AdaptiveRateLimiter.isThrottling(new IllegalStateException())).isFalse();
+    }
+
+    @Test
+    public void forAccount_sharesLimiterPerAccountAndRegion() {
+        assertThat(AdaptiveRateLimiter.forAccount("12345", "us-west-2"))
+            .isSameAs(AdaptiveRateLimiter.forAccount("12345", "us-west-2"))
+            .isNotSameAs(AdaptiveRateLimiter.forAccount("12345", "us-east-1"))
+            .isNotSameAs(AdaptiveRateLimiter.forAccount("67890", "us-west-2"));
+    }
+
+    private void callAtTenPerSecond(final int calls) {
+        for (int i = 0; i < calls; i++) {
+            now.addAndGet(CALL_INTERVAL_NANOS);
+            rateLimiter.call(() -> "response", NO_DEADLINE);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package software.amazon.codeartifact.common;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.codeartifact.CodeartifactClient;
+import software.amazon.awssdk.services.codeartifact.model.DescribeRepositoryRequest;
+import software.amazon.awssdk.services.codeartifact.model.DescribeRepositoryResponse;
+import software.amazon.awssdk.services.codeartifact.model.PutRepositoryPermissionsPolicyRequest;
+import software.amazon.awssdk.services.codeartifact.model.PutRepositoryPermissionsPolicyResponse;
+import software.amazon.awssdk.services.codeartifact.model.RepositoryDescription;
+import software.amazon.awssdk.services.codeartifact.model.ResourceNotFoundException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class CachingProxyClientTest extends AbstractTestBase {
+    private static final DescribeRepositoryRequest DESCRIBE_REQUEST = DescribeRepositoryRequest.builder()
+        .domain(DOMAIN_NAME)
+        .domainOwner(DOMAIN_OWNER)
+        .repository(REPO_NAME)
+        .build();
+
+    @Mock
+    CodeartifactClient codeartifactClient;
+
+    private CachingProxyClient.Responses responses;
+    private ProxyClient<CodeartifactClient> proxyClient;
+
+    @BeforeEach
+    public void setup() {
+        final AmazonWebServicesClientProxy proxy =
+            new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+        responses = new CachingProxyClient.Responses();
+        proxyClient = new CachingProxyClient<>(MOCK_PROXY(proxy, codeartifactClient), responses);
+    }
+
+    @Test
+    public void injectCredentialsAndInvokeV2_servesRepeatedReadsFromMemory() {
+        when(codeartifactClient.describeRepository(any(DescribeRepositoryRequest.class)))
+            .thenReturn(describeRepositoryResponse(DESCRIPTION));
+
+        // An equal request built separately, the way each handler translates its own
+        final DescribeRepositoryResponse first = describeRepository(proxyClient, DESCRIBE_REQUEST.toBuilder().build());
+        final DescribeRepositoryResponse second = describeRepository(proxyClient, DESCRIBE_REQUEST);
+
+        assertThat(second).isSameAs(first);
+        verify(codeartifactClient, times(1)).describeRepository(any(DescribeRepositoryRequest.class));
+    }
+
+    @Test
+    public void injectCredentialsAndInvokeV2_mutationInvalidates() {
+        when(codeartifactClient.describeRepository(any(DescribeRepositoryRequest.class)))
+            .thenReturn(describeRepositoryResponse(DESCRIPTION))
+            .thenReturn(describeRepositoryResponse("updated"));
+        when(codeartifactClient.putRepositoryPermissionsPolicy(any(PutRepositoryPermissionsPolicyRequest.class)))
+            .thenReturn(PutRepositoryPermissionsPolicyResponse.builder().build());
+
+        describeRepository(proxyClient, DESCRIBE_REQUEST);
+        proxyClient.injectCredentialsAndInvokeV2(PutRepositoryPermissionsPolicyRequest.builder().build(),
+            proxyClient.client()::putRepositoryPermissionsPolicy);
+        final DescribeRepositoryResponse afterMutation = describeRepository(proxyClient, DESCRIBE_REQUEST);
+
+        assertThat(afterMutation.repository().description()).isEqualTo("updated");
+        verify(codeartifactClient, times(2)).describeRepository(any(DescribeRepositoryRequest.class));
+    }
+
+    @Test
+    public void injectCredentialsAndInvokeV2_doesNotKeepFailures() {
+        when(codeartifactClient.describeRepository(any(DescribeRepositoryRequest.class)))
+            .thenThrow(ResourceNotFoundException.builder().build())
+            .thenReturn(describeRepositoryResponse(DESCRIPTION));
+
+        assertThatThrownBy(() -> describeRepository(proxyClient, DESCRIBE_REQUEST))
+            .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(describeRepository(proxyClient, DESCRIBE_REQUEST).repository().description()).isEqualTo(DESCRIPTION);
+    }
+
+    @Test
+    public void refreshing_readsFromServiceAndKeepsResponse() {
+        when(codeartifactClient.describeRepository(any(DescribeRepositoryRequest.class)))
+            .thenReturn(describeRepositoryResponse(DESCRIPTION))
+            .thenReturn(describeRepositoryResponse("updated"));
+
+        describeRepository(proxyClient, DESCRIBE_REQUEST);
+        final DescribeRepositoryResponse refreshed =
+            describeRepository(CachingProxyClient.refreshing(proxyClient), DESCRIBE_REQUEST);
+
+        assertThat(refreshed.repository().description()).isEqualTo("updated");
+        assertThat(describeRepository(proxyClient, DESCRIBE_REQUEST)).isSameAs(refreshed);
+        verify(codeartifactClient, times(2)).describeRepository(any(DescribeRepositoryRequest.class));
+    }
+
+    @Test
+    public void isRead_classifiesByOperation() {
+        assertThat(CachingProxyClient.isRead(DESCRIBE_REQUEST)).isTrue();
+        assertThat(CachingProxyClient.isRead(PutRepositoryPermissionsPolicyRequest.builder().build())).isFalse();
+    }
+
+    private static DescribeRepositoryResponse describeRepository(
+        final ProxyClient<CodeartifactClient> proxyClient,
+        final DescribeRepositoryRequest request
+    ) {
+        return proxyClient.injectCredentialsAndInvokeV2(request, proxyClient.client()::describeRepository);
+    }
+
+    private static DescribeRepositoryResponse describeRepositoryResponse(final String description) {
+        return DescribeRepositoryResponse.builder()
+            .repository(RepositoryDescription.builder().name(REPO_NAME).description(description).build())
+            .build();
+    }
+}
@@ -0,0 +1,86 @@
+package software.amazon.codeartifact.common;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
+import software.amazon.cloudformation.exceptions.CfnNotFoundException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CallBatchTest extends AbstractTestBase {
+    private static final String OPERATION = "codeartifact:AssociateExternalConnection";
+    private static final int MAX_CONCURRENT_CALLS = 4;
+    private static final String NPM_EC = "public:npmjs";
+    private static final String PYPI_EC = "public:pypi";
+    private static final String MAVEN_EC = "public:maven-central";
+    private static final String NUGET_EC = "public:nuget-org";
+
+    @Test
+    public void run_returnsResultsInOrderOfItems() {
+        final List<String> results = CallBatch.run(
+            Arrays.asList(NPM_EC, PYPI_EC, MAVEN_EC), ec -> ec + "-associated", MAX_CONCURRENT_CALLS, OPERATION, logger);
+
+        assertThat(results).containsExactly(NPM_EC + "-associated", PYPI_EC + "-associated", MAVEN_EC + "-associated");
+    }
+
+    @Test
+    public void run_singleItemRunsOnCallerThread() {
+        final Thread caller = Thread.currentThread();
+
+        final List<Thread> threads = CallBatch.run(Collections.singleton(NPM_EC),
+            ec -> Thread.currentThread(), MAX_CONCURRENT_CALLS, OPERATION, logger);
+
+        assertThat(threads).containsExactly(caller);
+    }
+
+    @Test
+    public void run_callsConcurrentlyUpToLimit() {
+        final CountDownLatch allStarted = new CountDownLatch(MAX_CONCURRENT_CALLS);
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+
+        CallBatch.run(Arrays.asList(NPM_EC, PYPI_EC, MAVEN_EC, NUGET_EC, "public:pub-dev"), ec -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            allStarted.countDown();
+            try {
+                // Only returns early when the whole first window runs at the same time
+                allStarted.await(5, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+            return ec;
+        }, MAX_CONCURRENT_CALLS, OPERATION, logger);
+
+        assertThat(maxRunning.get()).isEqualTo(MAX_CONCURRENT_CALLS);
+    }
+
+    @Test
+    public void run_aggregatesFailures() {
+        final AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> CallBatch.run(Arrays.asList(NPM_EC, PYPI_EC, MAVEN_EC), ec -> {
+            calls.incrementAndGet();
+            if (ec.equals(NPM_EC)) {
+                throw new CfnInvalidRequestException(ec);
+            }
+            if (ec.equals(MAVEN_EC)) {
+                throw new CfnNotFoundException(RESOURCE_TYPE, ec);
+            }
+            return ec;
+        }, MAX_CONCURRENT_CALLS, OPERATION, logger))
+            .isInstanceOf(CfnInvalidRequestException.class)
+            .satisfies(e -> assertThat(e.getSuppressed()).hasSize(1)
+                .hasOnlyElementsOfType(CfnNotFoundException.class));
+
+        assertThat(calls.get()).isEqualTo(3);
+    }
+}
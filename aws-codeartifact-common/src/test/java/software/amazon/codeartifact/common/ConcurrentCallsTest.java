@@ -0,0 +1,65 @@
+package software.amazon.codeartifact.common;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.junit.jupiter.api.Test;
+
+import software.amazon.cloudformation.exceptions.CfnNotFoundException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ConcurrentCallsTest {
+
+    @Test
+    public void join_returnsResultOfSubmittedCall() {
+        assertThat(ConcurrentCalls.join(ConcurrentCalls.submit(() -> "response"))).isEqualTo("response");
+    }
+
+    @Test
+    public void join_rethrowsRuntimeExceptionOfCall() {
+        final CompletableFuture<String> call = ConcurrentCalls.submit(() -> {
+            throw new CfnNotFoundException("AWS::CodeArtifact::Repository", "test-repo-name");
+        });
+
+        assertThatThrownBy(() -> ConcurrentCalls.join(call)).isInstanceOf(CfnNotFoundException.class);
+    }
+
+    @Test
+    public void submit_fromPoolThreadRunsInline() {
+        final CompletableFuture<Boolean> call = ConcurrentCalls.submit(() -> {
+            final Thread outer = Thread.currentThread();
+            return ConcurrentCalls.join(ConcurrentCalls.submit(() -> Thread.currentThread() == outer));
+        });
+
+        assertThat(ConcurrentCalls.join(call)).isTrue();
+    }
+
+    @Test
+    public void submit_fromOtherThreadRunsOnPool() {
+        final Thread caller = Thread.currentThread();
+
+        assertThat(ConcurrentCalls.join(ConcurrentCalls.submit(Thread::currentThread))).isNotSameAs(caller);
+    }
+
+    @Test
+    public void callInline_failsFutureWithWhatCallThrew() {
+        final CompletableFuture<String> call = ConcurrentCalls.callInline(() -> {
+            throw new CfnNotFoundException("AWS::CodeArtifact::Repository", "test-repo-name");
+        });
+
+        assertThat(call).isCompletedExceptionally();
+        assertThatThrownBy(() -> ConcurrentCalls.join(call)).isInstanceOf(CfnNotFoundException.class);
+    }
+
+    @Test
+    public void join_keepsWrapperOfCheckedFailure() {
+        final CompletableFuture<String> call = new CompletableFuture<>();
+        call.completeExceptionally(new Exception("checked"));
+
+        assertThatThrownBy(() -> ConcurrentCalls.join(call))
+            .isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(Exception.class);
+    }
+}
@@ -0,0 +1,988 @@
+package software.amazon.codeartifact.common;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.core.exception.AbortedException;
+import software.amazon.awssdk.services.codeartifact.CodeartifactClient;
+import software.amazon.awssdk.services.codeartifact.model.AssociateExternalConnectionRequest;
+import software.amazon.awssdk.services.codeartifact.model.AssociateExternalConnectionResponse;
+import software.amazon.awssdk.services.codeartifact.model.CodeartifactException;
+import software.amazon.awssdk.services.codeartifact.model.ConflictException;
+import software.amazon.awssdk.services.codeartifact.model.CreateDomainRequest;
+import software.amazon.awssdk.services.codeartifact.model.CreateDomainResponse;
+import software.amazon.awssdk.services.codeartifact.model.CreatePackageGroupRequest;
+import software.amazon.awssdk.services.codeartifact.model.CreatePackageGroupResponse;
+import software.amazon.awssdk.services.codeartifact.model.CreateRepositoryRequest;
+import software.amazon.awssdk.services.codeartifact.model.CreateRepositoryResponse;
+import software.amazon.awssdk.services.codeartifact.model.DeleteDomainPermissionsPolicyRequest;
+import software.amazon.awssdk.services.codeartifact.model.DeleteDomainPermissionsPolicyResponse;
+import software.amazon.awssdk.services.codeartifact.model.DeleteDomainRequest;
+import software.amazon.awssdk.services.codeartifact.model.DeleteDomainResponse;
+import software.amazon.awssdk.services.codeartifact.model.DeletePackageGroupRequest;
+import software.amazon.awssdk.services.codeartifact.model.DeletePackageGroupResponse;
+import software.amazon.awssdk.services.codeartifact.model.DeleteRepositoryPermissionsPolicyRequest;
+import software.amazon.awssdk.services.codeartifact.model.DeleteRepositoryPermissionsPolicyResponse;
+import software.amazon.awssdk.services.codeartifact.model.DeleteRepositoryRequest;
+import software.amazon.awssdk.services.codeartifact.model.DeleteRepositoryResponse;
+import software.amazon.awssdk.services.codeartifact.model.DescribeDomainRequest;
+import software.amazon.awssdk.services.codeartifact.model.DescribeDomainResponse;
+import software.amazon.awssdk.services.codeartifact.model.DescribePackageGroupRequest;
+import software.amazon.awssdk.services.codeartifact.model.DescribePackageGroupResponse;
+import software.amazon.awssdk.services.codeartifact.model.DescribeRepositoryRequest;
+import software.amazon.awssdk.services.codeartifact.model.DescribeRepositoryResponse;
+import software.amazon.awssdk.services.codeartifact.model.DisassociateExternalConnectionRequest;
+import software.amazon.awssdk.services.codeartifact.model.DisassociateExternalConnectionResponse;
+import software.amazon.awssdk.services.codeartifact.model.DomainDescription;
+import software.amazon.awssdk.services.codeartifact.model.DomainStatus;
+import software.amazon.awssdk.services.codeartifact.model.DomainSummary;
+import software.amazon.awssdk.services.codeartifact.model.ExternalConnectionStatus;
+import software.amazon.awssdk.services.codeartifact.model.GetDomainPermissionsPolicyRequest;
+import software.amazon.awssdk.services.codeartifact.model.GetDomainPermissionsPolicyResponse;
+import software.amazon.awssdk.services.codeartifact.model.GetRepositoryPermissionsPolicyRequest;
+import software.amazon.awssdk.services.codeartifact.model.GetRepositoryPermissionsPolicyResponse;
+import software.amazon.awssdk.services.codeartifact.model.ListAllowedRepositoriesForGroupRequest;
+import software.amazon.awssdk.services.codeartifact.model.ListAllowedRepositoriesForGroupResponse;
+import software.amazon.awssdk.services.codeartifact.model.ListDomainsRequest;
+import software.amazon.awssdk.services.codeartifact.model.ListDomainsResponse;
+import software.amazon.awssdk.services.codeartifact.model.ListPackageGroupsRequest;
+import software.amazon.awssdk.services.codeartifact.model.ListPackageGroupsResponse;
+import software.amazon.awssdk.services.codeartifact.model.ListRepositoriesInDomainRequest;
+import software.amazon.awssdk.services.codeartifact.model.ListRepositoriesInDomainResponse;
+import software.amazon.awssdk.services.codeartifact.model.ListRepositoriesRequest;
+import software.amazon.awssdk.services.codeartifact.model.ListRepositoriesResponse;
+import software.amazon.awssdk.services.codeartifact.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.codeartifact.model.ListTagsForResourceResponse;
+import software.amazon.awssdk.services.codeartifact.model.PackageGroupAllowedRepository;
+import software.amazon.awssdk.services.codeartifact.model.PackageGroupDescription;
+import software.amazon.awssdk.services.codeartifact.model.PackageGroupOriginConfiguration;
+import software.amazon.awssdk.services.codeartifact.model.PackageGroupOriginRestriction;
+import software.amazon.awssdk.services.codeartifact.model.PackageGroupOriginRestrictionMode;
+import software.amazon.awssdk.services.codeartifact.model.PackageGroupOriginRestrictionType;
+import software.amazon.awssdk.services.codeartifact.model.PackageGroupSummary;
+import software.amazon.awssdk.services.codeartifact.model.PutDomainPermissionsPolicyRequest;
+import software.amazon.awssdk.services.codeartifact.model.PutDomainPermissionsPolicyResponse;
+import software.amazon.awssdk.services.codeartifact.model.PutRepositoryPermissionsPolicyRequest;
+import software.amazon.awssdk.services.codeartifact.model.PutRepositoryPermissionsPolicyResponse;
+import software.amazon.awssdk.services.codeartifact.model.RepositoryDescription;
+import software.amazon.awssdk.services.codeartifact.model.RepositoryExternalConnectionInfo;
+import software.amazon.awssdk.services.codeartifact.model.RepositorySummary;
+import software.amazon.awssdk.services.codeartifact.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.codeartifact.model.ResourcePolicy;
+import software.amazon.awssdk.services.codeartifact.model.ServiceQuotaExceededException;
+import software.amazon.awssdk.services.codeartifact.model.Tag;
+import software.amazon.awssdk.services.codeartifact.model.TagResourceRequest;
+import software.amazon.awssdk.services.codeartifact.model.TagResourceResponse;
+import software.amazon.awssdk.services.codeartifact.model.ThrottlingException;
+import software.amazon.awssdk.services.codeartifact.model.UntagResourceRequest;
+import software.amazon.awssdk.services.codeartifact.model.UntagResourceResponse;
+import software.amazon.awssdk.services.codeartifact.model.UpdatePackageGroupOriginConfigurationRequest;
+import software.amazon.awssdk.services.codeartifact.model.UpdatePackageGroupOriginConfigurationResponse;
+import software.amazon.awssdk.services.codeartifact.model.UpdatePackageGroupRequest;
+import software.amazon.awssdk.services.codeartifact.model.UpdatePackageGroupResponse;
+import software.amazon.awssdk.services.codeartifact.model.UpdateRepositoryRequest;
+import software.amazon.awssdk.services.codeartifact.model.UpdateRepositoryResponse;
+import software.amazon.awssdk.services.codeartifact.model.UpstreamRepository;
+import software.amazon.awssdk.services.codeartifact.model.UpstreamRepositoryInfo;
+import software.amazon.awssdk.services.codeartifact.model.ValidationException;
+
+/**
+ * An in-memory stand-in for CodeArtifact, for driving the handlers of every module through realistic call sequences
+ * (create, then stabilize, then read) and under concurrency, which per-method Mockito stubs can't do.
+ *
+ * It models domains, repositories, package groups, resource policies, tags and external connections, with the
+ * errors the handlers react to. Each call can be given a latency, a share of calls can be throttled, and reads can
+ * lag behind writes: a created resource only becomes visible to reads after {@link Settings#getVisibilityDelay()},
+ * and a deleted one stays visible for as long. Writes always see the latest state.
+ *
+ * Thread safe; state changes are serialized while the simulated latency is not, so concurrent callers overlap as
+ * they would against the service.
+ */
+public class FakeCodeartifactClient implements CodeartifactClient {
+    private static final int DEFAULT_PAGE_SIZE = 50;
+
+    @lombok.Builder
+    @lombok.Value
+    public static class Settings {
+        @lombok.Builder.Default
+        String accountId = "123456789012";
+        @lombok.Builder.Default
+        String region = "us-west-2";
+        @lombok.Builder.Default
+        Duration minLatency = Duration.ZERO;
+        @lombok.Builder.Default
+        Duration maxLatency = Duration.ZERO;
+        // How long reads keep seeing the state from before a resource was created or deleted
+        @lombok.Builder.Default
+        Duration visibilityDelay = Duration.ZERO;
+        // Share of calls, from 0 to 1, failing with a ThrottlingException
+        @lombok.Builder.Default
+        double throttlingRate = 0;
+        @lombok.Builder.Default
+        long seed = 0;
+        @lombok.Builder.Default
+        Clock clock = Clock.systemUTC();
+    }
+
+    private final Settings settings;
+    private final Random random;
+    private final AtomicInteger forcedThrottles = new AtomicInteger();
+    private final ConcurrentMap<String, LongAdder> calls = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongAdder> throttles = new ConcurrentHashMap<>();
+
+    // Guarded by this
+    private final Map<String, Domain> domains = new TreeMap<>();
+    private final Map<String, Repository> repositories = new TreeMap<>();
+    private final Map<String, PackageGroup> packageGroups = new TreeMap<>();
+    private final Map<String, Resource> resourcesByArn = new HashMap<>();
+    private long revisions;
+
+    public FakeCodeartifactClient() {
+        this(Settings.builder().build());
+    }
+
+    public FakeCodeartifactClient(final Settings settings) {
+        this.settings = settings;
+        this.random = new Random(settings.getSeed());
+    }
+
+    /**
+     * Throttles the next calls, regardless of the throttling rate.
+     */
+    public void throttleNext(final int count) {
+        forcedThrottles.addAndGet(count);
+    }
+
+    public long calls(final String operation) {
+        final LongAdder count = calls.get(operation);
+        return count == null ? 0 : count.sum();
+    }
+
+    public Map<String, Long> callCounts() {
+        final Map<String, Long> counts = new TreeMap<>();
+        calls.forEach((operation, count) -> counts.put(operation, count.sum()));
+        return counts;
+    }
+
+    public long totalCalls() {
+        return calls.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    public long throttles(final String operation) {
+        final LongAdder count = throttles.get(operation);
+        return count == null ? 0 : count.sum();
+    }
+
+    // Domains
+
+    @Override
+    public CreateDomainResponse createDomain(final CreateDomainRequest request) {
+        return call("CreateDomain", () -> {
+            final String key = key(settings.getAccountId(), request.domain());
+            if (exists(domains.get(key))) {
+                throw conflict("Domain " + request.domain() + " already exists");
+            }
+            final Domain domain = new Domain();
+            domain.name = request.domain();
+            domain.owner = settings.getAccountId();
+            domain.arn = String.format("arn:aws:codeartifact:%s:%s:domain/%s",
+                settings.getRegion(), domain.owner, domain.name);
+            domain.encryptionKey = request.encryptionKey() != null ? request.encryptionKey()
+                : String.format("arn:aws:kms:%s:%s:key/fake", settings.getRegion(), domain.owner);
+            created(domain, request.tags());
+            domains.put(key, domain);
+            return CreateDomainResponse.builder().domain(describe(domain)).build();
+        });
+    }
+
+    @Override
+    public DescribeDomainResponse describeDomain(final DescribeDomainRequest request) {
+        return call("DescribeDomain", () -> DescribeDomainResponse.builder()
+            .domain(describe(visibleDomain(request.domainOwner(), request.domain())))
+            .build());
+    }
+
+    @Override
+    public DeleteDomainResponse deleteDomain(final DeleteDomainRequest request) {
+        return call("DeleteDomain", () -> {
+            final Domain domain = existingDomain(request.domainOwner(), request.domain());
+            if (repositories.values().stream().anyMatch(repository -> exists(repository) && repository.in(domain))) {
+                throw conflict("Domain " + domain.name + " still has repositories");
+            }
+            deleted(domain);
+            return DeleteDomainResponse.builder().domain(describe(domain)).build();
+        });
+    }
+
+    @Override
+    public ListDomainsResponse listDomains(final ListDomainsRequest request) {
+        return call("ListDomains", () -> {
+            final Page<DomainSummary> page = page(visibleOf(domains).stream()
+                .map(domain -> DomainSummary.builder()
+                    .name(domain.name)
+                    .owner(domain.owner)
+                    .arn(domain.arn)
+                    .status(DomainStatus.ACTIVE)
+                    .createdTime(domain.createdAt)
+                    .encryptionKey(domain.encryptionKey)
+                    .build())
+                .collect(Collectors.toList()), request.maxResults(), request.nextToken());
+            return ListDomainsResponse.builder().domains(page.getItems()).nextToken(page.getNextToken()).build();
+        });
+    }
+
+    @Override
+    public PutDomainPermissionsPolicyResponse putDomainPermissionsPolicy(
+        final PutDomainPermissionsPolicyRequest request
+    ) {
+        return call("PutDomainPermissionsPolicy", () -> PutDomainPermissionsPolicyResponse.builder()
+            .policy(putPolicy(existingDomain(request.domainOwner(), request.domain()),
+                request.policyRevision(), request.policyDocument()))
+            .build());
+    }
+
+    @Override
+    public GetDomainPermissionsPolicyResponse getDomainPermissionsPolicy(
+        final GetDomainPermissionsPolicyRequest request
+    ) {
+        return call("GetDomainPermissionsPolicy", () -> GetDomainPermissionsPolicyResponse.builder()
+            .policy(getPolicy(visibleDomain(request.domainOwner(), request.domain())))
+            .build());
+    }
+
+    @Override
+    public DeleteDomainPermissionsPolicyResponse deleteDomainPermissionsPolicy(
+        final DeleteDomainPermissionsPolicyRequest request
+    ) {
+        return call("DeleteDomainPermissionsPolicy", () -> DeleteDomainPermissionsPolicyResponse.builder()
+            .policy(deletePolicy(existingDomain(request.domainOwner(), request.domain()), request.policyRevision()))
+            .build());
+    }
+
+    // Repositories
+
+    @Override
+    public CreateRepositoryResponse createRepository(final CreateRepositoryRequest request) {
+        return call("CreateRepository", () -> {
+            final Domain domain = existingDomain(request.domainOwner(), request.domain());
+            final String key = key(domain.owner, domain.name, request.repository());
+            if (exists(repositories.get(key))) {
+                throw conflict("Repository " + request.repository() + " already exists");
+            }
+            final Repository repository = new Repository();
+            repository.domain = domain.name;
+            repository.owner = domain.owner;
+            repository.name = request.repository();
+            repository.arn = String.format("arn:aws:codeartifact:%s:%s:repository/%s/%s",
+                settings.getRegion(), domain.owner, domain.name, repository.name);
+            repository.description = request.description();
+            repository.upstreams = upstreams(domain, repository.name, request.upstreams());
+            created(repository, request.tags());
+            repositories.put(key, repository);
+            return CreateRepositoryResponse.builder().repository(describe(repository)).build();
+        });
+    }
+
+    @Override
+    public DescribeRepositoryResponse describeRepository(final DescribeRepositoryRequest request) {
+        return call("DescribeRepository", () -> DescribeRepositoryResponse.builder()
+            .repository(describe(visibleRepository(request.domainOwner(), request.domain(), request.repository())))
+            .build());
+    }
+
+    @Override
+    public UpdateRepositoryResponse updateRepository(final UpdateRepositoryRequest request) {
+        return call("UpdateRepository", () -> {
+            final Repository repository =
+                existingRepository(request.domainOwner(), request.domain(), request.repository());
+            if (request.description() != null) {
+                repository.description = request.description();
+            }
+            if (request.hasUpstreams()) {
+                repository.upstreams = upstreams(
+                    existingDomain(repository.owner, repository.domain), repository.name, request.upstreams());
+            }
+            return UpdateRepositoryResponse.builder().repository(describe(repository)).build();
+        });
+    }
+
+    @Override
+    public DeleteRepositoryResponse deleteRepository(final DeleteRepositoryRequest request) {
+        return call("DeleteRepository", () -> {
+            final Repository repository =
+                existingRepository(request.domainOwner(), request.domain(), request.repository());
+            deleted(repository);
+            return DeleteRepositoryResponse.builder().repository(describe(repository)).build();
+        });
+    }
+
+    @Override
+    public ListRepositoriesResponse listRepositories(final ListRepositoriesRequest request) {
+        return call("ListRepositories", () -> {
+            final Page<RepositorySummary> page = page(visibleOf(repositories).stream()
+                .filter(repository -> request.repositoryPrefix() == null
+                    || repository.name.startsWith(request.repositoryPrefix()))
+                .map(FakeCodeartifactClient::summarize)
+                .collect(Collectors.toList()), request.maxResults(), request.nextToken());
+            return ListRepositoriesResponse.builder()
+                .repositories(page.getItems())
+                .nextToken(page.getNextToken())
+                .build();
+        });
+    }
+
+    @Override
+    public ListRepositoriesInDomainResponse listRepositoriesInDomain(final ListRepositoriesInDomainRequest request) {
+        return call("ListRepositoriesInDomain", () -> {
+            final Domain domain = visibleDomain(request.domainOwner(), request.domain());
+            final Page<RepositorySummary> page = page(visibleOf(repositories).stream()
+                .filter(repository -> repository.in(domain))
+                .filter(repository -> request.repositoryPrefix() == null
+                    || repository.name.startsWith(request.repositoryPrefix()))
+                .map(FakeCodeartifactClient::summarize)
+                .collect(Collectors.toList()), request.maxResults(), request.nextToken());
+            return ListRepositoriesInDomainResponse.builder()
+                .repositories(page.getItems())
+                .nextToken(page.getNextToken())
+                .build();
+        });
+    }
+
+    @Override
+    public AssociateExternalConnectionResponse associateExternalConnection(
+        final AssociateExternalConnectionRequest request
+    ) {
+        return call("AssociateExternalConnection", () -> {
+            final Repository repository =
+                existingRepository(request.domainOwner(), request.domain(), request.repository());
+            if (!request.externalConnection().startsWith("public:")) {
+                throw validation("Unknown external connection " + request.externalConnection());
+            }
+            if (repository.externalConnections.contains(request.externalConnection())) {
+                throw conflict("External connection " + request.externalConnection() + " is already associated");
+            }
+            if (!repository.externalConnections.isEmpty()) {
+                throw quotaExceeded("Repository " + repository.name + " already has an external connection");
+            }
+            repository.externalConnections.add(request.externalConnection());
+            return AssociateExternalConnectionResponse.builder().repository(describe(repository)).build();
+        });
+    }
+
+    @Override
+    public DisassociateExternalConnectionResponse disassociateExternalConnection(
+        final DisassociateExternalConnectionRequest request
+    ) {
+        return call("DisassociateExternalConnection", () -> {
+            final Repository repository =
+                existingRepository(request.domainOwner(), request.domain(), request.repository());
+            if (!repository.externalConnections.remove(request.externalConnection())) {
+                throw notFound("External connection " + request.externalConnection() + " is not associated");
+            }
+            return DisassociateExternalConnectionResponse.builder().repository(describe(repository)).build();
+        });
+    }
+
+    @Override
+    public PutRepositoryPermissionsPolicyResponse putRepositoryPermissionsPolicy(
+        final PutRepositoryPermissionsPolicyRequest request
+    ) {
+        return call("PutRepositoryPermissionsPolicy", () -> PutRepositoryPermissionsPolicyResponse.builder()
+            .policy(putPolicy(existingRepository(request.domainOwner(), request.domain(), request.repository()),
+                request.policyRevision(), request.policyDocument()))
+            .build());
+    }
+
+    @Override
+    public GetRepositoryPermissionsPolicyResponse getRepositoryPermissionsPolicy(
+        final GetRepositoryPermissionsPolicyRequest request
+    ) {
+        return call("GetRepositoryPermissionsPolicy", () -> GetRepositoryPermissionsPolicyResponse.builder()
+            .policy(getPolicy(visibleRepository(request.domainOwner(), request.domain(), request.repository())))
+            .build());
+    }
+
+    @Override
+    public DeleteRepositoryPermissionsPolicyResponse deleteRepositoryPermissionsPolicy(
+        final DeleteRepositoryPermissionsPolicyRequest request
+    ) {
+        return call("DeleteRepositoryPermissionsPolicy", () -> DeleteRepositoryPermissionsPolicyResponse.builder()
+            .policy(deletePolicy(existingRepository(request.domainOwner(), request.domain(), request.repository()),
+                request.policyRevision()))
+            .build());
+    }
+
+    // Package groups
+
+    @Override
+    public CreatePackageGroupResponse createPackageGroup(final CreatePackageGroupRequest request) {
+        return call("CreatePackageGroup", () -> {
+            final Domain domain = existingDomain(request.domainOwner(), request.domain());
+            final String key = key(domain.owner, domain.name, request.packageGroup());
+            if (exists(packageGroups.get(key))) {
+                throw conflict("Package group " + request.packageGroup() + " already exists");
+            }
+            if (request.packageGroup() == null || !request.packageGroup().startsWith("/")) {
+                throw validation("Invalid package group pattern " + request.packageGroup());
+            }
+            final PackageGroup packageGroup = new PackageGroup();
+            packageGroup.domain = domain.name;
+            packageGroup.owner = domain.owner;
+            packageGroup.pattern = request.packageGroup();
+            packageGroup.arn = String.format("arn:aws:codeartifact:%s:%s:package-group/%s/%s",
+                settings.getRegion(), domain.owner, domain.name,
+                encode(packageGroup.pattern.substring(1)));
+            packageGroup.description = request.description();
+            packageGroup.contactInfo = request.contactInfo();
+            created(packageGroup, request.tags());
+            packageGroups.put(key, packageGroup);
+            return CreatePackageGroupResponse.builder().packageGroup(describe(packageGroup)).build();
+        });
+    }
+
+    @Override
+    public DescribePackageGroupResponse describePackageGroup(final DescribePackageGroupRequest request) {
+        return call("DescribePackageGroup", () -> DescribePackageGroupResponse.builder()
+            .packageGroup(describe(
+                visiblePackageGroup(request.domainOwner(), request.domain(), request.packageGroup())))
+            .build());
+    }
+
+    @Override
+    public UpdatePackageGroupResponse updatePackageGroup(final UpdatePackageGroupRequest request) {
+        return call("UpdatePackageGroup", () -> {
+            final PackageGroup packageGroup =
+                existingPackageGroup(request.domainOwner(), request.domain(), request.packageGroup());
+            packageGroup.description = request.description();
+            packageGroup.contactInfo = request.contactInfo();
+            return UpdatePackageGroupResponse.builder().packageGroup(describe(packageGroup)).build();
+        });
+    }
+
+    @Override
+    public DeletePackageGroupResponse deletePackageGroup(final DeletePackageGroupRequest request) {
+        return call("DeletePackageGroup", () -> {
+            final PackageGroup packageGroup =
+                existingPackageGroup(request.domainOwner(), request.domain(), request.packageGroup());
+            deleted(packageGroup);
+            return DeletePackageGroupResponse.builder().packageGroup(describe(packageGroup)).build();
+        });
+    }
+
+    @Override
+    public ListPackageGroupsResponse listPackageGroups(final ListPackageGroupsRequest request) {
+        return call("ListPackageGroups", () -> {
+            final Domain domain = visibleDomain(request.domainOwner(), request.domain());
+            final Page<PackageGroupSummary> page = page(visibleOf(packageGroups).stream()
+                .filter(packageGroup -> packageGroup.in(domain))
+                .filter(packageGroup -> request.prefix() == null || packageGroup.pattern.startsWith(request.prefix()))
+                .map(packageGroup -> PackageGroupSummary.builder()
+                    .arn(packageGroup.arn)
+                    .pattern(packageGroup.pattern)
+                    .domainName(packageGroup.domain)
+                    .domainOwner(packageGroup.owner)
+                    .createdTime(packageGroup.createdAt)
+                    .description(packageGroup.description)
+                    .contactInfo(packageGroup.contactInfo)
+                    .originConfiguration(originConfiguration(packageGroup))
+                    .build())
+                .collect(Collectors.toList()), request.maxResults(), request.nextToken());
+            return ListPackageGroupsResponse.builder()
+                .packageGroups(page.getItems())
+                .nextToken(page.getNextToken())
+                .build();
+        });
+    }
+
+    @Override
+    public UpdatePackageGroupOriginConfigurationResponse updatePackageGroupOriginConfiguration(
+        final UpdatePackageGroupOriginConfigurationRequest request
+    ) {
+        return call("UpdatePackageGroupOriginConfiguration", () -> {
+            final PackageGroup packageGroup =
+                existingPackageGroup(request.domainOwner(), request.domain(), request.packageGroup());
+            if (request.hasRestrictions()) {
+                packageGroup.restrictions.putAll(request.restrictions());
+            }
+            if (request.hasAddAllowedRepositories()) {
+                for (PackageGroupAllowedRepository allowed : request.addAllowedRepositories()) {
+                    packageGroup.allowed(allowed.originRestrictionType()).add(allowed.repositoryName());
+                }
+            }
+            if (request.hasRemoveAllowedRepositories()) {
+                for (PackageGroupAllowedRepository allowed : request.removeAllowedRepositories()) {
+                    packageGroup.allowed(allowed.originRestrictionType()).remove(allowed.repositoryName());
+                }
+            }
+            return UpdatePackageGroupOriginConfigurationResponse.builder()
+                .packageGroup(describe(packageGroup))
+                .build();
+        });
+    }
+
+    @Override
+    public ListAllowedRepositoriesForGroupResponse listAllowedRepositoriesForGroup(
+        final ListAllowedRepositoriesForGroupRequest request
+    ) {
+        return call("ListAllowedRepositoriesForGroup", () -> {
+            final PackageGroup packageGroup =
+                visiblePackageGroup(request.domainOwner(), request.domain(), request.packageGroup());
+            final Page<String> page = page(new ArrayList<>(packageGroup.allowed(request.originRestrictionType())),
+                request.maxResults(), request.nextToken());
+            return ListAllowedRepositoriesForGroupResponse.builder()
+                .allowedRepositories(page.getItems())
+                .nextToken(page.getNextToken())
+                .build();
+        });
+    }
+
+    // Tags
+
+    @Override
+    public TagResourceResponse tagResource(final TagResourceRequest request) {
+        return call("TagResource", () -> {
+            final Resource resource = existingResource(request.resourceArn());
+            request.tags().forEach(tag -> resource.tags.put(tag.key(), tag.value()));
+            return TagResourceResponse.builder().build();
+        });
+    }
+
+    @Override
+    public UntagResourceResponse untagResource(final UntagResourceRequest request) {
+        return call("UntagResource", () -> {
+            final Resource resource = existingResource(request.resourceArn());
+            request.tagKeys().forEach(resource.tags::remove);
+            return UntagResourceResponse.builder().build();
+        });
+    }
+
+    @Override
+    public ListTagsForResourceResponse listTagsForResource(final ListTagsForResourceRequest request) {
+        return call("ListTagsForResource", () -> {
+            final Resource resource = resourcesByArn.get(request.resourceArn());
+            if (!visible(resource)) {
+                throw notFound("Resource " + request.resourceArn() + " not found");
+            }
+            return ListTagsForResourceResponse.builder()
+                .tags(resource.tags.entrySet().stream()
+                    .map(tag -> Tag.builder().key(tag.getKey()).value(tag.getValue()).build())
+                    .collect(Collectors.toList()))
+                .build();
+        });
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    // Runs one call: latency and throttling outside the lock, the state change under it.
+    private <T> T call(final String operation, final Supplier<T> action) {
+        calls.computeIfAbsent(operation, key -> new LongAdder()).increment();
+        pause();
+        if (throttled()) {
+            throttles.computeIfAbsent(operation, key -> new LongAdder()).increment();
+            throw ThrottlingException.builder()
+                .message("Rate exceeded")
+                .retryAfterSeconds(1)
+                .statusCode(429)
+                .awsErrorDetails(errorDetails("ThrottlingException", "Rate exceeded"))
+                .build();
+        }
+        synchronized (this) {
+            return action.get();
+        }
+    }
+
+    private void pause() {
+        final long min = settings.getMinLatency().toMillis();
+        final long max = Math.max(min, settings.getMaxLatency().toMillis());
+        final long latency = max == min ? min : min + (long) (random.nextDouble() * (max - min));
+        if (latency <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(latency);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw AbortedException.builder().message("Interrupted").cause(e).build();
+        }
+    }
+
+    private boolean throttled() {
+        if (forcedThrottles.getAndUpdate(count -> Math.max(0, count - 1)) > 0) {
+            return true;
+        }
+        return settings.getThrottlingRate() > 0 && random.nextDouble() < settings.getThrottlingRate();
+    }
+
+    private void created(final Resource resource, final List<Tag> tags) {
+        resource.createdAt = settings.getClock().instant();
+        if (tags != null) {
+            tags.forEach(tag -> resource.tags.put(tag.key(), tag.value()));
+        }
+        resourcesByArn.put(resource.arn, resource);
+    }
+
+    private void deleted(final Resource resource) {
+        resource.deletedAt = settings.getClock().instant();
+    }
+
+    private static boolean exists(final Resource resource) {
+        return resource != null && resource.deletedAt == null;
+    }
+
+    private boolean visible(final Resource resource) {
+        if (resource == null) {
+            return false;
+        }
+        final Instant now = settings.getClock().instant();
+        final Duration delay = settings.getVisibilityDelay();
+        return !now.isBefore(resource.createdAt.plus(delay))
+            && (resource.deletedAt == null || now.isBefore(resource.deletedAt.plus(delay)));
+    }
+
+    private <T extends Resource> List<T> visibleOf(final Map<String, T> resources) {
+        return resources.values().stream().filter(this::visible).collect(Collectors.toList());
+    }
+
+    private String owner(final String domainOwner) {
+        return domainOwner != null ? domainOwner : settings.getAccountId();
+    }
+
+    private Domain existingDomain(final String domainOwner, final String name) {
+        final Domain domain = domains.get(key(owner(domainOwner), name));
+        if (!exists(domain)) {
+            throw notFound("Domain " + name + " not found");
+        }
+        return domain;
+    }
+
+    private Domain visibleDomain(final String domainOwner, final String name) {
+        final Domain domain = domains.get(key(owner(domainOwner), name));
+        if (!visible(domain)) {
+            throw notFound("Domain " + name + " not found");
+        }
+        return domain;
+    }
+
+    private Repository existingRepository(final String domainOwner, final String domain, final String name) {
+        final Repository repository = repositories.get(key(owner(domainOwner), domain, name));
+        if (!exists(repository)) {
+            throw notFound("Repository " + name + " not found");
+        }
+        return repository;
+    }
+
+    private Repository visibleRepository(final String domainOwner, final String domain, final String name) {
+        final Repository repository = repositories.get(key(owner(domainOwner), domain, name));
+        if (!visible(repository)) {
+            throw notFound("Repository " + name + " not found");
+        }
+        return repository;
+    }
+
+    private PackageGroup existingPackageGroup(final String domainOwner, final String domain, final String pattern) {
+        final PackageGroup packageGroup = packageGroups.get(key(owner(domainOwner), domain, pattern));
+        if (!exists(packageGroup)) {
+            throw notFound("Package group " + pattern + " not found");
+        }
+        return packageGroup;
+    }
+
+    private PackageGroup visiblePackageGroup(final String domainOwner, final String domain, final String pattern) {
+        final PackageGroup packageGroup = packageGroups.get(key(owner(domainOwner), domain, pattern));
+        if (!visible(packageGroup)) {
+            throw notFound("Package group " + pattern + " not found");
+        }
+        return packageGroup;
+    }
+
+    private Resource existingResource(final String arn) {
+        final Resource resource = resourcesByArn.get(arn);
+        if (!exists(resource)) {
+            throw notFound("Resource " + arn + " not found");
+        }
+        return resource;
+    }
+
+    private List<String> upstreams(
+        final Domain domain,
+        final String repositoryName,
+        final List<UpstreamRepository> upstreams
+    ) {
+        final List<String> names = new ArrayList<>();
+        if (upstreams == null) {
+            return names;
+        }
+        for (UpstreamRepository upstream : upstreams) {
+            if (upstream.repositoryName().equals(repositoryName)) {
+                throw validation("Repository " + repositoryName + " can't be its own upstream");
+            }
+            if (!exists(repositories.get(key(domain.owner, domain.name, upstream.repositoryName())))) {
+                throw notFound("Upstream repository " + upstream.repositoryName() + " not found");
+            }
+            names.add(upstream.repositoryName());
+        }
+        return names;
+    }
+
+    private ResourcePolicy putPolicy(final Resource resource, final String revision, final String document) {
+        if (revision != null && !revision.equals(resource.policyRevision)) {
+            throw conflict("Policy revision " + revision + " is not the current one");
+        }
+        if (document == null || document.isEmpty()) {
+            throw validation("Policy document is required");
+        }
+        resource.policy = document;
+        resource.policyRevision = Long.toString(++revisions);
+        return policy(resource);
+    }
+
+    private ResourcePolicy getPolicy(final Resource resource) {
+        if (resource.policy == null) {
+            throw notFound("No policy on " + resource.arn);
+        }
+        return policy(resource);
+    }
+
+    private ResourcePolicy deletePolicy(final Resource resource, final String revision) {
+        final ResourcePolicy policy = getPolicy(resource);
+        if (revision != null && !revision.equals(resource.policyRevision)) {
+            throw conflict("Policy revision " + revision + " is not the current one");
+        }
+        resource.policy = null;
+        resource.policyRevision = null;
+        return policy;
+    }
+
+    private static ResourcePolicy policy(final Resource resource) {
+        return ResourcePolicy.builder()
+            .resourceArn(resource.arn)
+            .revision(resource.policyRevision)
+            .document(resource.policy)
+            .build();
+    }
+
+    private DomainDescription describe(final Domain domain) {
+        return DomainDescription.builder()
+            .name(domain.name)
+            .owner(domain.owner)
+            .arn(domain.arn)
+            .status(DomainStatus.ACTIVE)
+            .createdTime(domain.createdAt)
+            .encryptionKey(domain.encryptionKey)
+            .repositoryCount((int) repositories.values().stream()
+                .filter(repository -> exists(repository) && repository.in(domain))
+                .count())
+            .assetSizeBytes(0L)
+            .build();
+    }
+
+    private static RepositoryDescription describe(final Repository repository) {
+        return RepositoryDescription.builder()
+            .name(repository.name)
+            .administratorAccount(repository.owner)
+            .domainName(repository.domain)
+            .domainOwner(repository.owner)
+            .arn(repository.arn)
+            .description(repository.description)
+            .upstreams(repository.upstreams.stream()
+                .map(name -> UpstreamRepositoryInfo.builder().repositoryName(name).build())
+                .collect(Collectors.toList()))
+            .externalConnections(repository.externalConnections.stream()
+                .map(name -> RepositoryExternalConnectionInfo.builder()
+                    .externalConnectionName(name)
+                    .status(ExternalConnectionStatus.AVAILABLE)
+                    .build())
+                .collect(Collectors.toList()))
+            .build();
+    }
+
+    private static RepositorySummary summarize(final Repository repository) {
+        return RepositorySummary.builder()
+            .name(repository.name)
+            .administratorAccount(repository.owner)
+            .domainName(repository.domain)
+            .domainOwner(repository.owner)
+            .arn(repository.arn)
+            .description(repository.description)
+            .build();
+    }
+
+    private static PackageGroupDescription describe(final PackageGroup packageGroup) {
+        return PackageGroupDescription.builder()
+            .arn(packageGroup.arn)
+            .pattern(packageGroup.pattern)
+            .domainName(packageGroup.domain)
+            .domainOwner(packageGroup.owner)
+            .createdTime(packageGroup.createdAt)
+            .description(packageGroup.description)
+            .contactInfo(packageGroup.contactInfo)
+            .originConfiguration(originConfiguration(packageGroup))
+            .build();
+    }
+
+    private static PackageGroupOriginConfiguration originConfiguration(final PackageGroup packageGroup) {
+        final Map<PackageGroupOriginRestrictionType, PackageGroupOriginRestriction> restrictions =
+            new EnumMap<>(PackageGroupOriginRestrictionType.class);
+        for (PackageGroupOriginRestrictionType type : PackageGroup.TYPES) {
+            final PackageGroupOriginRestrictionMode mode =
+                packageGroup.restrictions.getOrDefault(type, PackageGroupOriginRestrictionMode.INHERIT);
+            restrictions.put(type, PackageGroupOriginRestriction.builder()
+                .mode(mode)
+                .effectiveMode(mode == PackageGroupOriginRestrictionMode.INHERIT
+                    ? PackageGroupOriginRestrictionMode.ALLOW : mode)
+                .repositoriesCount((long) packageGroup.allowed(type).size())
+                .build());
+        }
+        return PackageGroupOriginConfiguration.builder().restrictions(restrictions).build();
+    }
+
+    private static <T> Page<T> page(final List<T> items, final Integer maxResults, final String nextToken) {
+        final int pageSize = maxResults != null && maxResults > 0 ? maxResults : DEFAULT_PAGE_SIZE;
+        final int from;
+        try {
+            from = nextToken == null ? 0 : Integer.parseInt(nextToken);
+        } catch (final NumberFormatException e) {
+            throw validation("Invalid next token " + nextToken);
+        }
+        final int to = Math.min(items.size(), from + pageSize);
+        return new Page<>(
+            from >= items.size() ? Collections.emptyList() : new ArrayList<>(items.subList(from, to)),
+            to < items.size() ? Integer.toString(to) : null);
+    }
+
+    private static String encode(final String value) {
+        try {
+            return URLEncoder.encode(value, StandardCharsets.UTF_8.name());
+        } catch (final UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String key(final String... parts) {
+        return String.join("/", parts);
+    }
+
+    private static CodeartifactException notFound(final String message) {
+        return error(ResourceNotFoundException.builder(), "ResourceNotFoundException", 404, message);
+    }
+
+    private static CodeartifactException conflict(final String message) {
+        return error(ConflictException.builder(), "ConflictException", 409, message);
+    }
+
+    private static CodeartifactException validation(final String message) {
+        return error(ValidationException.builder(), "ValidationException", 400, message);
+    }
+
+    private static CodeartifactException quotaExceeded(final String message) {
+        return error(ServiceQuotaExceededException.builder(), "ServiceQuotaExceededException", 402, message);
+    }
+
+    private static CodeartifactException error(
+        final CodeartifactException.Builder builder,
+        final String errorCode,
+        final int statusCode,
+        final String message
+    ) {
+        return builder
+            .message(message)
+            .statusCode(statusCode)
+            .awsErrorDetails(errorDetails(errorCode, message))
+            .build();
+    }
+
+    private static AwsErrorDetails errorDetails(final String errorCode, final String message) {
+        return AwsErrorDetails.builder()
+            .errorCode(errorCode)
+            .errorMessage(message)
+            .serviceName(SERVICE_NAME)
+            .build();
+    }
+
+    @lombok.Value
+    private static class Page<T> {
+        List<T> items;
+        String nextToken;
+    }
+
+    private abstract static class Resource {
+        String owner;
+        String arn;
+        Instant createdAt;
+        Instant deletedAt;
+        String policy;
+        String policyRevision;
+        final Map<String, String> tags = new LinkedHashMap<>();
+    }
+
+    private static class Domain extends Resource {
+        String name;
+        String encryptionKey;
+    }
+
+    private static class Repository extends Resource {
+        String domain;
+        String name;
+        String description;
+        List<String> upstreams = new ArrayList<>();
+        final List<String> externalConnections = new ArrayList<>();
+
+        boolean in(final Domain domain) {
+            return this.domain.equals(domain.name) && owner.equals(domain.owner);
+        }
+    }
+
+    private static class PackageGroup extends Resource {
+        static final PackageGroupOriginRestrictionType[] TYPES = {
+            PackageGroupOriginRestrictionType.PUBLISH,
+            PackageGroupOriginRestrictionType.EXTERNAL_UPSTREAM,
+            PackageGroupOriginRestrictionType.INTERNAL_UPSTREAM
+        };
+
+        String domain;
+        String pattern;
+        String description;
+        String contactInfo;
+        final Map<PackageGroupOriginRestrictionType, PackageGroupOriginRestrictionMode> restrictions =
+            new EnumMap<>(PackageGroupOriginRestrictionType.class);
+        final Map<PackageGroupOriginRestrictionType, Set<String>> allowedRepositories =
+            new EnumMap<>(PackageGroupOriginRestrictionType.class);
+
+        Set<String> allowed(final PackageGroupOriginRestrictionType type) {
+            return allowedRepositories.computeIfAbsent(type, key -> new TreeSet<>());
+        }
+
+        boolean in(final Domain domain) {
+            return this.domain.equals(domain.name) && owner.equals(domain.owner);
+        }
+    }
+}
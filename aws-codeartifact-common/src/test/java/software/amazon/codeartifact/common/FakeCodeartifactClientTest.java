@@ -0,0 +1,149 @@
+package software.amazon.codeartifact.common;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.codeartifact.model.ConflictException;
+import software.amazon.awssdk.services.codeartifact.model.CreateDomainRequest;
+import software.amazon.awssdk.services.codeartifact.model.CreateRepositoryRequest;
+import software.amazon.awssdk.services.codeartifact.model.DeleteDomainRequest;
+import software.amazon.awssdk.services.codeartifact.model.DeleteRepositoryRequest;
+import software.amazon.awssdk.services.codeartifact.model.DescribeRepositoryRequest;
+import software.amazon.awssdk.services.codeartifact.model.ListRepositoriesInDomainRequest;
+import software.amazon.awssdk.services.codeartifact.model.ListRepositoriesInDomainResponse;
+import software.amazon.awssdk.services.codeartifact.model.RepositorySummary;
+import software.amazon.awssdk.services.codeartifact.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.codeartifact.model.ThrottlingException;
+import software.amazon.awssdk.services.codeartifact.model.UpstreamRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class FakeCodeartifactClientTest extends AbstractTestBase {
+
+    private final MutableClock clock = new MutableClock();
+
+    @Test
+    public void reads_lagBehindCreatesAndDeletes() {
+        final FakeCodeartifactClient client = new FakeCodeartifactClient(settings()
+            .visibilityDelay(Duration.ofSeconds(1))
+            .clock(clock)
+            .build());
+        client.createDomain(CreateDomainRequest.builder().domain(DOMAIN_NAME).build());
+        client.createRepository(CreateRepositoryRequest.builder().domain(DOMAIN_NAME).repository(REPO_NAME).build());
+
+        assertThatThrownBy(() -> describeRepository(client)).isInstanceOf(ResourceNotFoundException.class);
+        clock.advance(Duration.ofSeconds(1));
+        assertThat(describeRepository(client)).isEqualTo(REPO_NAME);
+
+        client.deleteRepository(DeleteRepositoryRequest.builder().domain(DOMAIN_NAME).repository(REPO_NAME).build());
+        assertThat(describeRepository(client)).isEqualTo(REPO_NAME);
+        clock.advance(Duration.ofSeconds(1));
+        assertThatThrownBy(() -> describeRepository(client)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    public void writes_checkExistence() {
+        final FakeCodeartifactClient client = new FakeCodeartifactClient(settings().build());
+
+        assertThatThrownBy(() -> client.createRepository(
+            CreateRepositoryRequest.builder().domain(DOMAIN_NAME).repository(REPO_NAME).build()))
+            .isInstanceOf(ResourceNotFoundException.class);
+
+        client.createDomain(CreateDomainRequest.builder().domain(DOMAIN_NAME).build());
+        client.createRepository(CreateRepositoryRequest.builder().domain(DOMAIN_NAME).repository(REPO_NAME).build());
+
+        assertThatThrownBy(() -> client.createRepository(
+            CreateRepositoryRequest.builder().domain(DOMAIN_NAME).repository(REPO_NAME).build()))
+            .isInstanceOf(ConflictException.class);
+        assertThatThrownBy(() -> client.createRepository(CreateRepositoryRequest.builder()
+            .domain(DOMAIN_NAME)
+            .repository("other-repo")
+            .upstreams(UpstreamRepository.builder().repositoryName("missing").build())
+            .build()))
+            .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> client.deleteDomain(DeleteDomainRequest.builder().domain(DOMAIN_NAME).build()))
+            .isInstanceOf(ConflictException.class);
+    }
+
+    @Test
+    public void throttleNext_failsCallsWithThrottling() {
+        final FakeCodeartifactClient client = new FakeCodeartifactClient(settings().build());
+        client.createDomain(CreateDomainRequest.builder().domain(DOMAIN_NAME).build());
+        client.createRepository(CreateRepositoryRequest.builder().domain(DOMAIN_NAME).repository(REPO_NAME).build());
+
+        client.throttleNext(2);
+
+        assertThatThrownBy(() -> describeRepository(client)).isInstanceOf(ThrottlingException.class);
+        assertThatThrownBy(() -> describeRepository(client)).isInstanceOf(ThrottlingException.class);
+        assertThat(describeRepository(client)).isEqualTo(REPO_NAME);
+        assertThat(client.throttles("DescribeRepository")).isEqualTo(2);
+        assertThat(client.calls("DescribeRepository")).isEqualTo(3);
+    }
+
+    @Test
+    public void listRepositoriesInDomain_pages() {
+        final FakeCodeartifactClient client = new FakeCodeartifactClient(settings().build());
+        client.createDomain(CreateDomainRequest.builder().domain(DOMAIN_NAME).build());
+        for (int i = 0; i < 5; i++) {
+            client.createRepository(CreateRepositoryRequest.builder().domain(DOMAIN_NAME).repository("repo-" + i).build());
+        }
+
+        final List<String> names = new ArrayList<>();
+        String nextToken = null;
+        int pages = 0;
+        do {
+            final ListRepositoriesInDomainResponse response = client.listRepositoriesInDomain(
+                ListRepositoriesInDomainRequest.builder().domain(DOMAIN_NAME).maxResults(2).nextToken(nextToken).build());
+            response.repositories().stream().map(RepositorySummary::name).forEach(names::add);
+            nextToken = response.nextToken();
+            pages++;
+        } while (nextToken != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(names).containsExactly("repo-0", "repo-1", "repo-2", "repo-3", "repo-4");
+    }
+
+    private FakeCodeartifactClient.Settings.SettingsBuilder settings() {
+        return FakeCodeartifactClient.Settings.builder()
+            .accountId(DOMAIN_OWNER);
+    }
+
+    private static String describeRepository(final FakeCodeartifactClient client) {
+        return client.describeRepository(DescribeRepositoryRequest.builder()
+            .domain(DOMAIN_NAME)
+            .repository(REPO_NAME)
+            .build())
+            .repository()
+            .name();
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(final Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package software.amazon.codeartifact.common;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class HydratedListTest extends AbstractTestBase {
+    private static final String PAGE_TOKEN = "pageToken";
+    private static final String NEXT_PAGE_TOKEN = "nextPageToken";
+    private static final String READ = " read";
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    public void token_roundTripsPageTokenAndOffset() {
+        final String token = HydratedList.token(PAGE_TOKEN, 8);
+
+        assertThat(HydratedList.pageToken(token)).isEqualTo(PAGE_TOKEN);
+        assertThat(HydratedList.offset(token)).isEqualTo(8);
+        assertThat(HydratedList.pageToken(HydratedList.token(null, 3))).isNull();
+        assertThat(HydratedList.offset(HydratedList.token(null, 3))).isEqualTo(3);
+    }
+
+    @Test
+    public void token_passesServiceTokensThrough() {
+        assertThat(HydratedList.pageToken(PAGE_TOKEN)).isEqualTo(PAGE_TOKEN);
+        assertThat(HydratedList.offset(PAGE_TOKEN)).isZero();
+        assertThat(HydratedList.pageToken(null)).isNull();
+        assertThat(HydratedList.offset(null)).isZero();
+    }
+
+    @Test
+    public void token_malformed_throws() {
+        for (String token : new String[] {"hydrated/", "hydrated/8", "hydrated/x/pageToken", "hydrated/-1/pageToken",
+            "hydrated/99999999999/pageToken"}) {
+            assertThatThrownBy(() -> HydratedList.offset(token)).isInstanceOf(CfnInvalidRequestException.class);
+            assertThatThrownBy(() -> HydratedList.pageToken(token)).isInstanceOf(CfnInvalidRequestException.class);
+        }
+    }
+
+    @Test
+    public void hydrate_readsWholePageBeforeDeadline() {
+        final HydratedList<String, Void> hydratedList = new HydratedList<>(RESOURCE_TYPE, seconds(60), now::get);
+
+        final ProgressEvent<String, Void> page =
+            hydratedList.hydrate(listed(10), 0, PAGE_TOKEN, NEXT_PAGE_TOKEN, this::readInOneSecond, logger);
+
+        assertThat(page.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(page.getResourceModels()).hasSize(10).allSatisfy(model -> assertThat(model).endsWith(READ));
+        assertThat(page.getNextToken()).isEqualTo(NEXT_PAGE_TOKEN);
+    }
+
+    @Test
+    public void hydrate_cutsPageShortWhenNextBatchDoesNotFit() {
+        final HydratedList<String, Void> hydratedList = new HydratedList<>(RESOURCE_TYPE, seconds(10), now::get);
+
+        final ProgressEvent<String, Void> page =
+            hydratedList.hydrate(listed(10), 0, PAGE_TOKEN, NEXT_PAGE_TOKEN, this::readInOneSecond, logger);
+
+        // Batches of four reads take four seconds, a third one would end past the deadline
+        assertThat(page.getResourceModels()).hasSize(2 * HydratedList.MAX_CONCURRENT_READS);
+        assertThat(page.getNextToken()).isEqualTo(HydratedList.token(PAGE_TOKEN, 2 * HydratedList.MAX_CONCURRENT_READS));
+    }
+
+    @Test
+    public void hydrate_resumesAtOffsetAndSkipsDeletedModels() {
+        final HydratedList<String, Void> hydratedList = new HydratedList<>(RESOURCE_TYPE, seconds(60), now::get);
+
+        final ProgressEvent<String, Void> page = hydratedList.hydrate(listed(10), 8, PAGE_TOKEN,
+            null, listed -> listed.endsWith("9") ? null : readInOneSecond(listed), logger);
+
+        assertThat(page.getResourceModels()).containsExactly("arn8" + READ);
+        assertThat(page.getNextToken()).isNull();
+    }
+
+    @Test
+    public void readRequest_keepsAccountAndRegionOfListRequest() {
+        final ResourceHandlerRequest<String> listRequest = ResourceHandlerRequest.<String>builder()
+            .awsAccountId(DOMAIN_OWNER)
+            .awsPartition("aws")
+            .region("us-west-2")
+            .nextToken(PAGE_TOKEN)
+            .build();
+
+        final ResourceHandlerRequest<String> readRequest = HydratedList.readRequest(listRequest, "arn0");
+
+        assertThat(readRequest.getDesiredResourceState()).isEqualTo("arn0");
+        assertThat(readRequest.getAwsAccountId()).isEqualTo(DOMAIN_OWNER);
+        assertThat(readRequest.getAwsPartition()).isEqualTo("aws");
+        assertThat(readRequest.getRegion()).isEqualTo("us-west-2");
+        assertThat(readRequest.getNextToken()).isNull();
+    }
+
+    private static long seconds(final long seconds) {
+        return TimeUnit.SECONDS.toNanos(seconds);
+    }
+
+    private static List<String> listed(final int count) {
+        return IntStream.range(0, count)
+            .mapToObj(i -> "arn" + i)
+            .collect(Collectors.toList());
+    }
+
+    private String readInOneSecond(final String listed) {
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        return listed + READ;
+    }
+}
@@ -0,0 +1,125 @@
+package software.amazon.codeartifact.common;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.services.codeartifact.CodeartifactClient;
+import software.amazon.awssdk.services.codeartifact.model.CodeartifactException;
+import software.amazon.awssdk.services.codeartifact.model.DescribeRepositoryRequest;
+import software.amazon.awssdk.services.codeartifact.model.DescribeRepositoryResponse;
+import software.amazon.awssdk.services.codeartifact.model.ResourceNotFoundException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class MeteredProxyClientTest extends AbstractTestBase {
+
+    @Mock
+    CodeartifactClient codeartifactClient;
+
+    private ApiMetrics metrics;
+    private ProxyClient<CodeartifactClient> proxyClient;
+
+    @BeforeEach
+    public void setup() {
+        final AmazonWebServicesClientProxy proxy =
+            new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+        metrics = new ApiMetrics(RESOURCE_TYPE, "ReadHandler");
+        proxyClient = new MeteredProxyClient<>(MOCK_PROXY(proxy, codeartifactClient), metrics);
+    }
+
+    @Test
+    public void injectCredentialsAndInvokeV2_recordsCallsAndRetries() throws Exception {
+        final ApiMetrics.AttemptCounter attemptCounter = new ApiMetrics.AttemptCounter();
+        when(codeartifactClient.describeRepository(any(DescribeRepositoryRequest.class))).thenAnswer(invocation -> {
+            // what the SDK does for a call that is retried once
+            final ExecutionAttributes executionAttributes = new ExecutionAttributes();
+            attemptCounter.beforeExecution(null, executionAttributes);
+            attemptCounter.beforeTransmission(null, executionAttributes);
+            attemptCounter.beforeTransmission(null, executionAttributes);
+            return DescribeRepositoryResponse.builder().build();
+        });
+
+        describeRepository();
+        describeRepository();
+
+        final List<JsonNode> records = drain();
+        assertThat(records).hasSize(1);
+        final JsonNode record = records.get(0);
+        assertThat(record.get("Operation").asText()).isEqualTo("DescribeRepository");
+        assertThat(record.get("ResourceType").asText()).isEqualTo(RESOURCE_TYPE);
+        assertThat(record.get("Handler").asText()).isEqualTo("ReadHandler");
+        assertThat(record.get("Latency")).hasSize(2);
+        assertThat(record.get("Calls").asInt()).isEqualTo(2);
+        assertThat(record.get("Retries").asInt()).isEqualTo(2);
+
+        final JsonNode directive = record.get("_aws").get("CloudWatchMetrics").get(0);
+        assertThat(directive.get("Namespace").asText()).isEqualTo(ApiMetrics.NAMESPACE);
+        assertThat(directive.get("Metrics")).extracting(metric -> metric.get("Name").asText())
+            .containsExactly("Latency", "Calls", "Retries");
+        assertThat(metrics.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void injectCredentialsAndInvokeV2_recordsErrorCodes() throws Exception {
+        when(codeartifactClient.describeRepository(any(DescribeRepositoryRequest.class)))
+            .thenThrow(ResourceNotFoundException.builder()
+                .awsErrorDetails(AwsErrorDetails.builder().errorCode("ResourceNotFoundException").build())
+                .build())
+            .thenThrow(CodeartifactException.builder().build());
+
+        assertThatThrownBy(this::describeRepository).isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(this::describeRepository).isInstanceOf(CodeartifactException.class);
+
+        final List<JsonNode> records = drain();
+        assertThat(records).hasSize(3);
+        assertThat(records.get(0).get("Calls").asInt()).isEqualTo(2);
+        assertThat(records.subList(1, 3)).extracting(record -> record.get("ErrorCode").asText())
+            .containsExactly("CodeartifactException", "ResourceNotFoundException");
+        assertThat(records.get(1).get("_aws").get("CloudWatchMetrics").get(0).get("Dimensions").get(0))
+            .extracting(JsonNode::asText)
+            .containsExactly("ResourceType", "Operation", "ErrorCode");
+    }
+
+    @Test
+    public void drain_manyCalls_splitsLatencyValues() throws Exception {
+        when(codeartifactClient.describeRepository(any(DescribeRepositoryRequest.class)))
+            .thenReturn(DescribeRepositoryResponse.builder().build());
+
+        for (int i = 0; i < ApiMetrics.MAX_VALUES_PER_RECORD + 1; i++) {
+            describeRepository();
+        }
+
+        final List<JsonNode> records = drain();
+        assertThat(records).extracting(record -> record.get("Latency").size())
+            .containsExactly(ApiMetrics.MAX_VALUES_PER_RECORD, 1);
+    }
+
+    private void describeRepository() {
+        proxyClient.injectCredentialsAndInvokeV2(
+            DescribeRepositoryRequest.builder().domain(DOMAIN_NAME).repository(REPO_NAME).build(),
+            proxyClient.client()::describeRepository);
+    }
+
+    private List<JsonNode> drain() throws Exception {
+        final List<JsonNode> records = new ArrayList<>();
+        for (String record : metrics.drain()) {
+            records.add(MAPPER.readTree(record));
+        }
+        return records;
+    }
+}
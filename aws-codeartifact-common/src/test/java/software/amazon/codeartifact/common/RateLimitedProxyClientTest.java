@@ -0,0 +1,105 @@
+package software.amazon.codeartifact.common;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.codeartifact.CodeartifactClient;
+import software.amazon.awssdk.services.codeartifact.model.DescribeRepositoryRequest;
+import software.amazon.awssdk.services.codeartifact.model.DescribeRepositoryResponse;
+import software.amazon.awssdk.services.codeartifact.model.ThrottlingException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class RateLimitedProxyClientTest extends AbstractTestBase {
+    private static final DescribeRepositoryRequest DESCRIBE_REQUEST = DescribeRepositoryRequest.builder()
+        .domain(DOMAIN_NAME)
+        .domainOwner(DOMAIN_OWNER)
+        .repository(REPO_NAME)
+        .build();
+
+    @Mock
+    CodeartifactClient codeartifactClient;
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.SECONDS.toNanos(1000));
+    private AdaptiveRateLimiter rateLimiter;
+    private ProxyClient<CodeartifactClient> delegate;
+
+    @BeforeEach
+    public void setup() {
+        final AmazonWebServicesClientProxy proxy =
+            new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+        rateLimiter = new AdaptiveRateLimiter(now::get, now::addAndGet);
+        delegate = MOCK_PROXY(proxy, codeartifactClient);
+    }
+
+    @Test
+    public void injectCredentialsAndInvokeV2_throttlingEnablesLimiter() {
+        final ProxyClient<CodeartifactClient> proxyClient = new RateLimitedProxyClient<>(delegate, rateLimiter, rateLimiter.deadline());
+        when(codeartifactClient.describeRepository(any(DescribeRepositoryRequest.class)))
+            .thenThrow(ThrottlingException.builder().build());
+
+        assertThatThrownBy(() -> proxyClient.injectCredentialsAndInvokeV2(
+            DESCRIBE_REQUEST, proxyClient.client()::describeRepository))
+            .isInstanceOf(ThrottlingException.class);
+
+        assertThat(rateLimiter.isEnabled()).isTrue();
+    }
+
+    @Test
+    public void injectCredentialsAndInvokeV2_waitsForRateWithinDeadline() {
+        rateLimiter.record(true);
+        final long start = now.get();
+        final ProxyClient<CodeartifactClient> proxyClient = new RateLimitedProxyClient<>(delegate, rateLimiter, rateLimiter.deadline());
+        when(codeartifactClient.describeRepository(any(DescribeRepositoryRequest.class)))
+            .thenReturn(DescribeRepositoryResponse.builder().build());
+
+        proxyClient.injectCredentialsAndInvokeV2(DESCRIBE_REQUEST, proxyClient.client()::describeRepository);
+
+        assertThat(now.get()).isGreaterThan(start);
+        verify(codeartifactClient).describeRepository(any(DescribeRepositoryRequest.class));
+    }
+
+    @Test
+    public void injectCredentialsAndInvokeV2_waitPastDeadline_failsWithoutCalling() {
+        rateLimiter.record(true);
+        final long start = now.get();
+        final ProxyClient<CodeartifactClient> proxyClient =
+            new RateLimitedProxyClient<>(delegate, rateLimiter, now.get() + TimeUnit.SECONDS.toNanos(1));
+
+        assertThatThrownBy(() -> proxyClient.injectCredentialsAndInvokeV2(
+            DESCRIBE_REQUEST, proxyClient.client()::describeRepository))
+            .isInstanceOf(ThrottlingException.class);
+
+        assertThat(now.get()).isEqualTo(start);
+        verify(codeartifactClient, never()).describeRepository(any(DescribeRepositoryRequest.class));
+    }
+
+    @Test
+    public void injectCredentialsAndInvokeV2_clientCreatedLaterKeepsDeadlineOfInvocation() {
+        final long deadlineNanos = rateLimiter.deadline();
+        now.addAndGet(AdaptiveRateLimiter.INVOCATION_TIMEOUT.toNanos() - TimeUnit.MILLISECONDS.toNanos(100));
+        rateLimiter.record(true);
+        final ProxyClient<CodeartifactClient> proxyClient =
+            new RateLimitedProxyClient<>(delegate, rateLimiter, deadlineNanos);
+
+        assertThatThrownBy(() -> proxyClient.injectCredentialsAndInvokeV2(
+            DESCRIBE_REQUEST, proxyClient.client()::describeRepository))
+            .isInstanceOf(ThrottlingException.class);
+
+        verify(codeartifactClient, never()).describeRepository(any(DescribeRepositoryRequest.class));
+    }
+}
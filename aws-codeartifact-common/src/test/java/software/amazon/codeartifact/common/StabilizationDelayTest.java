@@ -0,0 +1,91 @@
+package software.amazon.codeartifact.common;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StabilizationDelayTest {
+
+    @Test
+    public void initialDelay_isAFractionOfTypicalLatency() {
+        assertThat(new StabilizationDelay(Duration.ofSeconds(1)).getInitialDelay()).isEqualTo(Duration.ofMillis(250));
+    }
+
+    @Test
+    public void initialDelay_isClamped() {
+        assertThat(new StabilizationDelay(Duration.ZERO).getInitialDelay())
+            .isEqualTo(StabilizationDelay.MIN_INITIAL_DELAY);
+        assertThat(new StabilizationDelay(Duration.ofMinutes(5)).getInitialDelay())
+            .isEqualTo(StabilizationDelay.MAX_INITIAL_DELAY);
+    }
+
+    @Test
+    public void backoff_doublesUpToMaxDelay() {
+        final StabilizationDelay delay = new StabilizationDelay(Duration.ofSeconds(1));
+
+        assertThat(delay.backoff(1)).isEqualTo(Duration.ofMillis(250));
+        assertThat(delay.backoff(2)).isEqualTo(Duration.ofMillis(500));
+        assertThat(delay.backoff(3)).isEqualTo(Duration.ofMillis(1000));
+        assertThat(delay.backoff(6)).isEqualTo(StabilizationDelay.MAX_DELAY);
+        assertThat(delay.backoff(Integer.MAX_VALUE)).isEqualTo(StabilizationDelay.MAX_DELAY);
+    }
+
+    @Test
+    public void nextDelay_jittersWithinUpperHalfOfBackoffInWholeSeconds() {
+        final StabilizationDelay delay = new StabilizationDelay(Duration.ofSeconds(1));
+
+        for (int attempt = 1; attempt <= 10; attempt++) {
+            final Duration backoff = delay.backoff(attempt);
+            for (int i = 0; i < 100; i++) {
+                final Duration next = delay.nextDelay(attempt);
+                assertThat(next).isGreaterThanOrEqualTo(StabilizationDelay.wholeSeconds(backoff.dividedBy(2)));
+                assertThat(next).isLessThanOrEqualTo(StabilizationDelay.wholeSeconds(backoff));
+                assertThat(next).isGreaterThanOrEqualTo(StabilizationDelay.MIN_DELAY);
+                assertThat(next.getNano()).isZero();
+            }
+        }
+    }
+
+    @Test
+    public void wholeSeconds_roundsUpToAtLeastMinDelay() {
+        assertThat(StabilizationDelay.wholeSeconds(Duration.ZERO)).isEqualTo(StabilizationDelay.MIN_DELAY);
+        assertThat(StabilizationDelay.wholeSeconds(Duration.ofMillis(250))).isEqualTo(Duration.ofSeconds(1));
+        assertThat(StabilizationDelay.wholeSeconds(Duration.ofMillis(2000))).isEqualTo(Duration.ofSeconds(2));
+        assertThat(StabilizationDelay.wholeSeconds(Duration.ofMillis(2001))).isEqualTo(Duration.ofSeconds(3));
+    }
+
+    @Test
+    public void nextDelay_isZeroOnceBackoffsExceedTimeout() {
+        final StabilizationDelay delay = new StabilizationDelay(Duration.ofSeconds(1), Duration.ofSeconds(10));
+
+        // 250, 500, 1000, 2000 and 4000ms round up to 1 + 1 + 1 + 2 + 4 = 9s, the next 5s backoff goes past the timeout
+        assertThat(delay.accrued(5)).isEqualTo(Duration.ofSeconds(9));
+        assertThat(delay.nextDelay(5)).isGreaterThan(Duration.ZERO);
+        assertThat(delay.nextDelay(6)).isEqualTo(Duration.ZERO);
+        assertThat(delay.nextDelay(Integer.MAX_VALUE)).isEqualTo(Duration.ZERO);
+    }
+
+    @Test
+    public void nextDelay_defaultsToTimeoutOfProxyDelay() {
+        final StabilizationDelay delay = StabilizationDelay.standard();
+
+        int attempt = 1;
+        while (!delay.nextDelay(attempt).isZero()) {
+            attempt++;
+        }
+        assertThat(delay.accrued(attempt)).isGreaterThan(StabilizationDelay.TIMEOUT);
+        assertThat(delay.accrued(attempt - 1)).isLessThanOrEqualTo(StabilizationDelay.TIMEOUT);
+    }
+
+    @Test
+    public void record_movesObservedLatencyTowardsSamples() {
+        final Duration before = StabilizationDelay.observedLatency();
+        final Duration sample = before.plusSeconds(10);
+
+        StabilizationDelay.record(sample);
+
+        assertThat(StabilizationDelay.observedLatency()).isGreaterThan(before).isLessThan(sample);
+    }
+}
@@ -0,0 +1,48 @@
+package software.amazon.codeartifact.domain;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Realistically sized inputs shared by the benchmarks.
+ */
+final class BenchmarkFixtures {
+    static final int TAG_COUNT = 50;
+    static final int POLICY_BYTES = 20 * 1024;
+
+    private BenchmarkFixtures() {
+    }
+
+    static Map<String, String> tags(final int count) {
+        final Map<String, String> tags = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            tags.put(String.format("team:component-%02d", i), String.format("value-%02d", i));
+        }
+        return tags;
+    }
+
+    /**
+     * A resource policy of at least the given size, made of statements granting read access to a growing list of
+     * accounts.
+     */
+    static String policy(final int minBytes) {
+        final StringBuilder policy = new StringBuilder("{\"Version\":\"2012-10-17\",\"Statement\":[");
+        for (int statement = 0; policy.length() < minBytes; statement++) {
+            if (statement > 0) {
+                policy.append(',');
+            }
+            policy.append("{\"Sid\":\"Read").append(statement).append("\",\"Effect\":\"Allow\",\"Principal\":{\"AWS\":[");
+            for (int account = 0; account < 10; account++) {
+                if (account > 0) {
+                    policy.append(',');
+                }
+                policy.append(String.format("\"arn:aws:iam::%012d:root\"", statement * 10 + account));
+            }
+            policy.append("]},\"Action\":[\"codeartifact:DescribePackageVersion\",\"codeartifact:DescribeRepository\",")
+                .append("\"codeartifact:GetPackageVersionReadme\",\"codeartifact:GetRepositoryEndpoint\",")
+                .append("\"codeartifact:ListPackageVersionAssets\",\"codeartifact:ListPackageVersions\",")
+                .append("\"codeartifact:ReadFromRepository\"],\"Resource\":\"*\"}");
+        }
+        return policy.append("]}").toString();
+    }
+}
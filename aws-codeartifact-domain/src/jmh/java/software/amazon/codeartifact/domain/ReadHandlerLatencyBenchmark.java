@@ -0,0 +1,154 @@
+package software.amazon.codeartifact.domain;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import software.amazon.awssdk.services.codeartifact.CodeartifactClient;
+import software.amazon.awssdk.services.codeartifact.model.DescribeDomainRequest;
+import software.amazon.awssdk.services.codeartifact.model.DescribeDomainResponse;
+import software.amazon.awssdk.services.codeartifact.model.DomainDescription;
+import software.amazon.awssdk.services.codeartifact.model.GetDomainPermissionsPolicyRequest;
+import software.amazon.awssdk.services.codeartifact.model.GetDomainPermissionsPolicyResponse;
+import software.amazon.awssdk.services.codeartifact.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.codeartifact.model.ListTagsForResourceResponse;
+import software.amazon.awssdk.services.codeartifact.model.ResourcePolicy;
+import software.amazon.awssdk.services.codeartifact.model.Tag;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+/**
+ * Latency of a domain ReadHandler invocation against a local stand-in of the service that answers each call after
+ * 50 to 100ms, the way a remote endpoint would. Compares the sequential read (a request without account and region,
+ * so the arn is only known once the domain is described) with the concurrent read on the ConcurrentCalls pool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Daws.region=us-west-2")
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class ReadHandlerLatencyBenchmark {
+    private static final long MIN_LATENCY_MILLIS = 50;
+    private static final long MAX_LATENCY_MILLIS = 100;
+
+    private static final String PARTITION = "aws";
+    private static final String REGION = "us-west-2";
+    private static final String ACCOUNT_ID = "123456789012";
+    private static final String DOMAIN_NAME = "benchmark-domain";
+
+    private final LoggerProxy logger = new LoggerProxy();
+    private final AmazonWebServicesClientProxy proxy = new AmazonWebServicesClientProxy(
+        logger, new Credentials("accessKey", "secretKey", "token"), () -> Long.MAX_VALUE);
+
+    private ProxyClient<CodeartifactClient> proxyClient;
+    private ResourceHandlerRequest<ResourceModel> sequentialRequest;
+    private ResourceHandlerRequest<ResourceModel> concurrentRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        proxyClient = proxy.newProxy(StandInClient::new);
+
+        sequentialRequest = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(ResourceModel.builder().domainName(DOMAIN_NAME).build())
+            .build();
+        concurrentRequest = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(ResourceModel.builder().domainName(DOMAIN_NAME).build())
+            .awsPartition(PARTITION)
+            .region(REGION)
+            .awsAccountId(ACCOUNT_ID)
+            .build();
+    }
+
+    @Benchmark
+    public ProgressEvent<ResourceModel, CallbackContext> sequential() {
+        return new ReadHandler().handleRequest(proxy, sequentialRequest, new CallbackContext(), proxyClient, logger);
+    }
+
+    @Benchmark
+    public ProgressEvent<ResourceModel, CallbackContext> concurrent() {
+        return new ReadHandler().handleRequest(proxy, concurrentRequest, new CallbackContext(), proxyClient, logger);
+    }
+
+    private static long latencyMillis() {
+        return ThreadLocalRandom.current().nextLong(MIN_LATENCY_MILLIS, MAX_LATENCY_MILLIS + 1);
+    }
+
+    private static DescribeDomainResponse describeDomainResponse() {
+        return DescribeDomainResponse.builder()
+            .domain(DomainDescription.builder()
+                .arn(ArnUtils.domainArn(PARTITION, REGION, ACCOUNT_ID, DOMAIN_NAME).arn())
+                .name(DOMAIN_NAME)
+                .owner(ACCOUNT_ID)
+                .build())
+            .build();
+    }
+
+    private static GetDomainPermissionsPolicyResponse getDomainPermissionsPolicyResponse() {
+        return GetDomainPermissionsPolicyResponse.builder()
+            .policy(ResourcePolicy.builder().document(BenchmarkFixtures.policy(1024)).build())
+            .build();
+    }
+
+    private static ListTagsForResourceResponse listTagsForResourceResponse() {
+        return ListTagsForResourceResponse.builder()
+            .tags(Tag.builder().key("team").value("benchmark").build())
+            .build();
+    }
+
+    /**
+     * Blocks the calling thread for the latency of each call, like the synchronous client does.
+     */
+    private static class StandInClient implements CodeartifactClient {
+        @Override
+        public DescribeDomainResponse describeDomain(final DescribeDomainRequest request) {
+            return afterLatency(ReadHandlerLatencyBenchmark::describeDomainResponse);
+        }
+
+        @Override
+        public GetDomainPermissionsPolicyResponse getDomainPermissionsPolicy(
+            final GetDomainPermissionsPolicyRequest request
+        ) {
+            return afterLatency(ReadHandlerLatencyBenchmark::getDomainPermissionsPolicyResponse);
+        }
+
+        @Override
+        public ListTagsForResourceResponse listTagsForResource(final ListTagsForResourceRequest request) {
+            return afterLatency(ReadHandlerLatencyBenchmark::listTagsForResourceResponse);
+        }
+
+        @Override
+        public String serviceName() {
+            return SERVICE_NAME;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        private static <T> T afterLatency(final Supplier<T> response) {
+            try {
+                Thread.sleep(latencyMillis());
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return response.get();
+        }
+    }
+}
@@ -1,7 +1,8 @@
 package software.amazon.codeartifact.domain;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
 import software.amazon.awssdk.services.codeartifact.CodeartifactClient;
@@ -12,22 +13,45 @@ import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.codeartifact.common.AdaptiveRateLimiter;
+import software.amazon.codeartifact.common.ApiMetrics;
+import software.amazon.codeartifact.common.CachingProxyClient;
+import software.amazon.codeartifact.common.MeteredProxyClient;
+import software.amazon.codeartifact.common.RateLimitedProxyClient;
 
 public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
-  private static final ObjectMapper MAPPER = new ObjectMapper();
+  static {
+    // The wrapper creates the handlers while the function initializes, before a SnapStart checkpoint is taken
+    Priming.register();
+  }
+
   @Override
   public final ProgressEvent<ResourceModel, CallbackContext> handleRequest(
     final AmazonWebServicesClientProxy proxy,
     final ResourceHandlerRequest<ResourceModel> request,
     final CallbackContext callbackContext,
     final Logger logger) {
-    return handleRequest(
-      proxy,
-      request,
-      callbackContext != null ? callbackContext : new CallbackContext(),
-      proxy.newProxy(ClientBuilder::getClient),
-      logger
-    );
+    final ApiMetrics metrics = new ApiMetrics(ResourceModel.TYPE_NAME, getClass().getSimpleName());
+    final AdaptiveRateLimiter rateLimiter =
+        AdaptiveRateLimiter.forAccount(request.getAwsAccountId(), request.getRegion());
+    // Every call of this invocation shares its deadline
+    final long deadlineNanos = rateLimiter.deadline();
+    // Reads repeated within this invocation are served from memory until a call mutates something
+    final CachingProxyClient.Responses responses = new CachingProxyClient.Responses();
+    try {
+      return handleRequest(
+        proxy,
+        request,
+        callbackContext != null ? callbackContext : new CallbackContext(),
+        new CachingProxyClient<>(new RateLimitedProxyClient<>(
+          new MeteredProxyClient<>(proxy.newProxy(ClientBuilder::getClient), metrics),
+          rateLimiter, deadlineNanos), responses),
+        logger
+      );
+    } finally {
+      // Every call of the invocation has completed (or been abandoned) by now
+      metrics.flush(logger);
+    }
   }
 
   protected abstract ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -37,6 +61,26 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
     final ProxyClient<CodeartifactClient> proxyClient,
     final Logger logger);
 
+  /**
+   * Runs one step of a chain unless an earlier invocation for the same request already completed it, and marks it
+   * completed in the callback context once it lets the chain continue. A handler re-invoked after a callback or a
+   * retriable failure then resumes at the first incomplete step.
+   */
+  protected ProgressEvent<ResourceModel, CallbackContext> resumeAt(
+      final ProgressEvent<ResourceModel, CallbackContext> progress,
+      final BooleanSupplier completed,
+      final Consumer<Boolean> markCompleted,
+      final Function<ProgressEvent<ResourceModel, CallbackContext>, ProgressEvent<ResourceModel, CallbackContext>> step
+  ) {
+      if (completed.getAsBoolean()) {
+          return progress;
+      }
+      return step.apply(progress).then(done -> {
+          markCompleted.accept(true);
+          return done;
+      });
+  }
+
   protected ProgressEvent<ResourceModel, CallbackContext> putDomainPermissionsPolicy(
       final AmazonWebServicesClientProxy proxy,
       final ProgressEvent<ResourceModel, CallbackContext> progress,
@@ -76,9 +120,8 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
         if (desiredModel.getPermissionsPolicyDocument() == null || previousModel.getPermissionsPolicyDocument() == null) {
             return false;
         }
-        JsonNode desiredPolicy = MAPPER.valueToTree(desiredModel.getPermissionsPolicyDocument());
-        JsonNode currentPolicy = MAPPER.valueToTree(previousModel.getPermissionsPolicyDocument());
-        return desiredPolicy.equals(currentPolicy);
+        return PolicyFingerprint.areEquivalent(
+            desiredModel.getPermissionsPolicyDocument(), previousModel.getPermissionsPolicyDocument());
     }
 
     protected boolean doesDomainExist(
@@ -8,4 +8,8 @@ import software.amazon.cloudformation.proxy.StdCallbackContext;
 @lombok.EqualsAndHashCode(callSuper = true)
 public class CallbackContext extends StdCallbackContext {
     private boolean isCreated;
+    // Set once the created domain is active, so a handler re-invoked while polling resumes polling
+    private boolean isStabilized;
+    // Step of the create chain after CreateDomain. Tags are applied by CreateDomain.
+    private boolean isPolicyApplied;
 }
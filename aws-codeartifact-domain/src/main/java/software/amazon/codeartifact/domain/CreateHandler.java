@@ -1,5 +1,7 @@
 package software.amazon.codeartifact.domain;
 
+import java.time.Duration;
+
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
 import software.amazon.awssdk.services.codeartifact.CodeartifactClient;
 import software.amazon.awssdk.services.codeartifact.model.CreateDomainRequest;
@@ -12,10 +14,11 @@ import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.codeartifact.common.CachingProxyClient;
+import software.amazon.codeartifact.common.StabilizationDelay;
 
 
 public class CreateHandler extends BaseHandlerStd {
-    private static final int CALLBACK_DELAY_SECONDS = 1;
     private Logger logger;
 
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -38,7 +41,9 @@ public class CreateHandler extends BaseHandlerStd {
         this.logger = logger;
         return ProgressEvent.progress(request.getDesiredResourceState(), callbackContext)
             .then(progress -> createDomain(proxy, progress, request, proxyClient))
-            .then(progress -> putDomainPermissionsPolicy(proxy, progress, callbackContext, request, proxyClient, logger))
+            // A re-invoked handler resumes at the first step the callback context doesn't record as completed
+            .then(progress -> resumeAt(progress, callbackContext::isPolicyApplied, callbackContext::setPolicyApplied,
+                p -> putDomainPermissionsPolicy(proxy, p, callbackContext, request, proxyClient, logger)))
             .then(progress -> new ReadHandler().handleRequest(proxy, request, callbackContext, proxyClient, logger));
     }
 
@@ -51,18 +56,35 @@ public class CreateHandler extends BaseHandlerStd {
         CallbackContext callbackContext = progress.getCallbackContext();
 
         logger.log(String.format("isCreatedFlag: %s", callbackContext.isCreated()));
-        if (callbackContext.isCreated()) {
+        if (callbackContext.isStabilized()) {
             // This happens when handler gets called again during callback delay or the handler is retrying
             // after domain was created already. This will prevent 409s on retry.
             logger.log("Domain was already created, will not call CreateDomain again.");
             return ProgressEvent.progress(progress.getResourceModel(), callbackContext);
         }
 
+        final boolean createdBefore = callbackContext.isCreated();
+        final long createStartedAt = System.nanoTime();
         return proxy.initiate("AWS-CodeArtifact-Domain::Create", proxyClient, progress.getResourceModel(), progress.getCallbackContext())
             .translateToServiceRequest((model) -> Translator.translateToCreateRequest(model, request.getDesiredResourceTags()))
-            .makeServiceCall((awsRequest, client) -> createDomainSdkCall(progress, client, callbackContext, awsRequest))
-            .stabilize((awsRequest, awsResponse, client, model, context) -> isStabilized(model, client))
-            .progress(CALLBACK_DELAY_SECONDS);
+            // Poll in-process with a backoff adapted to the stabilization latencies seen so far; the proxy only falls
+            // back to a callback when the remaining invocation time can't cover the next poll. The re-invoked handler
+            // then skips createDomain and resumes polling until the isStabilized flag is set.
+            .backoffDelay(StabilizationDelay.adaptive())
+            .makeServiceCall((awsRequest, client) -> callbackContext.isCreated()
+                ? null
+                : createDomainSdkCall(progress, client, callbackContext, awsRequest))
+            .stabilize((awsRequest, awsResponse, client, model, context) -> {
+                final boolean stabilized = isStabilized(model, CachingProxyClient.refreshing(client));
+                if (stabilized) {
+                    context.setStabilized(true);
+                    if (!createdBefore) {
+                        StabilizationDelay.record(Duration.ofNanos(System.nanoTime() - createStartedAt));
+                    }
+                }
+                return stabilized;
+            })
+            .progress();
     }
 
     private CreateDomainResponse createDomainSdkCall(
@@ -1,16 +1,17 @@
 package software.amazon.codeartifact.domain;
 
-import software.amazon.awssdk.awscore.AwsResponse;
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
 import software.amazon.awssdk.services.codeartifact.CodeartifactClient;
 import software.amazon.awssdk.services.codeartifact.model.ConflictException;
+import software.amazon.awssdk.services.codeartifact.model.DeleteDomainResponse;
 import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
-import software.amazon.cloudformation.exceptions.CfnNotFoundException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.codeartifact.common.CachingProxyClient;
+import software.amazon.codeartifact.common.StabilizationDelay;
 
 public class DeleteHandler extends BaseHandlerStd {
     private Logger logger;
@@ -28,16 +29,10 @@ public class DeleteHandler extends BaseHandlerStd {
         return proxy.initiate("AWS-CodeArtifact-Domain::Delete", proxyClient, model, callbackContext)
             // STEP 1.1 [construct a body of a request]
             .translateToServiceRequest(Translator::translateToDeleteRequest)
+            .backoffDelay(StabilizationDelay.standard())
             // STEP 1.2 [make an api call]
             .makeServiceCall((awsRequest, client) -> {
-
-                // if domain does not exist, deleteDomain does not throw an exception, so we must do this
-                // to be under the ResourceHandler Contract
-                if (!doesDomainExist(model, proxyClient)) {
-                    throw new CfnNotFoundException(model.getDomainName(), ResourceModel.TYPE_NAME);
-                }
-
-                AwsResponse awsResponse = null;
+                DeleteDomainResponse awsResponse = null;
                 try {
                     awsResponse = client.injectCredentialsAndInvokeV2(awsRequest, proxyClient.client()::deleteDomain);
                 } catch (final ConflictException e) {
@@ -54,7 +49,7 @@ public class DeleteHandler extends BaseHandlerStd {
                 return awsResponse;
             })
             // STEP 2.3 [Stabilize to check if the resource got deleted]
-            .stabilize((deleteDomainRequest, deleteDomainResponse, proxyInvocation, resourceModel, context) -> !doesDomainExist(model, proxyClient))
+            .stabilize((deleteDomainRequest, deleteDomainResponse, proxyInvocation, resourceModel, context) -> !doesDomainExist(model, CachingProxyClient.refreshing(proxyClient)))
             // according to the ResourceHandler contract we must not return the model in the response
             .done((awsRequest, response, client, resourceModel, context) -> ProgressEvent.success(null, context));
     }
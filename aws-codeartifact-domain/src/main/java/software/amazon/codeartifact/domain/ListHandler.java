@@ -3,20 +3,29 @@ package software.amazon.codeartifact.domain;
 import java.util.List;
 import java.util.stream.Collectors;
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.services.codeartifact.CodeartifactClient;
 import software.amazon.awssdk.services.codeartifact.model.AccessDeniedException;
 import software.amazon.awssdk.services.codeartifact.model.InternalServerException;
 import software.amazon.awssdk.services.codeartifact.model.ListDomainsRequest;
 import software.amazon.awssdk.services.codeartifact.model.ListDomainsResponse;
+import software.amazon.awssdk.services.codeartifact.model.ThrottlingException;
 import software.amazon.awssdk.services.codeartifact.model.ValidationException;
 import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
 import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
 import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
+import software.amazon.cloudformation.exceptions.CfnNotFoundException;
 import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
+import software.amazon.cloudformation.exceptions.CfnThrottlingException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
-import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.codeartifact.common.AdaptiveRateLimiter;
+import software.amazon.codeartifact.common.ApiMetrics;
+import software.amazon.codeartifact.common.HydratedList;
+import software.amazon.codeartifact.common.MeteredProxyClient;
+import software.amazon.codeartifact.common.RateLimitedProxyClient;
 
 public class ListHandler extends BaseHandler<CallbackContext> {
 
@@ -27,30 +36,67 @@ public class ListHandler extends BaseHandler<CallbackContext> {
         final CallbackContext callbackContext,
         final Logger logger) {
 
+        final String pageToken = HydratedList.pageToken(request.getNextToken());
+
         // STEP 1 [Construct a body of a request]
-        final ListDomainsRequest awsRequest = Translator.translateToListRequest(request.getNextToken());
+        final ListDomainsRequest awsRequest = Translator.translateToListRequest(pageToken);
 
         // STEP 2 [make an api call]
-        ListDomainsResponse response = null;
+        final ApiMetrics metrics = new ApiMetrics(ResourceModel.TYPE_NAME, getClass().getSimpleName());
+        final AdaptiveRateLimiter rateLimiter =
+            AdaptiveRateLimiter.forAccount(request.getAwsAccountId(), request.getRegion());
+        // Every call of this invocation shares its deadline
+        final long deadlineNanos = rateLimiter.deadline();
+        final HydratedList<ResourceModel, CallbackContext> hydratedList =
+            HydratedList.until(ResourceModel.TYPE_NAME, deadlineNanos);
         try {
-            response = proxy
-                .injectCredentialsAndInvokeV2(awsRequest, ClientBuilder.getClient()::listDomains);
-        } catch (AccessDeniedException e) {
-            throw new CfnAccessDeniedException(Constants.LIST_DOMAINS, e);
-        } catch (ValidationException e) {
-            throw new CfnInvalidRequestException(e);
-        } catch (InternalServerException e) {
-            throw new CfnServiceInternalErrorException(e);
-        }
+            ListDomainsResponse response = null;
+            try {
+                response = metrics.time(awsRequest, () -> rateLimiter.call(
+                    () -> proxy.injectCredentialsAndInvokeV2(awsRequest, ClientBuilder.getClient()::listDomains),
+                    deadlineNanos));
+            } catch (AccessDeniedException e) {
+                throw new CfnAccessDeniedException(Constants.LIST_DOMAINS, e);
+            } catch (ValidationException e) {
+                throw new CfnInvalidRequestException(e);
+            } catch (InternalServerException e) {
+                throw new CfnServiceInternalErrorException(e);
+            } catch (ThrottlingException e) {
+                throw new CfnThrottlingException(Constants.LIST_DOMAINS, e);
+            }
 
-        // STEP 3 [get a token for the next page]
-        String nextToken = response.nextToken();
+            // STEP 3 [get a token for the next page]
+            String nextToken = response.nextToken();
+            final List<ResourceModel> listed = Translator.translateFromListRequest(response, request);
 
-        return ProgressEvent.<ResourceModel, CallbackContext>builder()
-            .resourceModels(Translator.translateFromListRequest(response, request))
-            .nextToken(nextToken)
-            .status(OperationStatus.SUCCESS)
-            .build();
+            final ProxyClient<CodeartifactClient> proxyClient = new RateLimitedProxyClient<>(
+                new MeteredProxyClient<>(proxy.newProxy(ClientBuilder::getClient), metrics),
+                rateLimiter, deadlineNanos);
+            return hydratedList.hydrate(listed, HydratedList.offset(request.getNextToken()), pageToken, nextToken,
+                domain -> read(proxy, request, domain, proxyClient, logger), logger);
+        } finally {
+            metrics.flush(logger);
+        }
     }
 
+    /**
+     * Reads the full model of a listed domain the way the ReadHandler does.
+     * @return the model, or null when the domain was deleted since it was listed
+     */
+    private ResourceModel read(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final ResourceModel listed,
+        final ProxyClient<CodeartifactClient> proxyClient,
+        final Logger logger
+    ) {
+        try {
+            return new ReadHandler().handleRequest(
+                proxy, HydratedList.readRequest(request, listed), new CallbackContext(), proxyClient, logger)
+                .getResourceModel();
+        } catch (final CfnNotFoundException e) {
+            logger.log(String.format("%s %s was deleted since it was listed.", ResourceModel.TYPE_NAME, listed.getArn()));
+            return null;
+        }
+    }
 }
@@ -13,7 +13,9 @@ import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.codeartifact.common.ConcurrentCalls;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class ReadHandler extends BaseHandlerStd {
 
@@ -29,6 +31,14 @@ public class ReadHandler extends BaseHandlerStd {
         this.logger = logger;
 
         logger.log(String.format("%s read handler is being invoked", ResourceModel.TYPE_NAME));
+        final String domainArn = Translator.translateToDomainArn(request.getDesiredResourceState(), request);
+        if (domainArn != null) {
+            return ProgressEvent.progress(request.getDesiredResourceState(), callbackContext)
+                .then(progress -> readConcurrently(progress, request, proxyClient, domainArn))
+                .then(progress -> ProgressEvent.defaultSuccessHandler(progress.getResourceModel()));
+        }
+
+        // Without the account and region of the request the arn is only known from the DescribeDomain response
         return ProgressEvent.progress(request.getDesiredResourceState(), callbackContext)
             .then(progress -> describeDomain(proxy, progress, request, proxyClient))
             .then(progress -> getDomainPolicy(proxy, progress, request, proxyClient))
@@ -39,6 +49,102 @@ public class ReadHandler extends BaseHandlerStd {
             });
     }
 
+    private ProgressEvent<ResourceModel, CallbackContext> readConcurrently(
+        ProgressEvent<ResourceModel, CallbackContext> progress,
+        ResourceHandlerRequest<ResourceModel> request,
+        ProxyClient<CodeartifactClient> proxyClient,
+        String domainArn
+    ) {
+        final ResourceModel desiredModel = progress.getResourceModel();
+
+        // The arn is known up front, so the domain, its policy and its tags are read with three calls issued
+        // together and merged into the model when all of them have returned.
+        final CompletableFuture<DescribeDomainResponse> describeFuture = readDomain(desiredModel, request, proxyClient);
+        final CompletableFuture<GetDomainPermissionsPolicyResponse> policyFuture = readPolicy(desiredModel, request, proxyClient);
+        final CompletableFuture<ListTagsForResourceResponse> tagsFuture = readTags(domainArn, request, proxyClient);
+
+        // Waits for every call, so none is still in flight when the handler returns, then reports the failure of
+        // DescribeDomain first: when the domain can't be described, that is the error the sequential read gave.
+        CompletableFuture.allOf(describeFuture, policyFuture, tagsFuture).exceptionally(e -> null).join();
+        final DescribeDomainResponse describeDomainResponse = ConcurrentCalls.join(describeFuture);
+        final GetDomainPermissionsPolicyResponse getDomainPermissionsPolicyResponse = ConcurrentCalls.join(policyFuture);
+        final ListTagsForResourceResponse listTagsResponse = ConcurrentCalls.join(tagsFuture);
+
+        final ResourceModel resourceModel = Translator.translateFromReadResponse(describeDomainResponse);
+        if (getDomainPermissionsPolicyResponse != null) {
+            String domainPolicy = getDomainPermissionsPolicyResponse.policy().document();
+            resourceModel.setPermissionsPolicyDocument(Translator.deserializePolicy(domainPolicy));
+        }
+        if (listTagsResponse != null) {
+            List<Tag> tags = listTagsResponse.tags();
+            resourceModel.setTags(Translator.fromListTagsResponse(tags));
+        }
+        return ProgressEvent.progress(resourceModel, progress.getCallbackContext());
+    }
+
+    private CompletableFuture<DescribeDomainResponse> readDomain(
+        ResourceModel resourceModel,
+        ResourceHandlerRequest<ResourceModel> request,
+        ProxyClient<CodeartifactClient> proxyClient
+    ) {
+        final String domainName = request.getDesiredResourceState().getDomainName();
+        return ConcurrentCalls.submit(() -> {
+            logger.log(String.format("%s describeDomain is being invoked", ResourceModel.TYPE_NAME));
+            DescribeDomainResponse awsResponse = null;
+            try {
+                awsResponse = proxyClient.injectCredentialsAndInvokeV2(
+                    Translator.translateToReadRequest(resourceModel), proxyClient.client()::describeDomain);
+            } catch (final AwsServiceException e) {
+                Translator.throwCfnException(e, Constants.DESCRIBE_DOMAIN, domainName);
+            }
+            logger.log(String.format("%s has successfully been read.", ResourceModel.TYPE_NAME));
+            return awsResponse;
+        });
+    }
+
+    private CompletableFuture<GetDomainPermissionsPolicyResponse> readPolicy(
+        ResourceModel resourceModel,
+        ResourceHandlerRequest<ResourceModel> request,
+        ProxyClient<CodeartifactClient> proxyClient
+    ) {
+        final String domainName = request.getDesiredResourceState().getDomainName();
+        return ConcurrentCalls.submit(() -> {
+            logger.log(String.format("%s getDomainPolicy is being invoked", ResourceModel.TYPE_NAME));
+            GetDomainPermissionsPolicyResponse getDomainPermissionsPolicyResponse = null;
+            try {
+                getDomainPermissionsPolicyResponse = proxyClient.injectCredentialsAndInvokeV2(
+                    Translator.translateGetDomainPermissionsPolicyRequest(resourceModel),
+                    proxyClient.client()::getDomainPermissionsPolicy);
+            } catch (final ResourceNotFoundException e) {
+                // Do nothing since there is no policy
+            } catch (final AwsServiceException e) {
+                Translator.throwCfnException(e, Constants.GET_DOMAIN_PERMISSION_POLICY, domainName);
+            }
+            logger.log(String.format("Domain policy of %s has successfully been read.", ResourceModel.TYPE_NAME));
+            return getDomainPermissionsPolicyResponse;
+        });
+    }
+
+    private CompletableFuture<ListTagsForResourceResponse> readTags(
+        String domainArn,
+        ResourceHandlerRequest<ResourceModel> request,
+        ProxyClient<CodeartifactClient> proxyClient
+    ) {
+        final String domainName = request.getDesiredResourceState().getDomainName();
+        return ConcurrentCalls.submit(() -> {
+            logger.log(String.format("%s ListTags is being invoked", ResourceModel.TYPE_NAME));
+            ListTagsForResourceResponse listTagsResponse = null;
+            try {
+                listTagsResponse = proxyClient.injectCredentialsAndInvokeV2(
+                    Translator.translateToListTagsRequest(domainArn), proxyClient.client()::listTagsForResource);
+            } catch (final AwsServiceException e) {
+                Translator.throwCfnException(e, Constants.LIST_TAGS_FOR_RESOURCE, domainName);
+            }
+            logger.log(String.format("Tags of %s has successfully been read.", ResourceModel.TYPE_NAME));
+            return listTagsResponse;
+        });
+    }
+
     private ProgressEvent<ResourceModel, CallbackContext> listTags(
         AmazonWebServicesClientProxy proxy,
         ProgressEvent<ResourceModel, CallbackContext> progress,
@@ -34,6 +34,7 @@ import software.amazon.awssdk.services.codeartifact.model.ListTagsForResourceReq
 import software.amazon.awssdk.services.codeartifact.model.PutDomainPermissionsPolicyRequest;
 import software.amazon.awssdk.services.codeartifact.model.ResourceNotFoundException;
 import software.amazon.awssdk.services.codeartifact.model.ServiceQuotaExceededException;
+import software.amazon.awssdk.services.codeartifact.model.ThrottlingException;
 import software.amazon.awssdk.services.codeartifact.model.TagResourceRequest;
 import software.amazon.awssdk.services.codeartifact.model.UntagResourceRequest;
 import software.amazon.awssdk.services.codeartifact.model.ValidationException;
@@ -46,6 +47,7 @@ import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
 import software.amazon.cloudformation.exceptions.CfnNotFoundException;
 import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
 import software.amazon.cloudformation.exceptions.CfnServiceLimitExceededException;
+import software.amazon.cloudformation.exceptions.CfnThrottlingException;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 import software.amazon.awssdk.services.codeartifact.model.Tag;
 
@@ -280,6 +282,9 @@ public class Translator {
     if (exception instanceof InternalServerException) {
       throw new CfnServiceInternalErrorException(operation, exception);
     }
+    if (exception instanceof ThrottlingException || exception.isThrottlingException()) {
+      throw new CfnThrottlingException(operation, exception);
+    }
     throw new CfnGeneralServiceException(exception);
   }
 
@@ -334,4 +339,33 @@ public class Translator {
           .resourceArn(model.getArn())
           .build();
     }
+
+    static ListTagsForResourceRequest translateToListTagsRequest(final String domainArn) {
+      return ListTagsForResourceRequest
+          .builder()
+          .resourceArn(domainArn)
+          .build();
+    }
+
+    /**
+     * Arn of the domain to read, built from the request instead of the DescribeDomain response so the domain's
+     * sub-resources can be read without describing it first.
+     * @return the arn, or null when neither the model nor the request carry enough to build it
+     */
+    static String translateToDomainArn(
+        final ResourceModel model,
+        final ResourceHandlerRequest<ResourceModel> request
+    ) {
+      if (model.getDomainName() == null && model.getOwner() == null) {
+        // ReadHandler was called using *only* the primaryIdentifier (Arn)
+        return model.getArn();
+      }
+      final String domainOwner = model.getOwner() == null ? request.getAwsAccountId() : model.getOwner();
+      if (model.getDomainName() == null || domainOwner == null
+          || request.getAwsPartition() == null || request.getRegion() == null) {
+        return null;
+      }
+      return ArnUtils.domainArn(request.getAwsPartition(), request.getRegion(), domainOwner, model.getDomainName())
+          .arn();
+    }
 }
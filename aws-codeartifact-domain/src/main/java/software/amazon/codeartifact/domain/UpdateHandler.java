@@ -73,7 +73,7 @@ public class UpdateHandler extends BaseHandlerStd {
             // Deletes tags only if tagsToRemove is not empty.
             if (!CollectionUtils.isNullOrEmpty(tagsToRemove)) {
                 UntagResourceRequest untagRequest = Translator.untagResourceRequest(request, tagsToRemove, domainName);
-                proxy.injectCredentialsAndInvokeV2(untagRequest, proxyClient.client()::untagResource);
+                proxyClient.injectCredentialsAndInvokeV2(untagRequest, proxyClient.client()::untagResource);
             }
         } catch (AwsServiceException e) {
             Translator.throwCfnException(e, Constants.UNTAG_RESOURCE, domainName);
@@ -83,7 +83,7 @@ public class UpdateHandler extends BaseHandlerStd {
             // Adds tags only if tagsToAdd is not empty.
             if (!CollectionUtils.isNullOrEmpty(tagsToAdd)) {
                 TagResourceRequest tagRequest = Translator.tagResourceRequest(request, tagsToAdd, domainName);
-                proxy.injectCredentialsAndInvokeV2(tagRequest, proxyClient.client()::tagResource);
+                proxyClient.injectCredentialsAndInvokeV2(tagRequest, proxyClient.client()::tagResource);
             }
         } catch (AwsServiceException e) {
             Translator.throwCfnException(e, Constants.TAG_RESOURCE, domainName);
@@ -34,6 +34,7 @@ import software.amazon.awssdk.services.codeartifact.model.GetDomainPermissionsPo
 import software.amazon.awssdk.services.codeartifact.model.GetDomainPermissionsPolicyResponse;
 import software.amazon.awssdk.services.codeartifact.model.InternalServerException;
 import software.amazon.awssdk.services.codeartifact.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.codeartifact.model.ListTagsForResourceResponse;
 import software.amazon.awssdk.services.codeartifact.model.PutDomainPermissionsPolicyRequest;
 import software.amazon.awssdk.services.codeartifact.model.PutDomainPermissionsPolicyResponse;
 import software.amazon.awssdk.services.codeartifact.model.ResourceNotFoundException;
@@ -99,11 +100,6 @@ public class CreateHandlerTest extends AbstractTestBase {
     public void handleRequest_simpleSuccess() {
         final CreateHandler handler = new CreateHandler();
 
-        final ResourceModel desiredOutputModel = ResourceModel.builder()
-            .domainName(DOMAIN_NAME)
-            .arn(DOMAIN_ARN)
-            .build();
-
         final ResourceModel model = ResourceModel.builder()
             .domainName(DOMAIN_NAME)
             .build();
@@ -118,7 +114,14 @@ public class CreateHandlerTest extends AbstractTestBase {
             .domain(domainDescription)
             .build();
 
-        when(proxyClient.client().describeDomain(any(DescribeDomainRequest.class))).thenReturn(describeDomainResponse);
+        DescribeDomainResponse creatingDomainResponse = DescribeDomainResponse.builder()
+            .domain(domainDescription.toBuilder().status("Creating").build())
+            .build();
+
+        when(proxyClient.client().getDomainPermissionsPolicy(any(GetDomainPermissionsPolicyRequest.class))).thenThrow(ResourceNotFoundException.class);
+        when(proxyClient.client().describeDomain(any(DescribeDomainRequest.class)))
+            .thenReturn(creatingDomainResponse)
+            .thenReturn(describeDomainResponse);
 
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
             .desiredResourceState(model)
@@ -130,15 +133,18 @@ public class CreateHandlerTest extends AbstractTestBase {
         final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
 
         assertThat(response).isNotNull();
-        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
         assertThat(response.getResourceModel()).isEqualTo(desiredOutputModel);
-        assertThat(response.getCallbackDelaySeconds()).isEqualTo(1);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(0);
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
 
         verify(codeartifactClient).createDomain(any(CreateDomainRequest.class));
-        verify(codeartifactClient, times(1)).describeDomain(any(DescribeDomainRequest.class));
+        // Two stabilization polls (CREATING, then ACTIVE) followed by the trailing read
+        verify(codeartifactClient, times(3)).describeDomain(any(DescribeDomainRequest.class));
+        verify(codeartifactClient).getDomainPermissionsPolicy(any(GetDomainPermissionsPolicyRequest.class));
+        verify(codeartifactClient).listTagsForResource(any(ListTagsForResourceRequest.class));
         verify(codeartifactClient, never()).putDomainPermissionsPolicy(any(PutDomainPermissionsPolicyRequest.class));
 
     }
@@ -149,7 +155,10 @@ public class CreateHandlerTest extends AbstractTestBase {
 
         final ResourceModel desiredOutputModel = ResourceModel.builder()
             .domainName(DOMAIN_NAME)
+            .name(DOMAIN_NAME)
+            .owner(DOMAIN_OWNER)
             .arn(DOMAIN_ARN)
+            .encryptionKey(ENCRYPTION_KEY_ARN)
             .tags(RESOURCE_MODEL_TAGS)
             .build();
 
@@ -169,6 +178,9 @@ public class CreateHandlerTest extends AbstractTestBase {
             .build();
 
         when(proxyClient.client().describeDomain(any(DescribeDomainRequest.class))).thenReturn(describeDomainResponse);
+        when(proxyClient.client().getDomainPermissionsPolicy(any(GetDomainPermissionsPolicyRequest.class))).thenThrow(ResourceNotFoundException.class);
+        when(proxyClient.client().listTagsForResource(any(ListTagsForResourceRequest.class)))
+            .thenReturn(ListTagsForResourceResponse.builder().tags(SERVICE_TAGS).build());
 
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
             .desiredResourceState(model)
@@ -180,9 +192,9 @@ public class CreateHandlerTest extends AbstractTestBase {
         final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
 
         assertThat(response).isNotNull();
-        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
         assertThat(response.getResourceModel()).isEqualTo(desiredOutputModel);
-        assertThat(response.getCallbackDelaySeconds()).isEqualTo(1);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(0);
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
@@ -193,7 +205,9 @@ public class CreateHandlerTest extends AbstractTestBase {
         verify(codeartifactClient).createDomain(createDomainRequestArgumentCaptor.capture());
         CreateDomainRequest createDomainRequestValue = createDomainRequestArgumentCaptor.getValue();
 
-        verify(codeartifactClient, times(1)).describeDomain(any(DescribeDomainRequest.class));
+        verify(codeartifactClient, times(2)).describeDomain(any(DescribeDomainRequest.class));
+        verify(codeartifactClient).getDomainPermissionsPolicy(any(GetDomainPermissionsPolicyRequest.class));
+        verify(codeartifactClient).listTagsForResource(any(ListTagsForResourceRequest.class));
         verify(codeartifactClient, never()).putDomainPermissionsPolicy(any(PutDomainPermissionsPolicyRequest.class));
 
         assertThat(createDomainRequestValue.tags().equals(SERVICE_TAGS));
@@ -224,6 +238,7 @@ public class CreateHandlerTest extends AbstractTestBase {
 
         CallbackContext context = new CallbackContext();
         context.setCreated(true);
+        context.setStabilized(true);
         final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, context, proxyClient, logger);
 
         assertThat(response).isNotNull();
@@ -246,12 +261,6 @@ public class CreateHandlerTest extends AbstractTestBase {
     public void handleRequest_simpleSuccess_withEncryptionKey() {
         final CreateHandler handler = new CreateHandler();
 
-        final ResourceModel desiredOutputModel = ResourceModel.builder()
-            .domainName(DOMAIN_NAME)
-            .arn(DOMAIN_ARN)
-            .encryptionKey(ENCRYPTION_KEY_ARN)
-            .build();
-
         final ResourceModel model = ResourceModel.builder()
             .domainName(DOMAIN_NAME)
             .encryptionKey(ENCRYPTION_KEY_ARN)
@@ -268,6 +277,7 @@ public class CreateHandlerTest extends AbstractTestBase {
             .build();
 
         when(proxyClient.client().describeDomain(any(DescribeDomainRequest.class))).thenReturn(describeDomainResponse);
+        when(proxyClient.client().getDomainPermissionsPolicy(any(GetDomainPermissionsPolicyRequest.class))).thenThrow(ResourceNotFoundException.class);
 
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
             .desiredResourceState(model)
@@ -279,8 +289,8 @@ public class CreateHandlerTest extends AbstractTestBase {
         final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
 
         assertThat(response).isNotNull();
-        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
-        assertThat(response.getCallbackDelaySeconds()).isEqualTo(1);
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(0);
         assertThat(response.getResourceModel()).isEqualTo(desiredOutputModel);
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNull();
@@ -289,7 +299,9 @@ public class CreateHandlerTest extends AbstractTestBase {
         ArgumentCaptor<CreateDomainRequest> createDomainRequestArgumentCaptor = ArgumentCaptor.forClass(CreateDomainRequest.class);
 
         verify(codeartifactClient).createDomain(createDomainRequestArgumentCaptor.capture());
-        verify(codeartifactClient, times(1)).describeDomain(any(DescribeDomainRequest.class));
+        verify(codeartifactClient, times(2)).describeDomain(any(DescribeDomainRequest.class));
+        verify(codeartifactClient).getDomainPermissionsPolicy(any(GetDomainPermissionsPolicyRequest.class));
+        verify(codeartifactClient).listTagsForResource(any(ListTagsForResourceRequest.class));
         verify(codeartifactClient, never()).putDomainPermissionsPolicy(any(PutDomainPermissionsPolicyRequest.class));
 
         CreateDomainRequest createDomainRequestValue = createDomainRequestArgumentCaptor.getValue();
@@ -329,6 +341,7 @@ public class CreateHandlerTest extends AbstractTestBase {
 
         CallbackContext callbackContext = new CallbackContext();
         callbackContext.setCreated(true);
+        callbackContext.setStabilized(true);
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
             .desiredResourceState(model)
             .awsPartition("aws")
@@ -367,6 +380,52 @@ public class CreateHandlerTest extends AbstractTestBase {
 
         assertThat(capturedRequest.domain()).isEqualTo(DOMAIN_NAME);
         assertThat(capturedRequest.policyDocument()).isEqualTo(MAPPER.writeValueAsString(TEST_POLICY_DOC));
+        assertThat(callbackContext.isPolicyApplied()).isTrue();
+    }
+
+    @Test
+    public void handleRequest_withDomainPolicy_resumedAfterPolicyApplied() throws JsonProcessingException {
+        final CreateHandler handler = new CreateHandler();
+
+        final ResourceModel model = ResourceModel.builder()
+            .domainName(DOMAIN_NAME)
+            .permissionsPolicyDocument(TEST_POLICY_DOC)
+            .build();
+
+        GetDomainPermissionsPolicyResponse getDomainPermissionsPolicyResponse = GetDomainPermissionsPolicyResponse.builder()
+            .policy(
+                ResourcePolicy.builder()
+                    .document(MAPPER.writeValueAsString(TEST_POLICY_DOC))
+                    .build()
+            )
+            .build();
+
+        when(proxyClient.client().getDomainPermissionsPolicy(any(GetDomainPermissionsPolicyRequest.class))).thenReturn(getDomainPermissionsPolicyResponse);
+        when(proxyClient.client().describeDomain(any(DescribeDomainRequest.class))).thenReturn(
+            DescribeDomainResponse.builder().domain(domainDescription).build());
+
+        CallbackContext callbackContext = new CallbackContext();
+        callbackContext.setCreated(true);
+        callbackContext.setStabilized(true);
+        callbackContext.setPolicyApplied(true);
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(model)
+            .awsPartition("aws")
+            .region("region")
+            .awsAccountId("accountId")
+            .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, callbackContext, proxyClient, logger);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel().getPermissionsPolicyDocument()).isEqualTo(TEST_POLICY_DOC);
+
+        verify(codeartifactClient, never()).createDomain(any(CreateDomainRequest.class));
+        verify(codeartifactClient, never()).putDomainPermissionsPolicy(any(PutDomainPermissionsPolicyRequest.class));
+        verify(codeartifactClient).getDomainPermissionsPolicy(any(GetDomainPermissionsPolicyRequest.class));
+        verify(codeartifactClient).describeDomain(any(DescribeDomainRequest.class));
+        verify(codeartifactClient).listTagsForResource(any(ListTagsForResourceRequest.class));
     }
 
 
@@ -25,7 +25,6 @@ import software.amazon.awssdk.services.codeartifact.model.ConflictException;
 import software.amazon.awssdk.services.codeartifact.model.DeleteDomainRequest;
 import software.amazon.awssdk.services.codeartifact.model.DeleteDomainResponse;
 import software.amazon.awssdk.services.codeartifact.model.DescribeDomainRequest;
-import software.amazon.awssdk.services.codeartifact.model.DescribeDomainResponse;
 import software.amazon.awssdk.services.codeartifact.model.DomainDescription;
 import software.amazon.awssdk.services.codeartifact.model.InternalServerException;
 import software.amazon.awssdk.services.codeartifact.model.ResourceNotFoundException;
@@ -82,18 +81,13 @@ public class DeleteHandlerTest extends AbstractTestBase {
             .build();
 
         DeleteDomainResponse deleteDomainResponse = DeleteDomainResponse.builder()
+            .domain(domainDescription)
             .build();
 
         when(proxyClient.client().deleteDomain(any(DeleteDomainRequest.class))).thenReturn(deleteDomainResponse);
 
-        DescribeDomainResponse describeDomainResponse = DescribeDomainResponse.builder()
-            .domain(domainDescription)
-            .build();
-
-        // first, when checking if domain exists to be deleted
-        // second, to check if domain has been deleted
+        // only once, to check if domain has been deleted
         when(proxyClient.client().describeDomain(any(DescribeDomainRequest.class)))
-            .thenReturn(describeDomainResponse)
             .thenThrow(ResourceNotFoundException.class);
 
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
@@ -112,7 +106,7 @@ public class DeleteHandlerTest extends AbstractTestBase {
         assertThat(response.getErrorCode()).isNull();
 
         verify(codeartifactClient).deleteDomain(any(DeleteDomainRequest.class));
-        verify(codeartifactClient, times(2)).describeDomain(any(DescribeDomainRequest.class));
+        verify(codeartifactClient, times(1)).describeDomain(any(DescribeDomainRequest.class));
 
     }
 
@@ -135,7 +129,6 @@ public class DeleteHandlerTest extends AbstractTestBase {
         assertThrows(CfnInvalidRequestException.class, () -> handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger));
 
         verify(codeartifactClient).deleteDomain(any(DeleteDomainRequest.class));
-        verify(codeartifactClient, times(1)).describeDomain(any(DescribeDomainRequest.class));
     }
 
 
@@ -163,7 +156,6 @@ public class DeleteHandlerTest extends AbstractTestBase {
         }
 
         verify(codeartifactClient).deleteDomain(any(DeleteDomainRequest.class));
-        verify(codeartifactClient, times(1)).describeDomain(any(DescribeDomainRequest.class));
     }
 
     @Test
@@ -190,7 +182,6 @@ public class DeleteHandlerTest extends AbstractTestBase {
         }
 
         verify(codeartifactClient).deleteDomain(any(DeleteDomainRequest.class));
-        verify(codeartifactClient, times(1)).describeDomain(any(DescribeDomainRequest.class));
     }
 
     @Test
@@ -217,7 +208,6 @@ public class DeleteHandlerTest extends AbstractTestBase {
         }
 
         verify(codeartifactClient).deleteDomain(any(DeleteDomainRequest.class));
-        verify(codeartifactClient, times(1)).describeDomain(any(DescribeDomainRequest.class));
     }
 
     @Test
@@ -244,7 +234,6 @@ public class DeleteHandlerTest extends AbstractTestBase {
         }
 
         verify(codeartifactClient).deleteDomain(any(DeleteDomainRequest.class));
-        verify(codeartifactClient, times(1)).describeDomain(any(DescribeDomainRequest.class));
     }
 
     @Test
@@ -256,7 +245,7 @@ public class DeleteHandlerTest extends AbstractTestBase {
             .encryptionKey(ENCRYPTION_KEY_ARN)
             .build();
 
-        when(proxyClient.client().describeDomain(any(DescribeDomainRequest.class))).thenThrow(ResourceNotFoundException.class);
+        when(proxyClient.client().deleteDomain(any(DeleteDomainRequest.class))).thenThrow(ResourceNotFoundException.class);
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
             .desiredResourceState(model)
             .logicalResourceIdentifier(DOMAIN_ARN)
@@ -270,6 +259,32 @@ public class DeleteHandlerTest extends AbstractTestBase {
 
         }
 
+        verify(codeartifactClient).deleteDomain(any(DeleteDomainRequest.class));
+    }
+
+    @Test
+    public void handleRequest_emptyDeleteResponse_stabilizes() {
+        final DeleteHandler handler = new DeleteHandler();
+
+        final ResourceModel model = ResourceModel.builder()
+            .domainName(DOMAIN_NAME)
+            .build();
+
+        // Only a ResourceNotFoundException tells that the domain was gone already, not what the response leaves out
+        when(proxyClient.client().deleteDomain(any(DeleteDomainRequest.class))).thenReturn(DeleteDomainResponse.builder().build());
+        when(proxyClient.client().describeDomain(any(DescribeDomainRequest.class)))
+            .thenThrow(ResourceNotFoundException.class);
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(model)
+            .logicalResourceIdentifier(DOMAIN_ARN)
+            .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel()).isNull();
+
+        verify(codeartifactClient).deleteDomain(any(DeleteDomainRequest.class));
         verify(codeartifactClient).describeDomain(any(DescribeDomainRequest.class));
     }
 
@@ -282,18 +297,13 @@ public class DeleteHandlerTest extends AbstractTestBase {
             .build();
 
         DeleteDomainResponse deleteDomainResponse = DeleteDomainResponse.builder()
+            .domain(domainDescription)
             .build();
 
         when(proxyClient.client().deleteDomain(any(DeleteDomainRequest.class))).thenReturn(deleteDomainResponse);
 
-        DescribeDomainResponse describeDomainResponse = DescribeDomainResponse.builder()
-            .domain(domainDescription)
-            .build();
-
-        // first, when checking if domain exists to be deleted
-        // second, to check if domain has been deleted
+        // only once, to check if domain has been deleted
         when(proxyClient.client().describeDomain(any(DescribeDomainRequest.class)))
-            .thenReturn(describeDomainResponse)
             .thenThrow(ResourceNotFoundException.class);
 
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
@@ -312,7 +322,7 @@ public class DeleteHandlerTest extends AbstractTestBase {
         assertThat(response.getErrorCode()).isNull();
 
         verify(codeartifactClient).deleteDomain(any(DeleteDomainRequest.class));
-        verify(codeartifactClient, times(2)).describeDomain(any(DescribeDomainRequest.class));
+        verify(codeartifactClient, times(1)).describeDomain(any(DescribeDomainRequest.class));
 
     }
 }
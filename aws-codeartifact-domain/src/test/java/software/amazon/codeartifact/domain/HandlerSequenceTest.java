@@ -0,0 +1,50 @@
+package software.amazon.codeartifact.domain;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.codeartifact.common.FakeCodeartifactClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HandlerSequenceTest extends AbstractTestBase {
+
+    @Test
+    public void createHandler_eventuallyConsistentRead_stabilizesThenReads() {
+        final FakeCodeartifactClient client = new FakeCodeartifactClient(FakeCodeartifactClient.Settings.builder()
+            .accountId(DOMAIN_OWNER)
+            .region(REGION)
+            .visibilityDelay(Duration.ofMillis(200))
+            .build());
+
+        final AmazonWebServicesClientProxy proxy =
+            new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(ResourceModel.builder()
+                .domainName(DOMAIN_NAME)
+                .permissionsPolicyDocument(TEST_POLICY_DOC)
+                .build())
+            .desiredResourceTags(DESIRED_TAGS_MAP)
+            .region(REGION)
+            .awsPartition(PARTITION)
+            .awsAccountId(DOMAIN_OWNER)
+            .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = new CreateHandler()
+            .handleRequest(proxy, request, new CallbackContext(), MOCK_PROXY(proxy, client), logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel().getArn()).isEqualTo(
+            String.format("arn:aws:codeartifact:%s:%s:domain/%s", REGION, DOMAIN_OWNER, DOMAIN_NAME));
+        assertThat(response.getResourceModel().getPermissionsPolicyDocument()).isEqualTo(TEST_POLICY_DOC);
+        assertThat(response.getResourceModel().getTags()).containsExactlyInAnyOrderElementsOf(RESOURCE_MODEL_TAGS);
+        assertThat(client.calls("CreateDomain")).isEqualTo(1);
+        assertThat(client.calls("PutDomainPermissionsPolicy")).isEqualTo(1);
+        // polled until the domain became visible, then read once more by the trailing ReadHandler
+        assertThat(client.calls("DescribeDomain")).isGreaterThanOrEqualTo(2);
+    }
+}
@@ -9,14 +9,23 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import software.amazon.awssdk.services.codeartifact.CodeartifactClient;
 import software.amazon.awssdk.services.codeartifact.model.AccessDeniedException;
+import software.amazon.awssdk.services.codeartifact.model.DescribeDomainRequest;
+import software.amazon.awssdk.services.codeartifact.model.DescribeDomainResponse;
+import software.amazon.awssdk.services.codeartifact.model.DomainDescription;
 import software.amazon.awssdk.services.codeartifact.model.DomainSummary;
+import software.amazon.awssdk.services.codeartifact.model.GetDomainPermissionsPolicyRequest;
 import software.amazon.awssdk.services.codeartifact.model.InternalServerException;
 import software.amazon.awssdk.services.codeartifact.model.ListDomainsRequest;
 import software.amazon.awssdk.services.codeartifact.model.ListDomainsResponse;
+import software.amazon.awssdk.services.codeartifact.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.codeartifact.model.ListTagsForResourceResponse;
+import software.amazon.awssdk.services.codeartifact.model.ResourceNotFoundException;
 import software.amazon.awssdk.services.codeartifact.model.ValidationException;
 import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
 import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
@@ -78,6 +87,8 @@ public class ListHandlerTest extends AbstractTestBase {
             .build()
         );
 
+        stubReads();
+
         final ProgressEvent<ResourceModel, CallbackContext> response =
             handler.handleRequest(proxy, request, null, logger);
 
@@ -89,6 +100,34 @@ public class ListHandlerTest extends AbstractTestBase {
         assertThat(response.getResourceModels()).isNotNull();
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
+        // Each listed domain is read back into a full model
+        assertThat(response.getResourceModels()).extracting(ResourceModel::getDomainName)
+            .containsExactly(DOMAIN_NAME, "domain2");
+        assertThat(response.getResourceModels()).allSatisfy(listed -> {
+            assertThat(listed.getEncryptionKey()).isEqualTo(ENCRYPTION_KEY_ARN);
+            assertThat(listed.getTags()).containsExactlyInAnyOrderElementsOf(RESOURCE_MODEL_TAGS);
+        });
+        assertThat(response.getNextToken()).isEqualTo("fakeNextToken");
+    }
+
+    // Answers the reads of the listed domains, which the list returns as full models
+    private void stubReads() {
+        doReturn(MOCK_PROXY(proxy, mock(CodeartifactClient.class))).when(proxy).newProxy(any());
+        when(proxy.injectCredentialsAndInvokeV2(any(DescribeDomainRequest.class), any())).thenAnswer(invocation -> {
+            final DescribeDomainRequest describe = invocation.getArgument(0);
+            return DescribeDomainResponse.builder()
+                .domain(DomainDescription.builder()
+                    .name(describe.domain())
+                    .owner(describe.domainOwner())
+                    .arn(ArnUtils.domainArn(PARTITION, REGION, describe.domainOwner(), describe.domain()).arn())
+                    .encryptionKey(ENCRYPTION_KEY_ARN)
+                    .build())
+                .build();
+        });
+        when(proxy.injectCredentialsAndInvokeV2(any(GetDomainPermissionsPolicyRequest.class), any()))
+            .thenThrow(ResourceNotFoundException.class);
+        when(proxy.injectCredentialsAndInvokeV2(any(ListTagsForResourceRequest.class), any()))
+            .thenReturn(ListTagsForResourceResponse.builder().tags(SERVICE_TAGS).build());
     }
 
     @Test
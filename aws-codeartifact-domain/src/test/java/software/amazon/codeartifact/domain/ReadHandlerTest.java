@@ -9,10 +9,13 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.atLeastOnce;
@@ -22,6 +25,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
 import software.amazon.awssdk.services.codeartifact.CodeartifactClient;
 import software.amazon.awssdk.services.codeartifact.model.AccessDeniedException;
 import software.amazon.awssdk.services.codeartifact.model.DescribeDomainRequest;
@@ -35,11 +39,13 @@ import software.amazon.awssdk.services.codeartifact.model.ListTagsForResourceRes
 import software.amazon.awssdk.services.codeartifact.model.ResourceNotFoundException;
 import software.amazon.awssdk.services.codeartifact.model.ResourcePolicy;
 import software.amazon.awssdk.services.codeartifact.model.ServiceQuotaExceededException;
+import software.amazon.awssdk.services.codeartifact.model.ThrottlingException;
 import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
 import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
 import software.amazon.cloudformation.exceptions.CfnNotFoundException;
 import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
 import software.amazon.cloudformation.exceptions.CfnServiceLimitExceededException;
+import software.amazon.cloudformation.exceptions.CfnThrottlingException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
@@ -396,6 +402,39 @@ public class ReadHandlerTest extends AbstractTestBase {
         verify(codeartifactClient).describeDomain(any(DescribeDomainRequest.class));
     }
 
+    @Test
+    public void handleRequest_throttlingException() {
+        final ReadHandler handler = new ReadHandler();
+
+        when(proxyClient.client().describeDomain(any(DescribeDomainRequest.class)))
+            .thenThrow(ThrottlingException.builder().build());
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(model)
+            .logicalResourceIdentifier(DOMAIN_ARN)
+            .build();
+
+        assertThatThrownBy(() -> handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger))
+            .isInstanceOf(CfnThrottlingException.class);
+        verify(codeartifactClient).describeDomain(any(DescribeDomainRequest.class));
+    }
+
+    @Test
+    public void handleRequest_tooManyRequests() {
+        final ReadHandler handler = new ReadHandler();
+
+        // Throttling the SDK only recognizes by its status code
+        when(proxyClient.client().describeDomain(any(DescribeDomainRequest.class)))
+            .thenThrow(AwsServiceException.builder().statusCode(429).build());
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(model)
+            .logicalResourceIdentifier(DOMAIN_ARN)
+            .build();
+
+        assertThatThrownBy(() -> handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger))
+            .isInstanceOf(CfnThrottlingException.class);
+        verify(codeartifactClient).describeDomain(any(DescribeDomainRequest.class));
+    }
+
     @Test
     public void handleRequest_resourceNotFound() {
         final ReadHandler handler = new ReadHandler();
@@ -416,4 +455,86 @@ public class ReadHandlerTest extends AbstractTestBase {
         verify(codeartifactClient).describeDomain(any(DescribeDomainRequest.class));
     }
 
+    @Test
+    public void handleRequest_withAccountAndRegion_readsConcurrently() {
+        final ReadHandler handler = new ReadHandler();
+        // Every call only returns once all three have started
+        final CountDownLatch allStarted = new CountDownLatch(3);
+
+        DescribeDomainResponse describeDomainResponse = DescribeDomainResponse.builder()
+            .domain(
+                DomainDescription.builder()
+                    .name(DOMAIN_NAME)
+                    .owner(DOMAIN_OWNER)
+                    .arn(DOMAIN_ARN)
+                    .encryptionKey(ENCRYPTION_KEY_ARN)
+                    .build()
+            )
+            .build();
+
+        when(proxyClient.client().describeDomain(any(DescribeDomainRequest.class)))
+            .thenAnswer(invocation -> awaitAll(allStarted, describeDomainResponse));
+        when(proxyClient.client().getDomainPermissionsPolicy(any(GetDomainPermissionsPolicyRequest.class)))
+            .thenAnswer(invocation -> {
+                awaitAll(allStarted, null);
+                throw ResourceNotFoundException.builder().build();
+            });
+        when(proxyClient.client().listTagsForResource(any(ListTagsForResourceRequest.class)))
+            .thenAnswer(invocation -> awaitAll(allStarted, ListTagsForResourceResponse.builder().tags(SERVICE_TAGS).build()));
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(model)
+            .awsPartition(PARTITION)
+            .region("region")
+            .awsAccountId(DOMAIN_OWNER)
+            .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(allStarted.getCount()).isZero();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel()).isEqualTo(ResourceModel.builder()
+            .domainName(DOMAIN_NAME)
+            .owner(DOMAIN_OWNER)
+            .name(DOMAIN_NAME)
+            .arn(DOMAIN_ARN)
+            .tags(RESOURCE_MODEL_TAGS)
+            .encryptionKey(ENCRYPTION_KEY_ARN)
+            .build());
+
+        ArgumentCaptor<ListTagsForResourceRequest> argumentCaptor = ArgumentCaptor.forClass(ListTagsForResourceRequest.class);
+        verify(codeartifactClient).listTagsForResource(argumentCaptor.capture());
+        assertThat(argumentCaptor.getValue().resourceArn()).isEqualTo(DOMAIN_ARN);
+        verify(codeartifactClient).describeDomain(any(DescribeDomainRequest.class));
+        verify(codeartifactClient).getDomainPermissionsPolicy(any(GetDomainPermissionsPolicyRequest.class));
+    }
+
+    @Test
+    public void handleRequest_withAccountAndRegion_reportsDescribeFailureFirst() {
+        final ReadHandler handler = new ReadHandler();
+
+        when(proxyClient.client().describeDomain(any(DescribeDomainRequest.class))).thenThrow(ResourceNotFoundException.class);
+        when(proxyClient.client().getDomainPermissionsPolicy(any(GetDomainPermissionsPolicyRequest.class))).thenThrow(ResourceNotFoundException.class);
+        when(proxyClient.client().listTagsForResource(any(ListTagsForResourceRequest.class))).thenThrow(AccessDeniedException.class);
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(model)
+            .awsPartition(PARTITION)
+            .region(REGION)
+            .awsAccountId(DOMAIN_OWNER)
+            .build();
+
+        assertThatThrownBy(() -> handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger))
+            .isInstanceOf(CfnNotFoundException.class);
+
+        verify(codeartifactClient).describeDomain(any(DescribeDomainRequest.class));
+        verify(codeartifactClient).getDomainPermissionsPolicy(any(GetDomainPermissionsPolicyRequest.class));
+        verify(codeartifactClient).listTagsForResource(any(ListTagsForResourceRequest.class));
+    }
+
+    private static <T> T awaitAll(final CountDownLatch allStarted, final T response) throws InterruptedException {
+        allStarted.countDown();
+        allStarted.await(5, TimeUnit.SECONDS);
+        return response;
+    }
 }
@@ -0,0 +1,50 @@
+package software.amazon.codeartifact.packagegroup;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Realistically sized inputs shared by the benchmarks.
+ */
+final class BenchmarkFixtures {
+    static final int TAG_COUNT = 50;
+    static final int ALLOWED_REPOSITORY_COUNT = 1000;
+
+    private BenchmarkFixtures() {
+    }
+
+    static Map<String, String> tags(final int count) {
+        final Map<String, String> tags = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            tags.put(String.format("team:component-%02d", i), String.format("value-%02d", i));
+        }
+        return tags;
+    }
+
+    static List<String> repositories(final int from, final int count) {
+        return IntStream.range(from, from + count)
+            .mapToObj(i -> String.format("repository-%04d", i))
+            .collect(Collectors.toList());
+    }
+
+    static ResourceModel allowSpecificRepositoriesModel(final List<String> publishRepositories) {
+        return ResourceModel.builder()
+            .domainName("domain")
+            .domainOwner("123456789012")
+            .pattern("/npm/benchmark/*")
+            .originConfiguration(OriginConfiguration.builder()
+                .restrictions(Restrictions.builder()
+                    .publish(RestrictionType.builder()
+                        .restrictionMode("ALLOW_SPECIFIC_REPOSITORIES")
+                        .repositories(publishRepositories)
+                        .build())
+                    .externalUpstream(RestrictionType.builder().restrictionMode("INHERIT").build())
+                    .internalUpstream(RestrictionType.builder().restrictionMode("INHERIT").build())
+                    .build())
+                .build())
+            .build();
+    }
+}
@@ -0,0 +1,107 @@
+package software.amazon.codeartifact.packagegroup;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import software.amazon.awssdk.services.codeartifact.model.DescribePackageGroupResponse;
+import software.amazon.awssdk.services.codeartifact.model.ListAllowedRepositoriesForGroupResponse;
+import software.amazon.awssdk.services.codeartifact.model.PackageGroupDescription;
+import software.amazon.awssdk.services.codeartifact.model.PackageGroupOriginConfiguration;
+import software.amazon.awssdk.services.codeartifact.model.PackageGroupOriginRestriction;
+import software.amazon.awssdk.services.codeartifact.model.PackageGroupOriginRestrictionMode;
+import software.amazon.awssdk.services.codeartifact.model.PackageGroupOriginRestrictionType;
+import software.amazon.awssdk.services.codeartifact.model.Tag;
+import software.amazon.awssdk.services.codeartifact.model.UpdatePackageGroupOriginConfigurationRequest;
+
+/**
+ * Throughput of the Translator paths every handler invocation goes through, with 1000-entry allowed repository
+ * lists. Run with the gc profiler (the jmh profile does) to also get the allocation rate per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TranslatorBenchmark {
+    private Map<String, String> tags;
+    private List<Tag> serviceTags;
+    private ResourceModel desiredModel;
+    private ResourceModel previousModel;
+    private DescribePackageGroupResponse describePackageGroupResponse;
+    private ListAllowedRepositoriesForGroupResponse listAllowedRepositoriesResponse;
+
+    @Setup
+    public void setup() {
+        tags = BenchmarkFixtures.tags(BenchmarkFixtures.TAG_COUNT);
+        serviceTags = new ArrayList<>(Translator.translateTagsToSdk(tags));
+
+        // Half of the allowed repositories change: 500 additions and 500 removals
+        final int count = BenchmarkFixtures.ALLOWED_REPOSITORY_COUNT;
+        desiredModel = BenchmarkFixtures.allowSpecificRepositoriesModel(BenchmarkFixtures.repositories(0, count));
+        previousModel = BenchmarkFixtures.allowSpecificRepositoriesModel(BenchmarkFixtures.repositories(count / 2, count));
+
+        final Map<PackageGroupOriginRestrictionType, PackageGroupOriginRestriction> restrictions =
+            new EnumMap<>(PackageGroupOriginRestrictionType.class);
+        restrictions.put(PackageGroupOriginRestrictionType.PUBLISH, PackageGroupOriginRestriction.builder()
+            .mode(PackageGroupOriginRestrictionMode.ALLOW_SPECIFIC_REPOSITORIES).build());
+        restrictions.put(PackageGroupOriginRestrictionType.EXTERNAL_UPSTREAM, PackageGroupOriginRestriction.builder()
+            .mode(PackageGroupOriginRestrictionMode.INHERIT).build());
+        restrictions.put(PackageGroupOriginRestrictionType.INTERNAL_UPSTREAM, PackageGroupOriginRestriction.builder()
+            .mode(PackageGroupOriginRestrictionMode.INHERIT).build());
+        describePackageGroupResponse = DescribePackageGroupResponse.builder()
+            .packageGroup(PackageGroupDescription.builder()
+                .domainName("domain")
+                .domainOwner("123456789012")
+                .pattern("/npm/benchmark/*")
+                .arn("arn:aws:codeartifact:us-west-2:123456789012:package-group/domain/npm/benchmark/*")
+                .originConfiguration(PackageGroupOriginConfiguration.builder().restrictions(restrictions).build())
+                .build())
+            .build();
+
+        listAllowedRepositoriesResponse = ListAllowedRepositoriesForGroupResponse.builder()
+            .allowedRepositories(BenchmarkFixtures.repositories(0, count))
+            .build();
+    }
+
+    @Benchmark
+    public Object translateTagsToSdk() {
+        return Translator.translateTagsToSdk(tags);
+    }
+
+    @Benchmark
+    public Object fromListTagsResponse() {
+        return Translator.fromListTagsResponse(serviceTags);
+    }
+
+    @Benchmark
+    public List<UpdatePackageGroupOriginConfigurationRequest> translateToUpdatePackageGroupOriginControlRequests() {
+        return Translator.translateToUpdatePackageGroupOriginControlRequests(desiredModel, previousModel);
+    }
+
+    @Benchmark
+    public ResourceModel translateFromReadResponse() {
+        return Translator.translateFromReadResponse(describePackageGroupResponse);
+    }
+
+    @Benchmark
+    public ResourceModel translateFromListAllowedReposResponse() {
+        final ResourceModel model = Translator.translateFromReadResponse(describePackageGroupResponse);
+        return Translator.translateFromListAllowedReposResponse(
+            listAllowedRepositoriesResponse, PackageGroupOriginRestrictionType.PUBLISH, model);
+    }
+}
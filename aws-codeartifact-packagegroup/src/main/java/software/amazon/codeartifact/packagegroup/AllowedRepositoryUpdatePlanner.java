@@ -0,0 +1,90 @@
+package software.amazon.codeartifact.packagegroup;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import software.amazon.awssdk.services.codeartifact.model.PackageGroupAllowedRepository;
+
+/**
+ * Packs the allowed repository changes of an origin configuration update into UpdatePackageGroupOriginConfiguration
+ * requests. Every request holds at most maxEntriesPerRequest additions and removals combined, so the fewest possible
+ * requests is ceil((additions + removals) / maxEntriesPerRequest), and the planner always produces exactly that many.
+ *
+ * Additions and removals are disjoint, so entries can go into any request in any combination. They are laid out
+ * sorted, additions before removals, and cut into full requests with the remainder in the last one. The plan always
+ * has at least one (possibly empty) chunk because the first request also carries the restriction modes.
+ */
+final class AllowedRepositoryUpdatePlanner {
+
+    private static final Comparator<PackageGroupAllowedRepository> ORDER = Comparator
+        .comparing(PackageGroupAllowedRepository::originRestrictionTypeAsString,
+            Comparator.nullsFirst(Comparator.naturalOrder()))
+        .thenComparing(PackageGroupAllowedRepository::repositoryName,
+            Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    /**
+     * The allowed repositories added and removed by one request.
+     */
+    @lombok.Value
+    static class Chunk {
+        List<PackageGroupAllowedRepository> reposToAdd;
+        List<PackageGroupAllowedRepository> reposToRemove;
+
+        int size() {
+            return reposToAdd.size() + reposToRemove.size();
+        }
+    }
+
+    private AllowedRepositoryUpdatePlanner() {
+    }
+
+    static List<Chunk> plan(
+        final Collection<PackageGroupAllowedRepository> reposToAdd,
+        final Collection<PackageGroupAllowedRepository> reposToRemove,
+        final int maxEntriesPerRequest
+    ) {
+        if (maxEntriesPerRequest < 1) {
+            throw new IllegalArgumentException("maxEntriesPerRequest must be positive: " + maxEntriesPerRequest);
+        }
+
+        final List<PackageGroupAllowedRepository> adds = sorted(reposToAdd);
+        final List<PackageGroupAllowedRepository> removes = sorted(reposToRemove);
+        final int total = adds.size() + removes.size();
+
+        if (total == 0) {
+            return Collections.singletonList(new Chunk(Collections.emptyList(), Collections.emptyList()));
+        }
+
+        final List<Chunk> chunks = new ArrayList<>((total + maxEntriesPerRequest - 1) / maxEntriesPerRequest);
+        for (int start = 0; start < total; start += maxEntriesPerRequest) {
+            final int end = Math.min(start + maxEntriesPerRequest, total);
+            chunks.add(new Chunk(
+                slice(adds, start, end),
+                slice(removes, start - adds.size(), end - adds.size())));
+        }
+        return chunks;
+    }
+
+    private static List<PackageGroupAllowedRepository> sorted(final Collection<PackageGroupAllowedRepository> repos) {
+        return repos == null
+            ? Collections.emptyList()
+            : repos.stream().sorted(ORDER).collect(Collectors.toList());
+    }
+
+    // The part of [from, to) that falls inside the list, empty if none does.
+    private static List<PackageGroupAllowedRepository> slice(
+        final List<PackageGroupAllowedRepository> repos,
+        final int from,
+        final int to
+    ) {
+        final int start = Math.max(from, 0);
+        final int end = Math.min(to, repos.size());
+        return start < end
+            ? Collections.unmodifiableList(new ArrayList<>(repos.subList(start, end)))
+            : Collections.emptyList();
+    }
+}
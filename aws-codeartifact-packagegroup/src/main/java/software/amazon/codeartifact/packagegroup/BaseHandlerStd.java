@@ -12,21 +12,39 @@ import software.amazon.awssdk.services.codeartifact.model.Tag;
 import software.amazon.awssdk.services.codeartifact.model.TagResourceRequest;
 import software.amazon.awssdk.services.codeartifact.model.UntagResourceRequest;
 import software.amazon.awssdk.services.codeartifact.model.UpdatePackageGroupOriginConfigurationRequest;
+import software.amazon.awssdk.services.codeartifact.model.UpdatePackageGroupOriginConfigurationResponse;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.codeartifact.common.AdaptiveRateLimiter;
+import software.amazon.codeartifact.common.ApiMetrics;
+import software.amazon.codeartifact.common.CachingProxyClient;
+import software.amazon.codeartifact.common.CallBatch;
+import software.amazon.codeartifact.common.MeteredProxyClient;
+import software.amazon.codeartifact.common.RateLimitedProxyClient;
 
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
     public static final ObjectMapper MAPPER = new ObjectMapper();
     public static final String ROOT_PATTERN = "/*";
+    // A large change to the allowed repositories takes many requests; only this many are sent at a time, so they
+    // don't take the whole pool of concurrent calls or burst against the account's rate
+    static final int MAX_CONCURRENT_ALLOWED_REPOSITORY_UPDATES = 4;
+
+    static {
+        // The wrapper creates the handlers while the function initializes, before a SnapStart checkpoint is taken
+        Priming.register();
+    }
 
     public Logger logger;
 
@@ -37,13 +55,47 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
         final CallbackContext callbackContext,
         final Logger logger
     ) {
-        return handleRequest(
-            proxy,
-            request,
-            callbackContext != null ? callbackContext : new CallbackContext(),
-            proxy.newProxy(ClientBuilder::getClient),
-            logger
-        );
+        final ApiMetrics metrics = new ApiMetrics(ResourceModel.TYPE_NAME, getClass().getSimpleName());
+        final AdaptiveRateLimiter rateLimiter =
+            AdaptiveRateLimiter.forAccount(request.getAwsAccountId(), request.getRegion());
+        // Every call of this invocation shares its deadline
+        final long deadlineNanos = rateLimiter.deadline();
+        // Reads repeated within this invocation are served from memory until a call mutates something
+        final CachingProxyClient.Responses responses = new CachingProxyClient.Responses();
+        try {
+            return handleRequest(
+                proxy,
+                request,
+                callbackContext != null ? callbackContext : new CallbackContext(),
+                new CachingProxyClient<>(new RateLimitedProxyClient<>(
+                    new MeteredProxyClient<>(proxy.newProxy(ClientBuilder::getClient), metrics),
+                    rateLimiter, deadlineNanos), responses),
+                logger
+            );
+        } finally {
+            // Every call of the invocation has completed (or been abandoned) by now
+            metrics.flush(logger);
+        }
+    }
+
+    /**
+     * Runs one step of a chain unless an earlier invocation for the same request already completed it, and marks it
+     * completed in the callback context once it lets the chain continue. A handler re-invoked after a callback or a
+     * retriable failure then resumes at the first incomplete step.
+     */
+    protected ProgressEvent<ResourceModel, CallbackContext> resumeAt(
+        final ProgressEvent<ResourceModel, CallbackContext> progress,
+        final BooleanSupplier completed,
+        final Consumer<Boolean> markCompleted,
+        final Function<ProgressEvent<ResourceModel, CallbackContext>, ProgressEvent<ResourceModel, CallbackContext>> step
+    ) {
+        if (completed.getAsBoolean()) {
+            return progress;
+        }
+        return step.apply(progress).then(done -> {
+            markCompleted.accept(true);
+            return done;
+        });
     }
 
     public boolean doesPackageGroupExist(
@@ -121,7 +173,7 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
             if (!CollectionUtils.isNullOrEmpty(tagsToRemove)) {
                 UntagResourceRequest untagRequest
                         = Translator.untagResourceRequest(request, tagsToRemove);
-                proxy.injectCredentialsAndInvokeV2(untagRequest, proxyClient.client()::untagResource);
+                proxyClient.injectCredentialsAndInvokeV2(untagRequest, proxyClient.client()::untagResource);
             }
         } catch (AwsServiceException e) {
             Translator.throwCfnException(e, Constants.UNTAG_RESOURCE, packageGroupName);
@@ -132,7 +184,7 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
             if (!CollectionUtils.isNullOrEmpty(tagsToAdd)) {
                 TagResourceRequest tagRequest
                         = Translator.tagResourceRequest(request, tagsToAdd);
-                proxy.injectCredentialsAndInvokeV2(tagRequest, proxyClient.client()::tagResource);
+                proxyClient.injectCredentialsAndInvokeV2(tagRequest, proxyClient.client()::tagResource);
             }
         } catch (AwsServiceException e) {
             Translator.throwCfnException(e, Constants.TAG_RESOURCE, packageGroupName);
@@ -161,12 +213,50 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
         List<UpdatePackageGroupOriginConfigurationRequest> totalRequests =
             Translator.translateToUpdatePackageGroupOriginControlRequests(desiredModel, previousModel);
 
-        for (UpdatePackageGroupOriginConfigurationRequest request : totalRequests) {
-            progress = progress.then(
-                p -> updatePackageGroupOriginConfiguration(proxy, request, p, callbackContext, proxyClient, logger));
+        // The first request carries the restriction modes, so it has to land before any allowed repository is
+        // changed. The remaining requests each add or remove a distinct set of allowed repositories and can be sent
+        // in any order.
+        return progress
+            .then(p -> updatePackageGroupOriginConfiguration(proxy, totalRequests.get(0), p, callbackContext, proxyClient, logger))
+            .then(p -> updateAllowedRepositories(totalRequests.subList(1, totalRequests.size()), p, proxyClient, logger));
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> updateAllowedRepositories(
+        final List<UpdatePackageGroupOriginConfigurationRequest> requests,
+        final ProgressEvent<ResourceModel, CallbackContext> progress,
+        final ProxyClient<CodeartifactClient> proxyClient,
+        Logger logger
+    ) {
+        if (requests.isEmpty()) {
+            return progress;
         }
 
-        return progress;
+        final String packageGroupName = progress.getResourceModel().getPattern();
+        CallBatch.run(requests, request -> updateAllowedRepositories(request, proxyClient, packageGroupName),
+            MAX_CONCURRENT_ALLOWED_REPOSITORY_UPDATES, Constants.UPDATE_PACKAGE_GROUP_ORIGIN_CONFIG, logger);
+
+        logger.log(String.format("%s allowed repositories successfully updated in %d requests.",
+            ResourceModel.TYPE_NAME, requests.size()));
+        return ProgressEvent.progress(progress.getResourceModel(), progress.getCallbackContext());
+    }
+
+    /**
+     * Sends one allowed repository update. Throttled attempts are retried by the client's adaptive retry mode and
+     * paced by the AdaptiveRateLimiter, not here.
+     */
+    private UpdatePackageGroupOriginConfigurationResponse updateAllowedRepositories(
+        final UpdatePackageGroupOriginConfigurationRequest request,
+        final ProxyClient<CodeartifactClient> proxyClient,
+        final String packageGroupName
+    ) {
+        UpdatePackageGroupOriginConfigurationResponse response = null;
+        try {
+            response = proxyClient.injectCredentialsAndInvokeV2(
+                request, proxyClient.client()::updatePackageGroupOriginConfiguration);
+        } catch (final AwsServiceException e) {
+            Translator.throwCfnException(e, Constants.UPDATE_PACKAGE_GROUP_ORIGIN_CONFIG, packageGroupName);
+        }
+        return response;
     }
 
     private ProgressEvent<ResourceModel, CallbackContext> updatePackageGroupOriginConfiguration(
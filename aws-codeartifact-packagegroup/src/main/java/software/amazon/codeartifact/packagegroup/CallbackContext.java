@@ -8,4 +8,11 @@ import software.amazon.cloudformation.proxy.StdCallbackContext;
 @lombok.EqualsAndHashCode(callSuper = true)
 public class CallbackContext extends StdCallbackContext {
     private boolean isCreated;
+    // Set once the created package group is seen, so a handler re-invoked while polling resumes polling
+    private boolean isStabilized;
+    // Steps of the create chain after CreatePackageGroup, or in place of it for the root package group that comes
+    // with the domain. Tags of other package groups are applied by CreatePackageGroup.
+    private boolean isPackageGroupUpdated;
+    private boolean isTagsUpdated;
+    private boolean isOriginConfigurationUpdated;
 }
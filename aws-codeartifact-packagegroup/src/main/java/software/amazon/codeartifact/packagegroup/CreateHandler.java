@@ -1,5 +1,7 @@
 package software.amazon.codeartifact.packagegroup;
 
+import java.time.Duration;
+
 import com.google.common.annotations.VisibleForTesting;
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
 import software.amazon.awssdk.services.codeartifact.CodeartifactClient;
@@ -10,10 +12,10 @@ import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.codeartifact.common.CachingProxyClient;
+import software.amazon.codeartifact.common.StabilizationDelay;
 
 public class CreateHandler extends BaseHandlerStd {
-    private static final int CALLBACK_DELAY_SECONDS = 10;
-
     @VisibleForTesting
     public ReadHandler readHandler = new ReadHandler();
 
@@ -34,9 +36,12 @@ public class CreateHandler extends BaseHandlerStd {
         // Skip Root package group creation because it has been created along with the domain
         if (isRootPackageGroup(desiredModel)) {
             prevModel = constructRootPackageGroupState(proxy, request, callbackContext, proxyClient, logger, desiredModel);
+            // A re-invoked handler resumes at the first step the callback context doesn't record as completed
             createPackageGroupEvent = ProgressEvent.progress(desiredModel, callbackContext)
-                .then(progress -> updatePackageGroup(proxy, desiredModel, prevModel, progress, callbackContext, proxyClient, logger))
-                .then(progress -> updateTags(proxy, proxyClient, progress, desiredModel, request));
+                .then(progress -> resumeAt(progress, callbackContext::isPackageGroupUpdated, callbackContext::setPackageGroupUpdated,
+                    p -> updatePackageGroup(proxy, desiredModel, prevModel, p, callbackContext, proxyClient, logger)))
+                .then(progress -> resumeAt(progress, callbackContext::isTagsUpdated, callbackContext::setTagsUpdated,
+                    p -> updateTags(proxy, proxyClient, p, desiredModel, request)));
         } else {
             prevModel = request.getPreviousResourceState();
             createPackageGroupEvent = ProgressEvent.progress(desiredModel, callbackContext)
@@ -44,7 +49,8 @@ public class CreateHandler extends BaseHandlerStd {
         }
 
         return createPackageGroupEvent
-            .then(progress -> updatePackageGroupOriginConfiguration(proxy, desiredModel, prevModel, callbackContext, proxyClient, progress, logger))
+            .then(progress -> resumeAt(progress, callbackContext::isOriginConfigurationUpdated, callbackContext::setOriginConfigurationUpdated,
+                p -> updatePackageGroupOriginConfiguration(proxy, desiredModel, prevModel, callbackContext, proxyClient, p, logger)))
             .then(progress -> readHandler.handleRequest(proxy, request, callbackContext, proxyClient, logger));
     }
 
@@ -55,13 +61,22 @@ public class CreateHandler extends BaseHandlerStd {
         CallbackContext callbackContext,
         ProxyClient<CodeartifactClient> proxyClient
     ) {
-        if (callbackContext.isCreated()) {
+        if (callbackContext.isStabilized()) {
             return ProgressEvent.progress(progress.getResourceModel(), callbackContext);
         }
 
+        final boolean createdBefore = callbackContext.isCreated();
+        final long createStartedAt = System.nanoTime();
         return proxy.initiate("AWS-CodeArtifact-PackageGroup::Create", proxyClient, progress.getResourceModel(), callbackContext)
             .translateToServiceRequest((model) -> Translator.translateToCreateRequest(model, request.getDesiredResourceTags()))
+            // Poll in-process with a backoff adapted to the stabilization latencies seen so far; the proxy only falls
+            // back to a callback when the remaining invocation time can't cover the next poll. The re-invoked handler
+            // then skips createPackageGroup and resumes polling until the isStabilized flag is set.
+            .backoffDelay(StabilizationDelay.adaptive())
             .makeServiceCall((awsRequest, client) -> {
+                if (callbackContext.isCreated()) {
+                    return null;
+                }
                 CreatePackageGroupResponse awsResponse = null;
                 try {
                     awsResponse = client.injectCredentialsAndInvokeV2(awsRequest, client.client()::createPackageGroup);
@@ -72,10 +87,25 @@ public class CreateHandler extends BaseHandlerStd {
                 callbackContext.setCreated(true);
                 return awsResponse;
             })
-            .stabilize((awsRequest, awsResponse, client, model, context) -> doesPackageGroupExist(model, client))
+            .stabilize((awsRequest, awsResponse, client, model, context) -> {
+                final boolean stabilized = doesPackageGroupExist(model, CachingProxyClient.refreshing(client));
+                if (stabilized) {
+                    context.setStabilized(true);
+                    if (!createdBefore) {
+                        StabilizationDelay.record(Duration.ofNanos(System.nanoTime() - createStartedAt));
+                    }
+                }
+                return stabilized;
+            })
             .done((awsRequest, awsResponse, client, model, context) -> {
-                model.setArn(awsResponse.packageGroup().arn());
-                return ProgressEvent.defaultInProgressHandler(context, CALLBACK_DELAY_SECONDS, model);
+                if (awsResponse != null) {
+                    model.setArn(awsResponse.packageGroup().arn());
+                } else {
+                    // Created by an earlier invocation; the describe that saw it stabilize is served from memory
+                    model.setArn(client.injectCredentialsAndInvokeV2(Translator.translateToReadRequest(model),
+                        client.client()::describePackageGroup).packageGroup().arn());
+                }
+                return ProgressEvent.progress(model, context);
             });
     }
 
@@ -1,15 +1,16 @@
 package software.amazon.codeartifact.packagegroup;
 
-import software.amazon.awssdk.awscore.AwsResponse;
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
 import software.amazon.awssdk.services.codeartifact.CodeartifactClient;
 import software.amazon.awssdk.services.codeartifact.model.DeletePackageGroupRequest;
-import software.amazon.cloudformation.exceptions.CfnNotFoundException;
+import software.amazon.awssdk.services.codeartifact.model.DeletePackageGroupResponse;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.codeartifact.common.CachingProxyClient;
+import software.amazon.codeartifact.common.StabilizationDelay;
 
 public class DeleteHandler extends BaseHandlerStd {
 
@@ -32,29 +33,24 @@ public class DeleteHandler extends BaseHandlerStd {
             .then(progress ->
                  proxy.initiate("AWS-CodeArtifact-PackageGroup::Delete", proxyClient, model, callbackContext)
                      .translateToServiceRequest(Translator::translateToDeleteRequest)
-                     .makeServiceCall((awsRequest, client) -> {
-                     if (!doesPackageGroupExist(model, proxyClient)) {
-                         throw new CfnNotFoundException(model.getPattern(), ResourceModel.TYPE_NAME);
-                     }
-                     return deletePackageGroup(progress, client, awsRequest);
-                 })
-                 .stabilize((deletePackageGroupRequest, deletePackageGroupResponse, proxyInvocation, resourceModel, context) -> !doesPackageGroupExist(model, proxyClient))
+                     .backoffDelay(StabilizationDelay.standard())
+                     .makeServiceCall((awsRequest, client) -> deletePackageGroup(progress, client, awsRequest))
+                 .stabilize((deletePackageGroupRequest, deletePackageGroupResponse, proxyInvocation, resourceModel, context) -> !doesPackageGroupExist(model, CachingProxyClient.refreshing(proxyClient)))
                  .done((awsRequest, response, client, resourceModel, context) -> ProgressEvent.success(null, context)));
     }
 
-    private AwsResponse deletePackageGroup(
+    private DeletePackageGroupResponse deletePackageGroup(
         ProgressEvent<ResourceModel, CallbackContext> progress,
         ProxyClient<CodeartifactClient> client,
         DeletePackageGroupRequest awsRequest
     ) {
-        AwsResponse awsResponse = null;
+        DeletePackageGroupResponse awsResponse = null;
+        String packageGroupName = progress.getResourceModel().getPattern();
         try {
             awsResponse = client.injectCredentialsAndInvokeV2(awsRequest, client.client()::deletePackageGroup);
         } catch (final AwsServiceException e) {
-            String packageGroupName = progress.getResourceModel().getPattern();
             Translator.throwCfnException(e, Constants.DELETE_PACKAGE_GROUP, packageGroupName);
         }
-
         return awsResponse;
     }
 }
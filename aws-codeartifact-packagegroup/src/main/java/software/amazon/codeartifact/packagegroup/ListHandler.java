@@ -1,13 +1,22 @@
 package software.amazon.codeartifact.packagegroup;
 
+import java.util.List;
+
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.services.codeartifact.CodeartifactClient;
 import software.amazon.awssdk.services.codeartifact.model.ListPackageGroupsRequest;
 import software.amazon.awssdk.services.codeartifact.model.ListPackageGroupsResponse;
+import software.amazon.cloudformation.exceptions.CfnNotFoundException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
-import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.codeartifact.common.AdaptiveRateLimiter;
+import software.amazon.codeartifact.common.ApiMetrics;
+import software.amazon.codeartifact.common.HydratedList;
+import software.amazon.codeartifact.common.MeteredProxyClient;
+import software.amazon.codeartifact.common.RateLimitedProxyClient;
 
 public class ListHandler extends BaseHandler<CallbackContext> {
 
@@ -18,21 +27,57 @@ public class ListHandler extends BaseHandler<CallbackContext> {
         final CallbackContext callbackContext,
         final Logger logger) {
 
+        final String pageToken = HydratedList.pageToken(request.getNextToken());
         final ListPackageGroupsRequest awsRequest =
-            Translator.translateToListRequest(request.getNextToken(), request.getDesiredResourceState());
+            Translator.translateToListRequest(pageToken, request.getDesiredResourceState());
 
-        ListPackageGroupsResponse response = null;
+        final ApiMetrics metrics = new ApiMetrics(ResourceModel.TYPE_NAME, getClass().getSimpleName());
+        final AdaptiveRateLimiter rateLimiter =
+            AdaptiveRateLimiter.forAccount(request.getAwsAccountId(), request.getRegion());
+        // Every call of this invocation shares its deadline
+        final long deadlineNanos = rateLimiter.deadline();
+        final HydratedList<ResourceModel, CallbackContext> hydratedList =
+            HydratedList.until(ResourceModel.TYPE_NAME, deadlineNanos);
         try {
-            response = proxy.injectCredentialsAndInvokeV2(awsRequest, ClientBuilder.getClient()::listPackageGroups);
-        } catch (AwsServiceException e) {
-            Translator.throwCfnException(e, Constants.LIST_PACKAGE_GROUPS, null);
+            ListPackageGroupsResponse response = null;
+            try {
+                response = metrics.time(awsRequest, () -> rateLimiter.call(
+                    () -> proxy.injectCredentialsAndInvokeV2(awsRequest, ClientBuilder.getClient()::listPackageGroups),
+                    deadlineNanos));
+            } catch (AwsServiceException e) {
+                Translator.throwCfnException(e, Constants.LIST_PACKAGE_GROUPS, null);
+            }
+            String nextToken = response.nextToken();
+            final List<ResourceModel> listed = Translator.translateFromListResponse(response, request);
+
+            final ProxyClient<CodeartifactClient> proxyClient = new RateLimitedProxyClient<>(
+                new MeteredProxyClient<>(proxy.newProxy(ClientBuilder::getClient), metrics),
+                rateLimiter, deadlineNanos);
+            return hydratedList.hydrate(listed, HydratedList.offset(request.getNextToken()), pageToken, nextToken,
+                packageGroup -> read(proxy, request, packageGroup, proxyClient, logger), logger);
+        } finally {
+            metrics.flush(logger);
         }
-        String nextToken = response.nextToken();
+    }
 
-        return ProgressEvent.<ResourceModel, CallbackContext>builder()
-            .resourceModels(Translator.translateFromListResponse(response, request))
-            .nextToken(nextToken)
-            .status(OperationStatus.SUCCESS)
-            .build();
+    /**
+     * Reads the full model of a listed package group the way the ReadHandler does.
+     * @return the model, or null when the package group was deleted since it was listed
+     */
+    private ResourceModel read(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final ResourceModel listed,
+        final ProxyClient<CodeartifactClient> proxyClient,
+        final Logger logger
+    ) {
+        try {
+            return new ReadHandler().handleRequest(
+                proxy, HydratedList.readRequest(request, listed), new CallbackContext(), proxyClient, logger)
+                .getResourceModel();
+        } catch (final CfnNotFoundException e) {
+            logger.log(String.format("%s %s was deleted since it was listed.", ResourceModel.TYPE_NAME, listed.getArn()));
+            return null;
+        }
     }
 }
@@ -0,0 +1,212 @@
+package software.amazon.codeartifact.packagegroup;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+
+import software.amazon.awssdk.services.codeartifact.CodeartifactClient;
+import software.amazon.awssdk.services.codeartifact.model.DescribePackageGroupRequest;
+import software.amazon.awssdk.services.codeartifact.model.DescribePackageGroupResponse;
+import software.amazon.awssdk.services.codeartifact.model.ListAllowedRepositoriesForGroupRequest;
+import software.amazon.awssdk.services.codeartifact.model.ListAllowedRepositoriesForGroupResponse;
+import software.amazon.awssdk.services.codeartifact.model.ListPackageGroupsResponse;
+import software.amazon.awssdk.services.codeartifact.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.codeartifact.model.ListTagsForResourceResponse;
+import software.amazon.awssdk.services.codeartifact.model.PackageGroupDescription;
+import software.amazon.awssdk.services.codeartifact.model.PackageGroupOriginConfiguration;
+import software.amazon.awssdk.services.codeartifact.model.PackageGroupOriginRestriction;
+import software.amazon.awssdk.services.codeartifact.model.PackageGroupOriginRestrictionMode;
+import software.amazon.awssdk.services.codeartifact.model.PackageGroupOriginRestrictionType;
+import software.amazon.awssdk.services.codeartifact.model.PackageGroupSummary;
+import software.amazon.awssdk.services.codeartifact.model.Tag;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.cloudformation.resource.Serializer;
+import software.amazon.codeartifact.common.ApiMetrics;
+import software.amazon.codeartifact.common.MeteredProxyClient;
+
+/**
+ * Does the first-use work of an invocation before a SnapStart (CRaC) checkpoint is taken, so environments restored
+ * from the snapshot don't pay for it on their first request. Most of that work is class loading and initialization:
+ * the SDK clients with their endpoint rules and marshallers, the Jackson mappers and their introspection of the
+ * generated ResourceModel, the rpdk proxy, the Immutables ARN classes and the translations of every handler.
+ *
+ * The ReadHandler is run end to end against an offline stand-in of the service, nothing is sent over the network.
+ * The clients built for the function's region are the cached ones the handlers are handed later; they hold no
+ * credentials and open no connection until their first call. Priming is only registered in functions initialized
+ * for SnapStart, anywhere else (on-demand functions, unit tests) registering is a no-op.
+ */
+final class Priming implements Resource {
+    // The global context only holds its resources weakly
+    private static final Priming INSTANCE = new Priming();
+    // Set by Lambda to the way the execution environment is initialized
+    private static final String INITIALIZATION_TYPE = "AWS_LAMBDA_INITIALIZATION_TYPE";
+    private static final String SNAP_START = "snap-start";
+
+    private static final String PARTITION = "aws";
+    private static final String REGION = "us-east-1";
+    private static final String ACCOUNT_ID = "123456789012";
+    private static final String DOMAIN_NAME = "priming-domain";
+    private static final String PATTERN = "/npm/priming/*";
+    private static final String ARN =
+        "arn:aws:codeartifact:us-east-1:123456789012:package-group/priming-domain/npm/priming/%2a";
+    private static final String ALLOWED_REPOSITORY = "priming-repository";
+
+    private Priming() {
+    }
+
+    static void register() {
+        if (SNAP_START.equals(System.getenv(INITIALIZATION_TYPE))) {
+            Core.getGlobalContext().register(INSTANCE);
+        }
+    }
+
+    @Override
+    public void beforeCheckpoint(final Context<? extends Resource> context) {
+        try {
+            prime();
+        } catch (final IOException | RuntimeException e) {
+            // Priming only moves work ahead of the snapshot, the first invocation still does whatever was missed
+        }
+    }
+
+    @Override
+    public void afterRestore(final Context<? extends Resource> context) {
+    }
+
+    /**
+     * Primes the handlers, then builds the clients for the function's region.
+     * @return the result of the primed read, for benchmarks to consume
+     */
+    static ProgressEvent<ResourceModel, CallbackContext> prime() throws IOException {
+        final ProgressEvent<ResourceModel, CallbackContext> event = primeHandlers();
+        ClientBuilder.getClient();
+        return event;
+    }
+
+    /**
+     * Runs the translations of every handler and the ReadHandler against the stand-in, without building a client.
+     * @return the result of the primed read
+     */
+    static ProgressEvent<ResourceModel, CallbackContext> primeHandlers() throws IOException {
+        // The wrapper (de)serializes models and callback contexts with the rpdk serializer
+        final Serializer serializer = new Serializer();
+        final ResourceModel described = Translator.translateFromReadResponse(
+            DescribePackageGroupResponse.builder().packageGroup(description()).build());
+        Translator.translateFromListAllowedRepos(
+            Collections.singletonList(ALLOWED_REPOSITORY), PackageGroupOriginRestrictionType.PUBLISH, described);
+        described.setTags(Translator.fromListTagsResponse(Collections.singletonList(tag())));
+        final ResourceModel model = serializer.deserialize(
+            serializer.serialize(described), new TypeReference<ResourceModel>() {});
+        serializer.deserialize(serializer.serialize(new CallbackContext()), new TypeReference<CallbackContext>() {});
+        final ResourceModel previous = BaseHandlerStd.MAPPER.convertValue(model, ResourceModel.class);
+        previous.setDescription(null);
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(ResourceModel.builder()
+                .domainName(DOMAIN_NAME)
+                .domainOwner(ACCOUNT_ID)
+                .pattern(PATTERN)
+                .build())
+            .region(REGION)
+            .awsPartition(PARTITION)
+            .awsAccountId(ACCOUNT_ID)
+            .build();
+
+        Translator.translateToCreateRequest(model, Collections.singletonMap(tag().key(), tag().value()));
+        Translator.translateToUpdatePackageGroupRequest(model);
+        Translator.translateToUpdatePackageGroupOriginControlRequests(model, previous);
+        Translator.translateToDeleteRequest(ResourceModel.builder().arn(ARN).build());
+        Translator.translateFromListResponse(ListPackageGroupsResponse.builder()
+            .packageGroups(PackageGroupSummary.builder().arn(ARN).domainName(DOMAIN_NAME).pattern(PATTERN).build())
+            .build(), request);
+
+        final LoggerProxy logger = new LoggerProxy();
+        final AmazonWebServicesClientProxy proxy = new AmazonWebServicesClientProxy(
+            logger, new Credentials("accessKey", "secretKey", "token"), () -> Long.MAX_VALUE);
+        final ApiMetrics metrics = new ApiMetrics(ResourceModel.TYPE_NAME, ReadHandler.class.getSimpleName());
+        final ProgressEvent<ResourceModel, CallbackContext> event = new ReadHandler().handleRequest(
+            proxy,
+            request,
+            new CallbackContext(),
+            new MeteredProxyClient<>(proxy.newProxy(StandInClient::new), metrics),
+            logger);
+        metrics.drain();
+        serializer.serialize(event);
+        return event;
+    }
+
+    private static PackageGroupDescription description() {
+        final Map<PackageGroupOriginRestrictionType, PackageGroupOriginRestriction> restrictions =
+            new EnumMap<>(PackageGroupOriginRestrictionType.class);
+        restrictions.put(PackageGroupOriginRestrictionType.PUBLISH, restriction(
+            PackageGroupOriginRestrictionMode.ALLOW_SPECIFIC_REPOSITORIES, 1));
+        restrictions.put(PackageGroupOriginRestrictionType.EXTERNAL_UPSTREAM, restriction(
+            PackageGroupOriginRestrictionMode.ALLOW, 0));
+        restrictions.put(PackageGroupOriginRestrictionType.INTERNAL_UPSTREAM, restriction(
+            PackageGroupOriginRestrictionMode.BLOCK, 0));
+
+        return PackageGroupDescription.builder()
+            .arn(PackageGroupArn.fromArn(ARN).arn())
+            .domainName(DOMAIN_NAME)
+            .domainOwner(ACCOUNT_ID)
+            .pattern(PATTERN)
+            .description("Package group described while priming")
+            .contactInfo("priming@example.com")
+            .originConfiguration(PackageGroupOriginConfiguration.builder().restrictions(restrictions).build())
+            .build();
+    }
+
+    private static PackageGroupOriginRestriction restriction(
+        final PackageGroupOriginRestrictionMode mode,
+        final long repositoriesCount
+    ) {
+        return PackageGroupOriginRestriction.builder().mode(mode).repositoriesCount(repositoriesCount).build();
+    }
+
+    private static Tag tag() {
+        return Tag.builder().key("priming").value("true").build();
+    }
+
+    /**
+     * Answers the calls of the ReadHandler with a fixed package group.
+     */
+    private static class StandInClient implements CodeartifactClient {
+        @Override
+        public DescribePackageGroupResponse describePackageGroup(final DescribePackageGroupRequest request) {
+            return DescribePackageGroupResponse.builder().packageGroup(description()).build();
+        }
+
+        @Override
+        public ListAllowedRepositoriesForGroupResponse listAllowedRepositoriesForGroup(
+            final ListAllowedRepositoriesForGroupRequest request
+        ) {
+            return ListAllowedRepositoriesForGroupResponse.builder()
+                .allowedRepositories(ALLOWED_REPOSITORY)
+                .build();
+        }
+
+        @Override
+        public ListTagsForResourceResponse listTagsForResource(final ListTagsForResourceRequest request) {
+            return ListTagsForResourceResponse.builder().tags(tag()).build();
+        }
+
+        @Override
+        public String serviceName() {
+            return SERVICE_NAME;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
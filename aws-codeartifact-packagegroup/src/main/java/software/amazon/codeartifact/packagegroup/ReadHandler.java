@@ -9,16 +9,26 @@ import software.amazon.awssdk.services.codeartifact.model.ListTagsForResourceRes
 import software.amazon.awssdk.services.codeartifact.model.PackageGroupOriginRestrictionMode;
 import software.amazon.awssdk.services.codeartifact.model.PackageGroupOriginRestrictionType;
 import software.amazon.awssdk.services.codeartifact.model.Tag;
+import software.amazon.awssdk.utils.StringUtils;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
-import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.codeartifact.common.ConcurrentCalls;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public class ReadHandler extends BaseHandlerStd {
+    private static final List<PackageGroupOriginRestrictionType> RESTRICTION_TYPES = Arrays.asList(
+        PackageGroupOriginRestrictionType.PUBLISH,
+        PackageGroupOriginRestrictionType.EXTERNAL_UPSTREAM,
+        PackageGroupOriginRestrictionType.INTERNAL_UPSTREAM);
 
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
         final AmazonWebServicesClientProxy proxy,
@@ -31,9 +41,7 @@ public class ReadHandler extends BaseHandlerStd {
         logger.log(String.format("%s read handler is being invoked", ResourceModel.TYPE_NAME));
         return ProgressEvent.progress(request.getDesiredResourceState(), callbackContext)
             .then(progress -> describePackageGroup(proxy, progress, request, proxyClient))
-            .then(progress -> listAllowedRepositoriesForGroup(proxy, progress, request, proxyClient, PackageGroupOriginRestrictionType.PUBLISH))
-            .then(progress -> listAllowedRepositoriesForGroup(proxy, progress, request, proxyClient, PackageGroupOriginRestrictionType.EXTERNAL_UPSTREAM))
-            .then(progress -> listAllowedRepositoriesForGroup(proxy, progress, request, proxyClient, PackageGroupOriginRestrictionType.INTERNAL_UPSTREAM))
+            .then(progress -> listAllowedRepositories(progress, proxyClient))
             .then(progress -> listTags(proxy, progress, request, proxyClient))
             .then(progress -> {
                 final ResourceModel model = progress.getResourceModel();
@@ -91,34 +99,54 @@ public class ReadHandler extends BaseHandlerStd {
                 ProgressEvent.progress(Translator.translateFromReadResponse(describePackageGroupResponse), context));
     }
 
-    private ProgressEvent<ResourceModel, CallbackContext> listAllowedRepositoriesForGroup(
-        AmazonWebServicesClientProxy proxy,
+    /**
+     * Reads the allowed repositories of every restriction type that is in ALLOW_SPECIFIC_REPOSITORIES mode. The
+     * restriction types are read concurrently and each one is paged to completion.
+     */
+    private ProgressEvent<ResourceModel, CallbackContext> listAllowedRepositories(
         ProgressEvent<ResourceModel, CallbackContext> progress,
-        ResourceHandlerRequest<ResourceModel> request,
+        ProxyClient<CodeartifactClient> proxyClient
+    ) {
+        final ResourceModel model = progress.getResourceModel();
+        final Map<PackageGroupOriginRestrictionType, CompletableFuture<List<String>>> allowedRepositories =
+            new EnumMap<>(PackageGroupOriginRestrictionType.class);
+
+        for (PackageGroupOriginRestrictionType restrictionType : RESTRICTION_TYPES) {
+            if (canContainAllowedRepositories(progress, restrictionType)) {
+                allowedRepositories.put(restrictionType, ConcurrentCalls.submit(
+                    () -> listAllowedRepositoriesForGroup(proxyClient, model, restrictionType)));
+            }
+        }
+
+        allowedRepositories.forEach((restrictionType, repositories) ->
+            Translator.translateFromListAllowedRepos(ConcurrentCalls.join(repositories), restrictionType, model));
+
+        return ProgressEvent.progress(model, progress.getCallbackContext());
+    }
+
+    private List<String> listAllowedRepositoriesForGroup(
         ProxyClient<CodeartifactClient> proxyClient,
+        ResourceModel model,
         PackageGroupOriginRestrictionType restrictionType
     ) {
-        if (!canContainAllowedRepositories(progress, restrictionType)) {
-            return progress;
-        }
+        final List<String> repositories = new ArrayList<>();
+        String nextToken = null;
+        do {
+            final ListAllowedRepositoriesForGroupRequest awsRequest =
+                Translator.translateToListAllowedReposRequest(nextToken, restrictionType, model);
 
-        final ListAllowedRepositoriesForGroupRequest awsRequest =
-            Translator.translateToListAllowedReposRequest(request.getNextToken(), restrictionType, progress.getResourceModel());
+            ListAllowedRepositoriesForGroupResponse response = null;
+            try {
+                response = proxyClient.injectCredentialsAndInvokeV2(
+                    awsRequest, proxyClient.client()::listAllowedRepositoriesForGroup);
+            } catch (AwsServiceException e) {
+                Translator.throwCfnException(e, Constants.LIST_ALLOW_REPOS_FOR_GROUPS, null);
+            }
+            repositories.addAll(response.allowedRepositories());
+            nextToken = response.nextToken();
+        } while (!StringUtils.isNullOrEmpty(nextToken));
 
-        ListAllowedRepositoriesForGroupResponse response = null;
-        try {
-            response = proxy.injectCredentialsAndInvokeV2(awsRequest, proxyClient.client()::listAllowedRepositoriesForGroup);
-        } catch (AwsServiceException e) {
-            Translator.throwCfnException(e, Constants.LIST_ALLOW_REPOS_FOR_GROUPS, null);
-        }
-        String nextToken = response.nextToken();
-
-        return ProgressEvent.<ResourceModel, CallbackContext>builder()
-            .resourceModel(Translator.translateFromListAllowedReposResponse(response, restrictionType, progress.getResourceModel()))
-            .callbackContext(progress.getCallbackContext())
-            .nextToken(nextToken)
-            .status(OperationStatus.IN_PROGRESS)
-            .build();
+        return repositories;
     }
 
     private boolean canContainAllowedRepositories(
@@ -36,6 +36,7 @@ import software.amazon.awssdk.services.codeartifact.model.PackageGroupOriginRest
 import software.amazon.awssdk.services.codeartifact.model.PackageGroupOriginRestrictionType;
 import software.amazon.awssdk.services.codeartifact.model.ResourceNotFoundException;
 import software.amazon.awssdk.services.codeartifact.model.ServiceQuotaExceededException;
+import software.amazon.awssdk.services.codeartifact.model.ThrottlingException;
 import software.amazon.awssdk.services.codeartifact.model.TagResourceRequest;
 import software.amazon.awssdk.services.codeartifact.model.UntagResourceRequest;
 import software.amazon.awssdk.services.codeartifact.model.UpdatePackageGroupOriginConfigurationRequest;
@@ -49,6 +50,7 @@ import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
 import software.amazon.cloudformation.exceptions.CfnNotFoundException;
 import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
 import software.amazon.cloudformation.exceptions.CfnServiceLimitExceededException;
+import software.amazon.cloudformation.exceptions.CfnThrottlingException;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 import software.amazon.codeartifact.packagegroup.ResourceModel.ResourceModelBuilder;
 import software.amazon.awssdk.services.codeartifact.model.Tag;
@@ -189,7 +191,14 @@ public class Translator {
         PackageGroupOriginRestrictionType type,
         ResourceModel model
     ) {
-        List<String> repoNames = response.allowedRepositories();
+        return translateFromListAllowedRepos(response.allowedRepositories(), type, model);
+    }
+
+    static ResourceModel translateFromListAllowedRepos(
+        List<String> repoNames,
+        PackageGroupOriginRestrictionType type,
+        ResourceModel model
+    ) {
         switch (type) {
             case PUBLISH:
                 if(isAllowSpecificRepoMode(model.getOriginConfiguration().getRestrictions().getPublish()))
@@ -271,67 +280,24 @@ public class Translator {
         Set<PackageGroupAllowedRepository> reposToAdd = Sets.difference(desiredAllowedRepos, previousAllowedRepos);
 
         List<UpdatePackageGroupOriginConfigurationRequest> totalRequests = new ArrayList<>();
-        UpdatePackageGroupOriginConfigurationRequest.Builder firstUpdateRequestBuilder =
-            UpdatePackageGroupOriginConfigurationRequest.builder()
+        for (AllowedRepositoryUpdatePlanner.Chunk chunk :
+            AllowedRepositoryUpdatePlanner.plan(reposToAdd, reposToRemove, MAX_ALLOWED_REPO_UPDATES_IN_ONE_REQUEST)) {
+            UpdatePackageGroupOriginConfigurationRequest.Builder builder = UpdatePackageGroupOriginConfigurationRequest.builder()
                 .domain(desiredModel.getDomainName())
                 .domainOwner(desiredModel.getDomainOwner())
-                .packageGroup(desiredModel.getPattern())
-                .restrictions(translateToRestrictionsRequest(desiredModel));
-
-        if (reposToAdd.size() + reposToRemove.size() <= MAX_ALLOWED_REPO_UPDATES_IN_ONE_REQUEST) {
-            return List.of(
-                firstUpdateRequestBuilder
-                    .addAllowedRepositories(reposToAdd)
-                    .removeAllowedRepositories(reposToRemove).build());
-        }
+                .packageGroup(desiredModel.getPattern());
 
-        UpdatePackageGroupOriginConfigurationRequest.Builder currentBuilder = firstUpdateRequestBuilder;
-        List<PackageGroupAllowedRepository> reposToAddInCurrentRequest = new ArrayList<>();
-        int reposInCurrentRequestCounter = 0;
-
-        for (PackageGroupAllowedRepository repo : reposToAdd) {
-            reposToAddInCurrentRequest.add(repo);
-            reposInCurrentRequestCounter++;
-
-            if (reposInCurrentRequestCounter == MAX_ALLOWED_REPO_UPDATES_IN_ONE_REQUEST) {
-                totalRequests.add(currentBuilder.addAllowedRepositories(reposToAddInCurrentRequest).build());
-                reposToAddInCurrentRequest.clear();
-                reposInCurrentRequestCounter = 0;
-                currentBuilder = UpdatePackageGroupOriginConfigurationRequest.builder()
-                    .domain(desiredModel.getDomainName())
-                    .domainOwner(desiredModel.getDomainOwner())
-                    .packageGroup(desiredModel.getPattern());
+            // Only the first request changes the restriction modes
+            if (totalRequests.isEmpty()) {
+                builder.restrictions(translateToRestrictionsRequest(desiredModel));
             }
-        }
-
-        // Add remaining repos to add to the current request builder to combine with repos to remove
-        if (!reposToAddInCurrentRequest.isEmpty()) {
-            currentBuilder.addAllowedRepositories(reposToAddInCurrentRequest);
-        }
-
-        List<PackageGroupAllowedRepository> reposToRemoveInCurrentRequest = new ArrayList<>();
-        for (PackageGroupAllowedRepository repo : reposToRemove) {
-            reposToRemoveInCurrentRequest.add(repo);
-            reposInCurrentRequestCounter++;
-
-            if (reposInCurrentRequestCounter == MAX_ALLOWED_REPO_UPDATES_IN_ONE_REQUEST) {
-                totalRequests.add(currentBuilder.removeAllowedRepositories(reposToRemoveInCurrentRequest).build());
-                reposToAddInCurrentRequest.clear();
-                reposToRemoveInCurrentRequest.clear();
-                reposInCurrentRequestCounter = 0;
-                currentBuilder = UpdatePackageGroupOriginConfigurationRequest.builder()
-                    .domain(desiredModel.getDomainName())
-                    .domainOwner(desiredModel.getDomainOwner())
-                    .packageGroup(desiredModel.getPattern());
+            if (!chunk.getReposToAdd().isEmpty()) {
+                builder.addAllowedRepositories(chunk.getReposToAdd());
             }
-        }
-
-        if (!reposToRemoveInCurrentRequest.isEmpty()) {
-            // If there are remaining repos to remove, add them to the builder and build the request
-            totalRequests.add(currentBuilder.removeAllowedRepositories(reposToRemoveInCurrentRequest).build());
-        } else if (!reposToAddInCurrentRequest.isEmpty()) {
-            // Current request builder could still have remaining repos to add without any repos to remove
-            totalRequests.add(currentBuilder.build());
+            if (!chunk.getReposToRemove().isEmpty()) {
+                builder.removeAllowedRepositories(chunk.getReposToRemove());
+            }
+            totalRequests.add(builder.build());
         }
 
         return totalRequests;
@@ -541,6 +507,9 @@ public class Translator {
         if (exception instanceof InternalServerException) {
             throw new CfnServiceInternalErrorException(operation, exception);
         }
+        if (exception instanceof ThrottlingException || exception.isThrottlingException()) {
+            throw new CfnThrottlingException(operation, exception);
+        }
         throw new CfnGeneralServiceException(exception);
     }
 
@@ -9,6 +9,8 @@ import software.amazon.awssdk.core.ResponseBytes;
 import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.pagination.sync.SdkIterable;
 import software.amazon.awssdk.services.codeartifact.CodeartifactClient;
+import software.amazon.awssdk.services.codeartifact.model.ListAllowedRepositoriesForGroupRequest;
+import software.amazon.awssdk.services.codeartifact.model.ListAllowedRepositoriesForGroupResponse;
 import software.amazon.awssdk.services.codeartifact.model.PackageGroupOriginConfiguration;
 import software.amazon.awssdk.services.codeartifact.model.PackageGroupOriginRestriction;
 import software.amazon.awssdk.services.codeartifact.model.PackageGroupOriginRestrictionMode;
@@ -19,6 +21,7 @@ import software.amazon.cloudformation.proxy.LoggerProxy;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
+import org.mockito.stubbing.Answer;
 
 import java.util.Collections;
 import java.util.List;
@@ -287,16 +290,20 @@ public class AbstractTestBase {
       assertThat(response.getErrorCode()).isNull();
   }
 
-    protected void assertInProgress(
-            ProgressEvent<software.amazon.codeartifact.packagegroup.ResourceModel, CallbackContext> response,
-            ResourceModel desiredOutputModel
-    ) {
-        assertThat(response).isNotNull();
-        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
-        assertThat(response.getResourceModel()).isEqualTo(desiredOutputModel);
-        assertThat(response.getCallbackDelaySeconds()).isEqualTo(10);
-        assertThat(response.getResourceModels()).isNull();
-        assertThat(response.getMessage()).isNull();
-        assertThat(response.getErrorCode()).isNull();
-    }
+  /**
+   * Answers ListAllowedRepositoriesForGroup with the given repositories for one restriction type and with no
+   * repositories for the others, whatever order the restriction types are read in.
+   */
+  protected static Answer<ListAllowedRepositoriesForGroupResponse> allowedRepositories(
+      PackageGroupOriginRestrictionType restrictionType,
+      List<String> repositories
+  ) {
+      return invocation -> {
+          final ListAllowedRepositoriesForGroupRequest request = invocation.getArgument(0);
+          return ListAllowedRepositoriesForGroupResponse.builder()
+              .allowedRepositories(restrictionType == request.originRestrictionType()
+                  ? repositories : Collections.emptyList())
+              .build();
+      };
+  }
 }
@@ -0,0 +1,135 @@
+package software.amazon.codeartifact.packagegroup;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.codeartifact.model.PackageGroupAllowedRepository;
+import software.amazon.awssdk.services.codeartifact.model.PackageGroupOriginRestrictionType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AllowedRepositoryUpdatePlannerTest {
+    private static final int MAX_ENTRIES = 100;
+    private static final int TRIALS = 500;
+
+    private static final PackageGroupOriginRestrictionType[] TYPES = {
+        PackageGroupOriginRestrictionType.PUBLISH,
+        PackageGroupOriginRestrictionType.EXTERNAL_UPSTREAM,
+        PackageGroupOriginRestrictionType.INTERNAL_UPSTREAM
+    };
+
+    @Test
+    public void plan_noChanges_isOneEmptyChunk() {
+        final List<AllowedRepositoryUpdatePlanner.Chunk> plan =
+            AllowedRepositoryUpdatePlanner.plan(Collections.emptySet(), Collections.emptySet(), MAX_ENTRIES);
+
+        assertThat(plan).hasSize(1);
+        assertThat(plan.get(0).size()).isEqualTo(0);
+    }
+
+    @Test
+    public void plan_add150Remove150_fillsRequestsInOrder() {
+        final List<AllowedRepositoryUpdatePlanner.Chunk> plan = AllowedRepositoryUpdatePlanner.plan(
+            repos("add", 150), repos("remove", 150), MAX_ENTRIES);
+
+        assertThat(plan).extracting(chunk -> chunk.getReposToAdd().size()).containsExactly(100, 50, 0);
+        assertThat(plan).extracting(chunk -> chunk.getReposToRemove().size()).containsExactly(0, 50, 100);
+    }
+
+    @Test
+    public void plan_invalidLimit_throws() {
+        assertThatThrownBy(() -> AllowedRepositoryUpdatePlanner.plan(repos("add", 1), Collections.emptySet(), 0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void plan_randomDeltas_coverDeltaExactly() {
+        final Random random = new Random(20240611L);
+
+        for (int trial = 0; trial < TRIALS; trial++) {
+            final int limit = 1 + random.nextInt(MAX_ENTRIES);
+            final Set<PackageGroupAllowedRepository> reposToAdd = randomRepos(random, "add");
+            final Set<PackageGroupAllowedRepository> reposToRemove = randomRepos(random, "remove");
+
+            final List<AllowedRepositoryUpdatePlanner.Chunk> plan =
+                AllowedRepositoryUpdatePlanner.plan(reposToAdd, reposToRemove, limit);
+
+            final List<PackageGroupAllowedRepository> plannedAdds = plan.stream()
+                .flatMap(chunk -> chunk.getReposToAdd().stream())
+                .collect(Collectors.toList());
+            final List<PackageGroupAllowedRepository> plannedRemoves = plan.stream()
+                .flatMap(chunk -> chunk.getReposToRemove().stream())
+                .collect(Collectors.toList());
+
+            // the union of the plan is the delta, with every entry planned exactly once
+            assertThat(plannedAdds).containsExactlyInAnyOrderElementsOf(reposToAdd);
+            assertThat(plannedRemoves).containsExactlyInAnyOrderElementsOf(reposToRemove);
+        }
+    }
+
+    @Test
+    public void plan_randomDeltas_useFewestRequests() {
+        final Random random = new Random(20240612L);
+
+        for (int trial = 0; trial < TRIALS; trial++) {
+            final int limit = 1 + random.nextInt(MAX_ENTRIES);
+            final Set<PackageGroupAllowedRepository> reposToAdd = randomRepos(random, "add");
+            final Set<PackageGroupAllowedRepository> reposToRemove = randomRepos(random, "remove");
+            final int total = reposToAdd.size() + reposToRemove.size();
+
+            final List<AllowedRepositoryUpdatePlanner.Chunk> plan =
+                AllowedRepositoryUpdatePlanner.plan(reposToAdd, reposToRemove, limit);
+
+            assertThat(plan).hasSize(Math.max(1, (total + limit - 1) / limit));
+            assertThat(plan).allMatch(chunk -> chunk.size() <= limit);
+            // every request but the last is full
+            assertThat(plan.subList(0, plan.size() - 1)).allMatch(chunk -> chunk.size() == limit);
+        }
+    }
+
+    @Test
+    public void plan_sameDeltaInAnyOrder_isSamePlan() {
+        final Random random = new Random(20240613L);
+        final Set<PackageGroupAllowedRepository> reposToAdd = randomRepos(random, "add");
+        final Set<PackageGroupAllowedRepository> reposToRemove = randomRepos(random, "remove");
+
+        final List<PackageGroupAllowedRepository> shuffledAdds = new ArrayList<>(reposToAdd);
+        final List<PackageGroupAllowedRepository> shuffledRemoves = new ArrayList<>(reposToRemove);
+        Collections.shuffle(shuffledAdds, random);
+        Collections.shuffle(shuffledRemoves, random);
+
+        assertThat(AllowedRepositoryUpdatePlanner.plan(shuffledAdds, shuffledRemoves, MAX_ENTRIES))
+            .isEqualTo(AllowedRepositoryUpdatePlanner.plan(reposToAdd, reposToRemove, MAX_ENTRIES));
+    }
+
+    private static Set<PackageGroupAllowedRepository> randomRepos(final Random random, final String prefix) {
+        final Set<PackageGroupAllowedRepository> repos = new HashSet<>();
+        final int count = random.nextInt(4) == 0 ? 0 : random.nextInt(3 * MAX_ENTRIES);
+        for (int i = 0; i < count; i++) {
+            repos.add(repo(TYPES[random.nextInt(TYPES.length)], prefix + random.nextInt(10 * MAX_ENTRIES)));
+        }
+        return repos;
+    }
+
+    private static Set<PackageGroupAllowedRepository> repos(final String prefix, final int count) {
+        final Set<PackageGroupAllowedRepository> repos = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            repos.add(repo(PackageGroupOriginRestrictionType.EXTERNAL_UPSTREAM, prefix + i));
+        }
+        return repos;
+    }
+
+    private static PackageGroupAllowedRepository repo(final PackageGroupOriginRestrictionType type, final String name) {
+        return PackageGroupAllowedRepository.builder()
+            .originRestrictionType(type)
+            .repositoryName(name)
+            .build();
+    }
+}
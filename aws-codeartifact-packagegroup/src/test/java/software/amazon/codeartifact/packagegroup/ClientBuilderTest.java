@@ -0,0 +1,23 @@
+package software.amazon.codeartifact.packagegroup;
+
+import org.junit.jupiter.api.Test;
+
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.codeartifact.CodeartifactClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ClientBuilderTest {
+
+    @Test
+    public void getClient_reusesClientForSameRegion() {
+        final CodeartifactClient client = ClientBuilder.getClient(Region.US_WEST_2);
+
+        assertThat(ClientBuilder.getClient(Region.US_WEST_2)).isSameAs(client);
+    }
+
+    @Test
+    public void getClient_buildsSeparateClientPerRegion() {
+        assertThat(ClientBuilder.getClient(Region.US_WEST_2)).isNotSameAs(ClientBuilder.getClient(Region.EU_WEST_1));
+    }
+}
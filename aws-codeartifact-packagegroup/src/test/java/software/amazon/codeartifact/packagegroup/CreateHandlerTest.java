@@ -111,10 +111,17 @@ public class CreateHandlerTest extends AbstractTestBase {
 
         when(proxyClient.client().describePackageGroup(any(DescribePackageGroupRequest.class))).thenReturn(describePackageGroupResponse);
 
+        // Stabilized in-process, so the chain continues straight to the trailing read
+        final CallbackContext context = new CallbackContext();
+        handler.readHandler = spy(new ReadHandler());
+        doReturn(ProgressEvent.success(desiredOutputModel, context))
+                .when(handler.readHandler).handleRequest(proxy, request, context, proxyClient, logger);
+
         final ProgressEvent<ResourceModel, CallbackContext> response
-            = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+                = handler.handleRequest(proxy, request, context, proxyClient, logger);
 
-        assertInProgress(response, desiredOutputModel);
+        assertSuccess(response, desiredOutputModel);
+        assertThat(context.isCreated()).isTrue();
 
         verify(codeartifactClient).createPackageGroup(any(CreatePackageGroupRequest.class));
         verify(codeartifactClient, times(1)).describePackageGroup(any(DescribePackageGroupRequest.class));
@@ -158,10 +165,17 @@ public class CreateHandlerTest extends AbstractTestBase {
                 .thenThrow(ResourceNotFoundException.builder().build())
                 .thenReturn(describePackageGroupResponse);
 
+        // Stabilized in-process, so the chain continues straight to the trailing read
+        final CallbackContext context = new CallbackContext();
+        handler.readHandler = spy(new ReadHandler());
+        doReturn(ProgressEvent.success(desiredOutputModel, context))
+                .when(handler.readHandler).handleRequest(proxy, request, context, proxyClient, logger);
+
         final ProgressEvent<ResourceModel, CallbackContext> response
-                = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+                = handler.handleRequest(proxy, request, context, proxyClient, logger);
 
-        assertInProgress(response, desiredOutputModel);
+        assertSuccess(response, desiredOutputModel);
+        assertThat(context.isCreated()).isTrue();
 
         verify(codeartifactClient).createPackageGroup(any(CreatePackageGroupRequest.class));
         verify(codeartifactClient, times(2)).describePackageGroup(any(DescribePackageGroupRequest.class));
@@ -196,7 +210,6 @@ public class CreateHandlerTest extends AbstractTestBase {
 
         ListAllowedRepositoriesForGroupResponse listAllowedRepositoriesForGroupResponse = ListAllowedRepositoriesForGroupResponse.builder()
                 .allowedRepositories(ALLOWED_REPOS)
-                .nextToken("fakeNextToken")
                 .build();
 
         when(proxyClient.client().listAllowedRepositoriesForGroup(any(ListAllowedRepositoriesForGroupRequest.class)))
@@ -204,6 +217,7 @@ public class CreateHandlerTest extends AbstractTestBase {
 
         CallbackContext context = new CallbackContext();
         context.setCreated(true);
+        context.setStabilized(true);
         final ProgressEvent<ResourceModel, CallbackContext> response
                 = handler.handleRequest(proxy, request, context, proxyClient, logger);
 
@@ -276,6 +290,69 @@ public class CreateHandlerTest extends AbstractTestBase {
         verify(codeartifactClient, atLeastOnce()).serviceName();
     }
 
+    @Test
+    public void handleRequest_withRootPackageGroup_resumedAfterUpdateAndTags() {
+        final CreateHandler handler = new CreateHandler();
+
+        final ResourceModel prevModel = ResourceModel.builder()
+                .domainName(DOMAIN_NAME)
+                .domainOwner(DOMAIN_OWNER)
+                .pattern(ROOT_PACKAGE_GROUP)
+                .contactInfo(CONTACT_INFO)
+                .description(DESCRIPTION)
+                .build();
+
+        final ResourceModel inputModel = ResourceModel.builder()
+                .domainName(DOMAIN_NAME)
+                .domainOwner(DOMAIN_OWNER)
+                .pattern(ROOT_PACKAGE_GROUP)
+                .contactInfo(UPDATED_CONTACT_INFO)
+                .description(UPDATED_DESCRIPTION)
+                .tags(RESOURCE_MODEL_TAGS)
+                .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(inputModel)
+                .desiredResourceTags(DESIRED_TAGS_MAP)
+                .region(REGION)
+                .awsPartition(PARTITION)
+                .awsAccountId(DOMAIN_OWNER)
+                .build();
+
+        final ResourceModel desiredOutputModel = ResourceModel.builder()
+                .domainName(DOMAIN_NAME)
+                .domainOwner(DOMAIN_OWNER)
+                .pattern(ROOT_PACKAGE_GROUP)
+                .arn(ROOT_PACKAGE_GROUP_ARN)
+                .description(UPDATED_DESCRIPTION)
+                .contactInfo(UPDATED_CONTACT_INFO)
+                .originConfiguration(RESOURCE_MODEL_ORIGIN_CONFIGURATION)
+                .build();
+
+        CallbackContext callbackcontext = new CallbackContext();
+        callbackcontext.setPackageGroupUpdated(true);
+        callbackcontext.setTagsUpdated(true);
+
+        ReadHandler readHandler = new ReadHandler();
+        ReadHandler spyReadHandler = spy(readHandler);
+        handler.readHandler = spyReadHandler;
+        doReturn(
+                ProgressEvent.success(prevModel, callbackcontext),
+                ProgressEvent.success(desiredOutputModel, callbackcontext)
+        ).when(spyReadHandler).handleRequest(proxy, request, callbackcontext, proxyClient, logger);
+
+        final ProgressEvent<ResourceModel, CallbackContext> response
+                = handler.handleRequest(proxy, request, callbackcontext, proxyClient, logger);
+
+        assertSuccess(response, desiredOutputModel);
+        assertThat(callbackcontext.isOriginConfigurationUpdated()).isTrue();
+
+        verify(codeartifactClient, never()).createPackageGroup(any(CreatePackageGroupRequest.class));
+        verify(codeartifactClient, never()).updatePackageGroup(any(UpdatePackageGroupRequest.class));
+        verify(codeartifactClient, never()).tagResource(any(TagResourceRequest.class));
+        verify(codeartifactClient, never()).updatePackageGroupOriginConfiguration(any(UpdatePackageGroupOriginConfigurationRequest.class));
+    }
+
     @Test
     public void handleRequest_withOriginConfiguration() {
         final CreateHandler handler = new CreateHandler();
@@ -322,7 +399,6 @@ public class CreateHandlerTest extends AbstractTestBase {
 
         ListAllowedRepositoriesForGroupResponse listAllowedRepositoriesForGroupResponse = ListAllowedRepositoriesForGroupResponse.builder()
                 .allowedRepositories(UPDATED_ALLOWED_REPOS)
-                .nextToken("fakeNextToken")
                 .build();
 
         when(proxyClient.client().listAllowedRepositoriesForGroup(any(ListAllowedRepositoriesForGroupRequest.class)))
@@ -330,6 +406,7 @@ public class CreateHandlerTest extends AbstractTestBase {
 
         CallbackContext context = new CallbackContext();
         context.setCreated(true);
+        context.setStabilized(true);
         final ProgressEvent<ResourceModel, CallbackContext> response
                 = handler.handleRequest(proxy, request, context, proxyClient, logger);
 
@@ -381,15 +458,15 @@ public class CreateHandlerTest extends AbstractTestBase {
 
         when(proxyClient.client().describePackageGroup(any(DescribePackageGroupRequest.class))).thenReturn(describePackageGroupResponse);
 
+        final CallbackContext context = new CallbackContext();
+        handler.readHandler = spy(new ReadHandler());
+        doReturn(ProgressEvent.success(desiredOutputModel, context))
+                .when(handler.readHandler).handleRequest(proxy, request, context, proxyClient, logger);
+
         final ProgressEvent<ResourceModel, CallbackContext> response =
-                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
-
-        assertThat(response).isNotNull();
-        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
-        assertThat(response.getResourceModel()).isEqualTo(desiredOutputModel);
-        assertThat(response.getResourceModels()).isNull();
-        assertThat(response.getMessage()).isNull();
-        assertThat(response.getErrorCode()).isNull();
+                handler.handleRequest(proxy, request, context, proxyClient, logger);
+
+        assertSuccess(response, desiredOutputModel);
 
         verify(codeartifactClient, times(1)).describePackageGroup(any(DescribePackageGroupRequest.class));
         verify(codeartifactClient, never()).updatePackageGroupOriginConfiguration(any(UpdatePackageGroupOriginConfigurationRequest.class));
@@ -5,7 +5,6 @@ import software.amazon.awssdk.services.codeartifact.CodeartifactClient;
 import software.amazon.awssdk.services.codeartifact.model.DeletePackageGroupRequest;
 import software.amazon.awssdk.services.codeartifact.model.DeletePackageGroupResponse;
 import software.amazon.awssdk.services.codeartifact.model.DescribePackageGroupRequest;
-import software.amazon.awssdk.services.codeartifact.model.DescribePackageGroupResponse;
 import software.amazon.awssdk.services.codeartifact.model.PackageGroupDescription;
 import software.amazon.awssdk.services.codeartifact.model.ResourceNotFoundException;
 import software.amazon.cloudformation.exceptions.CfnNotFoundException;
@@ -75,14 +74,8 @@ public class DeleteHandlerTest extends AbstractTestBase{
 
         when(proxyClient.client().deletePackageGroup(any(DeletePackageGroupRequest.class))).thenReturn(deletePackageGroupResponse);
 
-        DescribePackageGroupResponse describePackageGroupResponse = DescribePackageGroupResponse.builder()
-                .packageGroup(packageGroupDescription)
-                .build();
-
-        // first, when checking if package group exists to be deleted
-        // second, to check if package group has been deleted
+        // only once, to check if package group has been deleted
         when(proxyClient.client().describePackageGroup(any(DescribePackageGroupRequest.class)))
-                .thenReturn(describePackageGroupResponse)
                 .thenThrow(ResourceNotFoundException.class);
 
 
@@ -101,7 +94,7 @@ public class DeleteHandlerTest extends AbstractTestBase{
         assertThat(response.getErrorCode()).isNull();
 
         verify(codeartifactClient).deletePackageGroup(any(DeletePackageGroupRequest.class));
-        verify(codeartifactClient, times(2)).describePackageGroup(any(DescribePackageGroupRequest.class));
+        verify(codeartifactClient, times(1)).describePackageGroup(any(DescribePackageGroupRequest.class));
     }
 
     @Test
@@ -146,12 +139,7 @@ public class DeleteHandlerTest extends AbstractTestBase{
 
         when(proxyClient.client().deletePackageGroup(any(DeletePackageGroupRequest.class))).thenReturn(deletePackageGroupResponse);
 
-        DescribePackageGroupResponse describePackageGroupResponse = DescribePackageGroupResponse.builder()
-                .packageGroup(packageGroupDescription)
-                .build();
-
         when(proxyClient.client().describePackageGroup(any(DescribePackageGroupRequest.class)))
-                .thenReturn(describePackageGroupResponse)
                 .thenThrow(ResourceNotFoundException.class);
 
 
@@ -170,7 +158,7 @@ public class DeleteHandlerTest extends AbstractTestBase{
         assertThat(response.getErrorCode()).isNull();
 
         verify(codeartifactClient).deletePackageGroup(any(DeletePackageGroupRequest.class));
-        verify(codeartifactClient, times(2)).describePackageGroup(any(DescribePackageGroupRequest.class));
+        verify(codeartifactClient, times(1)).describePackageGroup(any(DescribePackageGroupRequest.class));
 
         ArgumentCaptor<DeletePackageGroupRequest> deletePGRequestArgumentCaptor =
                 ArgumentCaptor.forClass(DeletePackageGroupRequest.class);
@@ -191,7 +179,7 @@ public class DeleteHandlerTest extends AbstractTestBase{
                 .pattern(PACKAGE_GROUP_PATTERN)
                 .build();
 
-        when(proxyClient.client().describePackageGroup(any(DescribePackageGroupRequest.class)))
+        when(proxyClient.client().deletePackageGroup(any(DeletePackageGroupRequest.class)))
                 .thenThrow(ResourceNotFoundException.class);
 
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
@@ -200,7 +188,36 @@ public class DeleteHandlerTest extends AbstractTestBase{
 
         assertThrows(CfnNotFoundException.class, () -> handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger));
 
-        verify(codeartifactClient, never()).deletePackageGroup(any(DeletePackageGroupRequest.class));
+        verify(codeartifactClient).deletePackageGroup(any(DeletePackageGroupRequest.class));
+        verify(codeartifactClient, never()).describePackageGroup(any(DescribePackageGroupRequest.class));
+    }
+
+    @Test
+    public void handleRequest_emptyDeleteResponse_stabilizes() {
+        final DeleteHandler handler = new DeleteHandler();
+
+        final ResourceModel model = ResourceModel.builder()
+                .domainName(DOMAIN_NAME)
+                .domainOwner(DOMAIN_OWNER)
+                .pattern(PACKAGE_GROUP_PATTERN)
+                .build();
+
+        // Only a ResourceNotFoundException tells that the package group was gone already, not what the response leaves out
+        when(proxyClient.client().deletePackageGroup(any(DeletePackageGroupRequest.class)))
+                .thenReturn(DeletePackageGroupResponse.builder().build());
+        when(proxyClient.client().describePackageGroup(any(DescribePackageGroupRequest.class)))
+                .thenThrow(ResourceNotFoundException.class);
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel()).isNull();
+
+        verify(codeartifactClient).deletePackageGroup(any(DeletePackageGroupRequest.class));
         verify(codeartifactClient).describePackageGroup(any(DescribePackageGroupRequest.class));
     }
 }
@@ -0,0 +1,53 @@
+package software.amazon.codeartifact.packagegroup;
+
+import software.amazon.awssdk.services.codeartifact.model.CreateDomainRequest;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.codeartifact.common.FakeCodeartifactClient;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HandlerSequenceTest extends AbstractTestBase {
+
+    @Test
+    public void createHandler_eventuallyConsistentRead_stabilizesThenReads() {
+        final FakeCodeartifactClient client = new FakeCodeartifactClient(FakeCodeartifactClient.Settings.builder()
+                .accountId(DOMAIN_OWNER)
+                .region(REGION)
+                .visibilityDelay(Duration.ofMillis(200))
+                .build());
+        client.createDomain(CreateDomainRequest.builder().domain(DOMAIN_NAME).build());
+
+        final AmazonWebServicesClientProxy proxy =
+                new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder()
+                        .domainName(DOMAIN_NAME)
+                        .domainOwner(DOMAIN_OWNER)
+                        .pattern(PACKAGE_GROUP_PATTERN)
+                        .description(DESCRIPTION)
+                        .contactInfo(CONTACT_INFO)
+                        .build())
+                .region(REGION)
+                .awsPartition(PARTITION)
+                .awsAccountId(DOMAIN_OWNER)
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = new CreateHandler()
+                .handleRequest(proxy, request, new CallbackContext(), MOCK_PROXY(proxy, client), logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel().getArn()).startsWith(
+                String.format("arn:aws:codeartifact:%s:%s:package-group/%s/", REGION, DOMAIN_OWNER, DOMAIN_NAME));
+        assertThat(response.getResourceModel().getDescription()).isEqualTo(DESCRIPTION);
+        assertThat(response.getResourceModel().getContactInfo()).isEqualTo(CONTACT_INFO);
+        assertThat(client.calls("CreatePackageGroup")).isEqualTo(1);
+        // polled until the package group became visible, then read once more by the trailing ReadHandler
+        assertThat(client.calls("DescribePackageGroup")).isGreaterThanOrEqualTo(2);
+    }
+}
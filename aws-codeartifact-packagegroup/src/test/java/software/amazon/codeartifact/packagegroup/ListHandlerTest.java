@@ -1,8 +1,16 @@
 package software.amazon.codeartifact.packagegroup;
 
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.services.codeartifact.CodeartifactClient;
+import software.amazon.awssdk.services.codeartifact.model.DescribePackageGroupRequest;
+import software.amazon.awssdk.services.codeartifact.model.DescribePackageGroupResponse;
+import software.amazon.awssdk.services.codeartifact.model.ListAllowedRepositoriesForGroupRequest;
+import software.amazon.awssdk.services.codeartifact.model.ListAllowedRepositoriesForGroupResponse;
 import software.amazon.awssdk.services.codeartifact.model.ListPackageGroupsRequest;
 import software.amazon.awssdk.services.codeartifact.model.ListPackageGroupsResponse;
+import software.amazon.awssdk.services.codeartifact.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.codeartifact.model.ListTagsForResourceResponse;
+import software.amazon.awssdk.services.codeartifact.model.PackageGroupDescription;
 import software.amazon.awssdk.services.codeartifact.model.PackageGroupSummary;
 import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
@@ -12,26 +20,32 @@ import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 public class ListHandlerTest extends AbstractTestBase{
 
-    @Mock
     private AmazonWebServicesClientProxy proxy;
 
+    private CodeartifactClient codeartifactClient;
+
     @BeforeEach
     public void setup() {
-        proxy = mock(AmazonWebServicesClientProxy.class);
+        // A real proxy, so the read of each listed package group goes through the call chain of the ReadHandler
+        proxy = spy(new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis()));
+        codeartifactClient = mock(CodeartifactClient.class);
     }
 
 
@@ -65,12 +79,13 @@ public class ListHandlerTest extends AbstractTestBase{
             .awsAccountId(DOMAIN_OWNER)
             .build();
 
-        when(proxy.injectCredentialsAndInvokeV2(any(ListPackageGroupsRequest.class), any())).thenReturn(
+        doReturn(
                 ListPackageGroupsResponse.builder()
                         .packageGroups(packageGroupSummary1, packageGroupSummary2)
                         .nextToken("fakeNextToken")
                         .build()
-        );
+        ).when(proxy).injectCredentialsAndInvokeV2(any(ListPackageGroupsRequest.class), any());
+        stubReads();
 
         final ProgressEvent<ResourceModel, CallbackContext> response =
             handler.handleRequest(proxy, request, null, logger);
@@ -87,6 +102,34 @@ public class ListHandlerTest extends AbstractTestBase{
 
         assertThat(models.get(0).getArn()).isEqualTo(PGC_ARN_1);
         assertThat(models.get(1).getArn()).isEqualTo(PGC_ARN_2);
+        // Each listed package group is read back into a full model
+        assertThat(models).extracting(ResourceModel::getPattern).containsExactly(PACKAGE_GROUP_PATTERN, PACKAGE_GROUP_PATTERN_1);
+        assertThat(models).allSatisfy(listed -> {
+            assertThat(listed.getDescription()).isEqualTo(DESCRIPTION);
+            assertThat(listed.getOriginConfiguration()).isEqualTo(RESOURCE_MODEL_ORIGIN_CONFIGURATION);
+        });
+    }
+
+    // Answers the reads of the listed package groups, which the list returns as full models
+    private void stubReads() {
+        doReturn(MOCK_PROXY(proxy, codeartifactClient)).when(proxy).newProxy(any());
+        when(codeartifactClient.describePackageGroup(any(DescribePackageGroupRequest.class))).thenAnswer(invocation -> {
+            final DescribePackageGroupRequest describe = invocation.getArgument(0);
+            return DescribePackageGroupResponse.builder()
+                    .packageGroup(PackageGroupDescription.builder()
+                            .arn(PACKAGE_GROUP_PATTERN.equals(describe.packageGroup()) ? PGC_ARN_1 : PGC_ARN_2)
+                            .pattern(describe.packageGroup())
+                            .domainName(describe.domain())
+                            .domainOwner(describe.domainOwner())
+                            .description(DESCRIPTION)
+                            .originConfiguration(PACKAGE_GROUP_ORIGIN_CONFIGURATION)
+                            .build())
+                    .build();
+        });
+        when(codeartifactClient.listAllowedRepositoriesForGroup(any(ListAllowedRepositoriesForGroupRequest.class)))
+                .thenReturn(ListAllowedRepositoriesForGroupResponse.builder().allowedRepositories(ALLOWED_REPOS).build());
+        when(codeartifactClient.listTagsForResource(any(ListTagsForResourceRequest.class)))
+                .thenReturn(ListTagsForResourceResponse.builder().build());
     }
 
     @Test
@@ -99,8 +142,8 @@ public class ListHandlerTest extends AbstractTestBase{
                 .desiredResourceState(model)
                 .build();
 
-        when(proxy.injectCredentialsAndInvokeV2(any(ListPackageGroupsRequest.class), any()))
-                .thenThrow(AwsServiceException.class);
+        doThrow(AwsServiceException.class)
+                .when(proxy).injectCredentialsAndInvokeV2(any(ListPackageGroupsRequest.class), any());
 
         assertThrows(CfnGeneralServiceException.class, () -> handler.handleRequest(proxy, request, null, logger));
     }
@@ -2,6 +2,7 @@ package software.amazon.codeartifact.packagegroup;
 
 import org.junit.jupiter.api.AfterEach;
 import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
 import software.amazon.awssdk.services.codeartifact.CodeartifactClient;
 import software.amazon.awssdk.services.codeartifact.model.DescribePackageGroupRequest;
 import software.amazon.awssdk.services.codeartifact.model.DescribePackageGroupResponse;
@@ -10,6 +11,8 @@ import software.amazon.awssdk.services.codeartifact.model.ListAllowedRepositorie
 import software.amazon.awssdk.services.codeartifact.model.ListTagsForResourceRequest;
 import software.amazon.awssdk.services.codeartifact.model.ListTagsForResourceResponse;
 import software.amazon.awssdk.services.codeartifact.model.PackageGroupDescription;
+import software.amazon.awssdk.services.codeartifact.model.PackageGroupOriginRestrictionType;
+import software.amazon.cloudformation.exceptions.CfnThrottlingException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
@@ -22,11 +25,14 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Duration;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -95,7 +101,6 @@ public class ReadHandlerTest extends AbstractTestBase {
 
         ListAllowedRepositoriesForGroupResponse listAllowedRepositoriesForGroupResponse = ListAllowedRepositoriesForGroupResponse.builder()
                 .allowedRepositories(ALLOWED_REPOS)
-                .nextToken("fakeNextToken")
                 .build();
 
         when(proxyClient.client().listAllowedRepositoriesForGroup(any(ListAllowedRepositoriesForGroupRequest.class)))
@@ -146,7 +151,6 @@ public class ReadHandlerTest extends AbstractTestBase {
 
         ListAllowedRepositoriesForGroupResponse listAllowedRepositoriesForGroupResponse = ListAllowedRepositoriesForGroupResponse.builder()
                 .allowedRepositories(ALLOWED_REPOS)
-                .nextToken("fakeNextToken")
                 .build();
 
         when(proxyClient.client().listAllowedRepositoriesForGroup(any(ListAllowedRepositoriesForGroupRequest.class)))
@@ -219,7 +223,6 @@ public class ReadHandlerTest extends AbstractTestBase {
 
         ListAllowedRepositoriesForGroupResponse listAllowedRepositoriesForGroupResponse = ListAllowedRepositoriesForGroupResponse.builder()
                 .allowedRepositories(ALLOWED_REPOS)
-                .nextToken("fakeNextToken")
                 .build();
 
         when(proxyClient.client().listAllowedRepositoriesForGroup(any(ListAllowedRepositoriesForGroupRequest.class)))
@@ -253,4 +256,74 @@ public class ReadHandlerTest extends AbstractTestBase {
         verify(codeartifactClient).describePackageGroup(any(DescribePackageGroupRequest.class));
         verify(codeartifactClient).listTagsForResource(any(ListTagsForResourceRequest.class));
     }
+
+    @Test
+    public void handleRequest_SimpleSuccess_pagesAllowedRepositories() {
+        final ReadHandler handler = new ReadHandler();
+
+        DescribePackageGroupResponse describePackageGroupResponse = DescribePackageGroupResponse.builder()
+                .packageGroup(packageGroupDescription)
+                .build();
+
+        when(proxyClient.client().describePackageGroup(any(DescribePackageGroupRequest.class))).thenReturn(describePackageGroupResponse);
+
+        when(proxyClient.client().listAllowedRepositoriesForGroup(any(ListAllowedRepositoriesForGroupRequest.class)))
+                .thenReturn(ListAllowedRepositoriesForGroupResponse.builder()
+                        .allowedRepositories(ALLOWED_REPOS.subList(0, 2))
+                        .nextToken("nextToken")
+                        .build())
+                .thenReturn(ListAllowedRepositoriesForGroupResponse.builder()
+                        .allowedRepositories(ALLOWED_REPOS.subList(2, 3))
+                        .build());
+
+        when(proxyClient.client().listTagsForResource(any(ListTagsForResourceRequest.class)))
+                .thenReturn(ListTagsForResourceResponse.builder().build());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .awsPartition("aws")
+                .region("us-west-2")
+                .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel()).isEqualTo(desiredOutputModel);
+
+        ArgumentCaptor<ListAllowedRepositoriesForGroupRequest> listAllowedReposRequestCaptor =
+                ArgumentCaptor.forClass(ListAllowedRepositoriesForGroupRequest.class);
+        verify(codeartifactClient, times(2)).listAllowedRepositoriesForGroup(listAllowedReposRequestCaptor.capture());
+        List<ListAllowedRepositoriesForGroupRequest> listAllowedReposRequests = listAllowedReposRequestCaptor.getAllValues();
+
+        assertThat(listAllowedReposRequests).extracting(ListAllowedRepositoriesForGroupRequest::originRestrictionType)
+                .containsOnly(PackageGroupOriginRestrictionType.INTERNAL_UPSTREAM);
+        assertThat(listAllowedReposRequests.get(0).nextToken()).isNull();
+        assertThat(listAllowedReposRequests.get(1).nextToken()).isEqualTo("nextToken");
+
+        verify(codeartifactClient).describePackageGroup(any(DescribePackageGroupRequest.class));
+        verify(codeartifactClient).listTagsForResource(any(ListTagsForResourceRequest.class));
+    }
+
+    @Test
+    public void handleRequest_tooManyRequests_throwsThrottling() {
+        final ReadHandler handler = new ReadHandler();
+
+        // Throttling the SDK only recognizes by its status code
+        when(proxyClient.client().describePackageGroup(any(DescribePackageGroupRequest.class)))
+                .thenThrow(AwsServiceException.builder().statusCode(429).build());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .logicalResourceIdentifier(PGC_ARN_WITH_DOMAIN_OWNER)
+                .awsPartition("aws")
+                .region("us-west-2")
+                .build();
+
+        assertThrows(CfnThrottlingException.class,
+                () -> handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger));
+
+        verify(codeartifactClient).describePackageGroup(any(DescribePackageGroupRequest.class));
+    }
 }
@@ -7,8 +7,14 @@ import software.amazon.awssdk.services.codeartifact.model.DescribePackageGroupRe
 import software.amazon.awssdk.services.codeartifact.model.ListAllowedRepositoriesForGroupRequest;
 import software.amazon.awssdk.services.codeartifact.model.ListAllowedRepositoriesForGroupResponse;
 import software.amazon.awssdk.services.codeartifact.model.PackageGroupDescription;
+import software.amazon.awssdk.services.codeartifact.model.PackageGroupOriginRestrictionType;
+import software.amazon.awssdk.services.codeartifact.model.ThrottlingException;
 import software.amazon.awssdk.services.codeartifact.model.UpdatePackageGroupOriginConfigurationRequest;
+import software.amazon.awssdk.services.codeartifact.model.UpdatePackageGroupOriginConfigurationResponse;
 import software.amazon.awssdk.services.codeartifact.model.UpdatePackageGroupRequest;
+import software.amazon.awssdk.services.codeartifact.model.ValidationException;
+import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
+import software.amazon.cloudformation.exceptions.CfnThrottlingException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
@@ -24,6 +30,7 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -89,7 +96,6 @@ public class UpdateHandlerTest extends AbstractTestBase{
 
         ListAllowedRepositoriesForGroupResponse listAllowedRepositoriesForGroupResponse = ListAllowedRepositoriesForGroupResponse.builder()
                 .allowedRepositories(ALLOWED_REPOS)
-                .nextToken("fakeNextToken")
                 .build();
 
         when(proxyClient.client().listAllowedRepositoriesForGroup(any(ListAllowedRepositoriesForGroupRequest.class)))
@@ -149,7 +155,6 @@ public class UpdateHandlerTest extends AbstractTestBase{
 
         ListAllowedRepositoriesForGroupResponse listAllowedRepositoriesForGroupResponse = ListAllowedRepositoriesForGroupResponse.builder()
                 .allowedRepositories(Collections.emptyList())
-                .nextToken("fakeNextToken")
                 .build();
 
         when(proxyClient.client().listAllowedRepositoriesForGroup(any(ListAllowedRepositoriesForGroupRequest.class)))
@@ -210,7 +215,6 @@ public class UpdateHandlerTest extends AbstractTestBase{
 
         ListAllowedRepositoriesForGroupResponse listAllowedRepositoriesForGroupResponse = ListAllowedRepositoriesForGroupResponse.builder()
                 .allowedRepositories(UPDATED_ALLOWED_REPOS)
-                .nextToken("fakeNextToken")
                 .build();
 
         when(proxyClient.client().listAllowedRepositoriesForGroup(any(ListAllowedRepositoriesForGroupRequest.class)))
@@ -361,13 +365,8 @@ public class UpdateHandlerTest extends AbstractTestBase{
 
         when(proxyClient.client().describePackageGroup(any(DescribePackageGroupRequest.class))).thenReturn(describePackageGroupResponse);
 
-        ListAllowedRepositoriesForGroupResponse listAllowedRepositoriesForGroupResponse = ListAllowedRepositoriesForGroupResponse.builder()
-                .allowedRepositories(LIST_OF_100_ALLOWED_REPOS)
-                .nextToken("fakeNextToken")
-                .build();
-
         when(proxyClient.client().listAllowedRepositoriesForGroup(any(ListAllowedRepositoriesForGroupRequest.class)))
-                .thenReturn(listAllowedRepositoriesForGroupResponse, ListAllowedRepositoriesForGroupResponse.builder().build());
+                .thenAnswer(allowedRepositories(PackageGroupOriginRestrictionType.EXTERNAL_UPSTREAM, LIST_OF_100_ALLOWED_REPOS));
 
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
                 .desiredResourceState(model)
@@ -394,13 +393,12 @@ public class UpdateHandlerTest extends AbstractTestBase{
         assertThat(updatePGOCRequestValues.get(0).addAllowedRepositories().size()).isEqualTo(100);
         assertThat(updatePGOCRequestValues.get(0).hasRemoveAllowedRepositories()).isFalse();
 
-        assertThat(updatePGOCRequestValues.get(1).hasRestrictions()).isFalse();
-        assertThat(updatePGOCRequestValues.get(1).hasAddAllowedRepositories()).isFalse();
-        assertThat(updatePGOCRequestValues.get(1).removeAllowedRepositories().size()).isEqualTo(100);
-
-        assertThat(updatePGOCRequestValues.get(2).hasRestrictions()).isFalse();
-        assertThat(updatePGOCRequestValues.get(2).hasAddAllowedRepositories()).isFalse();
-        assertThat(updatePGOCRequestValues.get(2).removeAllowedRepositories().size()).isEqualTo(50);
+        // the remaining requests only change allowed repositories and are sent concurrently, in any order
+        List<UpdatePackageGroupOriginConfigurationRequest> allowedRepoRequests = updatePGOCRequestValues.subList(1, 3);
+        assertThat(allowedRepoRequests).noneMatch(UpdatePackageGroupOriginConfigurationRequest::hasRestrictions);
+        assertThat(allowedRepoRequests).noneMatch(UpdatePackageGroupOriginConfigurationRequest::hasAddAllowedRepositories);
+        assertThat(allowedRepoRequests).extracting(r -> r.removeAllowedRepositories().size())
+                .containsExactlyInAnyOrder(100, 50);
     }
 
     @Test
@@ -435,13 +433,8 @@ public class UpdateHandlerTest extends AbstractTestBase{
 
         when(proxyClient.client().describePackageGroup(any(DescribePackageGroupRequest.class))).thenReturn(describePackageGroupResponse);
 
-        ListAllowedRepositoriesForGroupResponse listAllowedRepositoriesForGroupResponse = ListAllowedRepositoriesForGroupResponse.builder()
-                .allowedRepositories(LIST_OF_150_ALLOWED_REPOS)
-                .nextToken("fakeNextToken")
-                .build();
-
         when(proxyClient.client().listAllowedRepositoriesForGroup(any(ListAllowedRepositoriesForGroupRequest.class)))
-                .thenReturn(listAllowedRepositoriesForGroupResponse, ListAllowedRepositoriesForGroupResponse.builder().build());
+                .thenAnswer(allowedRepositories(PackageGroupOriginRestrictionType.EXTERNAL_UPSTREAM, LIST_OF_150_ALLOWED_REPOS));
 
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
                 .desiredResourceState(model)
@@ -468,13 +461,13 @@ public class UpdateHandlerTest extends AbstractTestBase{
         assertThat(updatePGOCRequestValues.get(0).addAllowedRepositories().size()).isEqualTo(100);
         assertThat(updatePGOCRequestValues.get(0).hasRemoveAllowedRepositories()).isFalse();
 
-        assertThat(updatePGOCRequestValues.get(1).hasRestrictions()).isFalse();
-        assertThat(updatePGOCRequestValues.get(1).addAllowedRepositories().size()).isEqualTo(50);
-        assertThat(updatePGOCRequestValues.get(1).removeAllowedRepositories().size()).isEqualTo(50);
-
-        assertThat(updatePGOCRequestValues.get(2).hasRestrictions()).isFalse();
-        assertThat(updatePGOCRequestValues.get(2).hasAddAllowedRepositories()).isFalse();
-        assertThat(updatePGOCRequestValues.get(2).removeAllowedRepositories().size()).isEqualTo(100);
+        // the remaining requests only change allowed repositories and are sent concurrently, in any order
+        List<UpdatePackageGroupOriginConfigurationRequest> allowedRepoRequests = updatePGOCRequestValues.subList(1, 3);
+        assertThat(allowedRepoRequests).noneMatch(UpdatePackageGroupOriginConfigurationRequest::hasRestrictions);
+        assertThat(allowedRepoRequests).extracting(r -> r.addAllowedRepositories().size())
+                .containsExactlyInAnyOrder(50, 0);
+        assertThat(allowedRepoRequests).extracting(r -> r.removeAllowedRepositories().size())
+                .containsExactlyInAnyOrder(50, 100);
     }
 
     @Test
@@ -509,13 +502,8 @@ public class UpdateHandlerTest extends AbstractTestBase{
 
         when(proxyClient.client().describePackageGroup(any(DescribePackageGroupRequest.class))).thenReturn(describePackageGroupResponse);
 
-        ListAllowedRepositoriesForGroupResponse listAllowedRepositoriesForGroupResponse = ListAllowedRepositoriesForGroupResponse.builder()
-                .allowedRepositories(Collections.emptyList())
-                .nextToken("fakeNextToken")
-                .build();
-
         when(proxyClient.client().listAllowedRepositoriesForGroup(any(ListAllowedRepositoriesForGroupRequest.class)))
-                .thenReturn(listAllowedRepositoriesForGroupResponse, ListAllowedRepositoriesForGroupResponse.builder().build());
+                .thenAnswer(allowedRepositories(PackageGroupOriginRestrictionType.EXTERNAL_UPSTREAM, Collections.emptyList()));
 
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
                 .desiredResourceState(model)
@@ -547,6 +535,105 @@ public class UpdateHandlerTest extends AbstractTestBase{
         assertThat(updatePGOCRequestValues.get(1).removeAllowedRepositories().size()).isEqualTo(50);
     }
 
+    @Test
+    public void handleRequest_updatedOriginConfiguration_throttledChunk_throwsThrottling() {
+        final UpdateHandler handler = new UpdateHandler();
+
+        final ResourceModel model = ResourceModel.builder()
+                .domainName(DOMAIN_NAME)
+                .pattern(PACKAGE_GROUP_PATTERN)
+                .originConfiguration(PUBLISH_ONLY_EMPTY_LIST_RESOURCE_MODEL_ORIGIN_CONFIGURATION)
+                .build();
+
+        final PackageGroupDescription packageGroupDescription = PackageGroupDescription.builder()
+                .arn(PGC_ARN_WITH_DOMAIN_OWNER)
+                .domainOwner(DOMAIN_OWNER)
+                .domainName(DOMAIN_NAME)
+                .pattern(PACKAGE_GROUP_PATTERN)
+                .originConfiguration(PUBLISH_ONLY_EMPTY_LIST_PACKAGE_GROUP_ORIGIN_CONFIGURATION)
+                .build();
+
+        DescribePackageGroupResponse describePackageGroupResponse = DescribePackageGroupResponse.builder()
+                .packageGroup(packageGroupDescription)
+                .build();
+
+        when(proxyClient.client().describePackageGroup(any(DescribePackageGroupRequest.class))).thenReturn(describePackageGroupResponse);
+
+        when(proxyClient.client().listAllowedRepositoriesForGroup(any(ListAllowedRepositoriesForGroupRequest.class)))
+                .thenAnswer(allowedRepositories(PackageGroupOriginRestrictionType.EXTERNAL_UPSTREAM, Collections.emptyList()));
+
+        when(proxyClient.client().updatePackageGroupOriginConfiguration(any(UpdatePackageGroupOriginConfigurationRequest.class)))
+                .thenReturn(UpdatePackageGroupOriginConfigurationResponse.builder().build())
+                .thenThrow(ThrottlingException.builder().build());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .previousResourceState(resourceModel(PACKAGE_GROUP_PATTERN, LARGE_REPO_LIST_RESOURCE_MODEL_ORIGIN_CONFIGURATION))
+                .awsPartition("aws")
+                .region("us-west-2")
+                .awsAccountId(DOMAIN_OWNER)
+                .build();
+
+        // Throttled attempts are retried by the client and paced by the rate limiter, the handler doesn't retry again
+        assertThatThrownBy(() -> handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger))
+                .isInstanceOf(CfnThrottlingException.class);
+
+        verify(codeartifactClient).describePackageGroup(any(DescribePackageGroupRequest.class));
+        verify(codeartifactClient, never()).updatePackageGroup(any(UpdatePackageGroupRequest.class));
+        verify(codeartifactClient, times(2)).updatePackageGroupOriginConfiguration(any(UpdatePackageGroupOriginConfigurationRequest.class));
+    }
+
+    @Test
+    public void handleRequest_updatedOriginConfiguration_failedChunks_sendsEveryChunkAndReportsAllFailures() {
+        final UpdateHandler handler = new UpdateHandler();
+
+        final ResourceModel model = ResourceModel.builder()
+                .domainName(DOMAIN_NAME)
+                .pattern(PACKAGE_GROUP_PATTERN)
+                .originConfiguration(UPDATED_LARGE_REPO_LIST_RESOURCE_MODEL_ORIGIN_CONFIGURATION_2)
+                .build();
+
+        final PackageGroupDescription packageGroupDescription = PackageGroupDescription.builder()
+                .arn(PGC_ARN_WITH_DOMAIN_OWNER)
+                .domainOwner(DOMAIN_OWNER)
+                .domainName(DOMAIN_NAME)
+                .pattern(PACKAGE_GROUP_PATTERN)
+                .originConfiguration(UPDATED_LARGE_REPO_LIST_ORIGIN_CONFIGURATION_2)
+                .build();
+
+        DescribePackageGroupResponse describePackageGroupResponse = DescribePackageGroupResponse.builder()
+                .packageGroup(packageGroupDescription)
+                .build();
+
+        when(proxyClient.client().describePackageGroup(any(DescribePackageGroupRequest.class))).thenReturn(describePackageGroupResponse);
+
+        // the request carrying the restrictions succeeds, every allowed repository chunk after it fails
+        when(proxyClient.client().updatePackageGroupOriginConfiguration(any(UpdatePackageGroupOriginConfigurationRequest.class)))
+                .thenAnswer(invocation -> {
+                    final UpdatePackageGroupOriginConfigurationRequest updateRequest = invocation.getArgument(0);
+                    if (updateRequest.hasRestrictions()) {
+                        return UpdatePackageGroupOriginConfigurationResponse.builder().build();
+                    }
+                    throw ValidationException.builder().build();
+                });
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .previousResourceState(resourceModel(PACKAGE_GROUP_PATTERN, LARGE_REPO_LIST_RESOURCE_MODEL_ORIGIN_CONFIGURATION))
+                .awsPartition("aws")
+                .region("us-west-2")
+                .awsAccountId(DOMAIN_OWNER)
+                .build();
+
+        assertThatThrownBy(() -> handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger))
+                .isInstanceOf(CfnInvalidRequestException.class)
+                .satisfies(e -> assertThat(e.getSuppressed()).hasSize(1)
+                        .hasOnlyElementsOfType(CfnInvalidRequestException.class));
+
+        verify(codeartifactClient, never()).updatePackageGroup(any(UpdatePackageGroupRequest.class));
+        verify(codeartifactClient, times(3)).updatePackageGroupOriginConfiguration(any(UpdatePackageGroupOriginConfigurationRequest.class));
+    }
+
     @Test
     public void handleRequest_updatedOriginConfiguration_Add150Repos_Remove0Repos() {
         final UpdateHandler handler = new UpdateHandler();
@@ -579,13 +666,8 @@ public class UpdateHandlerTest extends AbstractTestBase{
 
         when(proxyClient.client().describePackageGroup(any(DescribePackageGroupRequest.class))).thenReturn(describePackageGroupResponse);
 
-        ListAllowedRepositoriesForGroupResponse listAllowedRepositoriesForGroupResponse = ListAllowedRepositoriesForGroupResponse.builder()
-                .allowedRepositories(LIST_OF_150_ALLOWED_REPOS)
-                .nextToken("fakeNextToken")
-                .build();
-
         when(proxyClient.client().listAllowedRepositoriesForGroup(any(ListAllowedRepositoriesForGroupRequest.class)))
-                .thenReturn(listAllowedRepositoriesForGroupResponse, ListAllowedRepositoriesForGroupResponse.builder().build());
+                .thenAnswer(allowedRepositories(PackageGroupOriginRestrictionType.EXTERNAL_UPSTREAM, LIST_OF_150_ALLOWED_REPOS));
 
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
                 .desiredResourceState(model)
@@ -0,0 +1,38 @@
+package software.amazon.codeartifact.repository;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.codeartifact.CodeartifactClient;
+
+/**
+ * Compares building a CodeartifactClient per invocation (the previous ClientBuilder behaviour) with the cached
+ * client ClientBuilder now hands out.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ClientBuilderBenchmark {
+
+  @Benchmark
+  public void uncachedClient() {
+    final CodeartifactClient client =
+        ClientBuilder.buildClient(Region.US_WEST_2, ClientBuilder.overrideConfiguration());
+    client.close();
+  }
+
+  @Benchmark
+  public CodeartifactClient cachedClient() {
+    return ClientBuilder.getClient(Region.US_WEST_2);
+  }
+}
@@ -0,0 +1,217 @@
+package software.amazon.codeartifact.repository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import software.amazon.awssdk.services.codeartifact.CodeartifactClient;
+import software.amazon.awssdk.services.codeartifact.model.CreateDomainRequest;
+import software.amazon.awssdk.services.codeartifact.model.CreatePackageGroupRequest;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.codeartifact.common.FakeCodeartifactClient;
+import software.amazon.codeartifact.common.LoadPhase;
+import software.amazon.codeartifact.common.StandInProxy;
+
+/**
+ * Replays the lifecycle of a stack-shaped workload (one domain, its package groups and a few hundred repositories)
+ * through the repository handlers, concurrently, against {@link FakeCodeartifactClient}, and reports per phase the
+ * throughput, the p50/p99 handler latency and the CodeArtifact calls made per handler invocation. Run with:
+ *   mvn -P jmh test-compile exec:exec@load
+ * and size the workload with -Dload.repositories, -Dload.packageGroups, -Dload.threads, -Dload.minLatencyMillis,
+ * -Dload.maxLatencyMillis, -Dload.visibilityDelayMillis and -Dload.throttlingRate.
+ *
+ * Like a stack with DependsOn, a tenth of the repositories come first with an external connection, and the others
+ * follow with one or two of those as upstreams; deletes go in the reverse order. The domain and package groups are
+ * created directly on the stand-in; their own handlers are driven by the HandlerLoadDriver of their module.
+ */
+public class HandlerLoadDriver {
+    private static final String ACCOUNT_ID = "123456789012";
+    private static final String REGION = "us-west-2";
+    private static final String DOMAIN_NAME = "load-domain";
+
+    private final Workload workload;
+    private final FakeCodeartifactClient client;
+    private final AmazonWebServicesClientProxy proxy;
+    private final ProxyClient<CodeartifactClient> proxyClient;
+    private final LoggerProxy logger = new LoggerProxy();
+    private final ExecutorService executor;
+
+    @lombok.Value
+    private static class Workload {
+        int repositories;
+        int packageGroups;
+        int threads;
+        FakeCodeartifactClient.Settings service;
+
+        static Workload fromSystemProperties() {
+            return new Workload(
+                Integer.getInteger("load.repositories", 300),
+                Integer.getInteger("load.packageGroups", 50),
+                Integer.getInteger("load.threads", 32),
+                FakeCodeartifactClient.Settings.builder()
+                    .accountId(ACCOUNT_ID)
+                    .region(REGION)
+                    .minLatency(Duration.ofMillis(Long.getLong("load.minLatencyMillis", 20)))
+                    .maxLatency(Duration.ofMillis(Long.getLong("load.maxLatencyMillis", 80)))
+                    .visibilityDelay(Duration.ofMillis(Long.getLong("load.visibilityDelayMillis", 200)))
+                    .throttlingRate(Double.parseDouble(System.getProperty("load.throttlingRate", "0")))
+                    .build());
+        }
+
+        int baseRepositories() {
+            return Math.max(1, repositories / 10);
+        }
+    }
+
+    HandlerLoadDriver(final Workload workload) {
+        this.workload = workload;
+        this.client = new FakeCodeartifactClient(workload.getService());
+        this.proxy = new StandInProxy(logger, client);
+        this.proxyClient = AbstractTestBase.MOCK_PROXY(proxy, client);
+        this.executor = Executors.newFixedThreadPool(workload.getThreads());
+    }
+
+    public static void main(final String[] args) throws Exception {
+        // ListHandler builds its client from the default region chain before the call is routed to the stand-in
+        if (System.getProperty("aws.region") == null) {
+            System.setProperty("aws.region", REGION);
+        }
+        final Workload workload = Workload.fromSystemProperties();
+        final HandlerLoadDriver driver = new HandlerLoadDriver(workload);
+        try {
+            System.out.printf("Workload: 1 domain, %d package groups, %d repositories, %d threads, %s%n%n",
+                workload.getPackageGroups(), workload.getRepositories(), workload.getThreads(), workload.getService());
+            driver.run().forEach(phase -> System.out.println(phase.report()));
+        } finally {
+            driver.close();
+        }
+    }
+
+    List<LoadPhase<ResourceModel>> run() throws InterruptedException {
+        seedDomain();
+
+        final List<ResourceModel> base = new ArrayList<>();
+        final List<ResourceModel> dependents = new ArrayList<>();
+        for (int i = 0; i < workload.getRepositories(); i++) {
+            final ResourceModel model = ResourceModel.builder()
+                .domainName(DOMAIN_NAME)
+                .domainOwner(ACCOUNT_ID)
+                .repositoryName(String.format("repo-%04d", i))
+                .description("load test repository")
+                .build();
+            if (i < workload.baseRepositories()) {
+                model.setExternalConnections(Collections.singletonList("public:npmjs"));
+                base.add(model);
+            } else {
+                final int upstream = i % workload.baseRepositories();
+                model.setUpstreams(upstream + 1 < workload.baseRepositories() && i % 2 == 0
+                    ? Arrays.asList(base.get(upstream).getRepositoryName(), base.get(upstream + 1).getRepositoryName())
+                    : Collections.singletonList(base.get(upstream).getRepositoryName()));
+                dependents.add(model);
+            }
+        }
+
+        final List<LoadPhase<ResourceModel>> phases = new ArrayList<>();
+        final LoadPhase<ResourceModel> create = new LoadPhase<>("Create", executor, client);
+        final List<ResourceModel> created =
+            new ArrayList<>(create.run(base, model -> invoke(CreateHandler::new, model, null)));
+        created.addAll(create.run(dependents, model -> invoke(CreateHandler::new, model, null)));
+        phases.add(create);
+
+        final LoadPhase<ResourceModel> read = new LoadPhase<>("Read", executor, client);
+        read.run(created, model -> invoke(ReadHandler::new, model, null));
+        phases.add(read);
+
+        final LoadPhase<ResourceModel> update = new LoadPhase<>("Update", executor, client);
+        final List<ResourceModel> updated = update.run(created, model -> {
+            final ResourceModel desired = BaseHandlerStd.MAPPER.convertValue(model, ResourceModel.class);
+            desired.setDescription("updated load test repository");
+            return invoke(UpdateHandler::new, desired, model);
+        });
+        phases.add(update);
+
+        final LoadPhase<ResourceModel> list = new LoadPhase<>("List", executor, client);
+        list.run(Collections.singletonList(ResourceModel.builder().domainName(DOMAIN_NAME).build()), this::listAll);
+        phases.add(list);
+
+        final LoadPhase<ResourceModel> delete = new LoadPhase<>("Delete", executor, client);
+        final List<ResourceModel> upstreams = new ArrayList<>();
+        final List<ResourceModel> downstreams = new ArrayList<>();
+        for (ResourceModel model : updated) {
+            (model.getUpstreams() == null || model.getUpstreams().isEmpty() ? upstreams : downstreams).add(model);
+        }
+        delete.run(downstreams, model -> invoke(DeleteHandler::new, model, null));
+        delete.run(upstreams, model -> invoke(DeleteHandler::new, model, null));
+        phases.add(delete);
+        return phases;
+    }
+
+    void close() {
+        executor.shutdownNow();
+    }
+
+    private void seedDomain() {
+        client.createDomain(CreateDomainRequest.builder().domain(DOMAIN_NAME).build());
+        for (int i = 0; i < workload.getPackageGroups(); i++) {
+            client.createPackageGroup(CreatePackageGroupRequest.builder()
+                .domain(DOMAIN_NAME)
+                .packageGroup(String.format("/npm/scope-%03d/*", i))
+                .build());
+        }
+    }
+
+    // Drives one handler invocation to completion, re-invoking it with its callback context while in progress.
+    private ResourceModel invoke(
+        final Supplier<BaseHandlerStd> handlers,
+        final ResourceModel desired,
+        final ResourceModel previous
+    ) {
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(desired)
+            .previousResourceState(previous)
+            .awsAccountId(ACCOUNT_ID)
+            .awsPartition("aws")
+            .region(REGION)
+            .build();
+
+        CallbackContext callbackContext = new CallbackContext();
+        ProgressEvent<ResourceModel, CallbackContext> event;
+        do {
+            final BaseHandlerStd handler = handlers.get();
+            event = handler.handleRequest(proxy, request, callbackContext, proxyClient, logger);
+            if (event.getCallbackContext() != null) {
+                callbackContext = event.getCallbackContext();
+            }
+        } while (event.getStatus() == OperationStatus.IN_PROGRESS);
+
+        if (event.getStatus() != OperationStatus.SUCCESS) {
+            throw new IllegalStateException(String.format("%s %s: %s",
+                event.getErrorCode(), desired.getRepositoryName(), event.getMessage()));
+        }
+        return event.getResourceModel() != null ? event.getResourceModel() : desired;
+    }
+
+    private ResourceModel listAll(final ResourceModel model) {
+        String nextToken = null;
+        do {
+            final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(model)
+                .nextToken(nextToken)
+                .build();
+            final ProgressEvent<ResourceModel, CallbackContext> event =
+                new ListHandler().handleRequest(proxy, request, null, logger);
+            nextToken = event.getNextToken();
+        } while (nextToken != null);
+        return model;
+    }
+}
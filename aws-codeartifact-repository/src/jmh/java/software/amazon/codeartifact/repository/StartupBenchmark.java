@@ -0,0 +1,50 @@
+package software.amazon.codeartifact.repository;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+/**
+ * Times the first invocation of a fresh JVM, with and without priming first, i.e. what an environment pays on its
+ * first request when it was initialized from scratch versus restored from a snapshot taken after Priming ran. Each
+ * fork measures a single invocation, so the score is the average over the forks.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 10, jvmArgsAppend = "-Daws.region=us-west-2")
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+public class StartupBenchmark {
+
+  @State(Scope.Benchmark)
+  public static class Primed {
+    @Setup(Level.Trial)
+    public void prime() throws IOException {
+      Priming.prime();
+    }
+  }
+
+  @Benchmark
+  public ProgressEvent<ResourceModel, CallbackContext> firstInvocation() throws IOException {
+    return Priming.prime();
+  }
+
+  @Benchmark
+  public ProgressEvent<ResourceModel, CallbackContext> firstInvocationAfterPriming(final Primed primed)
+      throws IOException {
+    return Priming.prime();
+  }
+}
@@ -0,0 +1,113 @@
+package software.amazon.codeartifact.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import software.amazon.awssdk.services.codeartifact.model.DescribeRepositoryResponse;
+import software.amazon.awssdk.services.codeartifact.model.RepositoryDescription;
+import software.amazon.awssdk.services.codeartifact.model.Tag;
+import software.amazon.awssdk.services.codeartifact.model.UpstreamRepositoryInfo;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+/**
+ * Throughput of the Translator paths every handler invocation goes through. Run with the gc profiler (the jmh
+ * profile does) to also get the allocation rate per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TranslatorBenchmark {
+  private Map<String, String> tags;
+  private List<Tag> serviceTags;
+  private String policy;
+  private Map<String, Object> policyDocument;
+  private DescribeRepositoryResponse describeRepositoryResponse;
+  private ResourceHandlerRequest<ResourceModel> updateRequest;
+
+  @Setup
+  public void setup() {
+    tags = BenchmarkFixtures.tags(BenchmarkFixtures.TAG_COUNT);
+    serviceTags = new ArrayList<>(Translator.translateTagsToSdk(tags));
+    policy = BenchmarkFixtures.policy(BenchmarkFixtures.POLICY_BYTES);
+    policyDocument = Translator.deserializePolicy(policy);
+
+    describeRepositoryResponse = DescribeRepositoryResponse.builder()
+        .repository(RepositoryDescription.builder()
+            .name("repository")
+            .domainName("domain")
+            .domainOwner("123456789012")
+            .arn("arn:aws:codeartifact:us-west-2:123456789012:repository/domain/repository")
+            .description("benchmark repository")
+            .upstreams(IntStream.range(0, 10)
+                .mapToObj(i -> UpstreamRepositoryInfo.builder().repositoryName("upstream-" + i).build())
+                .collect(Collectors.toList()))
+            .build())
+        .build();
+
+    final ResourceModel model = ResourceModel.builder()
+        .domainName("domain")
+        .repositoryName("repository")
+        .permissionsPolicyDocument(policyDocument)
+        .build();
+    updateRequest = ResourceHandlerRequest.<ResourceModel>builder()
+        .desiredResourceState(model)
+        .previousResourceState(ResourceModel.builder()
+            .domainName("domain")
+            .repositoryName("repository")
+            .permissionsPolicyDocument(Translator.deserializePolicy(policy))
+            .build())
+        .desiredResourceTags(tags)
+        .previousResourceTags(BenchmarkFixtures.tags(BenchmarkFixtures.TAG_COUNT / 2))
+        .build();
+  }
+
+  @Benchmark
+  public Object translateTagsToSdk() {
+    return Translator.translateTagsToSdk(tags);
+  }
+
+  @Benchmark
+  public Object fromListTagsResponse() {
+    return Translator.fromListTagsResponse(serviceTags);
+  }
+
+  @Benchmark
+  public Object deserializePolicy() {
+    return Translator.deserializePolicy(policy);
+  }
+
+  @Benchmark
+  public JsonNode canonicalizePolicy() {
+    // Uncached path of PolicyFingerprint
+    return PolicyFingerprint.canonicalize(Translator.MAPPER.valueToTree(policyDocument));
+  }
+
+  @Benchmark
+  public ResourceModel translateFromReadResponse() {
+    return Translator.translateFromReadResponse(describeRepositoryResponse);
+  }
+
+  @Benchmark
+  public UpdatePlan updatePlan() {
+    return UpdatePlan.of(updateRequest);
+  }
+}
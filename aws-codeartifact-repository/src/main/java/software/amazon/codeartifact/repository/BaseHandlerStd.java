@@ -1,38 +1,72 @@
 package software.amazon.codeartifact.repository;
 
+import java.util.List;
 import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import com.amazonaws.util.CollectionUtils;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
 import software.amazon.awssdk.services.codeartifact.CodeartifactClient;
 import software.amazon.awssdk.services.codeartifact.model.AssociateExternalConnectionRequest;
+import software.amazon.awssdk.services.codeartifact.model.AssociateExternalConnectionResponse;
 import software.amazon.awssdk.services.codeartifact.model.PutRepositoryPermissionsPolicyResponse;
+import software.amazon.awssdk.services.codeartifact.model.RepositoryDescription;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.codeartifact.common.AdaptiveRateLimiter;
+import software.amazon.codeartifact.common.ApiMetrics;
+import software.amazon.codeartifact.common.CachingProxyClient;
+import software.amazon.codeartifact.common.CallBatch;
+import software.amazon.codeartifact.common.MeteredProxyClient;
+import software.amazon.codeartifact.common.RateLimitedProxyClient;
 
 public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
     public static final ObjectMapper MAPPER = new ObjectMapper();
 
+  // External connections of one batch don't depend on each other. Disassociations still complete before the
+  // upstreams change and associations only start after, as each operation runs as its own batch.
+  static final int MAX_CONCURRENT_EXTERNAL_CONNECTION_CALLS = 4;
+
+  static {
+    // The wrapper creates the handlers while the function initializes, before a SnapStart checkpoint is taken
+    Priming.register();
+  }
+
   @Override
   public final ProgressEvent<ResourceModel, CallbackContext> handleRequest(
     final AmazonWebServicesClientProxy proxy,
     final ResourceHandlerRequest<ResourceModel> request,
     final CallbackContext callbackContext,
     final Logger logger) {
-    return handleRequest(
-      proxy,
-      request,
-      callbackContext != null ? callbackContext : new CallbackContext(),
-      proxy.newProxy(ClientBuilder::getClient),
-      logger
-    );
+    final ApiMetrics metrics = new ApiMetrics(ResourceModel.TYPE_NAME, getClass().getSimpleName());
+    final AdaptiveRateLimiter rateLimiter =
+        AdaptiveRateLimiter.forAccount(request.getAwsAccountId(), request.getRegion());
+    // Every call of this invocation shares its deadline
+    final long deadlineNanos = rateLimiter.deadline();
+    // Reads repeated within this invocation are served from memory until a call mutates something
+    final CachingProxyClient.Responses responses = new CachingProxyClient.Responses();
+    try {
+      return handleRequest(
+        proxy,
+        request,
+        callbackContext != null ? callbackContext : new CallbackContext(),
+        new CachingProxyClient<>(new RateLimitedProxyClient<>(
+          new MeteredProxyClient<>(proxy.newProxy(ClientBuilder::getClient), metrics),
+          rateLimiter, deadlineNanos), responses),
+        logger
+      );
+    } finally {
+      // Every call of the invocation has completed (or been abandoned) by now
+      metrics.flush(logger);
+    }
   }
 
   protected abstract ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -42,12 +76,33 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
     final ProxyClient<CodeartifactClient> proxyClient,
     final Logger logger);
 
+  /**
+   * Runs one step of a chain unless an earlier invocation for the same request already completed it, and marks it
+   * completed in the callback context once it lets the chain continue. A handler re-invoked after a callback or a
+   * retriable failure then resumes at the first incomplete step.
+   */
+  protected ProgressEvent<ResourceModel, CallbackContext> resumeAt(
+      final ProgressEvent<ResourceModel, CallbackContext> progress,
+      final BooleanSupplier completed,
+      final Consumer<Boolean> markCompleted,
+      final Function<ProgressEvent<ResourceModel, CallbackContext>, ProgressEvent<ResourceModel, CallbackContext>> step
+  ) {
+      if (completed.getAsBoolean()) {
+          return progress;
+      }
+      return step.apply(progress).then(done -> {
+          markCompleted.accept(true);
+          return done;
+      });
+  }
+
   protected ProgressEvent<ResourceModel, CallbackContext> associateExternalConnections(
       final ProgressEvent<ResourceModel, CallbackContext> progress,
       final CallbackContext callbackContext,
       final ResourceHandlerRequest<ResourceModel> request,
       final ProxyClient<CodeartifactClient> proxyClient,
       final Set<String> externalConnectionsToAdd,
+      final MutationResponses mutations,
       final Logger logger
   ) {
       ResourceModel resourceModel = request.getDesiredResourceState();
@@ -58,20 +113,22 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
           return ProgressEvent.progress(resourceModel, callbackContext);
       }
 
-      // Loop is currently not necessary because only 1 external connection is allowed, leaving this in for
-      // when multiple are supported
-      externalConnectionsToAdd.forEach(ec -> {
+      final List<RepositoryDescription> repositories = CallBatch.run(externalConnectionsToAdd, ec -> {
+          AssociateExternalConnectionResponse associateExternalConnectionResponse = null;
           try {
               AssociateExternalConnectionRequest associateExternalConnectionRequest
                   = Translator.translateAssociateExternalConnectionsRequest(resourceModel, ec);
 
-              proxyClient.injectCredentialsAndInvokeV2(associateExternalConnectionRequest, proxyClient.client()::associateExternalConnection);
+              associateExternalConnectionResponse = proxyClient.injectCredentialsAndInvokeV2(
+                  associateExternalConnectionRequest, proxyClient.client()::associateExternalConnection);
           } catch (final AwsServiceException e) {
               String repositoryName = progress.getResourceModel().getRepositoryName();
               Translator.throwCfnException(e, Constants.ASSOCIATE_EXTERNAL_CONNECTION, repositoryName);
           }
           logger.log(String.format("Successfully associated external connection: %s", ec));
-      });
+          return associateExternalConnectionResponse == null ? null : associateExternalConnectionResponse.repository();
+      }, MAX_CONCURRENT_EXTERNAL_CONNECTION_CALLS, Constants.ASSOCIATE_EXTERNAL_CONNECTION, logger);
+      mutations.repositoryUpdated(repositoryAfterBatch(repositories));
 
       return ProgressEvent.<ResourceModel, CallbackContext>builder()
           .resourceModel(resourceModel)
@@ -79,12 +136,21 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
           .build();
   }
 
+  /**
+   * @return the repository described by the only call of an external connection batch. With several calls running
+   * concurrently no single response reflects all of them, so the trailing read has to describe the repository again.
+   */
+  static RepositoryDescription repositoryAfterBatch(final List<RepositoryDescription> repositories) {
+      return repositories.size() == 1 ? repositories.get(0) : null;
+  }
+
   protected ProgressEvent<ResourceModel, CallbackContext> putRepositoryPermissionsPolicy(
       final AmazonWebServicesClientProxy proxy,
       final ProgressEvent<ResourceModel, CallbackContext> progress,
       final CallbackContext callbackContext,
       final ResourceHandlerRequest<ResourceModel> request,
       final ProxyClient<CodeartifactClient> proxyClient,
+      final MutationResponses mutations,
       final Logger logger
   ) {
       final ResourceModel desiredModel = progress.getResourceModel();
@@ -100,6 +166,8 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
               PutRepositoryPermissionsPolicyResponse awsResponse = null;
               try {
                   awsResponse = client.injectCredentialsAndInvokeV2(awsRequest, client.client()::putRepositoryPermissionsPolicy);
+                  mutations.policyWritten(awsResponse == null ? null : awsResponse.policy(),
+                      desiredModel.getPermissionsPolicyDocument());
                   logger.log("Repository permission policy successfully added.");
               } catch (final AwsServiceException e) {
                   String domainName = desiredModel.getDomainName();
@@ -111,16 +179,7 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
   }
 
   boolean policyIsUnchanged(final ResourceModel desiredModel, final ResourceModel previousModel) {
-      if (previousModel == null) {
-          return false;
-      }
-
-      if (desiredModel.getPermissionsPolicyDocument() == null || previousModel.getPermissionsPolicyDocument() == null) {
-          return false;
-      }
-      JsonNode desiredPolicy = MAPPER.valueToTree(desiredModel.getPermissionsPolicyDocument());
-      JsonNode currentPolicy = MAPPER.valueToTree(previousModel.getPermissionsPolicyDocument());
-      return desiredPolicy.equals(currentPolicy);
-    }
+      return ComparisonUtils.policyIsUnchanged(desiredModel, previousModel);
+  }
 
 }
@@ -8,4 +8,9 @@ import software.amazon.cloudformation.proxy.StdCallbackContext;
 @lombok.EqualsAndHashCode(callSuper = true)
 public class CallbackContext extends StdCallbackContext {
     private boolean isCreated;
+    // Set once the created repository is seen, so a handler re-invoked while polling resumes polling
+    private boolean isStabilized;
+    // Steps of the create chain after CreateRepository that have completed. Tags are applied by CreateRepository.
+    private boolean isPolicyApplied;
+    private boolean isExternalConnectionsAssociated;
 }
@@ -1,21 +1,65 @@
 package software.amazon.codeartifact.repository;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
 import software.amazon.awssdk.core.client.config.SdkAdvancedClientOption;
+import software.amazon.awssdk.core.retry.RetryMode;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.codeartifact.CodeartifactClient;
+import software.amazon.awssdk.services.codeartifact.CodeartifactClientBuilder;
 import software.amazon.cloudformation.LambdaWrapper;
+import software.amazon.codeartifact.common.ApiMetrics;
 
 public class ClientBuilder {
   private static final String CFN_USER_AGENT_PREFIX = "aws-cloudformation-resource-handlers";
 
+  private static final ClientOverrideConfiguration OVERRIDE_CONFIGURATION = ClientOverrideConfiguration.builder()
+      .putAdvancedOption(SdkAdvancedClientOption.USER_AGENT_PREFIX, CFN_USER_AGENT_PREFIX)
+      // Lets MeteredProxyClient report the retries the SDK makes for each call
+      .addExecutionInterceptor(new ApiMetrics.AttemptCounter())
+      // Paces the attempts of each client once it gets throttled, AdaptiveRateLimiter paces across clients
+      .retryPolicy(RetryPolicy.forRetryMode(RetryMode.ADAPTIVE))
+      .build();
+
+  // Clients hold no credentials (the proxy injects them per request), so one client per region and override
+  // configuration can be shared by every invocation a warm container serves.
+  private static final ConcurrentMap<ClientKey, CodeartifactClient> CLIENTS = new ConcurrentHashMap<>();
+
   public static CodeartifactClient getClient() {
-    return CodeartifactClient.builder()
-        .overrideConfiguration(
-            ClientOverrideConfiguration.builder()
-                .putAdvancedOption(SdkAdvancedClientOption.USER_AGENT_PREFIX, CFN_USER_AGENT_PREFIX)
-                .build()
-        )
-        .httpClient(LambdaWrapper.HTTP_CLIENT)
-        .build();
+    return getClient(null);
+  }
+
+  /**
+   * @param region region of the client, or null to resolve it from the default region provider chain
+   * @return the cached client for the region, built on first use
+   */
+  public static CodeartifactClient getClient(final Region region) {
+    return CLIENTS.computeIfAbsent(
+        new ClientKey(region, OVERRIDE_CONFIGURATION),
+        key -> buildClient(key.getRegion(), key.getOverrideConfiguration()));
+  }
+
+  static CodeartifactClient buildClient(final Region region, final ClientOverrideConfiguration overrideConfiguration) {
+    CodeartifactClientBuilder builder = CodeartifactClient.builder()
+        .overrideConfiguration(overrideConfiguration)
+        .httpClient(LambdaWrapper.HTTP_CLIENT);
+
+    if (region != null) {
+      builder.region(region);
+    }
+    return builder.build();
+  }
+
+  static ClientOverrideConfiguration overrideConfiguration() {
+    return OVERRIDE_CONFIGURATION;
+  }
+
+  @lombok.Value
+  private static class ClientKey {
+    Region region;
+    ClientOverrideConfiguration overrideConfiguration;
   }
 }
@@ -29,4 +29,16 @@ public class ComparisonUtils {
 
         return Objects.equals(prevUpstreamsSet, desiredUpstreamsSet);
     }
+
+    public static boolean policyIsUnchanged(final ResourceModel desiredModel, final ResourceModel prevModel) {
+        if (prevModel == null) {
+            return false;
+        }
+
+        if (desiredModel.getPermissionsPolicyDocument() == null || prevModel.getPermissionsPolicyDocument() == null) {
+            return false;
+        }
+        return PolicyFingerprint.areEquivalent(
+            desiredModel.getPermissionsPolicyDocument(), prevModel.getPermissionsPolicyDocument());
+    }
 }
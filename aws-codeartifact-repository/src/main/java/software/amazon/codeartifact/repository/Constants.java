@@ -13,6 +13,7 @@ public class Constants {
     public static final String GET_REPOSITORY_PERMISSION_POLICY = "codeartifact:GetRepositoryPermissionsPolicy";
     public static final String ASSOCIATE_EXTERNAL_CONNECTION = "codeartifact:AssociateExternalConnection";
     public static final String LIST_REPOSITORIES = "codeartifact:ListRepositories";
+    public static final String LIST_REPOSITORIES_IN_DOMAIN = "codeartifact:ListRepositoriesInDomain";
     public static final String DISASSOCIATE_EXTERNAL_CONNECTION = "codeartifact:DisassociateExternalConnection";
     public static final int MAX_ITEMS = 1000;
 
@@ -1,5 +1,7 @@
 package software.amazon.codeartifact.repository;
 
+import java.time.Duration;
+import java.util.Collections;
 import java.util.Set;
 import software.amazon.awssdk.awscore.AwsResponse;
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
@@ -11,10 +13,11 @@ import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.codeartifact.common.CachingProxyClient;
+import software.amazon.codeartifact.common.StabilizationDelay;
 
 
 public class CreateHandler extends BaseHandlerStd {
-    private static final int CALLBACK_DELAY_SECONDS = 10;
     private Logger logger;
 
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -36,10 +39,17 @@ public class CreateHandler extends BaseHandlerStd {
         // Setting primaryId first in case rollback occurs, we need the Id to be able to rollback
         setPrimaryIdentifier(request, model);
 
+        // Create reads the whole repository back, what its mutations return is not used
+        final MutationResponses mutations = new MutationResponses();
         return ProgressEvent.progress(request.getDesiredResourceState(), callbackContext)
             .then(progress -> createRepository(proxy, request, progress, proxyClient))
-            .then(progress -> putRepositoryPermissionsPolicy(proxy, progress, callbackContext, request, proxyClient, logger))
-            .then(progress -> associateExternalConnections(progress, callbackContext, request, proxyClient, externalConnectionsToAdd, logger))
+            // A re-invoked handler resumes at the first step the callback context doesn't record as completed
+            .then(progress -> resumeAt(progress, callbackContext::isPolicyApplied, callbackContext::setPolicyApplied,
+                p -> putRepositoryPermissionsPolicy(proxy, p, callbackContext, request, proxyClient, mutations, logger)))
+            .then(progress -> resumeAt(progress, callbackContext::isExternalConnectionsAssociated,
+                callbackContext::setExternalConnectionsAssociated,
+                p -> associateExternalConnections(p, callbackContext, request, proxyClient, externalConnectionsToAdd,
+                    mutations, logger)))
             .then(progress -> new ReadHandler().handleRequest(proxy, request, callbackContext, proxyClient, logger));
     }
 
@@ -65,19 +75,40 @@ public class CreateHandler extends BaseHandlerStd {
     ) {
         CallbackContext callbackContext = progress.getCallbackContext();
 
-        if (callbackContext.isCreated()) {
+        if (callbackContext.isStabilized()) {
             // This happens when handler gets called again during callback delay or the handler is retrying for
             // a Retriable exception after repository was created already. This will prevent 409s on retry.
             // https://code.amazon.com/packages/AWSCloudFormationRPDKJavaPlugin/blobs/mainline/--/src/main/java/software/amazon/cloudformation/proxy/HandlerErrorCode.java
             return ProgressEvent.progress(progress.getResourceModel(), callbackContext);
         }
 
+        final ResourceModel desiredModel = progress.getResourceModel();
+        final UpstreamGraph upstreamGraph =
+            new UpstreamGraph(proxyClient, request.getAwsAccountId(), request.getRegion(),
+                desiredModel.getDomainName(), desiredModel.getDomainOwner());
+        final boolean createdBefore = callbackContext.isCreated();
+        if (!createdBefore) {
+            // Reject an invalid upstream change before the repository exists and would have to be rolled back
+            upstreamGraph.validate(desiredModel.getRepositoryName(), desiredModel.getUpstreams(),
+                Collections.emptyList());
+        }
+
+        final long createStartedAt = System.nanoTime();
         return proxy.initiate("AWS-CodeArtifact-Repository::Create", proxyClient, progress.getResourceModel(), callbackContext)
             .translateToServiceRequest((model) -> Translator.translateToCreateRequest(model, request.getDesiredResourceTags()))
+            // Poll in-process with a backoff adapted to how long repositories have taken to stabilize so far. The
+            // proxy only returns IN_PROGRESS with a callback when the remaining invocation time can't cover the next
+            // poll; the re-invoked handler then skips createRepository and resumes polling until the isStabilized
+            // flag is set, before continuing down the chain.
+            .backoffDelay(StabilizationDelay.adaptive())
             .makeServiceCall((awsRequest, client) -> {
+                if (callbackContext.isCreated()) {
+                    return null;
+                }
                 AwsResponse awsResponse = null;
                 try {
                     awsResponse = client.injectCredentialsAndInvokeV2(awsRequest, client.client()::createRepository);
+                    upstreamGraph.invalidate(awsRequest.repository());
                 } catch (final AwsServiceException e) {
                     String repositoryName = progress.getResourceModel().getRepositoryName();
                     Translator.throwCfnException(e, Constants.CREATE_REPOSITORY, repositoryName);
@@ -86,13 +117,17 @@ public class CreateHandler extends BaseHandlerStd {
                 callbackContext.setCreated(true);
                 return awsResponse;
             })
-            .stabilize((awsRequest, awsResponse, client, model, context) -> isStabilized(model, client))
-            // This Callback delay will return IN_PROGRESS and wait a certain amount of seconds and then retry
-            // the whole CreateHandler chain. We are doing this to wait for eventual consistencies.
-            // Since we are setting the isCreated flag in the callback context
-            // the handler will not try to re-create the repository but will skip createRepository and continue down
-            // the chain.
-            .progress(CALLBACK_DELAY_SECONDS);
+            .stabilize((awsRequest, awsResponse, client, model, context) -> {
+                final boolean stabilized = isStabilized(model, CachingProxyClient.refreshing(client));
+                if (stabilized) {
+                    context.setStabilized(true);
+                    if (!createdBefore) {
+                        StabilizationDelay.record(Duration.ofNanos(System.nanoTime() - createStartedAt));
+                    }
+                }
+                return stabilized;
+            })
+            .progress();
     }
 
     private boolean hasReadOnlyProperties(final ResourceModel model) {
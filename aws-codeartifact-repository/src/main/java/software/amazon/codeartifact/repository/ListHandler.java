@@ -1,14 +1,24 @@
 package software.amazon.codeartifact.repository;
 
+import java.util.List;
+
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
-import software.amazon.awssdk.services.codeartifact.model.AccessDeniedException;
+import software.amazon.awssdk.services.codeartifact.CodeartifactClient;
+import software.amazon.awssdk.services.codeartifact.model.ListRepositoriesInDomainRequest;
+import software.amazon.awssdk.services.codeartifact.model.ListRepositoriesInDomainResponse;
 import software.amazon.awssdk.services.codeartifact.model.ListRepositoriesRequest;
 import software.amazon.awssdk.services.codeartifact.model.ListRepositoriesResponse;
+import software.amazon.cloudformation.exceptions.CfnNotFoundException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
-import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.codeartifact.common.AdaptiveRateLimiter;
+import software.amazon.codeartifact.common.ApiMetrics;
+import software.amazon.codeartifact.common.HydratedList;
+import software.amazon.codeartifact.common.MeteredProxyClient;
+import software.amazon.codeartifact.common.RateLimitedProxyClient;
 
 public class ListHandler extends BaseHandler<CallbackContext> {
 
@@ -19,20 +29,100 @@ public class ListHandler extends BaseHandler<CallbackContext> {
         final CallbackContext callbackContext,
         final Logger logger) {
 
-        final ListRepositoriesRequest awsRequest = Translator.translateToListRequest(request.getNextToken());
+        final String pageToken = HydratedList.pageToken(request.getNextToken());
+        final ApiMetrics metrics = new ApiMetrics(ResourceModel.TYPE_NAME, getClass().getSimpleName());
+        final AdaptiveRateLimiter rateLimiter =
+            AdaptiveRateLimiter.forAccount(request.getAwsAccountId(), request.getRegion());
+        // Every call of this invocation shares its deadline
+        final long deadlineNanos = rateLimiter.deadline();
+        final HydratedList<ResourceModel, CallbackContext> hydratedList =
+            HydratedList.until(ResourceModel.TYPE_NAME, deadlineNanos);
+        try {
+            final ResourceModel model = request.getDesiredResourceState();
+            final List<ResourceModel> listed;
+            final String nextPageToken;
+            // When the domain is known only its repositories are listed, so the number of pages is proportional to
+            // that domain rather than to every repository in the account.
+            if (model != null && model.getDomainName() != null) {
+                final ListRepositoriesInDomainResponse response =
+                    listRepositoriesInDomain(proxy, model, pageToken, metrics, rateLimiter, deadlineNanos);
+                listed = Translator.translateFromListInDomainRequest(response);
+                nextPageToken = response.nextToken();
+            } else {
+                final ListRepositoriesResponse response =
+                    listRepositories(proxy, pageToken, metrics, rateLimiter, deadlineNanos);
+                listed = Translator.translateFromListRequest(response);
+                nextPageToken = response.nextToken();
+            }
+
+            final ProxyClient<CodeartifactClient> proxyClient = new RateLimitedProxyClient<>(
+                new MeteredProxyClient<>(proxy.newProxy(ClientBuilder::getClient), metrics),
+                rateLimiter, deadlineNanos);
+            return hydratedList.hydrate(listed, HydratedList.offset(request.getNextToken()), pageToken, nextPageToken,
+                repository -> read(proxy, request, repository, proxyClient, logger), logger);
+        } finally {
+            metrics.flush(logger);
+        }
+    }
+
+    private ListRepositoriesResponse listRepositories(
+        final AmazonWebServicesClientProxy proxy,
+        final String pageToken,
+        final ApiMetrics metrics,
+        final AdaptiveRateLimiter rateLimiter,
+        final long deadlineNanos
+    ) {
+        final ListRepositoriesRequest awsRequest = Translator.translateToListRequest(pageToken);
 
         ListRepositoriesResponse response = null;
         try {
-            response = proxy.injectCredentialsAndInvokeV2(awsRequest, ClientBuilder.getClient()::listRepositories);
+            response = metrics.time(awsRequest, () -> rateLimiter.call(
+                () -> proxy.injectCredentialsAndInvokeV2(awsRequest, ClientBuilder.getClient()::listRepositories),
+                deadlineNanos));
         } catch (AwsServiceException e) {
             Translator.throwCfnException(e, Constants.LIST_REPOSITORIES, null);
         }
-        String nextToken = response.nextToken();
+        return response;
+    }
+
+    private ListRepositoriesInDomainResponse listRepositoriesInDomain(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceModel model,
+        final String pageToken,
+        final ApiMetrics metrics,
+        final AdaptiveRateLimiter rateLimiter,
+        final long deadlineNanos
+    ) {
+        final ListRepositoriesInDomainRequest awsRequest = Translator.translateToListInDomainRequest(model, pageToken);
 
-        return ProgressEvent.<ResourceModel, CallbackContext>builder()
-            .resourceModels(Translator.translateFromListRequest(response))
-            .nextToken(nextToken)
-            .status(OperationStatus.SUCCESS)
-            .build();
+        ListRepositoriesInDomainResponse response = null;
+        try {
+            response = metrics.time(awsRequest, () -> rateLimiter.call(() -> proxy.injectCredentialsAndInvokeV2(
+                awsRequest, ClientBuilder.getClient()::listRepositoriesInDomain), deadlineNanos));
+        } catch (AwsServiceException e) {
+            Translator.throwCfnException(e, Constants.LIST_REPOSITORIES_IN_DOMAIN, null);
+        }
+        return response;
+    }
+
+    /**
+     * Reads the full model of a listed repository the way the ReadHandler does.
+     * @return the model, or null when the repository was deleted since it was listed
+     */
+    private ResourceModel read(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final ResourceModel listed,
+        final ProxyClient<CodeartifactClient> proxyClient,
+        final Logger logger
+    ) {
+        try {
+            return new ReadHandler().handleRequest(
+                proxy, HydratedList.readRequest(request, listed), new CallbackContext(), proxyClient, logger)
+                .getResourceModel();
+        } catch (final CfnNotFoundException e) {
+            logger.log(String.format("%s %s was deleted since it was listed.", ResourceModel.TYPE_NAME, listed.getArn()));
+            return null;
+        }
     }
 }
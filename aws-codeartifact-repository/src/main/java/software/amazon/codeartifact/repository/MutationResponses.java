@@ -0,0 +1,39 @@
+package software.amazon.codeartifact.repository;
+
+import java.util.Map;
+
+import software.amazon.awssdk.services.codeartifact.model.RepositoryDescription;
+import software.amazon.awssdk.services.codeartifact.model.ResourcePolicy;
+
+/**
+ * Repository state already known from the mutating calls of a single Update. The trailing read builds its model
+ * from this and only goes back to the service for the fields that none of the mutations covered.
+ *
+ * Tags are always read back: the resource can carry stack-level and system tags besides the ones the template
+ * declares, and only the service knows all of them.
+ */
+@lombok.Getter
+class MutationResponses {
+    // Description returned by the most recent call that changed the upstreams, description or external connections.
+    // A call that returns no description clears it, so an earlier response is never mistaken for the current state.
+    private RepositoryDescription repository;
+
+    private boolean policyKnown;
+    private Map<String, Object> permissionsPolicyDocument;
+
+    void repositoryUpdated(final RepositoryDescription repositoryDescription) {
+        this.repository = repositoryDescription;
+    }
+
+    void policyWritten(final ResourcePolicy policy, final Map<String, Object> requestedDocument) {
+        this.policyKnown = true;
+        this.permissionsPolicyDocument = policy != null && policy.document() != null
+            ? Translator.deserializePolicy(policy.document())
+            : requestedDocument;
+    }
+
+    void policyDeleted() {
+        this.policyKnown = true;
+        this.permissionsPolicyDocument = null;
+    }
+}
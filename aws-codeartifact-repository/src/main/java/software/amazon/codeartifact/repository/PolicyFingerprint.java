@@ -0,0 +1,81 @@
+package software.amazon.codeartifact.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+
+/**
+ * Order-insensitive fingerprint of a permissions policy document.
+ *
+ * Two documents get the same fingerprint when they only differ in ways IAM policy evaluation ignores: object key
+ * order, the order of array elements (Statement, Action, Resource, Principal values, condition values), duplicate
+ * array elements, and a single value written as a string versus a one-element array. Whitespace never reaches the
+ * fingerprint since documents are compared in their parsed form.
+ *
+ * Fingerprints are cached per document instance, so the desired and previous documents of a request are only
+ * canonicalized once however often they are compared.
+ */
+final class PolicyFingerprint {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // Weak keys compare by identity, so entries live exactly as long as the document they were computed for.
+    private static final Cache<Map<String, Object>, String> FINGERPRINTS = CacheBuilder.newBuilder()
+        .weakKeys()
+        .maximumSize(1_000)
+        .build();
+
+    private PolicyFingerprint() {
+    }
+
+    static String of(final Map<String, Object> policyDocument) {
+        return FINGERPRINTS.asMap().computeIfAbsent(policyDocument, PolicyFingerprint::compute);
+    }
+
+    static boolean areEquivalent(final Map<String, Object> policyDocument, final Map<String, Object> otherPolicyDocument) {
+        return of(policyDocument).equals(of(otherPolicyDocument));
+    }
+
+    private static String compute(final Map<String, Object> policyDocument) {
+        final String canonical = canonicalize(MAPPER.valueToTree(policyDocument)).toString();
+        return Hashing.sha256().hashString(canonical, StandardCharsets.UTF_8).toString();
+    }
+
+    static JsonNode canonicalize(final JsonNode node) {
+        if (node.isObject()) {
+            final Map<String, JsonNode> sortedFields = new TreeMap<>();
+            final Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                final Map.Entry<String, JsonNode> field = fields.next();
+                sortedFields.put(field.getKey(), canonicalize(field.getValue()));
+            }
+            final ObjectNode canonical = JsonNodeFactory.instance.objectNode();
+            sortedFields.forEach(canonical::set);
+            return canonical;
+        }
+        if (node.isArray()) {
+            // Keyed by serialized form, which drops both duplicates and ordering
+            final Map<String, JsonNode> elements = new TreeMap<>();
+            node.forEach(element -> {
+                final JsonNode canonicalElement = canonicalize(element);
+                elements.putIfAbsent(canonicalElement.toString(), canonicalElement);
+            });
+            if (elements.size() == 1) {
+                return elements.values().iterator().next();
+            }
+            final ArrayNode canonical = JsonNodeFactory.instance.arrayNode();
+            elements.values().forEach(canonical::add);
+            return canonical;
+        }
+        return node;
+    }
+}
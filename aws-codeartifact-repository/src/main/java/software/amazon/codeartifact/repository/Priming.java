@@ -0,0 +1,201 @@
+package software.amazon.codeartifact.repository;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+
+import software.amazon.awssdk.services.codeartifact.CodeartifactClient;
+import software.amazon.awssdk.services.codeartifact.model.DescribeRepositoryRequest;
+import software.amazon.awssdk.services.codeartifact.model.DescribeRepositoryResponse;
+import software.amazon.awssdk.services.codeartifact.model.GetRepositoryPermissionsPolicyRequest;
+import software.amazon.awssdk.services.codeartifact.model.GetRepositoryPermissionsPolicyResponse;
+import software.amazon.awssdk.services.codeartifact.model.ListRepositoriesInDomainResponse;
+import software.amazon.awssdk.services.codeartifact.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.codeartifact.model.ListTagsForResourceResponse;
+import software.amazon.awssdk.services.codeartifact.model.RepositoryDescription;
+import software.amazon.awssdk.services.codeartifact.model.RepositoryExternalConnectionInfo;
+import software.amazon.awssdk.services.codeartifact.model.RepositorySummary;
+import software.amazon.awssdk.services.codeartifact.model.ResourcePolicy;
+import software.amazon.awssdk.services.codeartifact.model.Tag;
+import software.amazon.awssdk.services.codeartifact.model.UpstreamRepositoryInfo;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.cloudformation.resource.Serializer;
+import software.amazon.codeartifact.common.ApiMetrics;
+import software.amazon.codeartifact.common.MeteredProxyClient;
+
+/**
+ * Does the first-use work of an invocation before a SnapStart (CRaC) checkpoint is taken, so environments restored
+ * from the snapshot don't pay for it on their first request. Most of that work is class loading and initialization:
+ * the SDK clients with their endpoint rules and marshallers, the Jackson mappers and their introspection of the
+ * generated ResourceModel, the rpdk proxy, the Immutables ARN classes and the translations of every handler.
+ *
+ * The ReadHandler is run end to end against an offline stand-in of the service, nothing is sent over the network.
+ * The clients built for the function's region are the cached ones the handlers are handed later; they hold no
+ * credentials and open no connection until their first call. Priming is only registered in functions initialized
+ * for SnapStart, anywhere else (on-demand functions, unit tests) registering is a no-op.
+ */
+final class Priming implements Resource {
+    // The global context only holds its resources weakly
+    private static final Priming INSTANCE = new Priming();
+    // Set by Lambda to the way the execution environment is initialized
+    private static final String INITIALIZATION_TYPE = "AWS_LAMBDA_INITIALIZATION_TYPE";
+    private static final String SNAP_START = "snap-start";
+
+    private static final String PARTITION = "aws";
+    private static final String REGION = "us-east-1";
+    private static final String ACCOUNT_ID = "123456789012";
+    private static final String DOMAIN_NAME = "priming-domain";
+    private static final String REPOSITORY_NAME = "priming-repository";
+    private static final String UPSTREAM_NAME = "priming-upstream";
+    private static final String EXTERNAL_CONNECTION = "public:npmjs";
+    private static final String POLICY = "{\"Version\":\"2012-10-17\",\"Statement\":[{\"Effect\":\"Allow\","
+        + "\"Principal\":{\"AWS\":\"arn:aws:iam::123456789012:root\"},\"Action\":\"codeartifact:ReadFromRepository\","
+        + "\"Resource\":\"*\"}]}";
+
+    private Priming() {
+    }
+
+    static void register() {
+        if (SNAP_START.equals(System.getenv(INITIALIZATION_TYPE))) {
+            Core.getGlobalContext().register(INSTANCE);
+        }
+    }
+
+    @Override
+    public void beforeCheckpoint(final Context<? extends Resource> context) {
+        try {
+            prime();
+        } catch (final IOException | RuntimeException e) {
+            // Priming only moves work ahead of the snapshot, the first invocation still does whatever was missed
+        }
+    }
+
+    @Override
+    public void afterRestore(final Context<? extends Resource> context) {
+    }
+
+    /**
+     * Primes the handlers, then builds the clients for the function's region.
+     * @return the result of the primed read, for benchmarks to consume
+     */
+    static ProgressEvent<ResourceModel, CallbackContext> prime() throws IOException {
+        final ProgressEvent<ResourceModel, CallbackContext> event = primeHandlers();
+        ClientBuilder.getClient();
+        return event;
+    }
+
+    /**
+     * Runs the translations of every handler and the ReadHandler against the stand-in, without building a client.
+     * @return the result of the primed read
+     */
+    static ProgressEvent<ResourceModel, CallbackContext> primeHandlers() throws IOException {
+        // The wrapper (de)serializes models and callback contexts with the rpdk serializer
+        final Serializer serializer = new Serializer();
+        final ResourceModel described = Translator.translateFromRepositoryDescription(description());
+        described.setPermissionsPolicyDocument(Translator.deserializePolicy(POLICY));
+        described.setTags(Translator.fromListTagsResponse(Collections.singletonList(tag())));
+        final ResourceModel model = serializer.deserialize(
+            serializer.serialize(described), new TypeReference<ResourceModel>() {});
+        serializer.deserialize(serializer.serialize(new CallbackContext()), new TypeReference<CallbackContext>() {});
+        final ResourceModel previous = BaseHandlerStd.MAPPER.convertValue(model, ResourceModel.class);
+        previous.setDescription(null);
+
+        Translator.translateToCreateRequest(model, Collections.singletonMap(tag().key(), tag().value()));
+        Translator.translateAssociateExternalConnectionsRequest(model, EXTERNAL_CONNECTION);
+        Translator.translatePutPermissionsPolicyRequest(model);
+        Translator.translateToUpdateRepository(model, previous);
+        Translator.translateDisassociateExternalConnectionsRequest(previous, EXTERNAL_CONNECTION);
+        Translator.translateToDeleteRequest(ResourceModel.builder().arn(model.getArn()).build());
+        Translator.translateFromListInDomainRequest(ListRepositoriesInDomainResponse.builder()
+            .repositories(RepositorySummary.builder()
+                .arn(model.getArn())
+                .domainName(DOMAIN_NAME)
+                .domainOwner(ACCOUNT_ID)
+                .name(REPOSITORY_NAME)
+                .build())
+            .build());
+        PolicyFingerprint.of(model.getPermissionsPolicyDocument());
+
+        final LoggerProxy logger = new LoggerProxy();
+        final AmazonWebServicesClientProxy proxy = new AmazonWebServicesClientProxy(
+            logger, new Credentials("accessKey", "secretKey", "token"), () -> Long.MAX_VALUE);
+        final ApiMetrics metrics = new ApiMetrics(ResourceModel.TYPE_NAME, ReadHandler.class.getSimpleName());
+        final ProgressEvent<ResourceModel, CallbackContext> event = new ReadHandler().handleRequest(
+            proxy,
+            ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder()
+                    .domainName(DOMAIN_NAME)
+                    .domainOwner(ACCOUNT_ID)
+                    .repositoryName(REPOSITORY_NAME)
+                    .build())
+                .region(REGION)
+                .awsPartition(PARTITION)
+                .awsAccountId(ACCOUNT_ID)
+                .build(),
+            new CallbackContext(),
+            new MeteredProxyClient<>(proxy.newProxy(StandInClient::new), metrics),
+            logger);
+        metrics.drain();
+        serializer.serialize(event);
+        return event;
+    }
+
+    private static RepositoryDescription description() {
+        return RepositoryDescription.builder()
+            .arn(ArnUtils.repoArn(PARTITION, REGION, ACCOUNT_ID, DOMAIN_NAME, REPOSITORY_NAME).arn())
+            .domainName(DOMAIN_NAME)
+            .domainOwner(ACCOUNT_ID)
+            .name(REPOSITORY_NAME)
+            .description("Repository described while priming")
+            .upstreams(UpstreamRepositoryInfo.builder().repositoryName(UPSTREAM_NAME).build())
+            .externalConnections(RepositoryExternalConnectionInfo.builder()
+                .externalConnectionName(EXTERNAL_CONNECTION)
+                .build())
+            .build();
+    }
+
+    private static Tag tag() {
+        return Tag.builder().key("priming").value("true").build();
+    }
+
+    /**
+     * Answers the calls of the ReadHandler with a fixed repository.
+     */
+    private static class StandInClient implements CodeartifactClient {
+        @Override
+        public DescribeRepositoryResponse describeRepository(final DescribeRepositoryRequest request) {
+            return DescribeRepositoryResponse.builder().repository(description()).build();
+        }
+
+        @Override
+        public GetRepositoryPermissionsPolicyResponse getRepositoryPermissionsPolicy(
+            final GetRepositoryPermissionsPolicyRequest request
+        ) {
+            return GetRepositoryPermissionsPolicyResponse.builder()
+                .policy(ResourcePolicy.builder().resourceArn(description().arn()).document(POLICY).build())
+                .build();
+        }
+
+        @Override
+        public ListTagsForResourceResponse listTagsForResource(final ListTagsForResourceRequest request) {
+            return ListTagsForResourceResponse.builder().tags(tag()).build();
+        }
+
+        @Override
+        public String serviceName() {
+            return SERVICE_NAME;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -12,7 +12,9 @@ import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.codeartifact.common.ConcurrentCalls;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class ReadHandler extends BaseHandlerStd {
     private Logger logger;
@@ -24,14 +26,31 @@ public class ReadHandler extends BaseHandlerStd {
         final ProxyClient<CodeartifactClient> proxyClient,
         final Logger logger) {
 
+        return handleRequest(proxy, request, callbackContext, proxyClient, logger, new MutationResponses());
+    }
+
+    /**
+     * Reads the repository, taking the fields that the given mutation responses already cover from them instead of
+     * reading them back from the service.
+     */
+    ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        final ProxyClient<CodeartifactClient> proxyClient,
+        final Logger logger,
+        final MutationResponses known) {
+
         this.logger = logger;
 
         // STEP 1 [initialize a proxy context]
         logger.log(String.format("%s read handler is being invoked", ResourceModel.TYPE_NAME));
         return ProgressEvent.progress(request.getDesiredResourceState(), callbackContext)
-            .then(progress -> describeRepository(proxy, progress, request, proxyClient))
-            .then(progress -> getRepositoryPolicy(proxy, progress, request, proxyClient))
-            .then(progress -> listTags(proxy, progress, request, proxyClient))
+            .then(progress -> known.getRepository() != null
+                ? ProgressEvent.progress(
+                    Translator.translateFromRepositoryDescription(known.getRepository()), progress.getCallbackContext())
+                : describeRepository(proxy, progress, request, proxyClient))
+            .then(progress -> readPolicyAndTags(progress, request, proxyClient, known))
             .then(progress -> {
                 final ResourceModel model = progress.getResourceModel();
                 return ProgressEvent.defaultSuccessHandler(model);
@@ -39,69 +58,92 @@ public class ReadHandler extends BaseHandlerStd {
 
     }
 
-    private ProgressEvent<ResourceModel, CallbackContext> listTags(
-        AmazonWebServicesClientProxy proxy,
+    private ProgressEvent<ResourceModel, CallbackContext> readPolicyAndTags(
         ProgressEvent<ResourceModel, CallbackContext> progress,
         ResourceHandlerRequest<ResourceModel> request,
-        ProxyClient<CodeartifactClient> proxyClient
+        ProxyClient<CodeartifactClient> proxyClient,
+        MutationResponses known
     ) {
-        return proxy.initiate("AWS-CodeArtifact-Repository::ListTags", proxyClient, progress.getResourceModel(), progress.getCallbackContext())
-            .translateToServiceRequest(Translator::translateToListTagsRequest)
-            .makeServiceCall((awsRequest, client) -> {
-                logger.log(String.format("%s ListTags is being invoked", ResourceModel.TYPE_NAME));
+        final ResourceModel resourceModel = progress.getResourceModel();
 
-                ListTagsForResourceResponse listTagsResponse = null;
-                try {
-                    listTagsResponse = client.injectCredentialsAndInvokeV2(awsRequest, proxyClient.client()::listTagsForResource);
-                } catch (final AwsServiceException e) {
-                    String domainName = request.getDesiredResourceState().getDomainName();
-                    Translator.throwCfnException(e, Constants.LIST_TAGS_FOR_RESOURCE, domainName);
-                }
-                logger.log(String.format("Tags of %s has successfully been read.", ResourceModel.TYPE_NAME));
-                return listTagsResponse;
-            })
-            .done((ListTagsForResourceRequest, listTagsResponse, proxyInvocation, resourceModel, context) -> {
-                if (listTagsResponse != null) {
-                    List<Tag> tags = listTagsResponse.tags();
-                    resourceModel.setTags(Translator.fromListTagsResponse(tags));
-                }
-                return ProgressEvent.progress(resourceModel, context);
-            });
+        // Once the arn is known, the policy and the tags can be read independently, so both calls are issued
+        // together and merged into the model when both have returned.
+        final CompletableFuture<GetRepositoryPermissionsPolicyResponse> policyFuture = known.isPolicyKnown()
+            ? CompletableFuture.completedFuture(null)
+            : readPolicy(resourceModel, request, proxyClient);
+        final CompletableFuture<ListTagsForResourceResponse> tagsFuture =
+            readTags(resourceModel, request, proxyClient);
+
+        final GetRepositoryPermissionsPolicyResponse getRepositoryPermissionsPolicyResponse = ConcurrentCalls.join(policyFuture);
+        final ListTagsForResourceResponse listTagsResponse = ConcurrentCalls.join(tagsFuture);
 
+        if (known.isPolicyKnown()) {
+            resourceModel.setPermissionsPolicyDocument(known.getPermissionsPolicyDocument());
+        } else if (getRepositoryPermissionsPolicyResponse != null) {
+            String repositoryPolicy = getRepositoryPermissionsPolicyResponse.policy().document();
+            resourceModel.setPermissionsPolicyDocument(Translator.deserializePolicy(repositoryPolicy));
+        }
+        if (listTagsResponse != null) {
+            List<Tag> tags = listTagsResponse.tags();
+            resourceModel.setTags(Translator.fromListTagsResponse(tags));
+        }
+        return ProgressEvent.progress(resourceModel, progress.getCallbackContext());
     }
 
-    private ProgressEvent<ResourceModel, CallbackContext> getRepositoryPolicy(
-        AmazonWebServicesClientProxy proxy,
-        ProgressEvent<ResourceModel, CallbackContext> progress,
+    private CompletableFuture<GetRepositoryPermissionsPolicyResponse> readPolicy(
+        ResourceModel resourceModel,
         ResourceHandlerRequest<ResourceModel> request,
         ProxyClient<CodeartifactClient> proxyClient
     ) {
-        return proxy.initiate("AWS-CodeArtifact-Repository::GetRepositoryPolicy", proxyClient,
-            progress.getResourceModel(),
-            progress.getCallbackContext())
-            .translateToServiceRequest(Translator::translateToGetRepositoryPermissionsPolicy)
-            .makeServiceCall((awsRequest, client) -> {
-                logger.log(String.format("%s getRepositoryPolicy is being invoked", ResourceModel.TYPE_NAME));
-                GetRepositoryPermissionsPolicyResponse getRepositoryPermissionsPolicyResponse = null;
-                try {
-                    getRepositoryPermissionsPolicyResponse = client.injectCredentialsAndInvokeV2(awsRequest, proxyClient.client()::getRepositoryPermissionsPolicy);
-                } catch (final ResourceNotFoundException e) {
-                    // Do nothing since there is no policy
-                } catch (final AwsServiceException e) {
-                    String repositoryName = request.getDesiredResourceState().getRepositoryName();
-                    Translator.throwCfnException(e, Constants.GET_REPOSITORY_PERMISSION_POLICY, repositoryName);
-                }
-                logger.log(String.format("Repository policy of %s has successfully been read.", ResourceModel.TYPE_NAME));
-                return getRepositoryPermissionsPolicyResponse;
-            })
-            .done((getRepositoryPermissionsPolicyRequest, getRepositoryPermissionsPolicyResponse, proxyInvocation, resourceModel, context) -> {
-                if (getRepositoryPermissionsPolicyResponse != null) {
-                    String repositoryPolicy = getRepositoryPermissionsPolicyResponse.policy().document();
-                    resourceModel.setPermissionsPolicyDocument(Translator.deserializePolicy(repositoryPolicy));
-                }
-                return ProgressEvent.progress(resourceModel, context);
-            });
+        return ConcurrentCalls.submit(() -> getRepositoryPolicy(resourceModel, request, proxyClient));
+    }
 
+    private CompletableFuture<ListTagsForResourceResponse> readTags(
+        ResourceModel resourceModel,
+        ResourceHandlerRequest<ResourceModel> request,
+        ProxyClient<CodeartifactClient> proxyClient
+    ) {
+        return ConcurrentCalls.submit(() -> listTags(resourceModel, request, proxyClient));
+    }
+
+    private ListTagsForResourceResponse listTags(
+        ResourceModel resourceModel,
+        ResourceHandlerRequest<ResourceModel> request,
+        ProxyClient<CodeartifactClient> proxyClient
+    ) {
+        logger.log(String.format("%s ListTags is being invoked", ResourceModel.TYPE_NAME));
+
+        ListTagsForResourceResponse listTagsResponse = null;
+        try {
+            listTagsResponse = proxyClient.injectCredentialsAndInvokeV2(
+                Translator.translateToListTagsRequest(resourceModel), proxyClient.client()::listTagsForResource);
+        } catch (final AwsServiceException e) {
+            String domainName = request.getDesiredResourceState().getDomainName();
+            Translator.throwCfnException(e, Constants.LIST_TAGS_FOR_RESOURCE, domainName);
+        }
+        logger.log(String.format("Tags of %s has successfully been read.", ResourceModel.TYPE_NAME));
+        return listTagsResponse;
+    }
+
+    private GetRepositoryPermissionsPolicyResponse getRepositoryPolicy(
+        ResourceModel resourceModel,
+        ResourceHandlerRequest<ResourceModel> request,
+        ProxyClient<CodeartifactClient> proxyClient
+    ) {
+        logger.log(String.format("%s getRepositoryPolicy is being invoked", ResourceModel.TYPE_NAME));
+        GetRepositoryPermissionsPolicyResponse getRepositoryPermissionsPolicyResponse = null;
+        try {
+            getRepositoryPermissionsPolicyResponse = proxyClient.injectCredentialsAndInvokeV2(
+                Translator.translateToGetRepositoryPermissionsPolicy(resourceModel),
+                proxyClient.client()::getRepositoryPermissionsPolicy);
+        } catch (final ResourceNotFoundException e) {
+            // Do nothing since there is no policy
+        } catch (final AwsServiceException e) {
+            String repositoryName = request.getDesiredResourceState().getRepositoryName();
+            Translator.throwCfnException(e, Constants.GET_REPOSITORY_PERMISSION_POLICY, repositoryName);
+        }
+        logger.log(String.format("Repository policy of %s has successfully been read.", ResourceModel.TYPE_NAME));
+        return getRepositoryPermissionsPolicyResponse;
     }
 
     private ProgressEvent<ResourceModel, CallbackContext> describeRepository(
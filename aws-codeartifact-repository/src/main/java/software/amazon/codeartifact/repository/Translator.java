@@ -28,14 +28,18 @@ import software.amazon.awssdk.services.codeartifact.model.DescribeRepositoryResp
 import software.amazon.awssdk.services.codeartifact.model.DisassociateExternalConnectionRequest;
 import software.amazon.awssdk.services.codeartifact.model.GetRepositoryPermissionsPolicyRequest;
 import software.amazon.awssdk.services.codeartifact.model.InternalServerException;
+import software.amazon.awssdk.services.codeartifact.model.ListRepositoriesInDomainRequest;
+import software.amazon.awssdk.services.codeartifact.model.ListRepositoriesInDomainResponse;
 import software.amazon.awssdk.services.codeartifact.model.ListRepositoriesRequest;
 import software.amazon.awssdk.services.codeartifact.model.ListRepositoriesResponse;
 import software.amazon.awssdk.services.codeartifact.model.ListTagsForResourceRequest;
 import software.amazon.awssdk.services.codeartifact.model.PutRepositoryPermissionsPolicyRequest;
 import software.amazon.awssdk.services.codeartifact.model.RepositoryDescription;
 import software.amazon.awssdk.services.codeartifact.model.RepositoryExternalConnectionInfo;
+import software.amazon.awssdk.services.codeartifact.model.RepositorySummary;
 import software.amazon.awssdk.services.codeartifact.model.ResourceNotFoundException;
 import software.amazon.awssdk.services.codeartifact.model.ServiceQuotaExceededException;
+import software.amazon.awssdk.services.codeartifact.model.ThrottlingException;
 import software.amazon.awssdk.services.codeartifact.model.Tag;
 import software.amazon.awssdk.services.codeartifact.model.TagResourceRequest;
 import software.amazon.awssdk.services.codeartifact.model.UntagResourceRequest;
@@ -52,6 +56,7 @@ import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
 import software.amazon.cloudformation.exceptions.CfnNotFoundException;
 import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
 import software.amazon.cloudformation.exceptions.CfnServiceLimitExceededException;
+import software.amazon.cloudformation.exceptions.CfnThrottlingException;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 import software.amazon.codeartifact.repository.ResourceModel.ResourceModelBuilder;
 import software.amazon.awssdk.services.codeartifact.model.Tag;
@@ -251,8 +256,15 @@ public class Translator {
   static ResourceModel translateFromReadResponse(
       final DescribeRepositoryResponse describeRepositoryResponse
   ) {
+    return translateFromRepositoryDescription(describeRepositoryResponse.repository());
+  }
 
-    RepositoryDescription repositoryDescription = describeRepositoryResponse.repository();
+  /**
+   * Translates a repository description, as returned by Describe or by any mutating call, into a resource model
+   * @param repositoryDescription repo description
+   * @return model resource model
+   */
+  static ResourceModel translateFromRepositoryDescription(final RepositoryDescription repositoryDescription) {
     ResourceModelBuilder resourceModelBuilder = ResourceModel.builder()
         .arn(repositoryDescription.arn())
         .description(repositoryDescription.description())
@@ -447,7 +459,32 @@ public class Translator {
    * @return list of resource models
    */
   static List<ResourceModel> translateFromListRequest(final ListRepositoriesResponse awsResponse) {
-    return streamOfOrEmpty(awsResponse.repositories())
+    return translateFromRepositorySummaries(awsResponse.repositories());
+  }
+
+  /**
+   * Request to list the repositories of a single domain, optionally only those whose name starts with the
+   * RepositoryName of the model
+   * @param model resource model carrying the domain name, domain owner and optional repository name prefix
+   * @param nextToken token passed to the aws service list resources request
+   * @return awsRequest the aws service request to list resources within aws account
+   */
+  static ListRepositoriesInDomainRequest translateToListInDomainRequest(final ResourceModel model, final String nextToken) {
+    return ListRepositoriesInDomainRequest.builder()
+        .domain(model.getDomainName())
+        .domainOwner(model.getDomainOwner())
+        .repositoryPrefix(model.getRepositoryName())
+        .nextToken(nextToken)
+        .maxResults(Constants.MAX_ITEMS)
+        .build();
+  }
+
+  static List<ResourceModel> translateFromListInDomainRequest(final ListRepositoriesInDomainResponse awsResponse) {
+    return translateFromRepositorySummaries(awsResponse.repositories());
+  }
+
+  private static List<ResourceModel> translateFromRepositorySummaries(final List<RepositorySummary> repositories) {
+    return streamOfOrEmpty(repositories)
         .map(repo -> ResourceModel.builder()
             .arn(repo.arn())
             .build())
@@ -490,6 +527,9 @@ public class Translator {
     if (exception instanceof InternalServerException) {
       throw new CfnServiceInternalErrorException(operation, exception);
     }
+    if (exception instanceof ThrottlingException || exception.isThrottlingException()) {
+      throw new CfnThrottlingException(operation, exception);
+    }
     throw new CfnGeneralServiceException(exception);
   }
 
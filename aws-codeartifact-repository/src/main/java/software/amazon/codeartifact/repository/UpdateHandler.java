@@ -1,9 +1,7 @@
 package software.amazon.codeartifact.repository;
 
-import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -11,17 +9,18 @@ import com.amazonaws.util.CollectionUtils;
 import com.google.common.collect.MapDifference;
 import com.google.common.collect.MapDifference.ValueDifference;
 import com.google.common.collect.Maps;
-import com.google.common.collect.Sets;
 
-import software.amazon.awssdk.awscore.AwsResponse;
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
 import software.amazon.awssdk.services.codeartifact.CodeartifactClient;
 import software.amazon.awssdk.services.codeartifact.model.DeleteRepositoryPermissionsPolicyResponse;
 import software.amazon.awssdk.services.codeartifact.model.DisassociateExternalConnectionRequest;
+import software.amazon.awssdk.services.codeartifact.model.DisassociateExternalConnectionResponse;
+import software.amazon.awssdk.services.codeartifact.model.RepositoryDescription;
 import software.amazon.awssdk.services.codeartifact.model.ResourceNotFoundException;
 import software.amazon.awssdk.services.codeartifact.model.Tag;
 import software.amazon.awssdk.services.codeartifact.model.TagResourceRequest;
 import software.amazon.awssdk.services.codeartifact.model.UntagResourceRequest;
+import software.amazon.awssdk.services.codeartifact.model.UpdateRepositoryResponse;
 import software.amazon.cloudformation.exceptions.CfnNotUpdatableException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
@@ -30,6 +29,7 @@ import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 import software.amazon.awssdk.services.codeartifact.model.Tag;
+import software.amazon.codeartifact.common.CallBatch;
 
 public class UpdateHandler extends BaseHandlerStd {
     private Logger logger;
@@ -51,126 +51,137 @@ public class UpdateHandler extends BaseHandlerStd {
             throw new CfnNotUpdatableException(ResourceModel.TYPE_NAME, desiredModel.getArn());
         }
 
-        ProgressEvent<ResourceModel, CallbackContext> updateRepositoryConnectionsEvent;
-        if (ComparisonUtils.willAddUpstreams(desiredModel, prevModel)) {
-            // If adding upstreams, first remove externalConnections in updateExternalConnections(), then add upstreams
-            // to avoid adding an upstream before removing an external connection
-            updateRepositoryConnectionsEvent = ProgressEvent.progress(request.getDesiredResourceState(), callbackContext)
-                .then(progress -> updateExternalConnections(request, callbackContext, proxyClient, logger))
-                .then(progress -> updateRepository(proxy, desiredModel, prevModel, progress, callbackContext, proxyClient, logger));
-        } else {
-            // If removing upstreams, do it in updateRepository() before adding external connections in
-            // updateExternalConnections(). This is in the case that we are replacing upstreams with external
-            // connections to avoid adding an external connection before the upstream is removed
-            updateRepositoryConnectionsEvent =  ProgressEvent.progress(request.getDesiredResourceState(), callbackContext)
-                .then(progress -> updateRepository(proxy, desiredModel, prevModel, progress, callbackContext, proxyClient, logger))
-                .then(progress -> updateExternalConnections(request, callbackContext, proxyClient, logger));
+        final UpdatePlan plan = UpdatePlan.of(request);
+        logger.log(String.format("%s update plan: %s", ResourceModel.TYPE_NAME, plan));
+
+        final UpstreamGraph upstreamGraph =
+            new UpstreamGraph(proxyClient, request.getAwsAccountId(), request.getRegion(),
+                desiredModel.getDomainName(), desiredModel.getDomainOwner());
+        if (plan.count(UpdatePlan.Operation.UPDATE_REPOSITORY) > 0) {
+            // Reject an invalid upstream change before any step of the plan runs
+            upstreamGraph.validate(desiredModel.getRepositoryName(), desiredModel.getUpstreams(),
+                prevModel.getUpstreams());
+        }
+
+        // What the mutating calls return, so the trailing read doesn't read back the fields they already cover
+        final MutationResponses mutations = new MutationResponses();
+        ProgressEvent<ResourceModel, CallbackContext> updateEvent = ProgressEvent.progress(desiredModel, callbackContext);
+        for (final List<UpdatePlan.Step> batch : plan.batches()) {
+            updateEvent = updateEvent.then(progress -> executeBatch(
+                proxy, batch, plan, progress, callbackContext, request, proxyClient, upstreamGraph, mutations, logger));
         }
-        return updateRepositoryConnectionsEvent
-            .then(progress -> updateRepositoryPermissionsPolicy(proxy, progress, callbackContext, request, proxyClient, logger))
-            .then(progress -> updateTags(proxy, proxyClient, progress, desiredModel, request))
-            .then(progress -> new ReadHandler().handleRequest(proxy, request, callbackContext, proxyClient, logger));
+        return updateEvent
+            .then(progress -> new ReadHandler()
+                .handleRequest(proxy, request, callbackContext, proxyClient, logger, mutations));
     }
 
-    private ProgressEvent<ResourceModel,CallbackContext> updateTags(
+    private ProgressEvent<ResourceModel, CallbackContext> executeBatch(
         final AmazonWebServicesClientProxy proxy,
-        final ProxyClient<CodeartifactClient> proxyClient,
+        final List<UpdatePlan.Step> batch,
+        final UpdatePlan plan,
         final ProgressEvent<ResourceModel, CallbackContext> progress,
-        ResourceModel desiredModel,
-        final ResourceHandlerRequest<ResourceModel> request
+        final CallbackContext callbackContext,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final ProxyClient<CodeartifactClient> proxyClient,
+        final UpstreamGraph upstreamGraph,
+        final MutationResponses mutations,
+        final Logger logger
     ) {
-        String repositoryName = desiredModel.getRepositoryName();
-        String domainName = desiredModel.getDomainName();
-
-        // TODO(jonjara): move this to shared module
-        Map<String, String> desiredResourceTags = request.getDesiredResourceTags();
-        Map<String, String> previousResourceTags = request.getPreviousResourceTags();
-
-        final Set<Tag> desiredSdkTags = new HashSet<>(Translator.translateTagsToSdk(desiredResourceTags));
-        final Set<Tag> previousSdkTags = new HashSet<>(Translator.translateTagsToSdk(previousResourceTags));
-
-        final Set<Tag> setTagsToRemove = Sets.difference(previousSdkTags, desiredSdkTags);
-        final Set<Tag> setTagsToAdd = Sets.difference(desiredSdkTags, previousSdkTags);
-
-        final List<Tag> tagsToRemove = new ArrayList<>(setTagsToRemove);
-        final List<Tag> tagsToAdd = new ArrayList<>(setTagsToAdd);
+        final UpdatePlan.Operation operation = batch.get(0).getOperation();
+        switch (operation) {
+            case DISASSOCIATE_EXTERNAL_CONNECTION:
+                return disassociateExternalConnections(progress, callbackContext, request, proxyClient,
+                    targets(batch), mutations, logger);
+            case UPDATE_REPOSITORY:
+                return updateRepository(proxy, request.getPreviousResourceState(), progress, callbackContext,
+                    proxyClient, upstreamGraph, mutations, logger);
+            case ASSOCIATE_EXTERNAL_CONNECTION:
+                return associateExternalConnections(progress, callbackContext, request, proxyClient,
+                    targets(batch), mutations, logger);
+            case PUT_REPOSITORY_PERMISSIONS_POLICY:
+                return putRepositoryPermissionsPolicy(proxy, progress, callbackContext, request, proxyClient, mutations,
+                    logger);
+            case DELETE_REPOSITORY_PERMISSIONS_POLICY:
+                return deleteRepositoryPermissionsPolicy(proxy, progress, callbackContext, request, proxyClient,
+                    mutations, logger);
+            case UNTAG_RESOURCE:
+                return untagResource(proxy, proxyClient, progress, callbackContext, request, plan.getTagsToRemove());
+            case TAG_RESOURCE:
+                return tagResource(proxy, proxyClient, progress, callbackContext, request, plan.getTagsToAdd());
+            default:
+                throw new IllegalStateException(String.format("Unknown update operation %s", operation));
+        }
+    }
 
-        String domainOwner = desiredModel.getDomainOwner() == null ?
-            request.getAwsAccountId() :
-            desiredModel.getDomainOwner();
+    private static Set<String> targets(final List<UpdatePlan.Step> batch) {
+        return batch.stream()
+            .map(UpdatePlan.Step::getTarget)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
 
+    private ProgressEvent<ResourceModel, CallbackContext> untagResource(
+        final AmazonWebServicesClientProxy proxy,
+        final ProxyClient<CodeartifactClient> proxyClient,
+        final ProgressEvent<ResourceModel, CallbackContext> progress,
+        final CallbackContext callbackContext,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final List<Tag> tagsToRemove
+    ) {
+        final ResourceModel desiredModel = request.getDesiredResourceState();
+        final String repositoryName = desiredModel.getRepositoryName();
         try {
-            // Deletes tags only if tagsToRemove is not empty.
-            if (!CollectionUtils.isNullOrEmpty(tagsToRemove)) {
-                UntagResourceRequest untagRequest
-                    = Translator.untagResourceRequest(request, tagsToRemove, repositoryName, domainName, domainOwner);
-                proxy.injectCredentialsAndInvokeV2(untagRequest, proxyClient.client()::untagResource);
-            }
+            UntagResourceRequest untagRequest = Translator.untagResourceRequest(
+                request, tagsToRemove, repositoryName, desiredModel.getDomainName(), domainOwner(request));
+            proxyClient.injectCredentialsAndInvokeV2(untagRequest, proxyClient.client()::untagResource);
         } catch (AwsServiceException e) {
             Translator.throwCfnException(e, Constants.UNTAG_RESOURCE, repositoryName);
         }
+        return ProgressEvent.progress(progress.getResourceModel(), callbackContext);
+    }
 
+    private ProgressEvent<ResourceModel, CallbackContext> tagResource(
+        final AmazonWebServicesClientProxy proxy,
+        final ProxyClient<CodeartifactClient> proxyClient,
+        final ProgressEvent<ResourceModel, CallbackContext> progress,
+        final CallbackContext callbackContext,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final List<Tag> tagsToAdd
+    ) {
+        final ResourceModel desiredModel = request.getDesiredResourceState();
+        final String repositoryName = desiredModel.getRepositoryName();
         try {
-            // Adds tags only if tagsToAdd is not empty.
-            if (!CollectionUtils.isNullOrEmpty(tagsToAdd)) {
-                TagResourceRequest tagRequest
-                    = Translator.tagResourceRequest(request, tagsToAdd, repositoryName, domainName, domainOwner);
-                proxy.injectCredentialsAndInvokeV2(tagRequest, proxyClient.client()::tagResource);
-            }
+            TagResourceRequest tagRequest = Translator.tagResourceRequest(
+                request, tagsToAdd, repositoryName, desiredModel.getDomainName(), domainOwner(request));
+            proxyClient.injectCredentialsAndInvokeV2(tagRequest, proxyClient.client()::tagResource);
         } catch (AwsServiceException e) {
             Translator.throwCfnException(e, Constants.TAG_RESOURCE, repositoryName);
         }
-
-        return ProgressEvent.progress(progress.getResourceModel(), progress.getCallbackContext());
+        return ProgressEvent.progress(progress.getResourceModel(), callbackContext);
     }
 
-    protected ProgressEvent<ResourceModel, CallbackContext> updateExternalConnections(
-        final ResourceHandlerRequest<ResourceModel> request,
-        final CallbackContext callbackContext,
-        final ProxyClient<CodeartifactClient> proxyClient,
-        final Logger logger
-    ) {
-        ResourceModel desiredModel = request.getDesiredResourceState();
-        ResourceModel previousModel = request.getPreviousResourceState();
-
-        Set<String> requestedExternalConnections = Translator.streamOfOrEmpty(desiredModel.getExternalConnections())
-            .collect(Collectors.toSet());
-
-        Set<String> currentExternalConnections = Translator.streamOfOrEmpty(previousModel.getExternalConnections())
-            .collect(Collectors.toSet());
-
-        return ProgressEvent.progress(request.getDesiredResourceState(), callbackContext)
-            .then(progress -> {
-                Set<String> externalConnectionsToRemove = Sets.difference(currentExternalConnections, requestedExternalConnections);
-                return disassociateExternalConnections(progress, callbackContext, request, proxyClient, externalConnectionsToRemove, logger);
-            })
-            .then(progress -> {
-                Set<String> externalConnectionsToAdd = Sets.difference(requestedExternalConnections, currentExternalConnections);
-                return associateExternalConnections(progress, callbackContext, request, proxyClient, externalConnectionsToAdd, logger);
-            });
+    private String domainOwner(final ResourceHandlerRequest<ResourceModel> request) {
+        final ResourceModel desiredModel = request.getDesiredResourceState();
+        return desiredModel.getDomainOwner() == null ? request.getAwsAccountId() : desiredModel.getDomainOwner();
     }
 
     private ProgressEvent<ResourceModel, CallbackContext> updateRepository(
         final AmazonWebServicesClientProxy proxy,
-        final ResourceModel desiredModel,
         final ResourceModel previousModel,
         final ProgressEvent<ResourceModel, CallbackContext> progress,
         final CallbackContext callbackContext,
         final ProxyClient<CodeartifactClient> proxyClient,
+        final UpstreamGraph upstreamGraph,
+        final MutationResponses mutations,
         Logger logger
     ) {
-
-        if (ComparisonUtils.upstreamsAreEqual(desiredModel, previousModel) &&
-            ComparisonUtils.willNotUpdateDescription(desiredModel, previousModel)) {
-            return ProgressEvent.progress(desiredModel, callbackContext);
-        }
-
         return proxy.initiate("AWS-CodeArtifact-Repository::Update", proxyClient,progress.getResourceModel(), callbackContext)
             .translateToServiceRequest((model) -> Translator.translateToUpdateRepository(model, previousModel))
             .makeServiceCall((awsRequest, client) -> {
-                AwsResponse awsResponse = null;
+                UpdateRepositoryResponse awsResponse = null;
                 try {
                     awsResponse = client.injectCredentialsAndInvokeV2(awsRequest, client.client()::updateRepository);
+                    mutations.repositoryUpdated(awsResponse == null ? null : awsResponse.repository());
+                    upstreamGraph.invalidate(awsRequest.repository());
                 } catch (final AwsServiceException e) {
                     String repositoryName = progress.getResourceModel().getRepositoryName();
                     Translator.throwCfnException(e, Constants.UPDATE_REPOSITORY, repositoryName);
@@ -181,43 +192,28 @@ public class UpdateHandler extends BaseHandlerStd {
             .progress();
     }
 
-    protected ProgressEvent<ResourceModel, CallbackContext> updateRepositoryPermissionsPolicy(
-        final AmazonWebServicesClientProxy proxy,
-        final ProgressEvent<ResourceModel, CallbackContext> progress,
-        final CallbackContext callbackContext,
-        final ResourceHandlerRequest<ResourceModel> request,
-        final ProxyClient<CodeartifactClient> proxyClient,
-        final Logger logger
-    ) {
-        final ResourceModel desiredModel = progress.getResourceModel();
-        if (desiredModel.getPermissionsPolicyDocument() != null) {
-            return putRepositoryPermissionsPolicy(proxy, progress, callbackContext, request, proxyClient, logger);
-        }
-        return deleteRepositoryPermissionsPolicy(proxy, progress, callbackContext, request, proxyClient, logger);
-    }
-
     protected ProgressEvent<ResourceModel, CallbackContext> deleteRepositoryPermissionsPolicy(
         final AmazonWebServicesClientProxy proxy,
         final ProgressEvent<ResourceModel, CallbackContext> progress,
         final CallbackContext callbackContext,
         final ResourceHandlerRequest<ResourceModel> request,
         final ProxyClient<CodeartifactClient> proxyClient,
+        final MutationResponses mutations,
         final Logger logger
     ) {
         final ResourceModel desiredModel = request.getDesiredResourceState();
-        final ResourceModel previousModel = request.getPreviousResourceState();
-
-        if (desiredModel.getPermissionsPolicyDocument() != null || previousModel.getPermissionsPolicyDocument() == null) {
-            return ProgressEvent.progress(desiredModel, callbackContext);
-        }
 
-        return proxy.initiate("AWS-CodeArtifact-Repository::Update::DeleteRepositoryPermissionsPolicy", proxyClient, progress.getResourceModel(), progress.getCallbackContext())
+        return proxy.initiate("AWS-CodeArtifact-Repository::Update::DeleteRepositoryPermissionsPolicy", proxyClient, progress.getResourceModel(), callbackContext)
             .translateToServiceRequest(Translator::translateDeletePermissionsPolicyRequest)
             .makeServiceCall((awsRequest, client) -> {
                 DeleteRepositoryPermissionsPolicyResponse awsResponse = null;
                 try {
                     awsResponse = client.injectCredentialsAndInvokeV2(awsRequest, client.client()::deleteRepositoryPermissionsPolicy);
+                    mutations.policyDeleted();
                     logger.log("Repository permission policy successfully deleted.");
+                } catch (final ResourceNotFoundException e) {
+                    // The repository has no policy, which is the desired state
+                    mutations.policyDeleted();
                 } catch (final AwsServiceException e) {
                     String domainName = desiredModel.getDomainName();
                     Translator.throwCfnException(e, Constants.DELETE_REPOSITORY_POLICY, domainName);
@@ -233,6 +229,7 @@ public class UpdateHandler extends BaseHandlerStd {
         final ResourceHandlerRequest<ResourceModel> request,
         ProxyClient<CodeartifactClient> proxyClient,
         Set<String> externalConnectionsToRemove,
+        final MutationResponses mutations,
         Logger logger
     ) {
         ResourceModel model = request.getDesiredResourceState();
@@ -244,12 +241,12 @@ public class UpdateHandler extends BaseHandlerStd {
             return ProgressEvent.progress(model, callbackContext);
         }
 
-        // Loop is currently not necessary because only 1 external connection is allowed, leaving this in for
-        // when multiple are supported
-        externalConnectionsToRemove.forEach(ec -> {
+        final List<RepositoryDescription> repositories = CallBatch.run(externalConnectionsToRemove, ec -> {
+            DisassociateExternalConnectionResponse disassociateExternalConnectionResponse = null;
             try {
                 DisassociateExternalConnectionRequest disassociateExternalConnectionRequest = Translator.translateDisassociateExternalConnectionsRequest(model, ec);
-                proxyClient.injectCredentialsAndInvokeV2(disassociateExternalConnectionRequest, proxyClient.client()::disassociateExternalConnection);
+                disassociateExternalConnectionResponse = proxyClient.injectCredentialsAndInvokeV2(
+                    disassociateExternalConnectionRequest, proxyClient.client()::disassociateExternalConnection);
             } catch (final ResourceNotFoundException e) {
                 // External Connection has already been removed or doesn't exist
             } catch (final AwsServiceException e) {
@@ -257,7 +254,9 @@ public class UpdateHandler extends BaseHandlerStd {
                 Translator.throwCfnException(e, Constants.DISASSOCIATE_EXTERNAL_CONNECTION, repositoryName);
             }
             logger.log(String.format("Successfully disassociated external connection: %s", ec));
-        });
+            return disassociateExternalConnectionResponse == null ? null : disassociateExternalConnectionResponse.repository();
+        }, MAX_CONCURRENT_EXTERNAL_CONNECTION_CALLS, Constants.DISASSOCIATE_EXTERNAL_CONNECTION, logger);
+        mutations.repositoryUpdated(repositoryAfterBatch(repositories));
 
         return ProgressEvent.<ResourceModel, CallbackContext>builder()
             .resourceModel(model)
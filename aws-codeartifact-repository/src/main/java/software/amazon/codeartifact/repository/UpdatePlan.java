@@ -0,0 +1,157 @@
+package software.amazon.codeartifact.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.google.common.collect.Sets;
+
+import software.amazon.awssdk.services.codeartifact.model.Tag;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+/**
+ * The minimal, ordered list of calls needed to move a repository from its previous to its desired state.
+ *
+ * Connections are changed in the order disassociate external connections, update repository, associate external
+ * connections: an external connection is always removed before upstreams are added, and upstreams are always
+ * removed before an external connection is added. The permissions policy and the tags follow.
+ */
+@lombok.Getter
+@lombok.EqualsAndHashCode
+public class UpdatePlan {
+
+    public enum Operation {
+        DISASSOCIATE_EXTERNAL_CONNECTION(Constants.DISASSOCIATE_EXTERNAL_CONNECTION),
+        UPDATE_REPOSITORY(Constants.UPDATE_REPOSITORY),
+        ASSOCIATE_EXTERNAL_CONNECTION(Constants.ASSOCIATE_EXTERNAL_CONNECTION),
+        PUT_REPOSITORY_PERMISSIONS_POLICY(Constants.PUT_REPOSITORY_POLICY),
+        DELETE_REPOSITORY_PERMISSIONS_POLICY(Constants.DELETE_REPOSITORY_POLICY),
+        UNTAG_RESOURCE(Constants.UNTAG_RESOURCE),
+        TAG_RESOURCE(Constants.TAG_RESOURCE);
+
+        @lombok.Getter
+        private final String apiName;
+
+        Operation(final String apiName) {
+            this.apiName = apiName;
+        }
+
+        boolean isExternalConnectionOperation() {
+            return this == DISASSOCIATE_EXTERNAL_CONNECTION || this == ASSOCIATE_EXTERNAL_CONNECTION;
+        }
+    }
+
+    /**
+     * One service call of the plan. The target is the external connection name for the external connection
+     * operations and null otherwise.
+     */
+    @lombok.Value
+    public static class Step {
+        Operation operation;
+        String target;
+
+        @Override
+        public String toString() {
+            return target == null ? operation.getApiName() : String.format("%s(%s)", operation.getApiName(), target);
+        }
+    }
+
+    private final List<Step> steps;
+    private final List<Tag> tagsToRemove;
+    private final List<Tag> tagsToAdd;
+
+    private UpdatePlan(final List<Step> steps, final List<Tag> tagsToRemove, final List<Tag> tagsToAdd) {
+        this.steps = Collections.unmodifiableList(steps);
+        this.tagsToRemove = Collections.unmodifiableList(tagsToRemove);
+        this.tagsToAdd = Collections.unmodifiableList(tagsToAdd);
+    }
+
+    public static UpdatePlan of(final ResourceHandlerRequest<ResourceModel> request) {
+        final ResourceModel desiredModel = request.getDesiredResourceState();
+        final ResourceModel previousModel = request.getPreviousResourceState();
+        final List<Step> steps = new ArrayList<>();
+
+        final Set<String> desiredExternalConnections = Translator.streamOfOrEmpty(desiredModel.getExternalConnections())
+            .collect(Collectors.toSet());
+        final Set<String> previousExternalConnections = Translator.streamOfOrEmpty(previousModel.getExternalConnections())
+            .collect(Collectors.toSet());
+
+        Sets.difference(previousExternalConnections, desiredExternalConnections).stream()
+            .sorted()
+            .forEach(ec -> steps.add(new Step(Operation.DISASSOCIATE_EXTERNAL_CONNECTION, ec)));
+
+        if (!ComparisonUtils.upstreamsAreEqual(desiredModel, previousModel) ||
+            !ComparisonUtils.willNotUpdateDescription(desiredModel, previousModel)) {
+            steps.add(new Step(Operation.UPDATE_REPOSITORY, null));
+        }
+
+        Sets.difference(desiredExternalConnections, previousExternalConnections).stream()
+            .sorted()
+            .forEach(ec -> steps.add(new Step(Operation.ASSOCIATE_EXTERNAL_CONNECTION, ec)));
+
+        if (desiredModel.getPermissionsPolicyDocument() != null) {
+            if (!ComparisonUtils.policyIsUnchanged(desiredModel, previousModel)) {
+                steps.add(new Step(Operation.PUT_REPOSITORY_PERMISSIONS_POLICY, null));
+            }
+        } else {
+            // Deleted even when the previous model had none, a policy set outside of the stack would stay otherwise
+            steps.add(new Step(Operation.DELETE_REPOSITORY_PERMISSIONS_POLICY, null));
+        }
+
+        final Set<Tag> desiredTags = Translator.translateTagsToSdk(request.getDesiredResourceTags());
+        final Set<Tag> previousTags = Translator.translateTagsToSdk(request.getPreviousResourceTags());
+        final List<Tag> tagsToRemove = sortedByKey(Sets.difference(previousTags, desiredTags));
+        final List<Tag> tagsToAdd = sortedByKey(Sets.difference(desiredTags, previousTags));
+        if (!tagsToRemove.isEmpty()) {
+            steps.add(new Step(Operation.UNTAG_RESOURCE, null));
+        }
+        if (!tagsToAdd.isEmpty()) {
+            steps.add(new Step(Operation.TAG_RESOURCE, null));
+        }
+
+        return new UpdatePlan(steps, tagsToRemove, tagsToAdd);
+    }
+
+    /**
+     * The steps grouped into the batches they are executed in. Consecutive steps of the same external connection
+     * operation form one batch whose calls can run concurrently; every other step is a batch of its own.
+     */
+    public List<List<Step>> batches() {
+        final List<List<Step>> batches = new ArrayList<>();
+        List<Step> batch = null;
+        for (final Step step : steps) {
+            if (batch == null || !step.getOperation().isExternalConnectionOperation()
+                || batch.get(0).getOperation() != step.getOperation()) {
+                batch = new ArrayList<>();
+                batches.add(batch);
+            }
+            batch.add(step);
+        }
+        return batches;
+    }
+
+    public boolean isEmpty() {
+        return steps.isEmpty();
+    }
+
+    /**
+     * Number of planned calls for the given operation.
+     */
+    public long count(final Operation operation) {
+        return steps.stream().filter(step -> step.getOperation() == operation).count();
+    }
+
+    private static List<Tag> sortedByKey(final Set<Tag> tags) {
+        return tags.stream()
+            .sorted(Comparator.comparing(Tag::key))
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public String toString() {
+        return steps.toString();
+    }
+}
@@ -0,0 +1,240 @@
+package software.amazon.codeartifact.repository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.services.codeartifact.CodeartifactClient;
+import software.amazon.awssdk.services.codeartifact.model.DescribeRepositoryRequest;
+import software.amazon.awssdk.services.codeartifact.model.DescribeRepositoryResponse;
+import software.amazon.awssdk.services.codeartifact.model.ResourceNotFoundException;
+import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.codeartifact.common.CachingProxyClient;
+import software.amazon.codeartifact.common.ConcurrentCalls;
+
+/**
+ * The upstream edges of the repositories in a domain, used to reject an upstream change locally instead of sending it
+ * and learning from a ValidationException after other steps of the operation already ran.
+ *
+ * Only the repositories reachable from the upstreams being added are read, one DescribeRepository per repository,
+ * level by level with the calls of a level running concurrently. What was read is cached process-wide for a short
+ * time, keyed by the account and region of the caller as well as the domain, so checks in the same domain share it
+ * and large domains cost only the part of the graph that matters.
+ *
+ * The checks are best effort: when part of the graph can't be read, the change is left for the service to validate.
+ * A cycle found in the cached graph is only reported once the repositories on it were read again from the service and
+ * still form it, so a graph that changed since it was cached doesn't reject a valid change.
+ */
+final class UpstreamGraph {
+    // CodeArtifact quota on the direct upstreams of one repository
+    static final int MAX_DIRECT_UPSTREAMS = 10;
+    static final Duration TTL = Duration.ofSeconds(30);
+
+    private static final Cache<String, List<String>> UPSTREAMS = CacheBuilder.newBuilder()
+        .expireAfterWrite(TTL)
+        .maximumSize(100_000)
+        .build();
+
+    private final ProxyClient<CodeartifactClient> proxyClient;
+    private final String awsAccountId;
+    private final String region;
+    private final String domainName;
+    private final String domainOwner;
+
+    UpstreamGraph(
+        final ProxyClient<CodeartifactClient> proxyClient,
+        final String awsAccountId,
+        final String region,
+        final String domainName,
+        final String domainOwner
+    ) {
+        this.proxyClient = proxyClient;
+        this.awsAccountId = awsAccountId;
+        this.region = region;
+        this.domainName = domainName;
+        this.domainOwner = domainOwner;
+    }
+
+    /**
+     * Validates that the repository can have the desired upstreams, reading the graph only if some upstreams are new.
+     */
+    void validate(
+        final String repositoryName,
+        final Collection<String> desiredUpstreams,
+        final Collection<String> previousUpstreams
+    ) {
+        final Set<String> upstreams = new LinkedHashSet<>(orEmpty(desiredUpstreams));
+        if (upstreams.isEmpty()) {
+            return;
+        }
+        if (upstreams.size() > MAX_DIRECT_UPSTREAMS) {
+            throw new CfnInvalidRequestException(String.format(
+                "Repository %s can have at most %d upstream repositories.", repositoryName, MAX_DIRECT_UPSTREAMS));
+        }
+        if (upstreams.contains(repositoryName)) {
+            throw cycle(repositoryName, repositoryName);
+        }
+        if (new HashSet<>(orEmpty(previousUpstreams)).containsAll(upstreams)) {
+            // Only removals, these can't introduce a cycle
+            return;
+        }
+
+        final Map<String, List<String>> edges = readReachable(upstreams);
+        if (edges == null) {
+            return;
+        }
+        for (String upstream : upstreams) {
+            final List<String> path = path(upstream, repositoryName, edges);
+            if (path != null && isCurrent(path, repositoryName)) {
+                throw cycle(repositoryName, upstream);
+            }
+        }
+    }
+
+    /**
+     * Drops what is cached about a repository, after its upstreams were changed.
+     */
+    void invalidate(final String repositoryName) {
+        UPSTREAMS.invalidate(key(repositoryName));
+    }
+
+    static void invalidateAll() {
+        UPSTREAMS.invalidateAll();
+    }
+
+    // The upstreams of every repository reachable from the given ones, or null if some couldn't be read.
+    private Map<String, List<String>> readReachable(final Set<String> upstreams) {
+        final Map<String, List<String>> edges = new HashMap<>();
+        Set<String> level = upstreams;
+        while (!level.isEmpty()) {
+            final Map<String, CompletableFuture<List<String>>> reads = new HashMap<>();
+            for (String repository : level) {
+                final List<String> cached = UPSTREAMS.getIfPresent(key(repository));
+                if (cached != null) {
+                    edges.put(repository, cached);
+                } else {
+                    reads.put(repository, ConcurrentCalls.submit(() -> describeUpstreams(repository, proxyClient)));
+                }
+            }
+            for (Map.Entry<String, CompletableFuture<List<String>>> read : reads.entrySet()) {
+                final List<String> repositoryUpstreams = ConcurrentCalls.join(read.getValue());
+                if (repositoryUpstreams == null) {
+                    return null;
+                }
+                UPSTREAMS.put(key(read.getKey()), repositoryUpstreams);
+                edges.put(read.getKey(), repositoryUpstreams);
+            }
+
+            final Set<String> next = new HashSet<>();
+            for (String repository : level) {
+                for (String upstream : edges.get(repository)) {
+                    if (!edges.containsKey(upstream)) {
+                        next.add(upstream);
+                    }
+                }
+            }
+            level = next;
+        }
+        return edges;
+    }
+
+    // Whether each repository on the path still has the next one, or the target after the last, as an upstream when
+    // read from the service, past any cached response. What is read replaces what was cached.
+    private boolean isCurrent(final List<String> path, final String target) {
+        final ProxyClient<CodeartifactClient> refreshingClient = CachingProxyClient.refreshing(proxyClient);
+        final List<CompletableFuture<List<String>>> reads = new ArrayList<>();
+        for (String repository : path) {
+            reads.add(ConcurrentCalls.submit(() -> describeUpstreams(repository, refreshingClient)));
+        }
+        boolean current = true;
+        for (int i = 0; i < path.size(); i++) {
+            final List<String> repositoryUpstreams = ConcurrentCalls.join(reads.get(i));
+            if (repositoryUpstreams == null) {
+                current = false;
+                continue;
+            }
+            UPSTREAMS.put(key(path.get(i)), repositoryUpstreams);
+            current &= repositoryUpstreams.contains(i + 1 < path.size() ? path.get(i + 1) : target);
+        }
+        return current;
+    }
+
+    // The upstream names of the repository, empty if it doesn't exist and null if it couldn't be read.
+    private List<String> describeUpstreams(
+        final String repositoryName,
+        final ProxyClient<CodeartifactClient> client
+    ) {
+        final DescribeRepositoryRequest request = DescribeRepositoryRequest.builder()
+            .domain(domainName)
+            .domainOwner(domainOwner)
+            .repository(repositoryName)
+            .build();
+        try {
+            final DescribeRepositoryResponse response =
+                client.injectCredentialsAndInvokeV2(request, client.client()::describeRepository);
+            if (response == null || response.repository() == null) {
+                return null;
+            }
+            return Collections.unmodifiableList(
+                new ArrayList<>(Translator.translateToUpstreamsFromRepoDescription(response.repository())));
+        } catch (final ResourceNotFoundException e) {
+            // The service reports the missing upstream itself
+            return Collections.emptyList();
+        } catch (final AwsServiceException e) {
+            return null;
+        }
+    }
+
+    // The repositories from the given one up to, not including, the target, or null if the target can't be reached.
+    private static List<String> path(final String from, final String target, final Map<String, List<String>> edges) {
+        final Map<String, String> reachedFrom = new HashMap<>();
+        final List<String> pending = new ArrayList<>(Collections.singletonList(from));
+        reachedFrom.put(from, null);
+        while (!pending.isEmpty()) {
+            final String repository = pending.remove(pending.size() - 1);
+            for (String upstream : edges.getOrDefault(repository, Collections.emptyList())) {
+                if (upstream.equals(target)) {
+                    final List<String> path = new ArrayList<>();
+                    for (String step = repository; step != null; step = reachedFrom.get(step)) {
+                        path.add(0, step);
+                    }
+                    return path;
+                }
+                if (!reachedFrom.containsKey(upstream)) {
+                    reachedFrom.put(upstream, repository);
+                    pending.add(upstream);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static CfnInvalidRequestException cycle(final String repositoryName, final String upstream) {
+        return new CfnInvalidRequestException(String.format(
+            "Adding upstream %s to repository %s creates a cycle of upstream repositories.", upstream, repositoryName));
+    }
+
+    // The domain owner defaults to the caller's account, the same way the service resolves it
+    private String key(final String repositoryName) {
+        return String.join("/", Objects.toString(awsAccountId, ""), Objects.toString(region, ""),
+            Objects.toString(domainOwner, Objects.toString(awsAccountId, "")), domainName, repositoryName);
+    }
+
+    private static <T> Collection<T> orEmpty(final Collection<T> collection) {
+        return collection == null ? Collections.emptyList() : collection;
+    }
+}
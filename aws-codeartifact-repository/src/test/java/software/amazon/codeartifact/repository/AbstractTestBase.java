@@ -45,6 +45,8 @@ public class AbstractTestBase {
   protected final String UPSTREAM_1 = "upstream1";
   protected final String NPM_EC = "public:npmjs";
   protected final String PYPI_EC = "public:pypi";
+  protected final String MAVEN_EC = "public:maven-central";
+  protected final String NUGET_EC = "public:nuget-org";
 
   protected final List<software.amazon.awssdk.services.codeartifact.model.Tag> SERVICE_TAGS = ImmutableList.of(
       software.amazon.awssdk.services.codeartifact.model.Tag.builder().key("key1").value("value1").build(),
@@ -110,7 +112,6 @@ public class AbstractTestBase {
     };
   }
 
-
   protected static String getExpectedRepoArn(
       String region,
       String domainOwner,
@@ -37,6 +37,7 @@ import software.amazon.awssdk.services.codeartifact.model.GetRepositoryPermissio
 import software.amazon.awssdk.services.codeartifact.model.GetRepositoryPermissionsPolicyResponse;
 import software.amazon.awssdk.services.codeartifact.model.InternalServerException;
 import software.amazon.awssdk.services.codeartifact.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.codeartifact.model.ListTagsForResourceResponse;
 import software.amazon.awssdk.services.codeartifact.model.PutRepositoryPermissionsPolicyRequest;
 import software.amazon.awssdk.services.codeartifact.model.RepositoryDescription;
 import software.amazon.awssdk.services.codeartifact.model.RepositoryExternalConnectionInfo;
@@ -57,6 +58,7 @@ import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.codeartifact.common.StabilizationDelay;
 
 @ExtendWith(MockitoExtension.class)
 public class CreateHandlerTest extends AbstractTestBase {
@@ -127,6 +129,7 @@ public class CreateHandlerTest extends AbstractTestBase {
 
         CallbackContext context = new CallbackContext();
         context.setCreated(true);
+        context.setStabilized(true);
         final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, context, proxyClient, logger);
 
         assertSuccess(response, desiredOutputModel);
@@ -137,7 +140,7 @@ public class CreateHandlerTest extends AbstractTestBase {
     }
 
     @Test
-    public void handleRequest_SimpleSuccess_callBackDelayInProgress() {
+    public void handleRequest_SimpleSuccess_stabilizesInProcess() {
         final CreateHandler handler = new CreateHandler();
 
         final ResourceModel model = ResourceModel.builder()
@@ -173,25 +176,81 @@ public class CreateHandlerTest extends AbstractTestBase {
             .repository(repositoryDescription)
             .build();
 
-        when(proxyClient.client().describeRepository(any(DescribeRepositoryRequest.class))).thenReturn(describeRepositoryResponse);
+        when(proxyClient.client().getRepositoryPermissionsPolicy(any(GetRepositoryPermissionsPolicyRequest.class))).thenThrow(ResourceNotFoundException.class);
+        when(proxyClient.client().describeRepository(any(DescribeRepositoryRequest.class)))
+            .thenThrow(ResourceNotFoundException.class)
+            .thenReturn(describeRepositoryResponse);
 
         CallbackContext context = new CallbackContext();
         final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, context, proxyClient, logger);
 
         assertThat(response).isNotNull();
-        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
-        assertThat(response.getCallbackDelaySeconds()).isEqualTo(10);
-        assertThat(response.getResourceModels()).isNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(0);
+        assertThat(response.getResourceModel().getArn()).isEqualTo(REPO_ARN_WITH_DOMAIN_OWNER);
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
 
         verify(codeartifactClient).createRepository(any(CreateRepositoryRequest.class));
-        verify(codeartifactClient, times(1)).describeRepository(any(DescribeRepositoryRequest.class));
+        // Two stabilization polls (not found, then found) followed by the trailing read
+        verify(codeartifactClient, times(3)).describeRepository(any(DescribeRepositoryRequest.class));
+        verify(codeartifactClient).getRepositoryPermissionsPolicy(any(GetRepositoryPermissionsPolicyRequest.class));
+        verify(codeartifactClient).listTagsForResource(any(ListTagsForResourceRequest.class));
+        verify(codeartifactClient, atLeastOnce()).serviceName();
+    }
+
+    @Test
+    public void handleRequest_stabilizesInProcess_sleepsBetweenPolls() {
+        final CreateHandler handler = new CreateHandler();
+
+        final ResourceModel model = ResourceModel.builder()
+            .domainName(DOMAIN_NAME)
+            .domainOwner(DOMAIN_OWNER)
+            .repositoryName(REPO_NAME)
+            .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(model)
+            .region(REGION)
+            .awsPartition(PARTITION)
+            .awsAccountId(DOMAIN_OWNER)
+            .build();
+
+        final RepositoryDescription repositoryDescription = RepositoryDescription.builder()
+            .name(REPO_NAME)
+            .arn(REPO_ARN_WITH_DOMAIN_OWNER)
+            .domainOwner(DOMAIN_OWNER)
+            .domainName(DOMAIN_NAME)
+            .build();
+
+        when(proxyClient.client().createRepository(any(CreateRepositoryRequest.class))).thenReturn(
+            CreateRepositoryResponse.builder().repository(repositoryDescription).build());
+        when(proxyClient.client().describeRepository(any(DescribeRepositoryRequest.class)))
+            .thenThrow(ResourceNotFoundException.class)
+            .thenThrow(ResourceNotFoundException.class)
+            .thenReturn(DescribeRepositoryResponse.builder().repository(repositoryDescription).build());
+        when(proxyClient.client().getRepositoryPermissionsPolicy(any(GetRepositoryPermissionsPolicyRequest.class))).thenThrow(ResourceNotFoundException.class);
+
+        final long startedAt = System.nanoTime();
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+        final Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(0);
+        // The real proxy slept after each of the two polls that didn't find the repository
+        assertThat(elapsed).isGreaterThanOrEqualTo(StabilizationDelay.MIN_DELAY.multipliedBy(2));
+
+        verify(codeartifactClient).createRepository(any(CreateRepositoryRequest.class));
+        // Three stabilization polls (not found twice, then found) followed by the trailing read
+        verify(codeartifactClient, times(4)).describeRepository(any(DescribeRepositoryRequest.class));
+        verify(codeartifactClient).getRepositoryPermissionsPolicy(any(GetRepositoryPermissionsPolicyRequest.class));
+        verify(codeartifactClient).listTagsForResource(any(ListTagsForResourceRequest.class));
         verify(codeartifactClient, atLeastOnce()).serviceName();
     }
 
     @Test
-    public void handleRequest_SimpleSuccess_callBackDelayInProgress_withTags() {
+    public void handleRequest_SimpleSuccess_stabilizesInProcess_withTags() {
         final CreateHandler handler = new CreateHandler();
 
         final ResourceModel model = ResourceModel.builder()
@@ -236,20 +295,25 @@ public class CreateHandlerTest extends AbstractTestBase {
             .build();
 
         when(proxyClient.client().describeRepository(any(DescribeRepositoryRequest.class))).thenReturn(describeRepositoryResponse);
+        when(proxyClient.client().getRepositoryPermissionsPolicy(any(GetRepositoryPermissionsPolicyRequest.class))).thenThrow(ResourceNotFoundException.class);
+        when(proxyClient.client().listTagsForResource(any(ListTagsForResourceRequest.class)))
+            .thenReturn(ListTagsForResourceResponse.builder().tags(SERVICE_TAGS).build());
 
         CallbackContext context = new CallbackContext();
         final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, context, proxyClient, logger);
 
         assertThat(response).isNotNull();
-        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
-        assertThat(response.getResourceModel()).isEqualTo(desiredOutputModel);
-        assertThat(response.getCallbackDelaySeconds()).isEqualTo(10);
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel().getTags()).isEqualTo(desiredOutputModel.getTags());
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(0);
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
 
         verify(codeartifactClient).createRepository(any(CreateRepositoryRequest.class));
-        verify(codeartifactClient, times(1)).describeRepository(any(DescribeRepositoryRequest.class));
+        verify(codeartifactClient, times(2)).describeRepository(any(DescribeRepositoryRequest.class));
+        verify(codeartifactClient).getRepositoryPermissionsPolicy(any(GetRepositoryPermissionsPolicyRequest.class));
+        verify(codeartifactClient).listTagsForResource(any(ListTagsForResourceRequest.class));
         verify(codeartifactClient, atLeastOnce()).serviceName();
 
 
@@ -259,7 +323,6 @@ public class CreateHandlerTest extends AbstractTestBase {
         verify(codeartifactClient).createRepository(createRepositoryRequestArgumentCaptor.capture());
         CreateRepositoryRequest createRepositoryRequestValue = createRepositoryRequestArgumentCaptor.getValue();
 
-        verify(codeartifactClient, times(1)).describeRepository(any(DescribeRepositoryRequest.class));
         verify(codeartifactClient, never()).putRepositoryPermissionsPolicy(any(PutRepositoryPermissionsPolicyRequest.class));
 
         assertThat(createRepositoryRequestValue.tags().equals(SERVICE_TAGS));
@@ -314,6 +377,7 @@ public class CreateHandlerTest extends AbstractTestBase {
 
         CallbackContext context = new CallbackContext();
         context.setCreated(true);
+        context.setStabilized(true);
 
         final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, context, proxyClient, logger);
         assertSuccess(response, desiredOutputModel);
@@ -375,6 +439,7 @@ public class CreateHandlerTest extends AbstractTestBase {
 
         CallbackContext context = new CallbackContext();
         context.setCreated(true);
+        context.setStabilized(true);
         final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, context, proxyClient, logger);
 
         assertSuccess(response, desiredOutputModel);
@@ -445,6 +510,7 @@ public class CreateHandlerTest extends AbstractTestBase {
 
         CallbackContext context = new CallbackContext();
         context.setCreated(true);
+        context.setStabilized(true);
         final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, context, proxyClient, logger);
 
         assertSuccess(response, desiredOutputModel);
@@ -521,6 +587,7 @@ public class CreateHandlerTest extends AbstractTestBase {
 
         CallbackContext context = new CallbackContext();
         context.setCreated(true);
+        context.setStabilized(true);
         final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, context, proxyClient, logger);
 
         assertSuccess(response, desiredOutputModel);
@@ -569,6 +636,7 @@ public class CreateHandlerTest extends AbstractTestBase {
 
         CallbackContext context = new CallbackContext();
         context.setCreated(true);
+        context.setStabilized(true);
         final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, context, proxyClient, logger);
 
         assertThat(response).isNotNull();
@@ -581,6 +649,151 @@ public class CreateHandlerTest extends AbstractTestBase {
     }
 
 
+    @Test
+    public void handleRequest_resumesPollingAfterCallback() {
+        final CreateHandler handler = new CreateHandler();
+
+        final ResourceModel model = ResourceModel.builder()
+            .domainName(DOMAIN_NAME)
+            .domainOwner(DOMAIN_OWNER)
+            .repositoryName(REPO_NAME)
+            .description(DESCRIPTION)
+            .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(model)
+            .region(REGION)
+            .awsPartition(PARTITION)
+            .awsAccountId(DOMAIN_OWNER)
+            .build();
+
+        final RepositoryDescription repositoryDescription = RepositoryDescription.builder()
+            .name(REPO_NAME)
+            .administratorAccount(ADMIN_ACCOUNT)
+            .arn(REPO_ARN_WITH_DOMAIN_OWNER)
+            .description(DESCRIPTION)
+            .domainOwner(DOMAIN_OWNER)
+            .domainName(DOMAIN_NAME)
+            .build();
+
+        when(proxyClient.client().createRepository(any(CreateRepositoryRequest.class))).thenReturn(
+            CreateRepositoryResponse.builder().repository(repositoryDescription).build());
+        when(proxyClient.client().describeRepository(any(DescribeRepositoryRequest.class)))
+            .thenThrow(ResourceNotFoundException.class)
+            .thenThrow(ResourceNotFoundException.class)
+            .thenReturn(DescribeRepositoryResponse.builder().repository(repositoryDescription).build());
+        when(proxyClient.client().getRepositoryPermissionsPolicy(any(GetRepositoryPermissionsPolicyRequest.class))).thenThrow(ResourceNotFoundException.class);
+
+        // No time left to poll in-process, so the proxy hands back to CloudFormation with a callback
+        final AmazonWebServicesClientProxy expiringProxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> 0L);
+        final CallbackContext context = new CallbackContext();
+        final ProgressEvent<ResourceModel, CallbackContext> callback =
+            handler.handleRequest(expiringProxy, request, context, MOCK_PROXY(expiringProxy, codeartifactClient), logger);
+
+        assertThat(callback.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(context.isCreated()).isTrue();
+        assertThat(context.isStabilized()).isFalse();
+        verify(codeartifactClient, never()).listTagsForResource(any(ListTagsForResourceRequest.class));
+
+        // The re-invoked handler polls again rather than moving on to a repository that isn't there yet
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, callback.getCallbackContext(), proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(context.isStabilized()).isTrue();
+
+        verify(codeartifactClient).createRepository(any(CreateRepositoryRequest.class));
+        // A poll before the callback, two after it (not found, then found) and the trailing read
+        verify(codeartifactClient, times(4)).describeRepository(any(DescribeRepositoryRequest.class));
+        verify(codeartifactClient).getRepositoryPermissionsPolicy(any(GetRepositoryPermissionsPolicyRequest.class));
+        verify(codeartifactClient).listTagsForResource(any(ListTagsForResourceRequest.class));
+        verify(codeartifactClient, atLeastOnce()).serviceName();
+    }
+
+    @Test
+    public void handleRequest_resumesAfterCompletedSteps() {
+        final CreateHandler handler = new CreateHandler();
+
+        final ResourceModel model = ResourceModel.builder()
+            .domainName(DOMAIN_NAME)
+            .domainOwner(DOMAIN_OWNER)
+            .repositoryName(REPO_NAME)
+            .permissionsPolicyDocument(TEST_POLICY_DOC_0)
+            .externalConnections(Collections.singletonList(NPM_EC))
+            .description(DESCRIPTION)
+            .build();
+
+        final RepositoryDescription repositoryDescription = RepositoryDescription.builder()
+            .name(REPO_NAME)
+            .administratorAccount(ADMIN_ACCOUNT)
+            .arn(REPO_ARN_WITH_DOMAIN_OWNER)
+            .description(DESCRIPTION)
+            .domainOwner(DOMAIN_OWNER)
+            .domainName(DOMAIN_NAME)
+            .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(model)
+            .region(REGION)
+            .awsPartition(PARTITION)
+            .awsAccountId(DOMAIN_OWNER)
+            .build();
+
+        when(proxyClient.client().getRepositoryPermissionsPolicy(any(GetRepositoryPermissionsPolicyRequest.class))).thenThrow(ResourceNotFoundException.class);
+        when(proxyClient.client().describeRepository(any(DescribeRepositoryRequest.class))).thenReturn(
+            DescribeRepositoryResponse.builder().repository(repositoryDescription).build());
+
+        CallbackContext context = new CallbackContext();
+        context.setCreated(true);
+        context.setStabilized(true);
+        context.setPolicyApplied(true);
+        context.setExternalConnectionsAssociated(true);
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, context, proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+
+        verify(codeartifactClient, never()).putRepositoryPermissionsPolicy(any(PutRepositoryPermissionsPolicyRequest.class));
+        verify(codeartifactClient, never()).associateExternalConnection(any(AssociateExternalConnectionRequest.class));
+        verify(codeartifactClient).describeRepository(any(DescribeRepositoryRequest.class));
+        verify(codeartifactClient).listTagsForResource(any(ListTagsForResourceRequest.class));
+        verify(codeartifactClient, atLeastOnce()).serviceName();
+    }
+
+    @Test
+    public void handleRequest_recordsStepsCompletedBeforeFailure() {
+        final CreateHandler handler = new CreateHandler();
+
+        final ResourceModel model = ResourceModel.builder()
+            .domainName(DOMAIN_NAME)
+            .domainOwner(DOMAIN_OWNER)
+            .repositoryName(REPO_NAME)
+            .permissionsPolicyDocument(TEST_POLICY_DOC_0)
+            .externalConnections(Collections.singletonList(NPM_EC))
+            .description(DESCRIPTION)
+            .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(model)
+            .region(REGION)
+            .awsPartition(PARTITION)
+            .awsAccountId(DOMAIN_OWNER)
+            .build();
+
+        when(proxyClient.client().associateExternalConnection(any(AssociateExternalConnectionRequest.class))).thenThrow(ValidationException.class);
+
+        CallbackContext context = new CallbackContext();
+        context.setCreated(true);
+        context.setStabilized(true);
+        assertThrows(CfnInvalidRequestException.class, () -> handler.handleRequest(proxy, request, context, proxyClient, logger));
+
+        assertThat(context.isPolicyApplied()).isTrue();
+        assertThat(context.isExternalConnectionsAssociated()).isFalse();
+
+        verify(codeartifactClient).putRepositoryPermissionsPolicy(any(PutRepositoryPermissionsPolicyRequest.class));
+        verify(codeartifactClient).associateExternalConnection(any(AssociateExternalConnectionRequest.class));
+        verify(codeartifactClient, atLeastOnce()).serviceName();
+    }
+
     @Test
     public void handleRequest_conflictException() {
         final CreateHandler handler = new CreateHandler();
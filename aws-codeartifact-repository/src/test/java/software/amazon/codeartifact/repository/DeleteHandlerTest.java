@@ -23,7 +23,6 @@ import software.amazon.awssdk.services.codeartifact.model.ConflictException;
 import software.amazon.awssdk.services.codeartifact.model.DeleteRepositoryRequest;
 import software.amazon.awssdk.services.codeartifact.model.DeleteRepositoryResponse;
 import software.amazon.awssdk.services.codeartifact.model.DescribeRepositoryRequest;
-import software.amazon.awssdk.services.codeartifact.model.DescribeRepositoryResponse;
 import software.amazon.awssdk.services.codeartifact.model.InternalServerException;
 import software.amazon.awssdk.services.codeartifact.model.RepositoryDescription;
 import software.amazon.awssdk.services.codeartifact.model.ResourceNotFoundException;
@@ -77,19 +76,14 @@ public class DeleteHandlerTest extends AbstractTestBase {
             .domainOwner(DOMAIN_OWNER)
             .build();
 
-        DeleteRepositoryResponse deleteDomainResponse = DeleteRepositoryResponse.builder()
-            .build();
-
-        when(proxyClient.client().deleteRepository(any(DeleteRepositoryRequest.class))).thenReturn(deleteDomainResponse);
-
-        DescribeRepositoryResponse describeRepositoryResponse = DescribeRepositoryResponse.builder()
+        DeleteRepositoryResponse deleteRepositoryResponse = DeleteRepositoryResponse.builder()
             .repository(repositoryDescription)
             .build();
 
-        // first, when checking if domain exists to be deleted
-        // second, to check if domain has been deleted
+        when(proxyClient.client().deleteRepository(any(DeleteRepositoryRequest.class))).thenReturn(deleteRepositoryResponse);
+
+        // only once, to check if the repository has been deleted
         when(proxyClient.client().describeRepository(any(DescribeRepositoryRequest.class)))
-            .thenReturn(describeRepositoryResponse)
             .thenThrow(ResourceNotFoundException.class);
 
 
@@ -108,7 +102,7 @@ public class DeleteHandlerTest extends AbstractTestBase {
         assertThat(response.getErrorCode()).isNull();
 
         verify(codeartifactClient).deleteRepository(any(DeleteRepositoryRequest.class));
-        verify(codeartifactClient, times(2)).describeRepository(any(DescribeRepositoryRequest.class));
+        verify(codeartifactClient, times(1)).describeRepository(any(DescribeRepositoryRequest.class));
     }
 
     @Test
@@ -119,19 +113,14 @@ public class DeleteHandlerTest extends AbstractTestBase {
             .arn(REPO_ARN_WITH_DOMAIN_OWNER)
             .build();
 
-        DeleteRepositoryResponse deleteDomainResponse = DeleteRepositoryResponse.builder()
-            .build();
-
-        when(proxyClient.client().deleteRepository(any(DeleteRepositoryRequest.class))).thenReturn(deleteDomainResponse);
-
-        DescribeRepositoryResponse describeRepositoryResponse = DescribeRepositoryResponse.builder()
+        DeleteRepositoryResponse deleteRepositoryResponse = DeleteRepositoryResponse.builder()
             .repository(repositoryDescription)
             .build();
 
-        // first, when checking if domain exists to be deleted
-        // second, to check if domain has been deleted
+        when(proxyClient.client().deleteRepository(any(DeleteRepositoryRequest.class))).thenReturn(deleteRepositoryResponse);
+
+        // only once, to check if the repository has been deleted
         when(proxyClient.client().describeRepository(any(DescribeRepositoryRequest.class)))
-            .thenReturn(describeRepositoryResponse)
             .thenThrow(ResourceNotFoundException.class);
 
 
@@ -150,7 +139,7 @@ public class DeleteHandlerTest extends AbstractTestBase {
         assertThat(response.getErrorCode()).isNull();
 
         verify(codeartifactClient).deleteRepository(any(DeleteRepositoryRequest.class));
-        verify(codeartifactClient, times(2)).describeRepository(any(DescribeRepositoryRequest.class));
+        verify(codeartifactClient, times(1)).describeRepository(any(DescribeRepositoryRequest.class));
     }
 
     @Test
@@ -162,9 +151,32 @@ public class DeleteHandlerTest extends AbstractTestBase {
             .domainOwner(DOMAIN_OWNER)
             .build();
 
-        DeleteRepositoryResponse deleteDomainResponse = DeleteRepositoryResponse.builder()
+        when(proxyClient.client().deleteRepository(any(DeleteRepositoryRequest.class)))
+            .thenThrow(ResourceNotFoundException.class);
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(model)
+            .build();
+
+        assertThrows(CfnNotFoundException.class, () ->handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger));
+
+
+        verify(codeartifactClient).deleteRepository(any(DeleteRepositoryRequest.class));
+        verify(codeartifactClient, never()).describeRepository(any(DescribeRepositoryRequest.class));
+    }
+
+    @Test
+    public void handleRequest_emptyDeleteResponse_stabilizes() {
+        final DeleteHandler handler = new DeleteHandler();
+
+        final ResourceModel model = ResourceModel.builder()
+            .domainName(DOMAIN_NAME)
+            .domainOwner(DOMAIN_OWNER)
             .build();
 
+        // Only a ResourceNotFoundException tells that the repository was gone already, not what the response leaves out
+        when(proxyClient.client().deleteRepository(any(DeleteRepositoryRequest.class)))
+            .thenReturn(DeleteRepositoryResponse.builder().build());
         when(proxyClient.client().describeRepository(any(DescribeRepositoryRequest.class)))
             .thenThrow(ResourceNotFoundException.class);
 
@@ -172,10 +184,12 @@ public class DeleteHandlerTest extends AbstractTestBase {
             .desiredResourceState(model)
             .build();
 
-        assertThrows(CfnNotFoundException.class, () ->handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger));
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
 
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel()).isNull();
 
-        verify(codeartifactClient, never()).deleteRepository(any(DeleteRepositoryRequest.class));
+        verify(codeartifactClient).deleteRepository(any(DeleteRepositoryRequest.class));
         verify(codeartifactClient).describeRepository(any(DescribeRepositoryRequest.class));
     }
 
@@ -200,7 +214,7 @@ public class DeleteHandlerTest extends AbstractTestBase {
         }
 
         verify(codeartifactClient).deleteRepository(any(DeleteRepositoryRequest.class));
-        verify(codeartifactClient, times(1)).describeRepository(any(DescribeRepositoryRequest.class));
+        verify(codeartifactClient, never()).describeRepository(any(DescribeRepositoryRequest.class));
     }
 
     @Test
@@ -224,7 +238,7 @@ public class DeleteHandlerTest extends AbstractTestBase {
         }
 
         verify(codeartifactClient).deleteRepository(any(DeleteRepositoryRequest.class));
-        verify(codeartifactClient, times(1)).describeRepository(any(DescribeRepositoryRequest.class));
+        verify(codeartifactClient, never()).describeRepository(any(DescribeRepositoryRequest.class));
     }
 
     @Test
@@ -250,7 +264,7 @@ public class DeleteHandlerTest extends AbstractTestBase {
         }
 
         verify(codeartifactClient).deleteRepository(any(DeleteRepositoryRequest.class));
-        verify(codeartifactClient, times(1)).describeRepository(any(DescribeRepositoryRequest.class));
+        verify(codeartifactClient, never()).describeRepository(any(DescribeRepositoryRequest.class));
     }
 
     @Test
@@ -274,7 +288,7 @@ public class DeleteHandlerTest extends AbstractTestBase {
         }
 
         verify(codeartifactClient).deleteRepository(any(DeleteRepositoryRequest.class));
-        verify(codeartifactClient, times(1)).describeRepository(any(DescribeRepositoryRequest.class));
+        verify(codeartifactClient, never()).describeRepository(any(DescribeRepositoryRequest.class));
     }
 
     @Test
@@ -298,6 +312,6 @@ public class DeleteHandlerTest extends AbstractTestBase {
         }
 
         verify(codeartifactClient).deleteRepository(any(DeleteRepositoryRequest.class));
-        verify(codeartifactClient).describeRepository(any(DescribeRepositoryRequest.class));
+        verify(codeartifactClient, never()).describeRepository(any(DescribeRepositoryRequest.class));
     }
 }
@@ -0,0 +1,50 @@
+package software.amazon.codeartifact.repository;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.codeartifact.model.CreateDomainRequest;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.codeartifact.common.FakeCodeartifactClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HandlerSequenceTest extends AbstractTestBase {
+
+    @Test
+    public void createHandler_eventuallyConsistentRead_stabilizesThenReads() {
+        final FakeCodeartifactClient client = new FakeCodeartifactClient(FakeCodeartifactClient.Settings.builder()
+            .accountId(DOMAIN_OWNER)
+            .region(REGION)
+            .visibilityDelay(Duration.ofMillis(200))
+            .build());
+        client.createDomain(CreateDomainRequest.builder().domain(DOMAIN_NAME).build());
+
+        final AmazonWebServicesClientProxy proxy =
+            new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(ResourceModel.builder()
+                .domainName(DOMAIN_NAME)
+                .domainOwner(DOMAIN_OWNER)
+                .repositoryName(REPO_NAME)
+                .description(DESCRIPTION)
+                .build())
+            .region(REGION)
+            .awsPartition(PARTITION)
+            .awsAccountId(DOMAIN_OWNER)
+            .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = new CreateHandler()
+            .handleRequest(proxy, request, new CallbackContext(), MOCK_PROXY(proxy, client), logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel().getArn()).isEqualTo(REPO_ARN_WITH_DOMAIN_OWNER);
+        assertThat(response.getResourceModel().getDescription()).isEqualTo(DESCRIPTION);
+        assertThat(client.calls("CreateRepository")).isEqualTo(1);
+        // polled until the repository became visible, then read once more by the trailing ReadHandler
+        assertThat(client.calls("DescribeRepository")).isGreaterThanOrEqualTo(2);
+    }
+}
@@ -3,48 +3,63 @@ package software.amazon.codeartifact.repository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.Mock;
+import org.mockito.ArgumentCaptor;
 import org.mockito.junit.jupiter.MockitoExtension;
+import java.time.Duration;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.services.codeartifact.CodeartifactClient;
 import software.amazon.awssdk.services.codeartifact.model.AccessDeniedException;
+import software.amazon.awssdk.services.codeartifact.model.DescribeRepositoryRequest;
+import software.amazon.awssdk.services.codeartifact.model.DescribeRepositoryResponse;
+import software.amazon.awssdk.services.codeartifact.model.GetRepositoryPermissionsPolicyRequest;
 import software.amazon.awssdk.services.codeartifact.model.InternalServerException;
+import software.amazon.awssdk.services.codeartifact.model.ListRepositoriesInDomainRequest;
+import software.amazon.awssdk.services.codeartifact.model.ListRepositoriesInDomainResponse;
 import software.amazon.awssdk.services.codeartifact.model.ListRepositoriesRequest;
 import software.amazon.awssdk.services.codeartifact.model.ListRepositoriesResponse;
+import software.amazon.awssdk.services.codeartifact.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.codeartifact.model.ListTagsForResourceResponse;
+import software.amazon.awssdk.services.codeartifact.model.RepositoryDescription;
 import software.amazon.awssdk.services.codeartifact.model.RepositorySummary;
+import software.amazon.awssdk.services.codeartifact.model.ResourceNotFoundException;
 import software.amazon.awssdk.services.codeartifact.model.ValidationException;
 import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
 import software.amazon.cloudformation.exceptions.CfnGeneralServiceException;
 import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
 import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
-import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
 @ExtendWith(MockitoExtension.class)
-public class ListHandlerTest {
-    public static final String REPO_ARN_0 = "repoArn0";
-    public static final String REPO_ARN_1 = "repoArn1";
+public class ListHandlerTest extends AbstractTestBase {
+    public static final String REPO_ARN_0 = getExpectedRepoArn(REGION, DOMAIN_OWNER, DOMAIN_NAME, "repo0");
+    public static final String REPO_ARN_1 = getExpectedRepoArn(REGION, DOMAIN_OWNER, DOMAIN_NAME, "repo1");
 
-    @Mock
     private AmazonWebServicesClientProxy proxy;
 
-    @Mock
-    private Logger logger;
+    private CodeartifactClient codeartifactClient;
 
     @BeforeEach
     public void setup() {
-        proxy = mock(AmazonWebServicesClientProxy.class);
-        logger = mock(Logger.class);
+        // A real proxy, so the read of each listed repository goes through the call chain of the ReadHandler
+        proxy = spy(new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis()));
+        codeartifactClient = mock(CodeartifactClient.class);
     }
 
     RepositorySummary repoSummary1 = RepositorySummary.builder()
@@ -67,12 +82,14 @@ public class ListHandlerTest {
             .region("us-west-2")
             .build();
 
-        when(proxy.injectCredentialsAndInvokeV2(any(ListRepositoriesRequest.class), any())).thenReturn(
+        doReturn(
             ListRepositoriesResponse.builder()
                 .repositories(repoSummary1, repoSummary2)
                 .nextToken("fakeNextToken")
                 .build()
-        );
+        ).when(proxy).injectCredentialsAndInvokeV2(any(ListRepositoriesRequest.class), any());
+
+        stubReads();
 
         final ProgressEvent<ResourceModel, CallbackContext> response =
             handler.handleRequest(proxy, request, null, logger);
@@ -89,6 +106,147 @@ public class ListHandlerTest {
 
         assertThat(models.get(0).getArn()).isEqualTo(REPO_ARN_0);
         assertThat(models.get(1).getArn()).isEqualTo(REPO_ARN_1);
+        // Each listed repository is read back into a full model
+        assertThat(models).extracting(ResourceModel::getRepositoryName).containsExactly("repo0", "repo1");
+        assertThat(models).allSatisfy(listed -> {
+            assertThat(listed.getDescription()).isEqualTo(DESCRIPTION);
+            assertThat(listed.getTags()).containsExactlyInAnyOrderElementsOf(RESOURCE_MODEL_TAGS);
+        });
+    }
+
+    @Test
+    public void handleRequest_repositoryDeletedSinceListed_isLeftOut() {
+        final ListHandler handler = new ListHandler();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(ResourceModel.builder().build())
+            .build();
+
+        doReturn(
+            ListRepositoriesResponse.builder()
+                .repositories(repoSummary1, repoSummary2)
+                .build()
+        ).when(proxy).injectCredentialsAndInvokeV2(any(ListRepositoriesRequest.class), any());
+        stubReads();
+        when(codeartifactClient.describeRepository(argThat((DescribeRepositoryRequest describe) ->
+            "repo1".equals(describe.repository()))))
+            .thenThrow(ResourceNotFoundException.class);
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModels()).extracting(ResourceModel::getArn).containsExactly(REPO_ARN_0);
+        assertThat(response.getNextToken()).isNull();
+    }
+
+    @Test
+    public void handleRequest_domainKnown_listsRepositoriesInDomain() {
+        final ListHandler handler = new ListHandler();
+
+        final ResourceModel model = ResourceModel.builder()
+            .domainName(DOMAIN_NAME)
+            .domainOwner(DOMAIN_OWNER)
+            .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(model)
+            .nextToken("previousToken")
+            .build();
+
+        doReturn(
+            ListRepositoriesInDomainResponse.builder()
+                .repositories(repoSummary1, repoSummary2)
+                .nextToken("fakeNextToken")
+                .build()
+        ).when(proxy).injectCredentialsAndInvokeV2(any(ListRepositoriesInDomainRequest.class), any());
+
+        stubReads();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getNextToken()).isEqualTo("fakeNextToken");
+        assertThat(response.getResourceModels()).extracting(ResourceModel::getArn).containsExactly(REPO_ARN_0, REPO_ARN_1);
+
+        final ArgumentCaptor<ListRepositoriesInDomainRequest> captor = ArgumentCaptor.forClass(ListRepositoriesInDomainRequest.class);
+        verify(proxy).injectCredentialsAndInvokeV2(captor.capture(), any());
+        assertThat(captor.getValue().domain()).isEqualTo(DOMAIN_NAME);
+        assertThat(captor.getValue().domainOwner()).isEqualTo(DOMAIN_OWNER);
+        assertThat(captor.getValue().repositoryPrefix()).isNull();
+        assertThat(captor.getValue().nextToken()).isEqualTo("previousToken");
+        verify(proxy, never()).injectCredentialsAndInvokeV2(any(ListRepositoriesRequest.class), any());
+    }
+
+    @Test
+    public void handleRequest_domainKnown_filtersByRepositoryNamePrefix() {
+        final ListHandler handler = new ListHandler();
+
+        final ResourceModel model = ResourceModel.builder()
+            .domainName(DOMAIN_NAME)
+            .repositoryName("team-")
+            .build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(model)
+            .build();
+
+        doReturn(
+            ListRepositoriesInDomainResponse.builder()
+                .repositories(repoSummary1)
+                .build()
+        ).when(proxy).injectCredentialsAndInvokeV2(any(ListRepositoriesInDomainRequest.class), any());
+
+        stubReads();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, null, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getNextToken()).isNull();
+        assertThat(response.getResourceModels()).extracting(ResourceModel::getArn).containsExactly(REPO_ARN_0);
+
+        final ArgumentCaptor<ListRepositoriesInDomainRequest> captor = ArgumentCaptor.forClass(ListRepositoriesInDomainRequest.class);
+        verify(proxy).injectCredentialsAndInvokeV2(captor.capture(), any());
+        assertThat(captor.getValue().repositoryPrefix()).isEqualTo("team-");
+        assertThat(captor.getValue().domainOwner()).isNull();
+    }
+
+    // Answers the reads of the listed repositories, which the list returns as full models
+    private void stubReads() {
+        doReturn(MOCK_PROXY(proxy, codeartifactClient)).when(proxy).newProxy(any());
+        when(codeartifactClient.describeRepository(any(DescribeRepositoryRequest.class))).thenAnswer(invocation -> {
+            final DescribeRepositoryRequest describe = invocation.getArgument(0);
+            return DescribeRepositoryResponse.builder()
+                .repository(RepositoryDescription.builder()
+                    .arn(getExpectedRepoArn(REGION, describe.domainOwner(), describe.domain(), describe.repository()))
+                    .name(describe.repository())
+                    .domainName(describe.domain())
+                    .domainOwner(describe.domainOwner())
+                    .description(DESCRIPTION)
+                    .build())
+                .build();
+        });
+        when(codeartifactClient.getRepositoryPermissionsPolicy(any(GetRepositoryPermissionsPolicyRequest.class)))
+            .thenThrow(ResourceNotFoundException.class);
+        when(codeartifactClient.listTagsForResource(any(ListTagsForResourceRequest.class)))
+            .thenReturn(ListTagsForResourceResponse.builder().tags(SERVICE_TAGS).build());
+    }
+
+    @Test
+    public void handleRequest_domainKnown_accessDeniedException() {
+        final ListHandler handler = new ListHandler();
+
+        final ResourceModel model = ResourceModel.builder().domainName(DOMAIN_NAME).build();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(model)
+            .build();
+
+        doThrow(AccessDeniedException.class).when(proxy).injectCredentialsAndInvokeV2(any(ListRepositoriesInDomainRequest.class), any());
+
+        assertThrows(CfnAccessDeniedException.class, () -> handler.handleRequest(proxy, request, null, logger));
     }
 
     @Test
@@ -101,7 +259,7 @@ public class ListHandlerTest {
             .desiredResourceState(model)
             .build();
 
-        when(proxy.injectCredentialsAndInvokeV2(any(ListRepositoriesRequest.class), any())).thenThrow(AccessDeniedException.class);
+        doThrow(AccessDeniedException.class).when(proxy).injectCredentialsAndInvokeV2(any(ListRepositoriesRequest.class), any());
 
 
         assertThrows(CfnAccessDeniedException.class, () -> handler.handleRequest(proxy, request, null, logger));
@@ -117,8 +275,7 @@ public class ListHandlerTest {
             .desiredResourceState(model)
             .build();
 
-        when(proxy.injectCredentialsAndInvokeV2(any(ListRepositoriesRequest.class), any()))
-            .thenThrow(ValidationException.class);
+        doThrow(ValidationException.class).when(proxy).injectCredentialsAndInvokeV2(any(ListRepositoriesRequest.class), any());
 
 
         assertThrows(CfnInvalidRequestException.class, () -> handler.handleRequest(proxy, request, null, logger));
@@ -135,8 +292,7 @@ public class ListHandlerTest {
             .desiredResourceState(model)
             .build();
 
-        when(proxy.injectCredentialsAndInvokeV2(any(ListRepositoriesRequest.class), any()))
-            .thenThrow(InternalServerException.class);
+        doThrow(InternalServerException.class).when(proxy).injectCredentialsAndInvokeV2(any(ListRepositoriesRequest.class), any());
 
 
         assertThrows(CfnServiceInternalErrorException.class, () -> handler.handleRequest(proxy, request, null, logger));
@@ -152,8 +308,7 @@ public class ListHandlerTest {
             .desiredResourceState(model)
             .build();
 
-        when(proxy.injectCredentialsAndInvokeV2(any(ListRepositoriesRequest.class), any()))
-            .thenThrow(AwsServiceException.class);
+        doThrow(AwsServiceException.class).when(proxy).injectCredentialsAndInvokeV2(any(ListRepositoriesRequest.class), any());
 
         assertThrows(CfnGeneralServiceException.class, () -> handler.handleRequest(proxy, request, null, logger));
     }
@@ -0,0 +1,48 @@
+package software.amazon.codeartifact.repository;
+
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PolicyFingerprintTest extends AbstractTestBase {
+
+    private static final String POLICY = "{\"Version\":\"2012-10-17\",\"Statement\":["
+        + "{\"Effect\":\"Allow\",\"Principal\":{\"AWS\":[\"arn:aws:iam::111111111111:root\",\"arn:aws:iam::222222222222:root\"]},"
+        + "\"Action\":[\"codeartifact:ReadFromRepository\",\"codeartifact:DescribePackageVersion\"],\"Resource\":\"*\"},"
+        + "{\"Effect\":\"Deny\",\"Principal\":\"*\",\"Action\":\"codeartifact:DeleteRepository\",\"Resource\":\"*\"}]}";
+
+    // Same policy with statements, arrays and keys reordered, a scalar written as a one-element array, and whitespace
+    private static final String EQUIVALENT_POLICY = "{ \"Statement\": [\n"
+        + "  { \"Resource\": [\"*\"], \"Action\": [\"codeartifact:DeleteRepository\"], \"Principal\": \"*\", \"Effect\": \"Deny\" },\n"
+        + "  { \"Action\": [\"codeartifact:DescribePackageVersion\", \"codeartifact:ReadFromRepository\"],"
+        + "    \"Principal\": { \"AWS\": [\"arn:aws:iam::222222222222:root\", \"arn:aws:iam::111111111111:root\"] },"
+        + "    \"Effect\": \"Allow\", \"Resource\": \"*\" }\n"
+        + "], \"Version\": \"2012-10-17\" }";
+
+    @Test
+    public void areEquivalent_ignoresOrderingAndScalarForms() throws JsonProcessingException {
+        assertThat(PolicyFingerprint.areEquivalent(parse(POLICY), parse(EQUIVALENT_POLICY))).isTrue();
+    }
+
+    @Test
+    public void areEquivalent_detectsChangedAction() throws JsonProcessingException {
+        final String changed = POLICY.replace("codeartifact:DeleteRepository", "codeartifact:DeletePackageVersions");
+
+        assertThat(PolicyFingerprint.areEquivalent(parse(POLICY), parse(changed))).isFalse();
+    }
+
+    @Test
+    public void of_isCachedPerDocument() throws JsonProcessingException {
+        final Map<String, Object> policy = parse(POLICY);
+
+        assertThat(PolicyFingerprint.of(policy)).isSameAs(PolicyFingerprint.of(policy));
+    }
+
+    private static Map<String, Object> parse(final String policy) throws JsonProcessingException {
+        return MAPPER.readValue(policy, new TypeReference<Map<String, Object>>() {});
+    }
+}
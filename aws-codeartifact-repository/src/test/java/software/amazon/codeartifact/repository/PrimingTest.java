@@ -0,0 +1,32 @@
+package software.amazon.codeartifact.repository;
+
+import org.junit.jupiter.api.Test;
+
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PrimingTest {
+
+    @Test
+    public void primeHandlers_readsTheStandInRepository() throws Exception {
+        final ProgressEvent<ResourceModel, CallbackContext> event = Priming.primeHandlers();
+
+        assertThat(event.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        final ResourceModel model = event.getResourceModel();
+        assertThat(model.getArn())
+            .isEqualTo("arn:aws:codeartifact:us-east-1:123456789012:repository/priming-domain/priming-repository");
+        assertThat(model.getUpstreams()).containsExactly("priming-upstream");
+        assertThat(model.getExternalConnections()).containsExactly("public:npmjs");
+        assertThat(model.getPermissionsPolicyDocument()).containsKey("Statement");
+        assertThat(model.getTags()).hasSize(1);
+    }
+
+    @Test
+    public void primeHandlers_canRunRepeatedly() throws Exception {
+        Priming.primeHandlers();
+
+        assertThat(Priming.primeHandlers().getStatus()).isEqualTo(OperationStatus.SUCCESS);
+    }
+}
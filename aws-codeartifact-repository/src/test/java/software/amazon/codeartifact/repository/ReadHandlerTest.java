@@ -20,7 +20,9 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
 import software.amazon.awssdk.services.codeartifact.CodeartifactClient;
+import software.amazon.awssdk.services.codeartifact.model.AccessDeniedException;
 import software.amazon.awssdk.services.codeartifact.model.ConflictException;
 import software.amazon.awssdk.services.codeartifact.model.DescribeRepositoryRequest;
 import software.amazon.awssdk.services.codeartifact.model.DescribeRepositoryResponse;
@@ -33,12 +35,15 @@ import software.amazon.awssdk.services.codeartifact.model.RepositoryDescription;
 import software.amazon.awssdk.services.codeartifact.model.ResourceNotFoundException;
 import software.amazon.awssdk.services.codeartifact.model.ResourcePolicy;
 import software.amazon.awssdk.services.codeartifact.model.ServiceQuotaExceededException;
+import software.amazon.awssdk.services.codeartifact.model.ThrottlingException;
 import software.amazon.awssdk.services.codeartifact.model.ValidationException;
+import software.amazon.cloudformation.exceptions.CfnAccessDeniedException;
 import software.amazon.cloudformation.exceptions.CfnAlreadyExistsException;
 import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
 import software.amazon.cloudformation.exceptions.CfnNotFoundException;
 import software.amazon.cloudformation.exceptions.CfnServiceInternalErrorException;
 import software.amazon.cloudformation.exceptions.CfnServiceLimitExceededException;
+import software.amazon.cloudformation.exceptions.CfnThrottlingException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
@@ -395,6 +400,61 @@ public class ReadHandlerTest extends AbstractTestBase {
         verify(codeartifactClient).describeRepository(any(DescribeRepositoryRequest.class));
     }
 
+    @Test
+    public void handleRequest_throttlingException() {
+        final ReadHandler handler = new ReadHandler();
+
+        final ResourceModel model = ResourceModel.builder()
+            .domainName(DOMAIN_NAME)
+            .domainOwner(DOMAIN_OWNER)
+            .repositoryName(REPO_NAME)
+            .build();
+
+        when(proxyClient.client().describeRepository(any(DescribeRepositoryRequest.class))).thenThrow(
+            ThrottlingException.builder().build());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(model)
+            .build();
+
+        try {
+            handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+            fail("Expected Exception");
+        } catch (CfnThrottlingException e) {
+            //Expected
+        }
+
+        verify(codeartifactClient).describeRepository(any(DescribeRepositoryRequest.class));
+    }
+
+    @Test
+    public void handleRequest_tooManyRequests() {
+        final ReadHandler handler = new ReadHandler();
+
+        final ResourceModel model = ResourceModel.builder()
+            .domainName(DOMAIN_NAME)
+            .domainOwner(DOMAIN_OWNER)
+            .repositoryName(REPO_NAME)
+            .build();
+
+        // Throttling the SDK only recognizes by its status code
+        when(proxyClient.client().describeRepository(any(DescribeRepositoryRequest.class))).thenThrow(
+            AwsServiceException.builder().statusCode(429).build());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(model)
+            .build();
+
+        try {
+            handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+            fail("Expected Exception");
+        } catch (CfnThrottlingException e) {
+            //Expected
+        }
+
+        verify(codeartifactClient).describeRepository(any(DescribeRepositoryRequest.class));
+    }
+
     @Test
     public void handleRequest_notFoundException() {
         final ReadHandler handler = new ReadHandler();
@@ -423,4 +483,32 @@ public class ReadHandlerTest extends AbstractTestBase {
 
         verify(codeartifactClient).describeRepository(any(DescribeRepositoryRequest.class));
     }
+
+    @Test
+    public void handleRequest_listTagsFailsWhilePolicyIsRead() {
+        final ReadHandler handler = new ReadHandler();
+
+        DescribeRepositoryResponse describeRepositoryResponse = DescribeRepositoryResponse.builder()
+            .repository(repositoryDescription)
+            .build();
+
+        when(proxyClient.client().describeRepository(any(DescribeRepositoryRequest.class))).thenReturn(describeRepositoryResponse);
+        when(proxyClient.client().getRepositoryPermissionsPolicy(any(GetRepositoryPermissionsPolicyRequest.class))).thenThrow(ResourceNotFoundException.class);
+        when(proxyClient.client().listTagsForResource(any(ListTagsForResourceRequest.class))).thenThrow(AccessDeniedException.class);
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(model)
+            .build();
+
+        try {
+            handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+            fail("Expected Exception");
+        } catch (CfnAccessDeniedException e) {
+            //Expected
+        }
+
+        verify(codeartifactClient).describeRepository(any(DescribeRepositoryRequest.class));
+        verify(codeartifactClient).getRepositoryPermissionsPolicy(any(GetRepositoryPermissionsPolicyRequest.class));
+        verify(codeartifactClient).listTagsForResource(any(ListTagsForResourceRequest.class));
+    }
 }
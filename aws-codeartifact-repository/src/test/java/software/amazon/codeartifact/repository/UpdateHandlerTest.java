@@ -16,6 +16,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.common.collect.ImmutableList;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -37,9 +38,11 @@ import software.amazon.awssdk.services.codeartifact.model.DisassociateExternalCo
 import software.amazon.awssdk.services.codeartifact.model.GetRepositoryPermissionsPolicyRequest;
 import software.amazon.awssdk.services.codeartifact.model.GetRepositoryPermissionsPolicyResponse;
 import software.amazon.awssdk.services.codeartifact.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.codeartifact.model.ListTagsForResourceResponse;
 import software.amazon.awssdk.services.codeartifact.model.PutRepositoryPermissionsPolicyRequest;
 import software.amazon.awssdk.services.codeartifact.model.RepositoryDescription;
 import software.amazon.awssdk.services.codeartifact.model.RepositoryExternalConnectionInfo;
+import software.amazon.awssdk.services.codeartifact.model.ResourceNotFoundException;
 import software.amazon.awssdk.services.codeartifact.model.ResourcePolicy;
 import software.amazon.awssdk.services.codeartifact.model.TagResourceRequest;
 import software.amazon.awssdk.services.codeartifact.model.UntagResourceRequest;
@@ -55,6 +58,7 @@ import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
 @ExtendWith(MockitoExtension.class)
 public class UpdateHandlerTest extends AbstractTestBase {
+    private static final String STACK_NAME_TAG_KEY = "aws:cloudformation:stack-name";
 
     @Mock
     private AmazonWebServicesClientProxy proxy;
@@ -79,6 +83,7 @@ public class UpdateHandlerTest extends AbstractTestBase {
         proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
         codeartifactClient = mock(CodeartifactClient.class);
         proxyClient = MOCK_PROXY(proxy, codeartifactClient);
+        UpstreamGraph.invalidateAll();
     }
 
     @AfterEach
@@ -163,16 +168,6 @@ public class UpdateHandlerTest extends AbstractTestBase {
             .repository(repositoryDescription)
             .build();
 
-
-        GetRepositoryPermissionsPolicyResponse getRepositoryPermissionsPolicyResponse = GetRepositoryPermissionsPolicyResponse.builder()
-            .policy(
-                ResourcePolicy.builder()
-                    .document(MAPPER.writeValueAsString(TEST_POLICY_DOC_0))
-                    .build()
-            )
-            .build();
-
-        when(proxyClient.client().getRepositoryPermissionsPolicy(any(GetRepositoryPermissionsPolicyRequest.class))).thenReturn(getRepositoryPermissionsPolicyResponse);
         when(proxyClient.client().describeRepository(any(DescribeRepositoryRequest.class))).thenReturn(describeRepositoryResponse);
 
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
@@ -185,7 +180,7 @@ public class UpdateHandlerTest extends AbstractTestBase {
         assertSuccess(response, desiredOutputModel);
 
         verify(codeartifactClient).describeRepository(any(DescribeRepositoryRequest.class));
-        verify(codeartifactClient).getRepositoryPermissionsPolicy(any(GetRepositoryPermissionsPolicyRequest.class));
+        verify(codeartifactClient, never()).getRepositoryPermissionsPolicy(any(GetRepositoryPermissionsPolicyRequest.class));
         verify(codeartifactClient).putRepositoryPermissionsPolicy(any(PutRepositoryPermissionsPolicyRequest.class));
         verify(codeartifactClient).listTagsForResource(any(ListTagsForResourceRequest.class));
     }
@@ -225,11 +220,45 @@ public class UpdateHandlerTest extends AbstractTestBase {
         assertSuccess(response, desiredOutputModel);
 
         verify(codeartifactClient).describeRepository(any(DescribeRepositoryRequest.class));
-        verify(codeartifactClient).getRepositoryPermissionsPolicy(any(GetRepositoryPermissionsPolicyRequest.class));
+        verify(codeartifactClient, never()).getRepositoryPermissionsPolicy(any(GetRepositoryPermissionsPolicyRequest.class));
         verify(codeartifactClient).listTagsForResource(any(ListTagsForResourceRequest.class));
         verify(codeartifactClient).deleteRepositoryPermissionsPolicy(any(DeleteRepositoryPermissionsPolicyRequest.class));
     }
 
+    @Test
+    public void handleRequest_noPolicyBeforeOrAfter_deletesPolicyIfAny() {
+        final UpdateHandler handler = new UpdateHandler();
+
+        final ResourceModel desiredOutputModel = ResourceModel.builder()
+            .domainName(DOMAIN_NAME)
+            .domainOwner(DOMAIN_OWNER)
+            .name(REPO_NAME)
+            .repositoryName(REPO_NAME)
+            .arn(REPO_ARN_WITH_DOMAIN_OWNER)
+            .description(DESCRIPTION)
+            .build();
+
+        when(proxyClient.client().describeRepository(any(DescribeRepositoryRequest.class))).thenReturn(
+            DescribeRepositoryResponse.builder().repository(repositoryDescription).build());
+        // Neither model has a policy, and the repository has none either
+        when(proxyClient.client().deleteRepositoryPermissionsPolicy(any(DeleteRepositoryPermissionsPolicyRequest.class)))
+            .thenThrow(ResourceNotFoundException.class);
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(resourceModel(null))
+            .previousResourceState(resourceModel(null))
+            .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertSuccess(response, desiredOutputModel);
+
+        verify(codeartifactClient).deleteRepositoryPermissionsPolicy(any(DeleteRepositoryPermissionsPolicyRequest.class));
+        verify(codeartifactClient).describeRepository(any(DescribeRepositoryRequest.class));
+        verify(codeartifactClient, never()).getRepositoryPermissionsPolicy(any(GetRepositoryPermissionsPolicyRequest.class));
+        verify(codeartifactClient).listTagsForResource(any(ListTagsForResourceRequest.class));
+    }
+
     @Test
     public void handleRequest_simpleSuccess_withUpstreams() {
         final UpdateHandler handler = new UpdateHandler();
@@ -269,12 +298,11 @@ public class UpdateHandlerTest extends AbstractTestBase {
             .build();
 
         when(proxyClient.client().updateRepository(any(UpdateRepositoryRequest.class))).thenReturn(updateRepositoryResponse);
-
-        DescribeRepositoryResponse describeRepositoryResponse = DescribeRepositoryResponse.builder()
-            .repository(repositoryDescription)
-            .build();
-
-        when(proxyClient.client().describeRepository(any(DescribeRepositoryRequest.class))).thenReturn(describeRepositoryResponse);
+        // the new upstreams are read to validate the upstream graph
+        when(proxyClient.client().describeRepository(any(DescribeRepositoryRequest.class)))
+            .thenReturn(DescribeRepositoryResponse.builder()
+                .repository(RepositoryDescription.builder().domainName(DOMAIN_NAME).build())
+                .build());
 
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
             .desiredResourceState(model)
@@ -285,8 +313,9 @@ public class UpdateHandlerTest extends AbstractTestBase {
 
         assertSuccess(response, desiredOutputModel);
 
-        verify(codeartifactClient).describeRepository(any(DescribeRepositoryRequest.class));
-        verify(codeartifactClient).getRepositoryPermissionsPolicy(any(GetRepositoryPermissionsPolicyRequest.class));
+        verify(codeartifactClient, times(2)).describeRepository(any(DescribeRepositoryRequest.class));
+        verify(codeartifactClient, never()).getRepositoryPermissionsPolicy(any(GetRepositoryPermissionsPolicyRequest.class));
+        verify(codeartifactClient).deleteRepositoryPermissionsPolicy(any(DeleteRepositoryPermissionsPolicyRequest.class));
         verify(codeartifactClient).listTagsForResource(any(ListTagsForResourceRequest.class));
         verify(codeartifactClient).updateRepository(any(UpdateRepositoryRequest.class));
     }
@@ -325,12 +354,6 @@ public class UpdateHandlerTest extends AbstractTestBase {
 
         when(proxyClient.client().updateRepository(any(UpdateRepositoryRequest.class))).thenReturn(updateRepositoryResponse);
 
-        DescribeRepositoryResponse describeRepositoryResponse = DescribeRepositoryResponse.builder()
-            .repository(repositoryDescription)
-            .build();
-
-        when(proxyClient.client().describeRepository(any(DescribeRepositoryRequest.class))).thenReturn(describeRepositoryResponse);
-
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
             .desiredResourceState(model)
             .previousResourceState(resourceModelWithUpstreams())
@@ -344,8 +367,9 @@ public class UpdateHandlerTest extends AbstractTestBase {
 
         assertSuccess(response, desiredOutputModel);
 
-        verify(codeartifactClient).describeRepository(any(DescribeRepositoryRequest.class));
-        verify(codeartifactClient).getRepositoryPermissionsPolicy(any(GetRepositoryPermissionsPolicyRequest.class));
+        verify(codeartifactClient, never()).describeRepository(any(DescribeRepositoryRequest.class));
+        verify(codeartifactClient, never()).getRepositoryPermissionsPolicy(any(GetRepositoryPermissionsPolicyRequest.class));
+        verify(codeartifactClient).deleteRepositoryPermissionsPolicy(any(DeleteRepositoryPermissionsPolicyRequest.class));
         verify(codeartifactClient).listTagsForResource(any(ListTagsForResourceRequest.class));
         verify(codeartifactClient).updateRepository(updateRepositoryRequestArgumentCaptor.capture());
 
@@ -415,7 +439,8 @@ public class UpdateHandlerTest extends AbstractTestBase {
 
         assertSuccess(response, desiredOutputModel);
         verify(codeartifactClient).describeRepository(any(DescribeRepositoryRequest.class));
-        verify(codeartifactClient).getRepositoryPermissionsPolicy(any(GetRepositoryPermissionsPolicyRequest.class));
+        verify(codeartifactClient, never()).getRepositoryPermissionsPolicy(any(GetRepositoryPermissionsPolicyRequest.class));
+        verify(codeartifactClient).deleteRepositoryPermissionsPolicy(any(DeleteRepositoryPermissionsPolicyRequest.class));
         verify(codeartifactClient).listTagsForResource(any(ListTagsForResourceRequest.class));
 
         verify(codeartifactClient).updateRepository(any(UpdateRepositoryRequest.class));
@@ -491,7 +516,8 @@ public class UpdateHandlerTest extends AbstractTestBase {
 
         assertSuccess(response, desiredOutputModel);
         verify(codeartifactClient).describeRepository(any(DescribeRepositoryRequest.class));
-        verify(codeartifactClient).getRepositoryPermissionsPolicy(any(GetRepositoryPermissionsPolicyRequest.class));
+        verify(codeartifactClient, never()).getRepositoryPermissionsPolicy(any(GetRepositoryPermissionsPolicyRequest.class));
+        verify(codeartifactClient).deleteRepositoryPermissionsPolicy(any(DeleteRepositoryPermissionsPolicyRequest.class));
         verify(codeartifactClient).listTagsForResource(any(ListTagsForResourceRequest.class));
 
         //Should first remove upstreams then add external connections
@@ -569,7 +595,8 @@ public class UpdateHandlerTest extends AbstractTestBase {
 
         assertSuccess(response, desiredOutputModel);
         verify(codeartifactClient).describeRepository(any(DescribeRepositoryRequest.class));
-        verify(codeartifactClient).getRepositoryPermissionsPolicy(any(GetRepositoryPermissionsPolicyRequest.class));
+        verify(codeartifactClient, never()).getRepositoryPermissionsPolicy(any(GetRepositoryPermissionsPolicyRequest.class));
+        verify(codeartifactClient).deleteRepositoryPermissionsPolicy(any(DeleteRepositoryPermissionsPolicyRequest.class));
         verify(codeartifactClient).listTagsForResource(any(ListTagsForResourceRequest.class));
 
         //Should first remove upstreams then add external connections
@@ -647,7 +674,8 @@ public class UpdateHandlerTest extends AbstractTestBase {
 
         assertSuccess(response, desiredOutputModel);
         verify(codeartifactClient).describeRepository(any(DescribeRepositoryRequest.class));
-        verify(codeartifactClient).getRepositoryPermissionsPolicy(any(GetRepositoryPermissionsPolicyRequest.class));
+        verify(codeartifactClient, never()).getRepositoryPermissionsPolicy(any(GetRepositoryPermissionsPolicyRequest.class));
+        verify(codeartifactClient).deleteRepositoryPermissionsPolicy(any(DeleteRepositoryPermissionsPolicyRequest.class));
         verify(codeartifactClient).listTagsForResource(any(ListTagsForResourceRequest.class));
         verify(codeartifactClient).updateRepository(any(UpdateRepositoryRequest.class));
         verify(codeartifactClient).associateExternalConnection(any(AssociateExternalConnectionRequest.class));
@@ -702,12 +730,11 @@ public class UpdateHandlerTest extends AbstractTestBase {
             .build();
 
         when(proxyClient.client().updateRepository(any(UpdateRepositoryRequest.class))).thenReturn(updateRepositoryResponse);
-
-        DescribeRepositoryResponse describeRepositoryResponse = DescribeRepositoryResponse.builder()
-            .repository(repositoryDescription)
-            .build();
-
-        when(proxyClient.client().describeRepository(any(DescribeRepositoryRequest.class))).thenReturn(describeRepositoryResponse);
+        // the new upstreams are read to validate the upstream graph
+        when(proxyClient.client().describeRepository(any(DescribeRepositoryRequest.class)))
+            .thenReturn(DescribeRepositoryResponse.builder()
+                .repository(RepositoryDescription.builder().domainName(DOMAIN_NAME).build())
+                .build());
 
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
             .desiredResourceState(model)
@@ -717,8 +744,9 @@ public class UpdateHandlerTest extends AbstractTestBase {
         final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
 
         assertSuccess(response, desiredOutputModel);
-        verify(codeartifactClient).describeRepository(any(DescribeRepositoryRequest.class));
-        verify(codeartifactClient).getRepositoryPermissionsPolicy(any(GetRepositoryPermissionsPolicyRequest.class));
+        verify(codeartifactClient, times(2)).describeRepository(any(DescribeRepositoryRequest.class));
+        verify(codeartifactClient, never()).getRepositoryPermissionsPolicy(any(GetRepositoryPermissionsPolicyRequest.class));
+        verify(codeartifactClient).deleteRepositoryPermissionsPolicy(any(DeleteRepositoryPermissionsPolicyRequest.class));
         verify(codeartifactClient).listTagsForResource(any(ListTagsForResourceRequest.class));
 
         InOrder inOrderVerifier = inOrder(codeartifactClient);
@@ -805,7 +833,8 @@ public class UpdateHandlerTest extends AbstractTestBase {
 
         assertSuccess(response, desiredOutputModel);
         verify(codeartifactClient).describeRepository(any(DescribeRepositoryRequest.class));
-        verify(codeartifactClient).getRepositoryPermissionsPolicy(any(GetRepositoryPermissionsPolicyRequest.class));
+        verify(codeartifactClient, never()).getRepositoryPermissionsPolicy(any(GetRepositoryPermissionsPolicyRequest.class));
+        verify(codeartifactClient).deleteRepositoryPermissionsPolicy(any(DeleteRepositoryPermissionsPolicyRequest.class));
         verify(codeartifactClient).listTagsForResource(any(ListTagsForResourceRequest.class));
 
         verify(codeartifactClient, never()).updateRepository(any(UpdateRepositoryRequest.class));
@@ -870,7 +899,8 @@ public class UpdateHandlerTest extends AbstractTestBase {
 
         assertSuccess(response, expectedOutputModel);
         verify(codeartifactClient).describeRepository(any(DescribeRepositoryRequest.class));
-        verify(codeartifactClient).getRepositoryPermissionsPolicy(any(GetRepositoryPermissionsPolicyRequest.class));
+        verify(codeartifactClient, never()).getRepositoryPermissionsPolicy(any(GetRepositoryPermissionsPolicyRequest.class));
+        verify(codeartifactClient).deleteRepositoryPermissionsPolicy(any(DeleteRepositoryPermissionsPolicyRequest.class));
         verify(codeartifactClient).listTagsForResource(any(ListTagsForResourceRequest.class));
 
         verify(codeartifactClient, never()).updateRepository(any(UpdateRepositoryRequest.class));
@@ -908,7 +938,8 @@ public class UpdateHandlerTest extends AbstractTestBase {
         assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
 
         verify(codeartifactClient).describeRepository(any(DescribeRepositoryRequest.class));
-        verify(codeartifactClient).getRepositoryPermissionsPolicy(any(GetRepositoryPermissionsPolicyRequest.class));
+        verify(codeartifactClient, never()).getRepositoryPermissionsPolicy(any(GetRepositoryPermissionsPolicyRequest.class));
+        verify(codeartifactClient).deleteRepositoryPermissionsPolicy(any(DeleteRepositoryPermissionsPolicyRequest.class));
         verify(codeartifactClient).listTagsForResource(any(ListTagsForResourceRequest.class));
         verify(codeartifactClient, times(2)).associateExternalConnection(any(AssociateExternalConnectionRequest.class));
     }
@@ -931,6 +962,10 @@ public class UpdateHandlerTest extends AbstractTestBase {
             .repositoryName(REPO_NAME)
             .arn(REPO_ARN_WITH_DOMAIN_OWNER)
             .description(DESCRIPTION)
+            .tags(ImmutableList.<Tag>builder()
+                .addAll(RESOURCE_MODEL_TAGS)
+                .add(Tag.builder().key(STACK_NAME_TAG_KEY).value("test-stack").build())
+                .build())
             .build();
 
         // expected Arn domainOwner should be with the passed in domainOwner from the template
@@ -950,6 +985,15 @@ public class UpdateHandlerTest extends AbstractTestBase {
             .build();
 
         when(proxyClient.client().describeRepository(any(DescribeRepositoryRequest.class))).thenReturn(describeRepositoryResponse);
+        // The service also holds the stack-level tag CloudFormation adds, which is not among the desired tags
+        when(proxyClient.client().listTagsForResource(any(ListTagsForResourceRequest.class))).thenReturn(
+            ListTagsForResourceResponse.builder()
+                .tags(ImmutableList.<software.amazon.awssdk.services.codeartifact.model.Tag>builder()
+                    .addAll(SERVICE_TAGS)
+                    .add(software.amazon.awssdk.services.codeartifact.model.Tag.builder()
+                        .key(STACK_NAME_TAG_KEY).value("test-stack").build())
+                    .build())
+                .build());
 
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
             .desiredResourceTags(DESIRED_TAGS_MAP)
@@ -968,7 +1012,8 @@ public class UpdateHandlerTest extends AbstractTestBase {
             = ArgumentCaptor.forClass(TagResourceRequest.class);
 
         verify(codeartifactClient).describeRepository(any(DescribeRepositoryRequest.class));
-        verify(codeartifactClient).getRepositoryPermissionsPolicy(any(GetRepositoryPermissionsPolicyRequest.class));
+        verify(codeartifactClient, never()).getRepositoryPermissionsPolicy(any(GetRepositoryPermissionsPolicyRequest.class));
+        verify(codeartifactClient).deleteRepositoryPermissionsPolicy(any(DeleteRepositoryPermissionsPolicyRequest.class));
         verify(codeartifactClient).listTagsForResource(any(ListTagsForResourceRequest.class));
         verify(codeartifactClient, never()).putRepositoryPermissionsPolicy(any(PutRepositoryPermissionsPolicyRequest.class));
         verify(codeartifactClient).tagResource(tagResourceCaptor.capture());
@@ -1003,6 +1048,7 @@ public class UpdateHandlerTest extends AbstractTestBase {
             .repositoryName(REPO_NAME)
             .arn(expectedRepoArn)
             .description(DESCRIPTION)
+            .tags(RESOURCE_MODEL_TAGS)
             .build();
 
         final RepositoryDescription repositoryDescription = RepositoryDescription.builder()
@@ -1019,6 +1065,8 @@ public class UpdateHandlerTest extends AbstractTestBase {
             .build();
 
         when(proxyClient.client().describeRepository(any(DescribeRepositoryRequest.class))).thenReturn(describeRepositoryResponse);
+        when(proxyClient.client().listTagsForResource(any(ListTagsForResourceRequest.class))).thenReturn(
+            ListTagsForResourceResponse.builder().tags(SERVICE_TAGS).build());
 
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
             .desiredResourceTags(DESIRED_TAGS_MAP)
@@ -1037,7 +1085,8 @@ public class UpdateHandlerTest extends AbstractTestBase {
             = ArgumentCaptor.forClass(TagResourceRequest.class);
 
         verify(codeartifactClient).describeRepository(any(DescribeRepositoryRequest.class));
-        verify(codeartifactClient).getRepositoryPermissionsPolicy(any(GetRepositoryPermissionsPolicyRequest.class));
+        verify(codeartifactClient, never()).getRepositoryPermissionsPolicy(any(GetRepositoryPermissionsPolicyRequest.class));
+        verify(codeartifactClient).deleteRepositoryPermissionsPolicy(any(DeleteRepositoryPermissionsPolicyRequest.class));
         verify(codeartifactClient).listTagsForResource(any(ListTagsForResourceRequest.class));
         verify(codeartifactClient, never()).putRepositoryPermissionsPolicy(any(PutRepositoryPermissionsPolicyRequest.class));
         verify(codeartifactClient).tagResource(tagResourceCaptor.capture());
@@ -1093,7 +1142,8 @@ public class UpdateHandlerTest extends AbstractTestBase {
         assertSuccess(response, desiredOutputModel);
 
         verify(codeartifactClient).describeRepository(any(DescribeRepositoryRequest.class));
-        verify(codeartifactClient).getRepositoryPermissionsPolicy(any(GetRepositoryPermissionsPolicyRequest.class));
+        verify(codeartifactClient, never()).getRepositoryPermissionsPolicy(any(GetRepositoryPermissionsPolicyRequest.class));
+        verify(codeartifactClient).deleteRepositoryPermissionsPolicy(any(DeleteRepositoryPermissionsPolicyRequest.class));
         verify(codeartifactClient).listTagsForResource(any(ListTagsForResourceRequest.class));
         verify(codeartifactClient, never()).putRepositoryPermissionsPolicy(any(PutRepositoryPermissionsPolicyRequest.class));
 
@@ -1171,7 +1221,8 @@ public class UpdateHandlerTest extends AbstractTestBase {
 
 
         verify(codeartifactClient).describeRepository(any(DescribeRepositoryRequest.class));
-        verify(codeartifactClient).getRepositoryPermissionsPolicy(any(GetRepositoryPermissionsPolicyRequest.class));
+        verify(codeartifactClient, never()).getRepositoryPermissionsPolicy(any(GetRepositoryPermissionsPolicyRequest.class));
+        verify(codeartifactClient).deleteRepositoryPermissionsPolicy(any(DeleteRepositoryPermissionsPolicyRequest.class));
         verify(codeartifactClient).listTagsForResource(any(ListTagsForResourceRequest.class));
         verify(codeartifactClient, never()).putRepositoryPermissionsPolicy(any(PutRepositoryPermissionsPolicyRequest.class));
 
@@ -0,0 +1,179 @@
+package software.amazon.codeartifact.repository;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.jupiter.api.Test;
+
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.codeartifact.repository.UpdatePlan.Operation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class UpdatePlanTest extends AbstractTestBase {
+
+    @Test
+    public void of_noChanges_isEmpty() {
+        final UpdatePlan plan = UpdatePlan.of(request(model().build(), model().build()));
+
+        assertThat(plan.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void of_descriptionChange_updatesRepositoryOnce() {
+        final UpdatePlan plan = UpdatePlan.of(request(model().description(DESCRIPTION).build(), model().build()));
+
+        assertThat(operations(plan)).containsExactly(Operation.UPDATE_REPOSITORY);
+    }
+
+    @Test
+    public void of_reorderedUpstreams_isEmpty() {
+        final UpdatePlan plan = UpdatePlan.of(request(
+            model().upstreams(UPSTREAMS).build(),
+            model().upstreams(Arrays.asList(UPSTREAM_1, UPSTREAM_0)).build()));
+
+        assertThat(plan.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void of_replaceUpstreamsWithExternalConnection_removesUpstreamsFirst() {
+        final UpdatePlan plan = UpdatePlan.of(request(
+            model().externalConnections(Collections.singletonList(NPM_EC)).build(),
+            model().upstreams(UPSTREAMS).build()));
+
+        assertThat(operations(plan))
+            .containsExactly(Operation.UPDATE_REPOSITORY, Operation.ASSOCIATE_EXTERNAL_CONNECTION);
+        assertThat(plan.getSteps().get(1).getTarget()).isEqualTo(NPM_EC);
+    }
+
+    @Test
+    public void of_replaceExternalConnectionWithUpstreams_removesExternalConnectionFirst() {
+        final UpdatePlan plan = UpdatePlan.of(request(
+            model().upstreams(UPSTREAMS).build(),
+            model().externalConnections(Collections.singletonList(NPM_EC)).build()));
+
+        assertThat(operations(plan))
+            .containsExactly(Operation.DISASSOCIATE_EXTERNAL_CONNECTION, Operation.UPDATE_REPOSITORY);
+    }
+
+    @Test
+    public void of_swapExternalConnection_doesNotUpdateRepository() {
+        final UpdatePlan plan = UpdatePlan.of(request(
+            model().externalConnections(Collections.singletonList(NPM_EC)).build(),
+            model().externalConnections(Collections.singletonList(PYPI_EC)).build()));
+
+        assertThat(plan.toString()).isEqualTo(String.format("[%s(%s), %s(%s)]",
+            Constants.DISASSOCIATE_EXTERNAL_CONNECTION, PYPI_EC, Constants.ASSOCIATE_EXTERNAL_CONNECTION, NPM_EC));
+    }
+
+    @Test
+    public void batches_groupExternalConnectionsByOperation() {
+        final UpdatePlan plan = UpdatePlan.of(request(
+            model().upstreams(UPSTREAMS).externalConnections(Arrays.asList(NPM_EC, PYPI_EC)).build(),
+            model().externalConnections(Arrays.asList(MAVEN_EC, NUGET_EC)).build()));
+
+        final List<List<UpdatePlan.Step>> batches = plan.batches();
+
+        assertThat(batches).hasSize(3);
+        assertThat(batches.get(0)).containsExactly(
+            new UpdatePlan.Step(Operation.DISASSOCIATE_EXTERNAL_CONNECTION, MAVEN_EC),
+            new UpdatePlan.Step(Operation.DISASSOCIATE_EXTERNAL_CONNECTION, NUGET_EC));
+        assertThat(batches.get(1)).containsExactly(new UpdatePlan.Step(Operation.UPDATE_REPOSITORY, null));
+        assertThat(batches.get(2)).containsExactly(
+            new UpdatePlan.Step(Operation.ASSOCIATE_EXTERNAL_CONNECTION, NPM_EC),
+            new UpdatePlan.Step(Operation.ASSOCIATE_EXTERNAL_CONNECTION, PYPI_EC));
+    }
+
+    @Test
+    public void of_policyChanges_putsOrDeletesOnce() {
+        assertThat(operations(UpdatePlan.of(request(
+            model().permissionsPolicyDocument(TEST_POLICY_DOC_0).build(),
+            model().permissionsPolicyDocument(TEST_POLICY_DOC_0).build()))))
+            .isEmpty();
+        assertThat(operations(UpdatePlan.of(request(
+            model().permissionsPolicyDocument(TEST_POLICY_DOC_0).build(),
+            model().permissionsPolicyDocument(TEST_POLICY_DOC_1).build()))))
+            .containsExactly(Operation.PUT_REPOSITORY_PERMISSIONS_POLICY);
+        assertThat(operations(UpdatePlan.of(request(
+            model().permissionsPolicyDocument(null).build(),
+            model().permissionsPolicyDocument(TEST_POLICY_DOC_1).build()))))
+            .containsExactly(Operation.DELETE_REPOSITORY_PERMISSIONS_POLICY);
+    }
+
+    @Test
+    public void of_noPolicyBeforeOrAfter_stillDeletesPolicy() {
+        // A policy set outside of the stack isn't in the previous model
+        final UpdatePlan plan = UpdatePlan.of(request(
+            model().permissionsPolicyDocument(null).build(),
+            model().permissionsPolicyDocument(null).build()));
+
+        assertThat(operations(plan)).containsExactly(Operation.DELETE_REPOSITORY_PERMISSIONS_POLICY);
+    }
+
+    @Test
+    public void of_tagChanges_untagsThenTags() {
+        final Map<String, String> previousTags = ImmutableMap.of("key1", "value1", "key2", "value2");
+        final Map<String, String> desiredTags = ImmutableMap.of("key1", "changed", "key3", "value3");
+
+        final UpdatePlan plan = UpdatePlan.of(ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(model().build())
+            .previousResourceState(model().build())
+            .desiredResourceTags(desiredTags)
+            .previousResourceTags(previousTags)
+            .build());
+
+        assertThat(operations(plan)).containsExactly(Operation.UNTAG_RESOURCE, Operation.TAG_RESOURCE);
+        assertThat(plan.getTagsToRemove()).extracting(software.amazon.awssdk.services.codeartifact.model.Tag::key).containsExactly("key1", "key2");
+        assertThat(plan.getTagsToAdd()).extracting(software.amazon.awssdk.services.codeartifact.model.Tag::key).containsExactly("key1", "key3");
+    }
+
+    @Test
+    public void of_everythingChanges_issuesOneCallPerChange() {
+        final ResourceModel desired = model()
+            .description(DESCRIPTION)
+            .externalConnections(Collections.singletonList(NPM_EC))
+            .permissionsPolicyDocument(TEST_POLICY_DOC_0)
+            .build();
+        final ResourceModel previous = model()
+            .upstreams(UPSTREAMS)
+            .permissionsPolicyDocument(TEST_POLICY_DOC_1)
+            .build();
+
+        final UpdatePlan plan = UpdatePlan.of(ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(desired)
+            .previousResourceState(previous)
+            .desiredResourceTags(DESIRED_TAGS_MAP)
+            .build());
+
+        assertThat(operations(plan)).containsExactly(
+            Operation.UPDATE_REPOSITORY,
+            Operation.ASSOCIATE_EXTERNAL_CONNECTION,
+            Operation.PUT_REPOSITORY_PERMISSIONS_POLICY,
+            Operation.TAG_RESOURCE);
+        assertThat(plan.count(Operation.UPDATE_REPOSITORY)).isEqualTo(1);
+    }
+
+    private static List<Operation> operations(final UpdatePlan plan) {
+        return plan.getSteps().stream().map(UpdatePlan.Step::getOperation).collect(Collectors.toList());
+    }
+
+    private static ResourceHandlerRequest<ResourceModel> request(final ResourceModel desired, final ResourceModel previous) {
+        return ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(desired)
+            .previousResourceState(previous)
+            .build();
+    }
+
+    // Keeps the same policy unless a test sets another, a model without one always plans a delete
+    private static ResourceModel.ResourceModelBuilder model() {
+        return ResourceModel.builder()
+            .domainName(DOMAIN_NAME)
+            .domainOwner(DOMAIN_OWNER)
+            .repositoryName(REPO_NAME)
+            .permissionsPolicyDocument(TEST_POLICY_DOC_0);
+    }
+}
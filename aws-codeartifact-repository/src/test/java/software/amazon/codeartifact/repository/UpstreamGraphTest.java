@@ -0,0 +1,234 @@
+package software.amazon.codeartifact.repository;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.services.codeartifact.CodeartifactClient;
+import software.amazon.awssdk.services.codeartifact.model.CodeartifactException;
+import software.amazon.awssdk.services.codeartifact.model.DescribeRepositoryRequest;
+import software.amazon.awssdk.services.codeartifact.model.DescribeRepositoryResponse;
+import software.amazon.awssdk.services.codeartifact.model.RepositoryDescription;
+import software.amazon.awssdk.services.codeartifact.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.codeartifact.model.UpstreamRepositoryInfo;
+import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class UpstreamGraphTest extends AbstractTestBase {
+
+    @Mock
+    CodeartifactClient codeartifactClient;
+
+    private UpstreamGraph upstreamGraph;
+
+    // upstreams of the repositories already in the domain
+    private final Map<String, List<String>> domain = new HashMap<>();
+
+    private ProxyClient<CodeartifactClient> proxyClient;
+
+    @BeforeEach
+    public void setup() {
+        final AmazonWebServicesClientProxy proxy =
+            new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+        proxyClient = MOCK_PROXY(proxy, codeartifactClient);
+        upstreamGraph = new UpstreamGraph(proxyClient, DOMAIN_OWNER, REGION, DOMAIN_NAME, null);
+        UpstreamGraph.invalidateAll();
+    }
+
+    @Test
+    public void validate_tooManyUpstreams_throws() {
+        final List<String> upstreams = Arrays.asList(
+            "u0", "u1", "u2", "u3", "u4", "u5", "u6", "u7", "u8", "u9", "u10");
+
+        assertThatThrownBy(() -> upstreamGraph.validate(REPO_NAME, upstreams, null))
+            .isInstanceOf(CfnInvalidRequestException.class);
+
+        verify(codeartifactClient, never()).describeRepository(any(DescribeRepositoryRequest.class));
+    }
+
+    @Test
+    public void validate_selfUpstream_throws() {
+        assertThatThrownBy(() -> upstreamGraph.validate(REPO_NAME, Collections.singletonList(REPO_NAME), null))
+            .isInstanceOf(CfnInvalidRequestException.class);
+
+        verify(codeartifactClient, never()).describeRepository(any(DescribeRepositoryRequest.class));
+    }
+
+    @Test
+    public void validate_indirectCycle_throws() {
+        domain.put("a", Collections.singletonList("b"));
+        domain.put("b", Collections.singletonList(REPO_NAME));
+        domain.put(REPO_NAME, Collections.emptyList());
+        stubDomain();
+
+        assertThatThrownBy(() -> upstreamGraph.validate(REPO_NAME, Collections.singletonList("a"), null))
+            .isInstanceOf(CfnInvalidRequestException.class)
+            .hasMessageContaining("cycle");
+        // a, b and the repository itself, then a and b again to confirm the cycle
+        verify(codeartifactClient, times(5)).describeRepository(any(DescribeRepositoryRequest.class));
+    }
+
+    @Test
+    public void validate_cycleInStaleGraph_isRereadAndAllowed() {
+        domain.put("a", Collections.singletonList("b"));
+        domain.put("b", Collections.singletonList(REPO_NAME));
+        domain.put(REPO_NAME, Collections.emptyList());
+        stubDomain();
+        upstreamGraph.validate("other-repo", Collections.singletonList("a"), null);
+        verify(codeartifactClient, times(3)).describeRepository(any(DescribeRepositoryRequest.class));
+
+        // b dropped its upstream since the graph was cached
+        domain.put("b", Collections.emptyList());
+
+        assertThatCode(() -> upstreamGraph.validate(REPO_NAME, Collections.singletonList("a"), null))
+            .doesNotThrowAnyException();
+        verify(codeartifactClient, times(5)).describeRepository(any(DescribeRepositoryRequest.class));
+
+        // What was read again replaced the cached upstreams
+        upstreamGraph.validate(REPO_NAME, Collections.singletonList("a"), null);
+        verify(codeartifactClient, times(5)).describeRepository(any(DescribeRepositoryRequest.class));
+    }
+
+    @Test
+    public void validate_cycleThatCantBeReread_isLeftToService() {
+        domain.put("a", Collections.singletonList(REPO_NAME));
+        domain.put(REPO_NAME, Collections.emptyList());
+        stubDomain();
+        upstreamGraph.validate("other-repo", Collections.singletonList("a"), null);
+
+        doThrow(CodeartifactException.builder()
+            .awsErrorDetails(AwsErrorDetails.builder().errorCode("InternalServerException").build())
+            .build())
+            .when(codeartifactClient).describeRepository(any(DescribeRepositoryRequest.class));
+
+        assertThatCode(() -> upstreamGraph.validate(REPO_NAME, Collections.singletonList("a"), null))
+            .doesNotThrowAnyException();
+        verify(codeartifactClient, times(3)).describeRepository(any(DescribeRepositoryRequest.class));
+    }
+
+    @Test
+    public void validate_longChain_isLeftToService() {
+        // CodeArtifact limits the direct upstreams of a repository, not how long a chain of them gets
+        for (int i = 0; i < 2 * UpstreamGraph.MAX_DIRECT_UPSTREAMS; i++) {
+            domain.put("upstream-" + i, Collections.singletonList("upstream-" + (i + 1)));
+        }
+        domain.put("upstream-" + 2 * UpstreamGraph.MAX_DIRECT_UPSTREAMS, Collections.emptyList());
+        stubDomain();
+
+        assertThatCode(() -> upstreamGraph.validate(REPO_NAME, Collections.singletonList("upstream-0"), null))
+            .doesNotThrowAnyException();
+    }
+
+    @Test
+    public void validate_diamond_readsEachRepositoryOnce() {
+        domain.put("a", Arrays.asList("c", "d"));
+        domain.put("b", Collections.singletonList("c"));
+        domain.put("c", Collections.singletonList("d"));
+        domain.put("d", Collections.emptyList());
+        stubDomain();
+
+        upstreamGraph.validate(REPO_NAME, Arrays.asList("a", "b"), null);
+
+        verify(codeartifactClient, times(4)).describeRepository(any(DescribeRepositoryRequest.class));
+    }
+
+    @Test
+    public void validate_cachedGraph_isReused() {
+        domain.put("a", Collections.singletonList("b"));
+        domain.put("b", Collections.emptyList());
+        stubDomain();
+
+        upstreamGraph.validate(REPO_NAME, Collections.singletonList("a"), null);
+        upstreamGraph.validate("other-repo", Collections.singletonList("a"), null);
+        verify(codeartifactClient, times(2)).describeRepository(any(DescribeRepositoryRequest.class));
+
+        upstreamGraph.invalidate("a");
+        upstreamGraph.validate(REPO_NAME, Collections.singletonList("a"), null);
+        verify(codeartifactClient, times(3)).describeRepository(any(DescribeRepositoryRequest.class));
+    }
+
+    @Test
+    public void validate_cachedGraph_isKeptPerAccountAndRegion() {
+        domain.put("a", Collections.emptyList());
+        stubDomain();
+
+        upstreamGraph.validate(REPO_NAME, Collections.singletonList("a"), null);
+        // The default domain owner is the caller's account, so this is the same domain
+        new UpstreamGraph(proxyClient, DOMAIN_OWNER, REGION, DOMAIN_NAME, DOMAIN_OWNER)
+            .validate(REPO_NAME, Collections.singletonList("a"), null);
+        verify(codeartifactClient, times(1)).describeRepository(any(DescribeRepositoryRequest.class));
+
+        new UpstreamGraph(proxyClient, "111122223333", REGION, DOMAIN_NAME, null)
+            .validate(REPO_NAME, Collections.singletonList("a"), null);
+        new UpstreamGraph(proxyClient, DOMAIN_OWNER, "eu-west-1", DOMAIN_NAME, null)
+            .validate(REPO_NAME, Collections.singletonList("a"), null);
+        verify(codeartifactClient, times(3)).describeRepository(any(DescribeRepositoryRequest.class));
+    }
+
+    @Test
+    public void validate_onlyRemovals_skipsReads() {
+        upstreamGraph.validate(REPO_NAME, Collections.singletonList("a"), Arrays.asList("a", "b"));
+
+        verify(codeartifactClient, never()).describeRepository(any(DescribeRepositoryRequest.class));
+    }
+
+    @Test
+    public void validate_missingUpstream_isLeftToService() {
+        when(codeartifactClient.describeRepository(any(DescribeRepositoryRequest.class)))
+            .thenThrow(ResourceNotFoundException.builder().build());
+
+        assertThatCode(() -> upstreamGraph.validate(REPO_NAME, Collections.singletonList("missing"), null))
+            .doesNotThrowAnyException();
+    }
+
+    @Test
+    public void validate_unreadableGraph_isLeftToService() {
+        when(codeartifactClient.describeRepository(any(DescribeRepositoryRequest.class)))
+            .thenThrow(CodeartifactException.builder()
+                .awsErrorDetails(AwsErrorDetails.builder().errorCode("InternalServerException").build())
+                .build());
+
+        assertThatCode(() -> upstreamGraph.validate(REPO_NAME, Collections.singletonList("a"), null))
+            .doesNotThrowAnyException();
+    }
+
+    private void stubDomain() {
+        when(codeartifactClient.describeRepository(any(DescribeRepositoryRequest.class))).thenAnswer(invocation -> {
+            final DescribeRepositoryRequest request = invocation.getArgument(0);
+            final List<String> upstreams = domain.get(request.repository());
+            if (upstreams == null) {
+                throw ResourceNotFoundException.builder().build();
+            }
+            return DescribeRepositoryResponse.builder()
+                .repository(RepositoryDescription.builder()
+                    .domainName(DOMAIN_NAME)
+                    .name(request.repository())
+                    .upstreams(upstreams.stream()
+                        .map(name -> UpstreamRepositoryInfo.builder().repositoryName(name).build())
+                        .collect(Collectors.toList()))
+                    .build())
+                .build();
+        });
+    }
+}